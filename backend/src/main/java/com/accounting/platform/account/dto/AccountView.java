@@ -0,0 +1,29 @@
+package com.accounting.platform.account.dto;
+
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of an account as cached by the chart of accounts registry, safe to share between
+ * requests. To link the account from an entity, resolve {@link #id()} in the current persistence context.
+ */
+public record AccountView(
+        UUID id,
+        String code,
+        String name,
+        String description,
+        AccountType type,
+        AccountSubtype subtype,
+        UUID parentAccountId,
+        boolean active,
+        String currency
+) {
+    public static AccountView of(Account account) {
+        return new AccountView(account.getId(), account.getCode(), account.getName(), account.getDescription(),
+                account.getType(), account.getSubtype(), account.getParentAccountId(), account.isActive(),
+                account.getCurrency());
+    }
+}
@@ -0,0 +1,9 @@
+package com.accounting.platform.account.event;
+
+/**
+ * Published when the chart of accounts changes: an account was created, edited or removed.
+ * Account names, types and parents feed every financial report, so report caches should drop
+ * everything they hold once the change commits.
+ */
+public record ChartOfAccountsChangedEvent() {
+}
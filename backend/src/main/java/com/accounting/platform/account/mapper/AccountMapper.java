@@ -2,6 +2,7 @@ package com.accounting.platform.account.mapper;
 
 import com.accounting.platform.account.dto.AccountDto;
 import com.accounting.platform.account.dto.AccountHierarchyDto;
+import com.accounting.platform.account.dto.AccountView;
 import com.accounting.platform.account.entity.Account;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -11,6 +12,7 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface AccountMapper {
     AccountDto toDto(Account account);
+    AccountDto toDto(AccountView account);
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
@@ -19,5 +21,5 @@ public interface AccountMapper {
     Account toEntity(AccountDto dto);
 
     @Mapping(target = "children", ignore = true)
-    AccountHierarchyDto toHierarchyDto(Account account);
+    AccountHierarchyDto toHierarchyDto(AccountView account);
 }
@@ -1,5 +1,6 @@
 package com.accounting.platform.account.service;
 
+import com.accounting.platform.account.dto.AccountView;
 import com.accounting.platform.account.entity.Account;
 import com.accounting.platform.account.repository.AccountRepository;
 import com.accounting.platform.audit.service.AuditService;
@@ -18,25 +19,23 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final AuditService auditService;
     private final com.accounting.platform.account.mapper.AccountMapper accountMapper;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
 
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    public List<AccountView> getAllAccounts() {
+        return chartOfAccountsRegistry.getAll();
     }
 
     public List<com.accounting.platform.account.dto.AccountHierarchyDto> getAccountHierarchy() {
-        List<Account> allAccounts = accountRepository.findAll();
-        // Filter root accounts (parentAccountId is null)
-        return allAccounts.stream()
-                .filter(account -> account.getParentAccountId() == null)
-                .map(account -> buildHierarchy(account, allAccounts))
+        // Root accounts have no parentAccountId
+        return chartOfAccountsRegistry.getRootAccounts().stream()
+                .map(this::buildHierarchy)
                 .toList();
     }
 
-    private com.accounting.platform.account.dto.AccountHierarchyDto buildHierarchy(Account parent, List<Account> allAccounts) {
+    private com.accounting.platform.account.dto.AccountHierarchyDto buildHierarchy(AccountView parent) {
         com.accounting.platform.account.dto.AccountHierarchyDto dto = accountMapper.toHierarchyDto(parent);
-        List<com.accounting.platform.account.dto.AccountHierarchyDto> children = allAccounts.stream()
-                .filter(a -> parent.getId().equals(a.getParentAccountId()))
-                .map(a -> buildHierarchy(a, allAccounts))
+        List<com.accounting.platform.account.dto.AccountHierarchyDto> children = chartOfAccountsRegistry.getChildren(parent.id()).stream()
+                .map(this::buildHierarchy)
                 .toList();
         dto.setChildren(children);
         return dto;
@@ -63,6 +62,7 @@ public class AccountService {
         }
 
         Account savedAccount = accountRepository.save(account);
+        chartOfAccountsRegistry.invalidate();
         auditService.logCreate("Account", savedAccount.getId(), savedAccount);
         return savedAccount;
     }
@@ -85,7 +85,7 @@ public class AccountService {
         }
 
         // Capture old state for audit
-        // We'd ideally clone the object or have a DTO map here
+        Object before = auditService.snapshot(account);
 
         account.setCode(accountDetails.getCode());
         account.setName(accountDetails.getName());
@@ -97,7 +97,8 @@ public class AccountService {
         // Currency usually shouldn't change if tx exist, but simple update for now
 
         Account updatedAccount = accountRepository.save(account);
-        auditService.logUpdate("Account", updatedAccount.getId(), null, updatedAccount);
+        chartOfAccountsRegistry.invalidate();
+        auditService.logUpdate("Account", updatedAccount.getId(), before, updatedAccount);
         return updatedAccount;
     }
 
@@ -115,6 +116,7 @@ public class AccountService {
         // TODO: Check for existing transactions/journal entries
 
         accountRepository.delete(account);
+        chartOfAccountsRegistry.invalidate();
         auditService.logDelete("Account", id, account);
     }
 }
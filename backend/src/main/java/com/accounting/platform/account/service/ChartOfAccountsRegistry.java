@@ -0,0 +1,183 @@
+package com.accounting.platform.account.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.event.ChartOfAccountsChangedEvent;
+import com.accounting.platform.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory, indexed view of the chart of accounts.
+ * The whole chart is loaded once and served from memory until {@link #invalidate()} is called or the
+ * snapshot is older than {@code app.accounts.registry.ttl-seconds}, so posting paths can resolve control
+ * accounts without scanning the accounts table. Invalidation only reaches this node: changes made on other
+ * nodes show up when the TTL runs out, or sooner for an id or code this node has not seen yet, since a
+ * lookup miss reloads the chart once.
+ * The cache holds immutable {@link AccountView}s rather than entities, so nothing detached is shared
+ * between sessions; callers that link an account from an entity resolve it with
+ * {@code AccountRepository.getReferenceById} in their own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChartOfAccountsRegistry {
+
+    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.accounts.registry.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Misses reload at most this often, so unknown ids or codes cannot turn every lookup into a full load
+    @Value("${app.accounts.registry.miss-reload-interval-ms:1000}")
+    private long missReloadIntervalMs;
+
+    // Advanced by every drop; a snapshot loaded under an older generation is never served
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public List<AccountView> getAll() {
+        return snapshot().accounts();
+    }
+
+    public Optional<AccountView> findById(UUID id) {
+        return lookup(current -> current.byId().get(id));
+    }
+
+    public Optional<AccountView> findByCode(String code) {
+        return lookup(current -> current.byCode().get(code));
+    }
+
+    public List<AccountView> findBySubtype(AccountSubtype subtype) {
+        return snapshot().bySubtype().getOrDefault(subtype, List.of());
+    }
+
+    public List<AccountView> getChildren(UUID parentAccountId) {
+        return snapshot().byParent().getOrDefault(parentAccountId, List.of());
+    }
+
+    public List<AccountView> getRootAccounts() {
+        return getChildren(null);
+    }
+
+    /**
+     * First active account (by code) of the given subtype, e.g. the Accounts Receivable control account.
+     */
+    public Optional<AccountView> findActiveBySubtype(AccountSubtype subtype) {
+        return findBySubtype(subtype).stream()
+                .filter(AccountView::active)
+                .findFirst();
+    }
+
+    public AccountView requireActiveBySubtype(AccountSubtype subtype, String description) {
+        return findActiveBySubtype(subtype)
+                .or(() -> {
+                    // The chart may have been changed outside AccountService (e.g. seeders), retry once from the DB
+                    drop();
+                    return findActiveBySubtype(subtype);
+                })
+                .orElseThrow(() -> new IllegalStateException("No active " + description + " account found"));
+    }
+
+    /**
+     * Records that the chart changed: drops the cached chart and publishes a {@link ChartOfAccountsChangedEvent}.
+     * Inside a transaction the cache is dropped again after completion,
+     * so a reload that happens before commit cannot keep uncommitted or stale state.
+     */
+    public void invalidate() {
+        drop();
+        eventPublisher.publishEvent(new ChartOfAccountsChangedEvent());
+    }
+
+    private Optional<AccountView> lookup(Function<Snapshot, AccountView> find) {
+        Snapshot current = snapshot();
+        AccountView found = find.apply(current);
+        if (found == null && current.olderThan(TimeUnit.MILLISECONDS.toNanos(missReloadIntervalMs))) {
+            // Created on another node or outside AccountService since the last load, retry once from the DB
+            drop();
+            found = find.apply(snapshot());
+        }
+        return Optional.ofNullable(found);
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        snapshot = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop();
+                }
+            });
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (!usable(current)) {
+            synchronized (this) {
+                current = snapshot;
+                if (!usable(current)) {
+                    // Read before loading: a drop during the load leaves this snapshot behind as unusable,
+                    // so a load that raced a commit is served to this caller only
+                    long loading = generation.get();
+                    current = Snapshot.of(accountRepository.findAll().stream().map(AccountView::of).toList(), loading);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean usable(Snapshot current) {
+        return current != null
+                && current.generation() == generation.get()
+                && !current.olderThan(TimeUnit.SECONDS.toNanos(ttlSeconds));
+    }
+
+    private record Snapshot(
+            long generation,
+            long loadedAt,
+            List<AccountView> accounts,
+            Map<UUID, AccountView> byId,
+            Map<String, AccountView> byCode,
+            Map<AccountSubtype, List<AccountView>> bySubtype,
+            Map<UUID, List<AccountView>> byParent
+    ) {
+        static Snapshot of(List<AccountView> loaded, long generation) {
+            List<AccountView> accounts = new ArrayList<>(loaded);
+            accounts.sort(Comparator.comparing(AccountView::code));
+
+            Map<UUID, AccountView> byId = new HashMap<>(accounts.size() * 2);
+            Map<String, AccountView> byCode = new HashMap<>(accounts.size() * 2);
+            Map<AccountSubtype, List<AccountView>> bySubtype = new EnumMap<>(AccountSubtype.class);
+            // HashMap allows the null key, which groups the root accounts
+            Map<UUID, List<AccountView>> byParent = new HashMap<>();
+
+            for (AccountView account : accounts) {
+                byId.put(account.id(), account);
+                byCode.put(account.code(), account);
+                bySubtype.computeIfAbsent(account.subtype(), s -> new ArrayList<>()).add(account);
+                byParent.computeIfAbsent(account.parentAccountId(), p -> new ArrayList<>()).add(account);
+            }
+
+            bySubtype.replaceAll((subtype, list) -> List.copyOf(list));
+            byParent.replaceAll((parent, list) -> List.copyOf(list));
+            return new Snapshot(generation, System.nanoTime(), List.copyOf(accounts), byId, byCode, bySubtype, byParent);
+        }
+
+        boolean olderThan(long nanos) {
+            return System.nanoTime() - loadedAt > nanos;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.accounting.platform.audit.controller;
+
+import com.accounting.platform.audit.dto.AuditLogDto;
+import com.accounting.platform.audit.service.AuditLogSearchService;
+import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+@RequiredArgsConstructor
+public class AuditLogController {
+
+    private final AuditLogSearchService auditLogSearchService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<AuditLogDto>>> search(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                auditLogSearchService.search(entityType, entityId, username, action, from, to, cursor, size)));
+    }
+}
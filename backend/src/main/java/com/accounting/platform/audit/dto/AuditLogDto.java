@@ -0,0 +1,26 @@
+package com.accounting.platform.audit.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class AuditLogDto {
+    private UUID id;
+    private String action;
+    private String entityType;
+    private UUID entityId;
+    private UUID userId;
+    private String username;
+    private LocalDateTime timestamp;
+    private String ipAddress;
+    private String userAgent;
+    private JsonNode details;
+    private JsonNode oldValue;
+    private JsonNode newValue;
+    private String correlationId;
+}
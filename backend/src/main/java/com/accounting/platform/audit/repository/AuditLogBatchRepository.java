@@ -0,0 +1,44 @@
+package com.accounting.platform.audit.repository;
+
+import com.accounting.platform.audit.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch insert for audit rows. With reWriteBatchedInserts on the PostgreSQL driver
+ * a batch goes out as multi-row INSERT statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogBatchRepository {
+
+    private static final String INSERT = """
+            INSERT INTO audit_logs (id, action, entity_type, entity_id, user_id, username, timestamp,
+                                    ip_address, user_agent, details, old_value, new_value, correlation_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?::jsonb, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<AuditLog> logs) {
+        jdbcTemplate.batchUpdate(INSERT, logs, logs.size(), (ps, log) -> {
+            ps.setObject(1, log.getId());
+            ps.setString(2, log.getAction());
+            ps.setString(3, log.getEntityType());
+            ps.setObject(4, log.getEntityId());
+            ps.setObject(5, log.getUserId());
+            ps.setString(6, log.getUsername());
+            ps.setTimestamp(7, Timestamp.from(log.getTimestamp()));
+            ps.setString(8, log.getIpAddress());
+            ps.setString(9, log.getUserAgent());
+            ps.setString(10, log.getDetails());
+            ps.setString(11, log.getOldValue());
+            ps.setString(12, log.getNewValue());
+            ps.setString(13, log.getCorrelationId());
+        });
+    }
+}
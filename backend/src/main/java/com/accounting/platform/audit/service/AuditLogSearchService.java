@@ -0,0 +1,108 @@
+package com.accounting.platform.audit.service;
+
+import com.accounting.platform.audit.dto.AuditLogDto;
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Audit log search, newest first, with keyset pagination on (timestamp, id).
+ * Each page continues from the last row of the previous one, so deep pages cost the same as the first
+ * and are served from the (entity_type, entity_id, timestamp, id) / (username, timestamp, id) indexes.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLogSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditPayloadBuilder auditPayloadBuilder;
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogDto> search(String entityType, UUID entityId, String username, String action,
+                                          LocalDateTime from, LocalDateTime to, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, action, entity_type, entity_id, user_id, username, timestamp, ip_address, user_agent,
+                       details, old_value, new_value, correlation_id
+                FROM audit_logs
+                WHERE 1 = 1
+                """);
+        List<Object> params = new ArrayList<>();
+        if (entityType != null) {
+            sql.append(" AND entity_type = ?");
+            params.add(entityType);
+        }
+        if (entityId != null) {
+            sql.append(" AND entity_id = ?");
+            params.add(entityId);
+        }
+        if (username != null) {
+            sql.append(" AND username = ?");
+            params.add(username);
+        }
+        if (action != null) {
+            sql.append(" AND action = ?");
+            params.add(action);
+        }
+        if (from != null) {
+            sql.append(" AND timestamp >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            params.add(to);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = CursorCodec.decode(cursor, 2);
+            sql.append(" AND (timestamp, id) < (?, ?)");
+            try {
+                params.add(LocalDateTime.parse(key[0]));
+                params.add(UUID.fromString(key[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        params.add(pageSize + 1);
+
+        List<AuditLogDto> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toDto(rs), params.toArray());
+        return CursorPage.of(rows, pageSize, row -> new Object[]{row.getTimestamp(), row.getId()});
+    }
+
+    private AuditLogDto toDto(ResultSet rs) throws SQLException {
+        try {
+            return AuditLogDto.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .action(rs.getString("action"))
+                    .entityType(rs.getString("entity_type"))
+                    .entityId(rs.getObject("entity_id", UUID.class))
+                    .userId(rs.getObject("user_id", UUID.class))
+                    .username(rs.getString("username"))
+                    .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                    .ipAddress(rs.getString("ip_address"))
+                    .userAgent(rs.getString("user_agent"))
+                    .details(auditPayloadBuilder.readJson(rs.getString("details")))
+                    .oldValue(auditPayloadBuilder.readJson(rs.getString("old_value")))
+                    .newValue(auditPayloadBuilder.readJson(rs.getString("new_value")))
+                    .correlationId(rs.getString("correlation_id"))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit payload for row " + rs.getString("id"), e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.accounting.platform.audit.service;
+
+import com.accounting.platform.audit.entity.AuditLog;
+import com.accounting.platform.audit.repository.AuditLogBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers committed audit rows in a bounded queue and writes them with JDBC batch inserts
+ * from a single background thread.
+ * <p>
+ * No row is dropped: when the queue is full, or the writer is not running, the caller writes
+ * its rows synchronously. On shutdown the writer stops after the web server (lower phase)
+ * and drains the queue before the DataSource is closed.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter synchronousCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditLogWriter(AuditLogBatchRepository auditLogBatchRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.audit.batch-size:500}") int batchSize,
+                          @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit rows waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.latency")
+                .description("Time to write one batch of audit rows")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.rows.written")
+                .description("Audit rows written")
+                .register(meterRegistry);
+        this.synchronousCounter = Counter.builder("audit.rows.synchronous")
+                .description("Audit rows written on the caller thread because the queue was full or stopped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.rows.failed")
+                .description("Audit rows that could not be written")
+                .register(meterRegistry);
+    }
+
+    public void submit(List<AuditLog> logs) {
+        List<AuditLog> overflow = null;
+        if (running) {
+            for (AuditLog log : logs) {
+                if (!queue.offer(log)) {
+                    if (overflow == null) {
+                        overflow = new ArrayList<>();
+                    }
+                    overflow.add(log);
+                }
+            }
+        } else {
+            overflow = logs;
+        }
+
+        if (overflow != null) {
+            synchronousCounter.increment(overflow.size());
+            write(overflow);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything still queued (flusher timed out, or rows offered while stopping)
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server has finished in-flight requests, before the DataSource goes away
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void flushLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void drainRemaining() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> auditLogBatchRepository.insertAll(batch));
+                writtenCounter.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    failedCounter.increment(batch.size());
+                    // Last resort: keep the rows in the application log so they can be replayed
+                    batch.forEach(row -> log.error("Audit row not written: action={} entityType={} entityId={} username={} timestamp={} details={}",
+                            row.getAction(), row.getEntityType(), row.getEntityId(), row.getUsername(), row.getTimestamp(), row.getDetails()));
+                    log.error("Failed to write {} audit rows", batch.size(), e);
+                    return;
+                }
+                log.warn("Audit batch write failed (attempt {}), retrying", attempt, e);
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.accounting.platform.audit.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of audit_logs (see changelog 019).
+ * Partitions are created ahead of time so rows never land in the default partition,
+ * and partitions older than the retention period are exported to gzipped CSV files
+ * with COPY and then detached and dropped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.audit.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.audit.archive-path:./audit-archive}")
+    private String archivePath;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            ensurePartitions();
+        } catch (RuntimeException e) {
+            // Not fatal: rows still go to the default partition
+            log.error("Could not create audit log partitions", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.audit.partitions.cron:0 30 1 * * *}")
+    public void maintain() {
+        ensurePartitions();
+        archiveExpiredPartitions();
+    }
+
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF audit_logs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (RuntimeException e) {
+                // Typically rows for that month already sit in the default partition
+                log.warn("Could not create audit partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exports and drops every partition that ended before the retention cutoff. Returns the number archived.
+     */
+    public int archiveExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        int archived = 0;
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(cutoff)) {
+                archivePartition(partition);
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private void archivePartition(String partition) {
+        Path directory = Paths.get(archivePath);
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temp = directory.resolve(partition + ".csv.gz.part");
+
+        try {
+            Files.createDirectories(directory);
+            long exported;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                exported = copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER true)", out);
+            }
+
+            Long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+            if (expected == null || expected != exported) {
+                Files.deleteIfExists(temp);
+                throw new IllegalStateException("Archive of " + partition + " is incomplete: " + exported + " of " + expected + " rows");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive " + partition, e);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("Archived audit partition {} to {}", partition, target);
+    }
+
+    private long copyOut(String sql, OutputStream out) {
+        Long rows = jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'audit_logs'
+                ORDER BY c.relname
+                """, String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "audit_logs_" + month.format(PARTITION_SUFFIX);
+    }
+}
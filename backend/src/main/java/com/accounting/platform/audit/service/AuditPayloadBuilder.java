@@ -0,0 +1,350 @@
+package com.accounting.platform.audit.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds compact audit payloads for JPA entities.
+ * <p>
+ * Field descriptors for every entity type are read once from the JPA metamodel at startup.
+ * A snapshot holds basic values, associations as ids only and initialised collections one level deep,
+ * so audit rows no longer contain serialised object graphs. A collection that was not loaded is marked
+ * {@code NOT_LOADED} rather than read, and the diff skips it. Updates store only the changed fields:
+ * old_value holds their previous values and new_value the current ones. Payloads above
+ * {@code app.audit.compress-threshold} bytes are stored gzipped and base64 encoded.
+ */
+@Slf4j
+@Component
+public class AuditPayloadBuilder {
+
+    private static final String COMPRESSED_ENCODING = "gzip+base64";
+
+    // Bookkeeping columns that change on every write and are already on the audit row itself
+    private static final Set<String> IGNORED_FIELDS = Set.of("version", "createdAt", "createdBy", "updatedAt", "updatedBy");
+
+    private final ObjectMapper objectMapper;
+    private final PersistenceUnitUtil persistenceUnitUtil;
+    private final Map<Class<?>, List<FieldDescriptor>> descriptors = new HashMap<>();
+    private final int compressThreshold;
+
+    public AuditPayloadBuilder(ObjectMapper objectMapper,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${app.audit.compress-threshold:4096}") int compressThreshold) {
+        this.objectMapper = objectMapper;
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.compressThreshold = compressThreshold;
+
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            descriptors.put(entityType.getJavaType(), describe(entityType));
+        }
+        log.debug("Audit field descriptors built for {} entity types", descriptors.size());
+    }
+
+    /**
+     * Compact snapshot of the entity, or {@code null} if the object is not a JPA entity.
+     */
+    public Map<String, Object> snapshot(Object target) {
+        return snapshot(target, false);
+    }
+
+    /**
+     * Snapshot taken before an update. Unloaded collections are loaded first: the update may replace
+     * them, and a collection missing from the earlier snapshot could not be compared afterwards.
+     */
+    public Map<String, Object> snapshotBeforeUpdate(Object target) {
+        return snapshot(target, true);
+    }
+
+    private Map<String, Object> snapshot(Object target, boolean loadCollections) {
+        List<FieldDescriptor> fields = descriptorsFor(target);
+        if (fields == null) {
+            return null;
+        }
+        Object entity = Hibernate.unproxy(target);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (FieldDescriptor field : fields) {
+            Object value = field.get(entity);
+            if (value == null) {
+                continue;
+            }
+            switch (field.kind()) {
+                case BASIC -> values.put(field.name(), value);
+                case REFERENCE -> values.put(field.name(), idOf(value));
+                case COLLECTION -> {
+                    if (loadCollections) {
+                        Hibernate.initialize(value);
+                    }
+                    if (!Hibernate.isInitialized(value)) {
+                        // Loading it here would cost a query per audited collection on every create and delete
+                        values.put(field.name(), Capture.NOT_LOADED);
+                    } else if (value instanceof Collection<?> collection) {
+                        List<Object> elements = new ArrayList<>(collection.size());
+                        collection.forEach(element -> elements.add(elementSnapshot(element, entity)));
+                        values.put(field.name(), elements);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Splits two snapshots into the previous and current values of the fields that differ.
+     * Collections are compared element by element on their id; a collection not loaded in either
+     * snapshot cannot be compared and is left out.
+     */
+    public Map<String, Map<String, Object>> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+
+        Set<String> names = new LinkedHashSet<>(before.keySet());
+        names.addAll(after.keySet());
+        for (String name : names) {
+            Object oldValue = before.get(name);
+            Object newValue = after.get(name);
+            if (oldValue == Capture.NOT_LOADED || newValue == Capture.NOT_LOADED) {
+                continue;
+            }
+            if (oldValue instanceof List<?> oldList && newValue instanceof List<?> newList) {
+                diffCollections(name, oldList, newList, oldValues, newValues);
+            } else if (!same(oldValue, newValue)) {
+                oldValues.put(name, oldValue);
+                newValues.put(name, newValue);
+            }
+        }
+        return Map.of("old", oldValues, "new", newValues);
+    }
+
+    /**
+     * JSON for the audit column, compressed when it is larger than the threshold.
+     */
+    public String toJson(Object payload) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(payload);
+        if (json.length() <= compressThreshold) {
+            return json;
+        }
+        Map<String, String> compressed = new LinkedHashMap<>();
+        compressed.put("encoding", COMPRESSED_ENCODING);
+        compressed.put("data", gzip(json));
+        return objectMapper.writeValueAsString(compressed);
+    }
+
+    /**
+     * Parses a stored audit column, expanding compressed payloads.
+     */
+    public JsonNode readJson(String stored) throws JsonProcessingException {
+        if (stored == null) {
+            return null;
+        }
+        JsonNode node = objectMapper.readTree(stored);
+        if (node.isObject() && COMPRESSED_ENCODING.equals(node.path("encoding").asText()) && node.hasNonNull("data")) {
+            return objectMapper.readTree(gunzip(node.get("data").asText()));
+        }
+        return node;
+    }
+
+    private void diffCollections(String name, List<?> before, List<?> after,
+                                 Map<String, Object> oldValues, Map<String, Object> newValues) {
+        Map<Object, Object> beforeById = new LinkedHashMap<>();
+        List<Object> removedOrChanged = new ArrayList<>();
+        List<Object> addedOrChanged = new ArrayList<>();
+        for (Object element : before) {
+            Object id = elementId(element);
+            if (id != null) {
+                beforeById.put(id, element);
+            } else {
+                removedOrChanged.add(element);
+            }
+        }
+
+        for (Object element : after) {
+            Object id = elementId(element);
+            Object previous = id == null ? null : beforeById.remove(id);
+            if (previous == null) {
+                addedOrChanged.add(element);
+            } else if (!sameElement(previous, element)) {
+                removedOrChanged.add(previous);
+                addedOrChanged.add(element);
+            }
+        }
+        removedOrChanged.addAll(beforeById.values());
+
+        if (!removedOrChanged.isEmpty() || !addedOrChanged.isEmpty()) {
+            oldValues.put(name, removedOrChanged);
+            newValues.put(name, addedOrChanged);
+        }
+    }
+
+    private Object elementSnapshot(Object target, Object owner) {
+        List<FieldDescriptor> fields = descriptorsFor(target);
+        if (fields == null) {
+            return target;
+        }
+        Object element = Hibernate.unproxy(target);
+        // One level deep: basic values and association ids, no nested collections, no link back to the owner
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (FieldDescriptor field : fields) {
+            Object value = field.get(element);
+            if (value == null || field.kind() == Kind.COLLECTION || value == owner) {
+                continue;
+            }
+            values.put(field.name(), field.kind() == Kind.REFERENCE ? idOf(value) : value);
+        }
+        return values;
+    }
+
+    private List<FieldDescriptor> describe(EntityType<?> entityType) {
+        List<FieldDescriptor> fields = new ArrayList<>();
+        for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+            Member member = attribute.getJavaMember();
+            if (IGNORED_FIELDS.contains(attribute.getName()) || isSensitive(attribute.getName(), member)) {
+                continue;
+            }
+            if (member instanceof AccessibleObject accessible) {
+                accessible.setAccessible(true);
+            }
+            Kind kind = switch (attribute.getPersistentAttributeType()) {
+                case MANY_TO_ONE, ONE_TO_ONE -> Kind.REFERENCE;
+                case ONE_TO_MANY, MANY_TO_MANY, ELEMENT_COLLECTION -> Kind.COLLECTION;
+                default -> Kind.BASIC;
+            };
+            fields.add(new FieldDescriptor(attribute.getName(), kind, member));
+        }
+        // id first, then by name, so payloads are stable across restarts
+        fields.sort((a, b) -> a.name().equals("id") ? -1 : b.name().equals("id") ? 1 : a.name().compareTo(b.name()));
+        return List.copyOf(fields);
+    }
+
+    private static boolean isSensitive(String name, Member member) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.contains("password") || lower.contains("secret")) {
+            return true;
+        }
+        return member instanceof AccessibleObject accessible && accessible.isAnnotationPresent(JsonIgnore.class);
+    }
+
+    private List<FieldDescriptor> descriptorsFor(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> type = Hibernate.getClass(value);
+        List<FieldDescriptor> fields = descriptors.get(type);
+        // Entity subclasses not registered on their own (e.g. inheritance) fall back to the nearest mapped type
+        while (fields == null && type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            type = type.getSuperclass();
+            fields = descriptors.get(type);
+        }
+        return fields;
+    }
+
+    private Object idOf(Object value) {
+        if (descriptorsFor(value) == null) {
+            return value;
+        }
+        // Reads the id from proxies without initialising them
+        return persistenceUnitUtil.getIdentifier(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object elementId(Object element) {
+        return element instanceof Map<?, ?> map ? ((Map<String, Object>) map).get("id") : null;
+    }
+
+    private static boolean sameElement(Object a, Object b) {
+        if (a instanceof Map<?, ?> left && b instanceof Map<?, ?> right) {
+            if (!left.keySet().equals(right.keySet())) {
+                return false;
+            }
+            for (Object key : left.keySet()) {
+                if (!same(left.get(key), right.get(key))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return same(a, b);
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a instanceof BigDecimal left && b instanceof BigDecimal right) {
+            return left.compareTo(right) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static String gunzip(String data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(data)))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String gzip(String json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private enum Capture {
+        NOT_LOADED
+    }
+
+    private enum Kind {
+        BASIC,
+        REFERENCE,
+        COLLECTION
+    }
+
+    private record FieldDescriptor(String name, Kind kind, Member member) {
+        Object get(Object target) {
+            try {
+                if (member instanceof Field field) {
+                    return field.get(target);
+                }
+                return ((Method) member).invoke(target);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + name + " for audit", e);
+            }
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package com.accounting.platform.audit.service;
 
 import com.accounting.platform.audit.entity.AuditLog;
-import com.accounting.platform.audit.repository.AuditLogRepository;
+import com.accounting.platform.common.transaction.TransactionScoped;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -19,25 +25,48 @@ import java.util.UUID;
 @Slf4j
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditPayloadBuilder auditPayloadBuilder;
     private final ObjectMapper objectMapper;
 
-    @Transactional
+    // "diff" stores compact snapshots and changed fields only, "full" the serialised entity graph
+    @Value("${app.audit.mode:diff}")
+    private String mode;
+
+    /**
+     * Captures the entity's current state so a later {@link #logUpdate} can record what changed.
+     * Call it before mutating the entity and pass the result as {@code oldValue}.
+     */
+    public Object snapshot(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        try {
+            if (isDiffMode()) {
+                Map<String, Object> snapshot = auditPayloadBuilder.snapshotBeforeUpdate(entity);
+                if (snapshot != null) {
+                    return new Snapshot(snapshot);
+                }
+            }
+            return new Snapshot(objectMapper.writeValueAsString(entity));
+        } catch (Exception e) {
+            log.error("Error capturing audit snapshot", e);
+            return null;
+        }
+    }
+
     public void logAction(String action, String entityType, UUID entityId, Object details) {
         saveLog(action, entityType, entityId, details, null, null);
     }
 
-    @Transactional
     public void logCreate(String entityType, UUID entityId, Object newValue) {
         saveLog("CREATE", entityType, entityId, null, null, newValue);
     }
 
-    @Transactional
     public void logUpdate(String entityType, UUID entityId, Object oldValue, Object newValue) {
         saveLog("UPDATE", entityType, entityId, null, oldValue, newValue);
     }
 
-    @Transactional
     public void logDelete(String entityType, UUID entityId, Object oldValue) {
         saveLog("DELETE", entityType, entityId, null, oldValue, null);
     }
@@ -45,23 +74,30 @@ public class AuditService {
     private void saveLog(String action, String entityType, UUID entityId, Object details, Object oldValue, Object newValue) {
         try {
             AuditLog log = new AuditLog();
+            log.setId(UUID.randomUUID());
+            log.setTimestamp(Instant.now());
             log.setAction(action);
             log.setEntityType(entityType);
             log.setEntityId(entityId);
 
             enrichWithUserContext(log);
 
+            // Serialise now: the entity may change or be detached by the time the row is written
             if (details != null) {
                 log.setDetails(objectMapper.writeValueAsString(details));
             }
-            if (oldValue != null) {
-                log.setOldValue(objectMapper.writeValueAsString(oldValue));
-            }
-            if (newValue != null) {
-                log.setNewValue(objectMapper.writeValueAsString(newValue));
+            if (isDiffMode()) {
+                setCompactValues(log, oldValue, newValue);
+            } else {
+                if (oldValue != null) {
+                    log.setOldValue(serializeFull(oldValue));
+                }
+                if (newValue != null) {
+                    log.setNewValue(serializeFull(newValue));
+                }
             }
 
-            auditLogRepository.save(log);
+            capture(log);
         } catch (JsonProcessingException e) {
             log.error("Error serializing audit log data", e);
         } catch (Exception e) {
@@ -69,6 +105,55 @@ public class AuditService {
         }
     }
 
+    private void setCompactValues(AuditLog log, Object oldValue, Object newValue) throws JsonProcessingException {
+        Map<String, Object> before = compact(oldValue);
+        Map<String, Object> after = compact(newValue);
+
+        if (before != null && after != null) {
+            Map<String, Map<String, Object>> changes = auditPayloadBuilder.diff(before, after);
+            log.setOldValue(auditPayloadBuilder.toJson(changes.get("old")));
+            log.setNewValue(auditPayloadBuilder.toJson(changes.get("new")));
+            return;
+        }
+        if (oldValue != null) {
+            log.setOldValue(before != null ? auditPayloadBuilder.toJson(before) : serializeFull(oldValue));
+        }
+        if (newValue != null) {
+            log.setNewValue(after != null ? auditPayloadBuilder.toJson(after) : serializeFull(newValue));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> compact(Object value) {
+        if (value instanceof Snapshot snapshot) {
+            return snapshot.state() instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+        }
+        return value == null ? null : auditPayloadBuilder.snapshot(value);
+    }
+
+    private String serializeFull(Object value) throws JsonProcessingException {
+        if (value instanceof Snapshot snapshot) {
+            return snapshot.state() instanceof String json ? json : objectMapper.writeValueAsString(snapshot.state());
+        }
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private boolean isDiffMode() {
+        return !"full".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Inside a transaction, rows are collected and handed to the writer only after commit,
+     * so rolled-back work leaves no audit trail and the business transaction does no audit I/O.
+     */
+    private void capture(AuditLog log) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.submit(List.of(log));
+            return;
+        }
+        TransactionScoped.synchronization(PendingRows.class, PendingRows::new).rows.add(log);
+    }
+
     private void enrichWithUserContext(AuditLog log) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
@@ -80,4 +165,25 @@ public class AuditService {
         }
         // IP Address and User Agent would typically come from RequestContextHolder or a filter
     }
+
+    /**
+     * State captured by {@link #snapshot}: a compact field map in diff mode, the serialised entity in full mode.
+     */
+    private record Snapshot(Object state) {
+    }
+
+    /**
+     * Rows captured in one transaction; an inner REQUIRES_NEW transaction registers its own.
+     */
+    private final class PendingRows implements TransactionSynchronization {
+
+        private final List<AuditLog> rows = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                auditLogWriter.submit(rows);
+            }
+        }
+    }
 }
@@ -1,9 +1,15 @@
 package com.accounting.platform.bank.controller;
 
+import com.accounting.platform.bank.dto.AutoReconciliationResultDto;
+import com.accounting.platform.bank.dto.ReconciliationSuggestionDto;
+import com.accounting.platform.bank.dto.StatementImportProgressDto;
 import com.accounting.platform.bank.entity.BankAccount;
 import com.accounting.platform.bank.entity.BankTransaction;
+import com.accounting.platform.bank.service.AutoReconciliationService;
 import com.accounting.platform.bank.service.BankAccountService;
 import com.accounting.platform.bank.service.BankReconciliationService;
+import com.accounting.platform.bank.service.BankStatementImportService;
+import com.accounting.platform.bank.service.statement.StatementFormat;
 import com.accounting.platform.common.dto.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +26,8 @@ public class BankAccountController {
 
     private final BankAccountService bankAccountService;
     private final BankReconciliationService bankReconciliationService;
+    private final BankStatementImportService bankStatementImportService;
+    private final AutoReconciliationService autoReconciliationService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<BankAccount>>> getAllBankAccounts() {
@@ -38,13 +46,31 @@ public class BankAccountController {
         return ResponseEntity.ok(ApiResponse.success(bankAccountService.importTransactions(id, transactions)));
     }
 
-    // Simplification for compilation - Suggestion DTO not fully wired
-    /*
+    @PostMapping(value = "/{id}/transactions/import/file", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<StatementImportProgressDto>> importStatement(
+            @PathVariable UUID id,
+            @RequestParam("file") org.springframework.web.multipart.MultipartFile file,
+            @RequestParam(required = false) StatementFormat format,
+            @RequestParam(required = false) String dateFormat,
+            @RequestParam(required = false) String importId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                bankStatementImportService.importStatement(id, file, format, dateFormat, importId)));
+    }
+
+    @GetMapping("/transactions/imports/{importId}")
+    public ResponseEntity<ApiResponse<StatementImportProgressDto>> getImportProgress(@PathVariable String importId) {
+        return ResponseEntity.ok(ApiResponse.success(bankStatementImportService.getProgress(importId)));
+    }
+
     @GetMapping("/{id}/reconcile/suggestions")
-    public ResponseEntity<ApiResponse<List<BankReconciliationService.ReconciliationSuggestion>>> getSuggestions(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<List<ReconciliationSuggestionDto>>> getSuggestions(@PathVariable UUID id) {
         return ResponseEntity.ok(ApiResponse.success(bankReconciliationService.getSuggestions(id)));
     }
-    */
+
+    @PostMapping("/reconcile/auto")
+    public ResponseEntity<ApiResponse<AutoReconciliationResultDto>> runAutoReconciliation() {
+        return ResponseEntity.ok(ApiResponse.success(autoReconciliationService.runAll()));
+    }
 
     @PostMapping("/transactions/{transactionId}/reconcile/{journalEntryId}")
     public ResponseEntity<ApiResponse<Void>> reconcileTransaction(
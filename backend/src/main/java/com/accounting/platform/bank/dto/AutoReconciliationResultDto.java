@@ -0,0 +1,16 @@
+package com.accounting.platform.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoReconciliationResultDto {
+    private int bankAccounts;
+    private int failedBankAccounts;
+    private long linesProcessed;
+    private long linesMatched;
+    private long durationMs;
+}
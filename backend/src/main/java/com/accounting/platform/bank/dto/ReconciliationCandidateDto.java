@@ -0,0 +1,23 @@
+package com.accounting.platform.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationCandidateDto {
+    private UUID journalEntryId;
+    private UUID journalEntryLineId;
+    private String referenceNumber;
+    private LocalDate entryDate;
+    private String description;
+    // Signed like the bank line: Debit - Credit on the bank's GL account
+    private BigDecimal amount;
+    private double confidence;
+}
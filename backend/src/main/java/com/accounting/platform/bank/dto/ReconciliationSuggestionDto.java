@@ -0,0 +1,22 @@
+package com.accounting.platform.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationSuggestionDto {
+    private UUID bankTransactionId;
+    private LocalDate date;
+    private BigDecimal amount;
+    private String description;
+    private String reference;
+    private List<ReconciliationCandidateDto> candidates;
+}
@@ -0,0 +1,33 @@
+package com.accounting.platform.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class StatementImportProgressDto {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String importId;
+    private UUID bankAccountId;
+    private String fileName;
+    private Status status;
+    private long bytesRead;
+    private long totalBytes;
+    private long linesRead;
+    private long imported;
+    private long duplicates;
+    private String error;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,10 @@
+package com.accounting.platform.bank.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One parsed bank statement line. Amount is signed: positive for money in, negative for money out.
+ */
+public record StatementLine(LocalDate date, BigDecimal amount, String description, String reference) {
+}
@@ -1,6 +1,7 @@
 package com.accounting.platform.bank.entity;
 
 import com.accounting.platform.common.entity.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -39,4 +40,9 @@ public class BankTransaction extends BaseEntity {
 
     @Column(name = "matched_journal_entry_id")
     private UUID matchedJournalEntryId;
+
+    // SHA-256 of date, amount, reference and occurrence; used to skip lines that were already imported
+    @JsonIgnore
+    @Column(name = "import_hash", length = 64)
+    private String importHash;
 }
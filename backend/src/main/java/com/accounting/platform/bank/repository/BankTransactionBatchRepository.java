@@ -0,0 +1,97 @@
+package com.accounting.platform.bank.repository;
+
+import com.accounting.platform.bank.dto.StatementLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes to bank_transactions. Each batch is sent as arrays in a single statement
+ * over unnest(...), instead of one INSERT or UPDATE round-trip per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BankTransactionBatchRepository {
+
+    private static final String INSERT_BATCH = """
+            INSERT INTO bank_transactions (id, version, created_at, bank_account_id, date, amount, description, reference, status, import_hash)
+            SELECT gen_random_uuid(), 0, now(), ?, t.date, t.amount, t.description, t.reference, 'IMPORTED', t.import_hash
+            FROM unnest(?::date[], ?::numeric[], ?::text[], ?::text[], ?::text[]) AS t(date, amount, description, reference, import_hash)
+            ON CONFLICT (bank_account_id, import_hash) DO NOTHING
+            """;
+
+    private static final String MARK_MATCHED = """
+            UPDATE bank_transactions t
+            SET status = 'MATCHED', matched_journal_entry_id = m.journal_entry_id, version = t.version + 1, updated_at = now()
+            FROM unnest(?::uuid[], ?::uuid[]) AS m(id, journal_entry_id)
+            WHERE t.id = m.id AND t.status = 'IMPORTED'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the lines and returns how many were new. Lines whose import hash already exists
+     * for the bank account are skipped by the unique index instead of a lookup per line.
+     */
+    public int insertSkippingDuplicates(UUID bankAccountId, List<StatementLine> lines, List<String> importHashes) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+
+        Integer inserted = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BATCH)) {
+                int size = lines.size();
+                Object[] dates = new Object[size];
+                Object[] amounts = new Object[size];
+                Object[] descriptions = new Object[size];
+                Object[] references = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    StatementLine line = lines.get(i);
+                    dates[i] = Date.valueOf(line.date());
+                    amounts[i] = line.amount();
+                    descriptions[i] = line.description();
+                    references[i] = line.reference();
+                }
+
+                statement.setObject(1, bankAccountId);
+                statement.setArray(2, array(connection, "date", dates));
+                statement.setArray(3, array(connection, "numeric", amounts));
+                statement.setArray(4, array(connection, "text", descriptions));
+                statement.setArray(5, array(connection, "text", references));
+                statement.setArray(6, array(connection, "text", importHashes.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    /**
+     * Marks still-IMPORTED transactions as MATCHED to the given journal entries (same order) and returns the row count.
+     */
+    public int markMatched(List<UUID> transactionIds, List<UUID> journalEntryIds) {
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+
+        Integer updated = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(MARK_MATCHED)) {
+                statement.setArray(1, array(connection, "uuid", transactionIds.toArray()));
+                statement.setArray(2, array(connection, "uuid", journalEntryIds.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
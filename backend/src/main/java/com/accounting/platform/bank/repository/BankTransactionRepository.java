@@ -22,4 +22,39 @@ public interface BankTransactionRepository extends JpaRepository<BankTransaction
             LocalDate startDate,
             LocalDate endDate
     );
+
+    List<BankTransaction> findByBankAccountIdAndStatusOrderByDateAsc(UUID bankAccountId, BankTransactionStatus status);
+
+    /**
+     * Posted ledger lines on the GL account within the window whose entry is not already matched to a bank line.
+     */
+    @org.springframework.data.jpa.repository.Query("""
+            SELECT l.id AS journalEntryLineId, j.id AS journalEntryId, j.referenceNumber AS referenceNumber,
+                   j.entryDate AS entryDate, COALESCE(l.description, j.description) AS description,
+                   l.debit AS debit, l.credit AS credit
+            FROM JournalEntryLine l JOIN l.journalEntry j
+            WHERE l.account.id = :glAccountId
+              AND j.status = com.accounting.platform.journal.entity.JournalEntryStatus.POSTED
+              AND j.entryDate BETWEEN :startDate AND :endDate
+              AND NOT EXISTS (SELECT 1 FROM BankTransaction t WHERE t.matchedJournalEntryId = j.id)
+            """)
+    List<LedgerCandidateView> findReconciliationCandidates(
+            @org.springframework.data.repository.query.Param("glAccountId") UUID glAccountId,
+            @org.springframework.data.repository.query.Param("startDate") LocalDate startDate,
+            @org.springframework.data.repository.query.Param("endDate") LocalDate endDate);
+
+    interface LedgerCandidateView {
+        UUID getJournalEntryLineId();
+        UUID getJournalEntryId();
+        String getReferenceNumber();
+        LocalDate getEntryDate();
+        String getDescription();
+        java.math.BigDecimal getDebit();
+        java.math.BigDecimal getCredit();
+    }
+
+    @org.springframework.data.jpa.repository.Query("SELECT t.importHash FROM BankTransaction t WHERE t.bankAccount.id = :bankAccountId AND t.importHash IN :importHashes")
+    List<String> findExistingImportHashes(
+            @org.springframework.data.repository.query.Param("bankAccountId") UUID bankAccountId,
+            @org.springframework.data.repository.query.Param("importHashes") java.util.Collection<String> importHashes);
 }
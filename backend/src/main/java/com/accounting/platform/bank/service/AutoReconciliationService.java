@@ -0,0 +1,211 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.AutoReconciliationResultDto;
+import com.accounting.platform.bank.entity.BankAccount;
+import com.accounting.platform.bank.entity.BankTransaction;
+import com.accounting.platform.bank.entity.BankTransactionStatus;
+import com.accounting.platform.bank.repository.BankAccountRepository;
+import com.accounting.platform.bank.repository.BankTransactionBatchRepository;
+import com.accounting.platform.bank.repository.BankTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background auto-reconciliation. Every bank account is processed concurrently on virtual threads,
+ * bounded by a semaphore so the job never holds more than {@code parallelism} DB connections.
+ * Each account runs in its own transaction: a failure in one account does not roll back the others.
+ * Only exact one-to-one matches (same amount, inside the date window, a single candidate on both sides)
+ * are applied; anything ambiguous is left for the suggestions screen.
+ */
+@Slf4j
+@Service
+public class AutoReconciliationService {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BankTransactionRepository bankTransactionRepository;
+    private final BankTransactionBatchRepository bankTransactionBatchRepository;
+    private final BankReconciliationService bankReconciliationService;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter linesCounter;
+    private final Counter matchedCounter;
+    private final Counter failedAccountsCounter;
+    private final Timer accountTimer;
+    private final AtomicReference<Double> lastLinesPerSecond = new AtomicReference<>(0.0);
+    private final AtomicReference<Double> lastMatchRate = new AtomicReference<>(0.0);
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.reconciliation.auto.parallelism:4}")
+    private int parallelism;
+
+    public AutoReconciliationService(BankAccountRepository bankAccountRepository,
+                                     BankTransactionRepository bankTransactionRepository,
+                                     BankTransactionBatchRepository bankTransactionBatchRepository,
+                                     BankReconciliationService bankReconciliationService,
+                                     AuditService auditService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.bankTransactionBatchRepository = bankTransactionBatchRepository;
+        this.bankReconciliationService = bankReconciliationService;
+        this.auditService = auditService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.linesCounter = Counter.builder("reconciliation.auto.lines")
+                .description("Bank lines examined by auto-reconciliation")
+                .register(meterRegistry);
+        this.matchedCounter = Counter.builder("reconciliation.auto.matched")
+                .description("Bank lines marked MATCHED by auto-reconciliation")
+                .register(meterRegistry);
+        this.failedAccountsCounter = Counter.builder("reconciliation.auto.failed.accounts")
+                .description("Bank accounts whose auto-reconciliation run failed")
+                .register(meterRegistry);
+        this.accountTimer = Timer.builder("reconciliation.auto.account.duration")
+                .description("Auto-reconciliation time per bank account")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.auto.lines.per.second", lastLinesPerSecond, AtomicReference::get)
+                .description("Throughput of the last auto-reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.auto.match.rate", lastMatchRate, AtomicReference::get)
+                .description("Share of examined lines matched in the last auto-reconciliation run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.reconciliation.auto.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        if (running.get()) {
+            log.info("Auto-reconciliation still running, skipping scheduled run");
+            return;
+        }
+        runAll();
+    }
+
+    public AutoReconciliationResultDto runAll() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Auto-reconciliation is already running");
+        }
+        try {
+            return doRunAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AutoReconciliationResultDto doRunAll() {
+        long start = System.nanoTime();
+        List<UUID> accountIds = bankAccountRepository.findAll().stream().map(BankAccount::getId).toList();
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+
+        List<Future<AccountResult>> futures = new ArrayList<>(accountIds.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (UUID accountId : accountIds) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return accountTimer.recordCallable(() -> transactionTemplate.execute(status -> reconcileAccount(accountId)));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } // close() waits for all accounts
+
+        long lines = 0;
+        long matched = 0;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                AccountResult result = futures.get(i).get();
+                lines += result.lines();
+                matched += result.matched();
+            } catch (ExecutionException e) {
+                failed++;
+                failedAccountsCounter.increment();
+                log.error("Auto-reconciliation failed for bank account {}", accountIds.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Auto-reconciliation interrupted", e);
+            }
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        lastLinesPerSecond.set(durationMs == 0 ? lines : lines * 1000.0 / durationMs);
+        lastMatchRate.set(lines == 0 ? 0.0 : (double) matched / lines);
+        log.info("Auto-reconciliation: {} bank accounts ({} failed), {} of {} lines matched in {} ms",
+                accountIds.size(), failed, matched, lines, durationMs);
+        return new AutoReconciliationResultDto(accountIds.size(), failed, lines, matched, durationMs);
+    }
+
+    private AccountResult reconcileAccount(UUID bankAccountId) {
+        BankAccount bankAccount = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Bank Account not found"));
+        List<BankTransaction> unreconciled = bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(
+                bankAccountId, BankTransactionStatus.IMPORTED);
+        if (unreconciled.isEmpty()) {
+            return new AccountResult(0, 0);
+        }
+
+        ReconciliationMatcher matcher = bankReconciliationService.buildMatcher(bankAccount.getGlAccount().getId(),
+                unreconciled.get(0).getDate(), unreconciled.get(unreconciled.size() - 1).getDate());
+
+        // Bank line -> its single exact candidate entry, and how many bank lines claim each entry
+        Map<UUID, UUID> proposals = new HashMap<>();
+        Map<UUID, Integer> claims = new HashMap<>();
+        for (BankTransaction tx : unreconciled) {
+            List<UUID> entryIds = matcher.exactCandidates(tx.getDate(), tx.getAmount()).stream()
+                    .map(ReconciliationMatcher.Candidate::journalEntryId)
+                    .distinct()
+                    .toList();
+            if (entryIds.size() == 1) {
+                proposals.put(tx.getId(), entryIds.get(0));
+                claims.merge(entryIds.get(0), 1, Integer::sum);
+            }
+        }
+
+        List<UUID> transactionIds = new ArrayList<>();
+        List<UUID> journalEntryIds = new ArrayList<>();
+        proposals.forEach((txId, entryId) -> {
+            if (claims.get(entryId) == 1) {
+                transactionIds.add(txId);
+                journalEntryIds.add(entryId);
+            }
+        });
+
+        int matched = bankTransactionBatchRepository.markMatched(transactionIds, journalEntryIds);
+        linesCounter.increment(unreconciled.size());
+        matchedCounter.increment(matched);
+
+        if (matched > 0) {
+            auditService.logAction("AUTO_RECONCILE", "BankAccount", bankAccountId,
+                    "Matched " + matched + " of " + unreconciled.size() + " transactions");
+        }
+        return new AccountResult(unreconciled.size(), matched);
+    }
+
+    private record AccountResult(long lines, long matched) {
+    }
+}
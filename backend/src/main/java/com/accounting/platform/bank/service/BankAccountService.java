@@ -4,17 +4,21 @@ import com.accounting.platform.account.entity.Account;
 import com.accounting.platform.account.entity.AccountSubtype;
 import com.accounting.platform.account.repository.AccountRepository;
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.StatementLine;
 import com.accounting.platform.bank.entity.BankAccount;
 import com.accounting.platform.bank.entity.BankTransaction;
 import com.accounting.platform.bank.entity.BankTransactionStatus;
 import com.accounting.platform.bank.repository.BankAccountRepository;
 import com.accounting.platform.bank.repository.BankTransactionRepository;
+import com.accounting.platform.bank.service.statement.ImportHashSequence;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -63,14 +67,21 @@ public class BankAccountService {
     public List<BankTransaction> importTransactions(UUID bankAccountId, List<BankTransaction> transactions) {
         BankAccount account = getBankAccountById(bankAccountId);
 
-        List<BankTransaction> savedTransactions = transactions.stream()
-                .map(tx -> {
+        // Same duplicate detection as statement file imports, resolved with one lookup for the whole list
+        ImportHashSequence hashes = new ImportHashSequence();
+        transactions.forEach(tx -> tx.setImportHash(hashes.next(
+                new StatementLine(tx.getDate(), tx.getAmount(), tx.getDescription(), tx.getReference()))));
+        Set<String> existing = new HashSet<>(bankTransactionRepository.findExistingImportHashes(bankAccountId,
+                transactions.stream().map(BankTransaction::getImportHash).toList()));
+
+        List<BankTransaction> newTransactions = transactions.stream()
+                .filter(tx -> !existing.contains(tx.getImportHash()))
+                .peek(tx -> {
                     tx.setBankAccount(account);
                     tx.setStatus(BankTransactionStatus.IMPORTED);
-                    return tx;
                 })
-                .map(bankTransactionRepository::save)
                 .collect(Collectors.toList());
+        List<BankTransaction> savedTransactions = bankTransactionRepository.saveAll(newTransactions);
 
         auditService.logAction("IMPORT_TRANSACTIONS", "BankAccount", bankAccountId, "Imported " + savedTransactions.size() + " transactions");
         return savedTransactions;
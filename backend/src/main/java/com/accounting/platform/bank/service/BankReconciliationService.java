@@ -1,16 +1,17 @@
 package com.accounting.platform.bank.service;
 
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.ReconciliationSuggestionDto;
 import com.accounting.platform.bank.entity.BankAccount;
 import com.accounting.platform.bank.entity.BankTransaction;
 import com.accounting.platform.bank.entity.BankTransactionStatus;
 import com.accounting.platform.bank.repository.BankAccountRepository;
 import com.accounting.platform.bank.repository.BankTransactionRepository;
 import com.accounting.platform.journal.entity.JournalEntry;
-import com.accounting.platform.journal.entity.JournalEntryLine;
-import com.accounting.platform.journal.repository.JournalEntryRepository;
 import com.accounting.platform.journal.service.JournalEntryService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,59 +20,79 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BankReconciliationService {
 
     private final BankAccountRepository bankAccountRepository;
     private final BankTransactionRepository bankTransactionRepository;
-    private final JournalEntryRepository journalEntryRepository;
     private final JournalEntryService journalEntryService; // Reuse existing services
     private final AuditService auditService;
 
-    public static class ReconciliationSuggestion {
-        public BankTransaction bankTransaction;
-        public List<JournalEntry> possibleMatches;
-    }
+    @Value("${app.reconciliation.amount-tolerance:0.01}")
+    private BigDecimal amountTolerance;
+
+    @Value("${app.reconciliation.date-window-days:3}")
+    private int dateWindowDays;
+
+    @Value("${app.reconciliation.max-candidates:5}")
+    private int maxCandidates;
 
-    public List<ReconciliationSuggestion> getSuggestions(UUID bankAccountId) {
+    /**
+     * Suggests ledger matches for every unreconciled bank line of the account.
+     * Loads the candidate ledger lines with one range query covering all bank lines,
+     * indexes them in memory and matches each bank line against the index.
+     */
+    @Transactional(readOnly = true)
+    public List<ReconciliationSuggestionDto> getSuggestions(UUID bankAccountId) {
         BankAccount bankAccount = bankAccountRepository.findById(bankAccountId)
                 .orElseThrow(() -> new IllegalArgumentException("Bank Account not found"));
 
         // 1. Get Unreconciled Bank Transactions
-        List<BankTransaction> unreconciled = bankTransactionRepository.findByBankAccountAndStatus(
-                bankAccount, BankTransactionStatus.IMPORTED, null // No paging
-        ).getContent(); // assuming small volume for demo
+        List<BankTransaction> unreconciled = bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(
+                bankAccountId, BankTransactionStatus.IMPORTED);
+        if (unreconciled.isEmpty()) {
+            return List.of();
+        }
 
-        List<ReconciliationSuggestion> suggestions = new ArrayList<>();
+        // 2. Index the ledger lines on the bank's GL account across the combined date window
+        ReconciliationMatcher matcher = buildMatcher(bankAccount.getGlAccount().getId(),
+                unreconciled.get(0).getDate(), unreconciled.get(unreconciled.size() - 1).getDate());
 
-        // 2. For each, find matching Journal Entries touching the GL Account
+        // 3. Match each bank line against the index
+        List<ReconciliationSuggestionDto> suggestions = new ArrayList<>(unreconciled.size());
         for (BankTransaction tx : unreconciled) {
-            // Find entries with same Amount (+/- 0.01) within +/- 3 days
-            // This is "soft" matching.
-            // Complex query usually required. Here we do rudimentary in-memory filter for demo.
-            // Ideally: Repository Custom Query
-
-            // Getting ALL entries for period is too heavy. Let's assume we fetch a reasonable window.
-            LocalDate start = tx.getDate().minusDays(5);
-            LocalDate end = tx.getDate().plusDays(5);
-
-            // We need a repository method that joins JournalEntry and Line
-            // For now, let's assume we rely on iterating recent entries from repository
-            // optimizing this requires a custom Repostiory query: findEntriesByAccountAndDateAndAmount
-
-            // Placeholder logic:
-            ReconciliationSuggestion suggestion = new ReconciliationSuggestion();
-            suggestion.bankTransaction = tx;
-            suggestion.possibleMatches = new ArrayList<>(); // TODO: Implement actual lookup
-            suggestions.add(suggestion);
+            suggestions.add(new ReconciliationSuggestionDto(
+                    tx.getId(),
+                    tx.getDate(),
+                    tx.getAmount(),
+                    tx.getDescription(),
+                    tx.getReference(),
+                    matcher.match(tx.getDate(), tx.getAmount(), tx.getReference(), tx.getDescription(), maxCandidates)));
         }
 
+        log.debug("Reconciliation suggestions for bank account {}: {} bank lines against {} ledger lines",
+                bankAccountId, unreconciled.size(), matcher.size());
         return suggestions;
     }
 
+    public ReconciliationMatcher buildMatcher(UUID glAccountId, LocalDate firstDate, LocalDate lastDate) {
+        ReconciliationMatcher matcher = new ReconciliationMatcher(amountTolerance, dateWindowDays);
+        bankTransactionRepository.findReconciliationCandidates(glAccountId,
+                        firstDate.minusDays(dateWindowDays), lastDate.plusDays(dateWindowDays))
+                .forEach(line -> matcher.add(new ReconciliationMatcher.Candidate(
+                        line.getJournalEntryId(),
+                        line.getJournalEntryLineId(),
+                        line.getReferenceNumber(),
+                        line.getEntryDate(),
+                        line.getDescription(),
+                        // Money into the bank is a debit on its GL account
+                        line.getDebit().subtract(line.getCredit()))));
+        return matcher;
+    }
+
     @Transactional
     public void reconcileTransaction(UUID bankTransactionId, UUID journalEntryId) {
         BankTransaction tx = bankTransactionRepository.findById(bankTransactionId)
@@ -0,0 +1,218 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.StatementImportProgressDto;
+import com.accounting.platform.bank.dto.StatementLine;
+import com.accounting.platform.bank.repository.BankAccountRepository;
+import com.accounting.platform.bank.repository.BankTransactionBatchRepository;
+import com.accounting.platform.bank.service.statement.Camt053StatementParser;
+import com.accounting.platform.bank.service.statement.CsvStatementParser;
+import com.accounting.platform.bank.service.statement.ImportHashSequence;
+import com.accounting.platform.bank.service.statement.OfxStatementParser;
+import com.accounting.platform.bank.service.statement.StatementFormat;
+import com.accounting.platform.bank.service.statement.StatementParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams bank statement files (CSV, OFX, camt.053) into bank_transactions.
+ * Lines are parsed incrementally from the upload and written in fixed-size batches,
+ * so memory use does not grow with the statement. Lines already imported for the
+ * bank account are skipped via their import hash.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BankStatementImportService {
+
+    private static final Duration PROGRESS_RETENTION = Duration.ofHours(1);
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BankTransactionBatchRepository bankTransactionBatchRepository;
+    private final AuditService auditService;
+
+    private final Map<String, StatementImportProgressDto> progress = new ConcurrentHashMap<>();
+
+    @Value("${app.bank.import.batch-size:500}")
+    private int batchSize;
+
+    @Transactional
+    public StatementImportProgressDto importStatement(UUID bankAccountId, MultipartFile file, StatementFormat format,
+                                                      String dateFormat, String importId) {
+        if (!bankAccountRepository.existsById(bankAccountId)) {
+            throw new IllegalArgumentException("Bank account not found");
+        }
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Statement file is empty");
+        }
+
+        StatementFormat resolvedFormat = format != null ? format : StatementFormat.fromFilename(file.getOriginalFilename());
+        String id = importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString();
+        if (progress.get(id) != null && progress.get(id).getStatus() == StatementImportProgressDto.Status.RUNNING) {
+            throw new IllegalStateException("Import " + id + " is already running");
+        }
+        evictFinishedImports();
+
+        ImportRun run = new ImportRun(bankAccountId, StatementImportProgressDto.builder()
+                .importId(id)
+                .bankAccountId(bankAccountId)
+                .fileName(file.getOriginalFilename())
+                .status(StatementImportProgressDto.Status.RUNNING)
+                .totalBytes(file.getSize())
+                .startedAt(Instant.now())
+                .build());
+
+        try (CountingInputStream input = new CountingInputStream(file.getInputStream())) {
+            run.input = input;
+            parser(resolvedFormat, dateFormat).parse(input, run::add);
+            run.flush();
+        } catch (IOException e) {
+            run.fail("Could not read statement file: " + e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            run.fail(e.getMessage());
+            throw e;
+        }
+
+        StatementImportProgressDto result = run.complete();
+        auditService.logAction("IMPORT_TRANSACTIONS", "BankAccount", bankAccountId,
+                "Imported " + result.getImported() + " transactions from " + result.getFileName()
+                        + " (" + result.getDuplicates() + " duplicates skipped)");
+        log.info("Statement import {} for bank account {}: {} lines, {} imported, {} duplicates",
+                id, bankAccountId, result.getLinesRead(), result.getImported(), result.getDuplicates());
+        return result;
+    }
+
+    public StatementImportProgressDto getProgress(String importId) {
+        StatementImportProgressDto current = progress.get(importId);
+        if (current == null) {
+            throw new IllegalArgumentException("Import not found");
+        }
+        return current;
+    }
+
+    private StatementParser parser(StatementFormat format, String dateFormat) {
+        return switch (format) {
+            case CSV -> new CsvStatementParser(dateFormat);
+            case OFX -> new OfxStatementParser();
+            case CAMT053 -> new Camt053StatementParser();
+        };
+    }
+
+    private void evictFinishedImports() {
+        Instant cutoff = Instant.now().minus(PROGRESS_RETENTION);
+        progress.values().removeIf(p -> p.getFinishedAt() != null && p.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * State of one running import: the pending batch, the hash sequence and the published progress.
+     */
+    private class ImportRun {
+        private final UUID bankAccountId;
+        private final ImportHashSequence hashes = new ImportHashSequence();
+        private final List<StatementLine> batch = new ArrayList<>(batchSize);
+        private final List<String> batchHashes = new ArrayList<>(batchSize);
+        private StatementImportProgressDto state;
+        private CountingInputStream input;
+
+        ImportRun(UUID bankAccountId, StatementImportProgressDto initial) {
+            this.bankAccountId = bankAccountId;
+            publish(initial);
+        }
+
+        void add(StatementLine line) {
+            batch.add(line.description() == null
+                    ? new StatementLine(line.date(), line.amount(), line.reference() != null ? line.reference() : "Bank transaction", line.reference())
+                    : line);
+            batchHashes.add(hashes.next(line));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            int inserted = bankTransactionBatchRepository.insertSkippingDuplicates(bankAccountId, batch, batchHashes);
+            publish(state.toBuilder()
+                    .bytesRead(input.count)
+                    .linesRead(state.getLinesRead() + batch.size())
+                    .imported(state.getImported() + inserted)
+                    .duplicates(state.getDuplicates() + batch.size() - inserted)
+                    .build());
+            batch.clear();
+            batchHashes.clear();
+        }
+
+        StatementImportProgressDto complete() {
+            return publish(state.toBuilder()
+                    .status(StatementImportProgressDto.Status.COMPLETED)
+                    .bytesRead(state.getTotalBytes())
+                    .finishedAt(Instant.now())
+                    .build());
+        }
+
+        void fail(String error) {
+            // The transaction rolls back, so nothing from this import is kept
+            publish(state.toBuilder()
+                    .status(StatementImportProgressDto.Status.FAILED)
+                    .imported(0)
+                    .error(error)
+                    .finishedAt(Instant.now())
+                    .build());
+        }
+
+        private StatementImportProgressDto publish(StatementImportProgressDto next) {
+            state = next;
+            progress.put(next.getImportId(), next);
+            return next;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.bank.dto.ReconciliationCandidateDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory index of ledger lines for matching bank transactions.
+ * Lines are keyed by amount in cents and then by date (epoch day), so a lookup is two
+ * range scans on sorted maps (O(log n) plus the number of hits) instead of a query per bank line.
+ */
+public class ReconciliationMatcher {
+
+    private static final double AMOUNT_WEIGHT = 0.5;
+    private static final double DATE_WEIGHT = 0.3;
+    private static final double REFERENCE_WEIGHT = 0.2;
+
+    private final NavigableMap<Long, NavigableMap<Long, List<Candidate>>> index = new TreeMap<>();
+    private final long toleranceCents;
+    private final int dateWindowDays;
+    private int size;
+
+    public ReconciliationMatcher(BigDecimal amountTolerance, int dateWindowDays) {
+        this.toleranceCents = toCents(amountTolerance.abs());
+        this.dateWindowDays = Math.max(0, dateWindowDays);
+    }
+
+    public record Candidate(UUID journalEntryId, UUID journalEntryLineId, String referenceNumber,
+                            LocalDate entryDate, String description, BigDecimal amount) {
+    }
+
+    public void add(Candidate candidate) {
+        index.computeIfAbsent(toCents(candidate.amount()), cents -> new TreeMap<>())
+                .computeIfAbsent(candidate.entryDate().toEpochDay(), day -> new ArrayList<>(1))
+                .add(candidate);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Candidates within the amount tolerance and date window, best first.
+     */
+    public List<ReconciliationCandidateDto> match(LocalDate date, BigDecimal amount, String bankReference,
+                                                  String bankDescription, int limit) {
+        long cents = toCents(amount);
+        long day = date.toEpochDay();
+        String bankText = ((bankReference == null ? "" : bankReference) + " "
+                + (bankDescription == null ? "" : bankDescription)).toLowerCase(Locale.ROOT);
+
+        List<ReconciliationCandidateDto> matches = new ArrayList<>();
+        for (NavigableMap<Long, List<Candidate>> byDay : index.subMap(cents - toleranceCents, true, cents + toleranceCents, true).values()) {
+            for (Collection<Candidate> candidates : byDay.subMap(day - dateWindowDays, true, day + dateWindowDays, true).values()) {
+                for (Candidate candidate : candidates) {
+                    matches.add(toDto(candidate, score(candidate, cents, day, bankText)));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(ReconciliationCandidateDto::getConfidence).reversed()
+                .thenComparing(ReconciliationCandidateDto::getEntryDate));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Candidates with exactly the same amount within the date window, used for automatic matching.
+     */
+    public List<Candidate> exactCandidates(LocalDate date, BigDecimal amount) {
+        NavigableMap<Long, List<Candidate>> byDay = index.get(toCents(amount));
+        if (byDay == null) {
+            return List.of();
+        }
+        long day = date.toEpochDay();
+        List<Candidate> candidates = new ArrayList<>();
+        byDay.subMap(day - dateWindowDays, true, day + dateWindowDays, true).values().forEach(candidates::addAll);
+        return candidates;
+    }
+
+    private double score(Candidate candidate, long cents, long day, String bankText) {
+        long amountDiff = Math.abs(toCents(candidate.amount()) - cents);
+        long dayDiff = Math.abs(candidate.entryDate().toEpochDay() - day);
+
+        double amountScore = 1.0 - (double) amountDiff / (toleranceCents + 1);
+        double dateScore = 1.0 - (double) dayDiff / (dateWindowDays + 1);
+        boolean referenceMatch = candidate.referenceNumber() != null && !candidate.referenceNumber().isBlank()
+                && bankText.contains(candidate.referenceNumber().toLowerCase(Locale.ROOT));
+
+        double confidence = AMOUNT_WEIGHT * amountScore + DATE_WEIGHT * dateScore + (referenceMatch ? REFERENCE_WEIGHT : 0);
+        return Math.round(confidence * 100) / 100.0;
+    }
+
+    private static ReconciliationCandidateDto toDto(Candidate candidate, double confidence) {
+        return new ReconciliationCandidateDto(
+                candidate.journalEntryId(),
+                candidate.journalEntryLineId(),
+                candidate.referenceNumber(),
+                candidate.entryDate(),
+                candidate.description(),
+                candidate.amount(),
+                confidence);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,150 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ISO 20022 camt.053 (bank to customer statement) files, read with StAX.
+ * Each {@code Ntry} becomes one statement line; only the current entry is held in memory.
+ */
+public class Camt053StatementParser implements StatementParser {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    @Override
+    public void parse(InputStream input, Consumer<StatementLine> sink) {
+        XMLStreamReader xml = null;
+        try {
+            xml = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            List<String> path = new ArrayList<>();
+            Entry entry = null;
+            long entries = 0;
+            StringBuilder text = new StringBuilder();
+
+            while (xml.hasNext()) {
+                switch (xml.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        path.add(xml.getLocalName());
+                        text.setLength(0);
+                        if (xml.getLocalName().equals("Ntry")) {
+                            entry = new Entry();
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(xml.getText());
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (entry != null) {
+                            if (xml.getLocalName().equals("Ntry")) {
+                                entries++;
+                                sink.accept(entry.toLine(entries));
+                                entry = null;
+                            } else {
+                                entry.collect(path, text.toString().trim());
+                            }
+                        }
+                        path.remove(path.size() - 1);
+                        text.setLength(0);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Invalid camt.053 statement: " + e.getMessage());
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing to release beyond the caller's stream
+                }
+            }
+        }
+    }
+
+    private static boolean endsWith(List<String> path, String... names) {
+        if (path.size() < names.length) {
+            return false;
+        }
+        int offset = path.size() - names.length;
+        for (int i = 0; i < names.length; i++) {
+            if (!path.get(offset + i).equals(names[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static class Entry {
+        private String amount;
+        private String creditDebit;
+        private String bookingDate;
+        private String valueDate;
+        private String reference;
+        private String endToEndId;
+        private String remittance;
+        private String additionalInfo;
+        private String counterparty;
+
+        void collect(List<String> path, String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            if (endsWith(path, "Ntry", "Amt")) {
+                amount = value;
+            } else if (endsWith(path, "Ntry", "CdtDbtInd")) {
+                creditDebit = value;
+            } else if (endsWith(path, "BookgDt", "Dt") || endsWith(path, "BookgDt", "DtTm")) {
+                bookingDate = value;
+            } else if (endsWith(path, "ValDt", "Dt") || endsWith(path, "ValDt", "DtTm")) {
+                valueDate = value;
+            } else if (endsWith(path, "Ntry", "AcctSvcrRef")) {
+                reference = value;
+            } else if (endsWith(path, "Refs", "EndToEndId") && endToEndId == null && !value.equals("NOTPROVIDED")) {
+                endToEndId = value;
+            } else if (endsWith(path, "RmtInf", "Ustrd") && remittance == null) {
+                remittance = value;
+            } else if (endsWith(path, "Ntry", "AddtlNtryInf")) {
+                additionalInfo = value;
+            } else if ((endsWith(path, "RltdPties", "Cdtr", "Nm") || endsWith(path, "RltdPties", "Dbtr", "Nm")
+                    || endsWith(path, "RltdPties", "Cdtr", "Pty", "Nm") || endsWith(path, "RltdPties", "Dbtr", "Pty", "Nm"))
+                    && counterparty == null) {
+                counterparty = value;
+            }
+        }
+
+        StatementLine toLine(long number) {
+            String date = bookingDate != null ? bookingDate : valueDate;
+            if (amount == null || date == null || creditDebit == null) {
+                throw new IllegalArgumentException("Invalid camt.053 entry " + number + ": Amt, CdtDbtInd and BookgDt are required");
+            }
+            try {
+                BigDecimal value = new BigDecimal(amount.trim());
+                return new StatementLine(
+                        // DtTm values carry a time part after the date
+                        LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date),
+                        "DBIT".equals(creditDebit) ? value.negate() : value,
+                        StatementValues.firstNonBlank(remittance, additionalInfo, counterparty),
+                        StatementValues.firstNonBlank(reference, endToEndId));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid camt.053 entry " + number + ": " + e.getMessage());
+            }
+        }
+    }
+}
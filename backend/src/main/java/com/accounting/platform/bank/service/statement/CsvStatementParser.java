@@ -0,0 +1,96 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+import com.accounting.platform.common.csv.CsvReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * CSV statements with a header row. Columns are matched by name: a date, either a signed amount
+ * or separate debit/credit columns, a description and an optional reference.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private static final Set<String> DATE_COLUMNS = Set.of("date", "transaction date", "posted date", "posting date", "booking date", "value date");
+    private static final Set<String> AMOUNT_COLUMNS = Set.of("amount", "transaction amount");
+    private static final Set<String> DEBIT_COLUMNS = Set.of("debit", "withdrawal", "withdrawals", "money out", "paid out");
+    private static final Set<String> CREDIT_COLUMNS = Set.of("credit", "deposit", "deposits", "money in", "paid in");
+    private static final Set<String> DESCRIPTION_COLUMNS = Set.of("description", "memo", "payee", "details", "narrative", "name");
+    private static final Set<String> REFERENCE_COLUMNS = Set.of("reference", "ref", "transaction id", "fitid", "id", "check number");
+
+    private final DateTimeFormatter dateFormat;
+
+    public CsvStatementParser(String datePattern) {
+        this.dateFormat = datePattern == null || datePattern.isBlank()
+                ? DateTimeFormatter.ISO_LOCAL_DATE
+                : DateTimeFormatter.ofPattern(datePattern);
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<StatementLine> sink) {
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        int date = column(header, DATE_COLUMNS);
+        int amount = column(header, AMOUNT_COLUMNS);
+        int debit = column(header, DEBIT_COLUMNS);
+        int credit = column(header, CREDIT_COLUMNS);
+        int description = column(header, DESCRIPTION_COLUMNS);
+        int reference = column(header, REFERENCE_COLUMNS);
+
+        if (date < 0) {
+            throw new IllegalArgumentException("CSV statement has no date column");
+        }
+        if (amount < 0 && debit < 0 && credit < 0) {
+            throw new IllegalArgumentException("CSV statement has no amount or debit/credit columns");
+        }
+
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            try {
+                BigDecimal value = amount >= 0
+                        ? StatementValues.parseAmount(field(record, amount))
+                        : optionalAmount(field(record, credit)).subtract(optionalAmount(field(record, debit)));
+
+                sink.accept(new StatementLine(
+                        LocalDate.parse(field(record, date).trim(), dateFormat),
+                        value,
+                        StatementValues.clean(field(record, description)),
+                        StatementValues.clean(field(record, reference))));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid CSV statement line " + reader.getRecordNumber() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static int column(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : "";
+    }
+
+    private static BigDecimal optionalAmount(String raw) {
+        // Debit/credit columns usually hold unsigned amounts with the other side left blank
+        return raw.isBlank() ? BigDecimal.ZERO : StatementValues.parseAmount(raw).abs();
+    }
+}
@@ -0,0 +1,45 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Computes the duplicate-detection hash for the lines of one import.
+ * The hash covers date, amount and reference plus the occurrence of that triple within the import,
+ * so re-importing the same statement is a no-op while two identical lines on one statement
+ * (e.g. two equal card payments on the same day) are both kept.
+ * Must stay in line with the backfill in changelog 017.
+ */
+public class ImportHashSequence {
+
+    private final Map<String, Integer> occurrences = new HashMap<>();
+    private final MessageDigest digest;
+
+    public ImportHashSequence() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String next(StatementLine line) {
+        String key = line.date() + "|" + normalize(line.amount()) + "|" + (line.reference() == null ? "" : line.reference());
+        int occurrence = occurrences.merge(key, 1, Integer::sum);
+        byte[] hash = digest.digest((key + "|" + occurrence).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
+    private static String normalize(BigDecimal amount) {
+        // Same text as PostgreSQL renders a decimal(19, 4) value
+        return amount.setScale(4, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * OFX / QFX statements, both the SGML (1.x, unclosed leaf tags) and XML (2.x) flavours.
+ * The file is scanned tag by tag; only the fields of the current STMTTRN block are kept in memory.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private static final String TRANSACTION = "STMTTRN";
+
+    @Override
+    public void parse(InputStream input, Consumer<StatementLine> sink) {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, String> fields = null;
+        String currentTag = null;
+        long transactions = 0;
+
+        try {
+            StringBuilder token = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c != '<') {
+                    token.append((char) c);
+                    continue;
+                }
+
+                // Text collected since the previous tag is that tag's value
+                if (fields != null && currentTag != null) {
+                    String value = token.toString().trim();
+                    if (!value.isEmpty()) {
+                        fields.putIfAbsent(currentTag, unescape(value));
+                    }
+                }
+                token.setLength(0);
+
+                String tag = readTag(reader);
+                if (tag.isEmpty() || tag.startsWith("?") || tag.startsWith("!")) {
+                    currentTag = null;
+                } else if (tag.startsWith("/")) {
+                    currentTag = null;
+                    if (fields != null && tag.substring(1).equals(TRANSACTION)) {
+                        transactions++;
+                        sink.accept(toLine(fields, transactions));
+                        fields = null;
+                    }
+                } else if (tag.equals(TRANSACTION)) {
+                    fields = new HashMap<>();
+                    currentTag = null;
+                } else {
+                    currentTag = tag;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readTag(Reader reader) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '>') {
+            tag.append((char) c);
+        }
+        String name = tag.toString().trim();
+        int space = name.indexOf(' ');
+        if (space > 0) {
+            name = name.substring(0, space);
+        }
+        if (name.endsWith("/")) {
+            name = name.substring(0, name.length() - 1);
+        }
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&nbsp;", " ")
+                .replace("&amp;", "&");
+    }
+
+    private static StatementLine toLine(Map<String, String> fields, long number) {
+        String posted = fields.get("DTPOSTED");
+        String amount = fields.get("TRNAMT");
+        if (posted == null || posted.length() < 8 || amount == null) {
+            throw new IllegalArgumentException("Invalid OFX transaction " + number + ": DTPOSTED and TRNAMT are required");
+        }
+
+        try {
+            return new StatementLine(
+                    // DTPOSTED is YYYYMMDD optionally followed by time and timezone
+                    LocalDate.parse(posted.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE),
+                    StatementValues.parseAmount(amount),
+                    StatementValues.firstNonBlank(fields.get("NAME"), fields.get("MEMO"), fields.get("PAYEE")),
+                    StatementValues.firstNonBlank(fields.get("FITID"), fields.get("REFNUM"), fields.get("CHECKNUM")));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid OFX transaction " + number + ": " + e.getMessage());
+        }
+    }
+}
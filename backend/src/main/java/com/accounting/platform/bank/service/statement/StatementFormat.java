@@ -0,0 +1,23 @@
+package com.accounting.platform.bank.service.statement;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV,
+    OFX,
+    CAMT053;
+
+    public static StatementFormat fromFilename(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return OFX;
+        }
+        if (name.endsWith(".xml") || name.endsWith(".camt") || name.endsWith(".053")) {
+            return CAMT053;
+        }
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Cannot detect statement format from file name '" + filename + "', please specify the format");
+    }
+}
@@ -0,0 +1,15 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Incremental statement parser: lines are handed to the sink as soon as they are read,
+ * so callers can write them out in batches without holding the whole statement in memory.
+ */
+public interface StatementParser {
+
+    void parse(InputStream input, Consumer<StatementLine> sink);
+}
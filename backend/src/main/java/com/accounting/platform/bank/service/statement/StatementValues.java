@@ -0,0 +1,59 @@
+package com.accounting.platform.bank.service.statement;
+
+import java.math.BigDecimal;
+
+/**
+ * Shared value clean-up for the statement parsers.
+ */
+final class StatementValues {
+
+    static final int MAX_TEXT_LENGTH = 255;
+
+    private StatementValues() {
+    }
+
+    /**
+     * Parses amounts like "1,234.56", "1.234,56", "-12.00", "(12.00)" or "$ 12.00".
+     */
+    static BigDecimal parseAmount(String raw) {
+        String value = raw.trim();
+        boolean negative = value.startsWith("(") && value.endsWith(")");
+        value = value.replaceAll("[^0-9.,+-]", "");
+        int lastDot = value.lastIndexOf('.');
+        int lastComma = value.lastIndexOf(',');
+        boolean decimalComma = lastComma > lastDot
+                && (lastDot >= 0 || (value.indexOf(',') == lastComma && value.length() - lastComma <= 3));
+        if (decimalComma) {
+            // e.g. "12,50" or "1.234,56"
+            value = value.replace(".", "").replace(',', '.');
+        } else {
+            value = value.replace(",", "");
+        }
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid amount '" + raw + "'");
+        }
+        BigDecimal amount = new BigDecimal(value);
+        return negative ? amount.negate() : amount;
+    }
+
+    static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim().replaceAll("\\s+", " ");
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return trimmed.length() > MAX_TEXT_LENGTH ? trimmed.substring(0, MAX_TEXT_LENGTH) : trimmed;
+    }
+
+    static String firstNonBlank(String... values) {
+        for (String value : values) {
+            String cleaned = clean(value);
+            if (cleaned != null) {
+                return cleaned;
+            }
+        }
+        return null;
+    }
+}
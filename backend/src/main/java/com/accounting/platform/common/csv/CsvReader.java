@@ -0,0 +1,135 @@
+package com.accounting.platform.common.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader. Records are read one at a time from the underlying reader,
+ * so memory use does not depend on file size. Handles quoted fields, escaped quotes ("")
+ * and line breaks inside quotes, and strips a leading UTF-8 BOM.
+ */
+public class CsvReader implements AutoCloseable {
+
+    private static final int BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean started;
+    private long recordNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    public List<String> readRecord() {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+
+        int c;
+        while ((c = next()) != -1) {
+            sawAnything = true;
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        next();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    next();
+                }
+                if (fields.isEmpty() && field.isEmpty()) {
+                    // blank line
+                    sawAnything = false;
+                    continue;
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (!sawAnything) {
+            return null;
+        }
+        fields.add(field.toString());
+        recordNumber++;
+        return fields;
+    }
+
+    /**
+     * 1-based number of the last record returned, counting the header.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int next() {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() {
+        try {
+            limit = reader.read(buffer);
+            position = 0;
+            if (!started && limit > 0) {
+                started = true;
+                if (buffer[0] == BOM) {
+                    position = 1;
+                    if (limit == 1) {
+                        return fill();
+                    }
+                }
+            }
+            return limit > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
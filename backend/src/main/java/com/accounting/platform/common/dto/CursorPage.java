@@ -0,0 +1,50 @@
+package com.accounting.platform.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated list. There is no page number and no exact total: the next slice is
+ * fetched by passing {@code nextCursor} back as {@code ?cursor=}, so every slice costs the same as the first.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 200;
+
+    private List<T> content;
+    // Opaque; null on the last slice
+    private String nextCursor;
+    // Planner estimate of the unfiltered row count, only when asked for with ?withTotal=true
+    private Long approximateTotal;
+
+    public static int size(Integer requested) {
+        return requested == null ? DEFAULT_SIZE : Math.min(Math.max(requested, 1), MAX_SIZE);
+    }
+
+    /**
+     * Trims a result fetched with {@code size + 1} rows to {@code size} and encodes the key of the last
+     * row kept as the next cursor when the extra row shows there is more to read.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Object[]> sortKey) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, CursorCodec.encode(sortKey.apply(content.get(size - 1))), null);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, approximateTotal);
+    }
+
+    public CursorPage<T> withApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+        return this;
+    }
+}
@@ -0,0 +1,52 @@
+package com.accounting.platform.common.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    // Blocks behind an uncommitted claim of the same key, then either inserts or sees the committed row
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, created_at)
+            VALUES (?, ?, ?, now())
+            ON CONFLICT (scope, idempotency_key) DO NOTHING
+            """;
+
+    private static final String FIND = """
+            SELECT request_hash, result_id FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?
+            """;
+
+    private static final String COMPLETE = """
+            UPDATE idempotency_keys SET result_id = ? WHERE scope = ? AND idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StoredKey(String requestHash, UUID resultId) {}
+
+    public boolean claim(String scope, String key, String requestHash) {
+        return jdbcTemplate.update(CLAIM, scope, key, requestHash) > 0;
+    }
+
+    public Optional<StoredKey> find(String scope, String key) {
+        return jdbcTemplate.query(FIND, rs -> rs.next()
+                ? Optional.of(new StoredKey(rs.getString("request_hash"), rs.getObject("result_id", UUID.class)))
+                : Optional.empty(), scope, key);
+    }
+
+    public void complete(String scope, String key, UUID resultId) {
+        jdbcTemplate.update(COMPLETE, resultId, scope, key);
+    }
+
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
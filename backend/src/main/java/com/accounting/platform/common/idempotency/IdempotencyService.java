@@ -0,0 +1,86 @@
+package com.accounting.platform.common.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Makes a transactional operation safe to repeat under a client-supplied idempotency key.
+ * The key is claimed and its result recorded inside the operation's own transaction, so a rollback
+ * releases the key and a committed operation is always recorded. A concurrent duplicate waits on the
+ * key's row until the first commits, then replays the first result instead of running again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${app.idempotency.retention-hours:48}")
+    private int retentionHours;
+
+    /**
+     * Runs {@code action} once per (scope, key). Repeats with the same key return {@code replay} of the
+     * first result's id; repeats with a different request fingerprint are rejected. A null key just runs the action.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> T execute(String scope, String key, String fingerprint, Supplier<T> action,
+                         Function<T, UUID> resultId, Function<UUID, T> replay) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency key must be at most 255 characters");
+        }
+
+        String requestHash = sha256(fingerprint);
+        if (!idempotencyKeyRepository.claim(scope, key, requestHash)) {
+            IdempotencyKeyRepository.StoredKey stored = idempotencyKeyRepository.find(scope, key)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key " + key + " is being released, retry the request"));
+            if (!stored.requestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different request");
+            }
+            if (stored.resultId() == null) {
+                throw new IllegalStateException("Idempotency key " + key + " has no recorded result");
+            }
+            log.debug("Replaying {} result for idempotency key {}", scope, key);
+            return replay.apply(stored.resultId());
+        }
+
+        T result = action.get();
+        idempotencyKeyRepository.complete(scope, key, resultId.apply(result));
+        return result;
+    }
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 30 * * * *}")
+    public void deleteExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} idempotency keys older than {} hours", deleted, retentionHours);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
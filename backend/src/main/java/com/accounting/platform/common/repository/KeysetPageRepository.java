@@ -0,0 +1,84 @@
+package com.accounting.platform.common.repository;
+
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.common.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pagination over any {@link BaseEntity}, newest first on (created_at, id), for the list endpoints.
+ * A slice is one LIMIT query that continues below the cursor's key, so there is no OFFSET to skip and no
+ * COUNT(*) of the filtered set; with a (filter column, created_at, id) index it reads only the rows it returns.
+ */
+@Repository
+@RequiredArgsConstructor
+public class KeysetPageRepository {
+
+    // Wrapped in a scalar subquery so an unknown table still yields one (null) row
+    private static final String APPROXIMATE_COUNT = """
+            SELECT (SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?))
+            """;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public <T extends BaseEntity> CursorPage<T> newestFirst(Class<T> type, Specification<T> spec, String cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<Instant> createdAt = root.get("createdAt");
+        Path<UUID> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = CursorCodec.decode(cursor, 2);
+            Instant lastCreatedAt;
+            UUID lastId;
+            try {
+                lastCreatedAt = Instant.parse(key[0]);
+                lastId = UUID.fromString(key[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            // (created_at, id) < (last) spelt out; the leading <= bounds the index range scan
+            predicates.add(cb.lessThanOrEqualTo(createdAt, lastCreatedAt));
+            predicates.add(cb.or(cb.lessThan(createdAt, lastCreatedAt), cb.lessThan(id, lastId)));
+        }
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        return CursorPage.of(rows, size, row -> new Object[]{row.getCreatedAt(), row.getId()});
+    }
+
+    /**
+     * Row count of the entity's table as of the last ANALYZE / autovacuum, read from {@code pg_class}
+     * instead of counting. Null when the table has never been analysed.
+     */
+    public Long approximateRowCount(Class<?> type) {
+        Long estimate = jdbcTemplate.queryForObject(APPROXIMATE_COUNT, Long.class, type.getAnnotation(Table.class).name());
+        return estimate == null || estimate < 0 ? null : estimate;
+    }
+}
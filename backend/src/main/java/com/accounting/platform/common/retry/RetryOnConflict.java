@@ -0,0 +1,26 @@
+package com.accounting.platform.common.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional state transition when it loses an optimistic lock or other concurrency race.
+ * Each attempt starts a fresh transaction and re-reads its entities, so the transition's own checks
+ * decide whether a retried attempt still applies. Calls made inside an existing transaction are not
+ * retried; the outermost annotated call owns the retry.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    int maxAttempts() default 3;
+
+    /**
+     * Upper bound of the first backoff; doubles with each attempt and is drawn uniformly below the bound.
+     */
+    long backoffMs() default 50;
+}
@@ -0,0 +1,67 @@
+package com.accounting.platform.common.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies {@link RetryOnConflict}. Ordered ahead of the transaction interceptor so that the commit,
+ * where most version conflicts surface, happens inside the retried call.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class RetryOnConflictAspect {
+
+    private static final long MAX_BACKOFF_MS = 2000;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    conflicts(operation, "exhausted").increment();
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                conflicts(operation, "retried").increment();
+                long bound = Math.min(MAX_BACKOFF_MS, retryOnConflict.backoffMs() << (attempt - 1));
+                long delay = ThreadLocalRandom.current().nextLong(bound + 1);
+                log.debug("{} conflicted on attempt {}, retrying in {} ms", operation, attempt, delay);
+                Thread.sleep(delay);
+                attempt++;
+            }
+        }
+    }
+
+    private Counter conflicts(String operation, String outcome) {
+        return Counter.builder("state.transition.conflicts")
+                .description("Optimistic lock and other concurrency conflicts in state transitions")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.accounting.platform.common.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-transaction state kept inside a registered {@link TransactionSynchronization} rather than a bound
+ * resource. A REQUIRES_NEW call suspends the outer transaction's synchronizations but not resources bound
+ * under a private key, so state looked up this way belongs to the transaction that is actually running.
+ */
+public final class TransactionScoped {
+
+    private TransactionScoped() {
+    }
+
+    /**
+     * The synchronization of {@code type} registered on the current transaction, registering the one
+     * {@code factory} creates when there is none yet. Requires an active synchronization.
+     */
+    public static <S extends TransactionSynchronization> S synchronization(Class<S> type, Supplier<S> factory) {
+        for (TransactionSynchronization registered : TransactionSynchronizationManager.getSynchronizations()) {
+            if (type.isInstance(registered)) {
+                return type.cast(registered);
+            }
+        }
+        S created = factory.get();
+        TransactionSynchronizationManager.registerSynchronization(created);
+        return created;
+    }
+}
@@ -4,6 +4,7 @@ import com.accounting.platform.account.entity.Account;
 import com.accounting.platform.account.entity.AccountSubtype;
 import com.accounting.platform.account.entity.AccountType;
 import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class ChartOfAccountsSeeder {
 
     private final AccountRepository accountRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
 
     @Bean
     public CommandLineRunner seedChartOfAccounts() {
@@ -58,6 +60,7 @@ public class ChartOfAccountsSeeder {
             createAccount("6080", "Utilities", "Electric, water, internet", AccountType.EXPENSE, AccountSubtype.OPERATING_EXPENSE);
             createAccount("7000", "Payroll Expenses", "Salaries and wages", AccountType.EXPENSE, AccountSubtype.PAYROLL_EXPENSE);
 
+            chartOfAccountsRegistry.invalidate();
             log.info("Chart of Accounts Seeding Complete");
         };
     }
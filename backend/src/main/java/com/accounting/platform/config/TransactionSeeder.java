@@ -120,7 +120,7 @@ public class TransactionSeeder {
         payment.setBankAccountId(bankAccount.getId());
         payment.setPaymentDate(date);
         // payment.setAmount(amount); // Derives from invoice total
-        invoiceService.payInvoice(saved.getId(), payment);
+        invoiceService.payInvoice(saved.getId(), payment, null);
     }
 
     private void createSentInvoice(Contact contact, Account revenueAccount, String desc, BigDecimal amount, LocalDate date) {
@@ -164,7 +164,7 @@ public class TransactionSeeder {
         ExpensePaymentRequestDto payment = new ExpensePaymentRequestDto();
         payment.setBankAccountId(bankAccount.getId());
         payment.setPaymentDate(date);
-        expenseService.payExpense(saved.getId(), payment);
+        expenseService.payExpense(saved.getId(), payment, null);
     }
 
     private void createApprovedExpense(Contact vendor, Account expenseAccount, String desc, BigDecimal amount, LocalDate date) {
@@ -1,12 +1,11 @@
 package com.accounting.platform.contact.controller;
 
 import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.contact.service.ContactService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,8 +19,11 @@ public class ContactController {
     private final ContactService contactService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Contact>>> getAllContacts(Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success(contactService.getAllContacts(pageable)));
+    public ResponseEntity<ApiResponse<CursorPage<Contact>>> getAllContacts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(contactService.getAllContacts(cursor, size, withTotal)));
     }
 
     @GetMapping("/{id}")
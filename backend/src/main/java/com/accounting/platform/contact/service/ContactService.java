@@ -1,9 +1,12 @@
 package com.accounting.platform.contact.service;
 
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.common.repository.KeysetPageRepository;
 import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.contact.entity.ContactType;
 import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,9 +21,12 @@ public class ContactService {
 
     private final ContactRepository contactRepository;
     private final AuditService auditService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final KeysetPageRepository keysetPageRepository;
 
-    public Page<Contact> getAllContacts(Pageable pageable) {
-        return contactRepository.findAll(pageable);
+    public CursorPage<Contact> getAllContacts(String cursor, Integer size, boolean withTotal) {
+        CursorPage<Contact> page = keysetPageRepository.newestFirst(Contact.class, null, cursor, CursorPage.size(size));
+        return withTotal ? page.withApproximateTotal(keysetPageRepository.approximateRowCount(Contact.class)) : page;
     }
 
     public Page<Contact> getContactsByType(ContactType type, Pageable pageable) {
@@ -41,12 +47,14 @@ public class ContactService {
 
         Contact saved = contactRepository.save(contact);
         auditService.logCreate("Contact", saved.getId(), saved);
+        dashboardMetricsService.recordContactCreated(saved);
         return saved;
     }
 
     @Transactional
     public Contact updateContact(UUID id, Contact contactDetails) {
         Contact contact = getContactById(id);
+        Object before = auditService.snapshot(contact);
 
         contact.setName(contactDetails.getName());
         contact.setType(contactDetails.getType());
@@ -58,7 +66,7 @@ public class ContactService {
         contact.setCurrency(contactDetails.getCurrency());
 
         Contact updated = contactRepository.save(contact);
-        auditService.logUpdate("Contact", updated.getId(), null, updated);
+        auditService.logUpdate("Contact", updated.getId(), before, updated);
         return updated;
     }
 
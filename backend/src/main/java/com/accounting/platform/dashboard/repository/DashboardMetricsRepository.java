@@ -0,0 +1,144 @@
+package com.accounting.platform.dashboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and writes the precomputed dashboard tables: per-month running totals (dashboard_metrics)
+ * and the recent activity feed (activity_feed).
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardMetricsRepository {
+
+    // Deltas are applied in key order so concurrent transactions lock rows in the same order
+    private static final String ADD_DELTAS = """
+            INSERT INTO dashboard_metrics (metric, period, amount, item_count)
+            SELECT d.metric, d.period, d.amount, d.item_count
+            FROM unnest(?::text[], ?::date[], ?::numeric[], ?::bigint[]) AS d(metric, period, amount, item_count)
+            ORDER BY d.metric, d.period
+            ON CONFLICT (metric, period) DO UPDATE
+            SET amount = dashboard_metrics.amount + EXCLUDED.amount,
+                item_count = dashboard_metrics.item_count + EXCLUDED.item_count
+            """;
+
+    private static final String SUMMARIZE = """
+            SELECT metric,
+                   SUM(amount) AS total,
+                   SUM(item_count) AS item_count,
+                   COALESCE(SUM(amount) FILTER (WHERE period = ?), 0) AS current_period,
+                   COALESCE(SUM(amount) FILTER (WHERE period = ?), 0) AS previous_period
+            FROM dashboard_metrics
+            GROUP BY metric
+            """;
+
+    private static final String INSERT_ACTIVITY = """
+            INSERT INTO activity_feed (id, activity_type, entity_id, title, subtitle, amount, status, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record MetricDelta(String metric, LocalDate period, BigDecimal amount, long count) {}
+
+    public record MetricSummary(String metric, BigDecimal total, long count, BigDecimal currentPeriod, BigDecimal previousPeriod) {}
+
+    public record Activity(UUID id, String type, UUID entityId, String title, String subtitle,
+                           BigDecimal amount, String status, LocalDateTime occurredAt) {}
+
+    public void addDeltas(List<MetricDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_DELTAS)) {
+                int size = deltas.size();
+                Object[] metrics = new Object[size];
+                Object[] periods = new Object[size];
+                Object[] amounts = new Object[size];
+                Object[] counts = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    MetricDelta delta = deltas.get(i);
+                    metrics[i] = delta.metric();
+                    periods[i] = Date.valueOf(delta.period());
+                    amounts[i] = delta.amount();
+                    counts[i] = delta.count();
+                }
+                statement.setArray(1, array(connection, "text", metrics));
+                statement.setArray(2, array(connection, "date", periods));
+                statement.setArray(3, array(connection, "numeric", amounts));
+                statement.setArray(4, array(connection, "bigint", counts));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * All-time total, item count and the amounts of two given months, per metric.
+     * The table holds one row per metric and month, so this stays small regardless of document volume.
+     */
+    public List<MetricSummary> summarize(LocalDate currentPeriod, LocalDate previousPeriod) {
+        return jdbcTemplate.query(SUMMARIZE, (rs, rowNum) -> new MetricSummary(
+                rs.getString("metric"),
+                rs.getBigDecimal("total"),
+                rs.getLong("item_count"),
+                rs.getBigDecimal("current_period"),
+                rs.getBigDecimal("previous_period")),
+                Date.valueOf(currentPeriod), Date.valueOf(previousPeriod));
+    }
+
+    public void insertActivities(List<Activity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ACTIVITY, activities, activities.size(), (statement, activity) -> {
+            statement.setObject(1, activity.id());
+            statement.setString(2, activity.type());
+            statement.setObject(3, activity.entityId());
+            statement.setString(4, activity.title());
+            statement.setString(5, activity.subtitle());
+            statement.setBigDecimal(6, activity.amount());
+            statement.setString(7, activity.status());
+            statement.setTimestamp(8, Timestamp.valueOf(activity.occurredAt()));
+        });
+    }
+
+    public List<Activity> findRecentActivity(int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, activity_type, entity_id, title, subtitle, amount, status, occurred_at
+                FROM activity_feed
+                ORDER BY occurred_at DESC
+                LIMIT ?
+                """, (rs, rowNum) -> new Activity(
+                rs.getObject("id", UUID.class),
+                rs.getString("activity_type"),
+                rs.getObject("entity_id", UUID.class),
+                rs.getString("title"),
+                rs.getString("subtitle"),
+                rs.getBigDecimal("amount"),
+                rs.getString("status"),
+                rs.getTimestamp("occurred_at").toLocalDateTime()), limit);
+    }
+
+    public int deleteActivityBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM activity_feed WHERE occurred_at < ?", Timestamp.valueOf(cutoff));
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
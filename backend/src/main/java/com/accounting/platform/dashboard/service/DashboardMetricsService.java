@@ -0,0 +1,219 @@
+package com.accounting.platform.dashboard.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.common.transaction.TransactionScoped;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.entity.ContactType;
+import com.accounting.platform.dashboard.repository.DashboardMetricsRepository;
+import com.accounting.platform.expense.entity.Expense;
+import com.accounting.platform.expense.entity.ExpenseStatus;
+import com.accounting.platform.invoice.entity.Invoice;
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the dashboard tables in step with invoice, expense and ledger state transitions.
+ * Each transition becomes a signed delta on a (metric, month) running total plus an activity feed row.
+ * Deltas are collected per transaction and written in one statement just before commit, so a rollback
+ * leaves the totals untouched and row locks on the hot monthly rows are held only briefly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsService {
+
+    public static final String CASH_NET = "CASH_NET";
+
+    /**
+     * What customers still owe on sent, overdue and partially paid invoices: total less amount paid.
+     */
+    public static final String INVOICE_BALANCE_DUE = "INVOICE_BALANCE_DUE";
+
+    private final DashboardMetricsRepository dashboardMetricsRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
+
+    @Value("${app.dashboard.activity-retention-days:90}")
+    private int activityRetentionDays;
+
+    public static String invoiceMetric(InvoiceStatus status) {
+        return "INVOICE_" + status.name();
+    }
+
+    public static String expenseMetric(ExpenseStatus status) {
+        return "EXPENSE_" + status.name();
+    }
+
+    /**
+     * Records an invoice moving from {@code from} (null when newly created) to its current status.
+     * Drafts are not counted in any total.
+     */
+    public void recordInvoiceTransition(Invoice invoice, InvoiceStatus from) {
+        BigDecimal amountPaid = invoice.getAmountPaid() != null ? invoice.getAmountPaid() : BigDecimal.ZERO;
+        recordInvoice(invoice.getId(), invoice.getInvoiceNumber(), invoice.getContact().getName(), invoice.getIssueDate(),
+                invoice.getTotalAmount(), from, invoice.getStatus(), amountPaid, amountPaid);
+    }
+
+    /**
+     * Records a payment of {@code amountPaidAfter - amountPaidBefore} on an open invoice, for callers that
+     * update invoices in bulk without loading the entities. The status may or may not have changed.
+     */
+    public void recordInvoicePayment(UUID invoiceId, String invoiceNumber, String contactName, LocalDate issueDate,
+                                     BigDecimal totalAmount, InvoiceStatus from, InvoiceStatus to,
+                                     BigDecimal amountPaidBefore, BigDecimal amountPaidAfter) {
+        recordInvoice(invoiceId, invoiceNumber, contactName, issueDate, totalAmount, from, to, amountPaidBefore, amountPaidAfter);
+    }
+
+    private void recordInvoice(UUID invoiceId, String invoiceNumber, String contactName, LocalDate issueDate,
+                               BigDecimal totalAmount, InvoiceStatus from, InvoiceStatus to,
+                               BigDecimal amountPaidBefore, BigDecimal amountPaidAfter) {
+        Pending pending = pending();
+        LocalDate period = issueDate.withDayOfMonth(1);
+        // Status totals carry the full invoice amount; the balance due carries only what is still owed
+        BigDecimal dueBefore = isOpen(from) ? totalAmount.subtract(amountPaidBefore) : BigDecimal.ZERO;
+        BigDecimal dueAfter = isOpen(to) ? totalAmount.subtract(amountPaidAfter) : BigDecimal.ZERO;
+        pending.add(INVOICE_BALANCE_DUE, period, dueAfter.subtract(dueBefore), (isOpen(to) ? 1 : 0) - (isOpen(from) ? 1 : 0));
+        if (from == to) {
+            flushIfNoTransaction(pending);
+            return;
+        }
+        if (from != null && from != InvoiceStatus.DRAFT) {
+            pending.add(invoiceMetric(from), period, totalAmount.negate(), -1);
+        }
+        if (to != InvoiceStatus.DRAFT) {
+            pending.add(invoiceMetric(to), period, totalAmount, 1);
+        }
+        pending.activity("INVOICE", invoiceId, "Invoice " + invoiceNumber, contactName, totalAmount, to.name());
+        flushIfNoTransaction(pending);
+    }
+
+    private static boolean isOpen(InvoiceStatus status) {
+        return status == InvoiceStatus.SENT || status == InvoiceStatus.OVERDUE || status == InvoiceStatus.PARTIALLY_PAID;
+    }
+
+    public void recordExpenseTransition(Expense expense, ExpenseStatus from) {
+        Pending pending = pending();
+        LocalDate period = expense.getDate().withDayOfMonth(1);
+        if (from != null && from != ExpenseStatus.DRAFT) {
+            pending.add(expenseMetric(from), period, expense.getTotalAmount().negate(), -1);
+        }
+        if (expense.getStatus() != ExpenseStatus.DRAFT) {
+            pending.add(expenseMetric(expense.getStatus()), period, expense.getTotalAmount(), 1);
+        }
+        pending.activity("EXPENSE", expense.getId(), "Expense " + expense.getReferenceNumber(),
+                expense.getVendor().getName(), expense.getTotalAmount(), expense.getStatus().name());
+        flushIfNoTransaction(pending);
+    }
+
+    public void recordContactCreated(Contact contact) {
+        Pending pending = pending();
+        pending.activity("CONTACT", contact.getId(),
+                "New " + (contact.getType() == ContactType.CUSTOMER ? "Client" : "Vendor"),
+                contact.getName(), BigDecimal.ZERO, "ACTIVE");
+        flushIfNoTransaction(pending);
+    }
+
+    /**
+     * Net movement on bank and cash accounts, per month. Runs inside the posting transaction.
+     */
+    @EventListener
+    public void onLedgerPosted(LedgerPostedEvent event) {
+        Pending pending = null;
+        for (LedgerPostedEvent.Movement movement : event.movements()) {
+            AccountSubtype subtype = chartOfAccountsRegistry.findById(movement.accountId())
+                    .map(AccountView::subtype)
+                    .orElse(null);
+            if (subtype != AccountSubtype.BANK && subtype != AccountSubtype.CASH) {
+                continue;
+            }
+            if (pending == null) {
+                pending = pending();
+            }
+            pending.add(CASH_NET, movement.date().withDayOfMonth(1), movement.debit().subtract(movement.credit()), 1);
+        }
+        if (pending != null) {
+            flushIfNoTransaction(pending);
+        }
+    }
+
+    @Scheduled(cron = "${app.dashboard.activity-prune-cron:0 0 3 * * *}")
+    public void pruneActivity() {
+        int deleted = dashboardMetricsRepository.deleteActivityBefore(LocalDateTime.now().minusDays(activityRetentionDays));
+        if (deleted > 0) {
+            log.info("Pruned {} activity feed rows older than {} days", deleted, activityRetentionDays);
+        }
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Pending();
+        }
+        return TransactionScoped.synchronization(Pending.class, Pending::new);
+    }
+
+    private void flushIfNoTransaction(Pending pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(pending);
+        }
+    }
+
+    private void write(Pending pending) {
+        List<DashboardMetricsRepository.MetricDelta> deltas = new ArrayList<>(pending.deltas.size());
+        pending.deltas.forEach((key, totals) -> {
+            if (totals.count != 0 || totals.amount.signum() != 0) {
+                deltas.add(new DashboardMetricsRepository.MetricDelta(key.metric(), key.period(), totals.amount, totals.count));
+            }
+        });
+        dashboardMetricsRepository.addDeltas(deltas);
+        dashboardMetricsRepository.insertActivities(pending.activities);
+    }
+
+    private record MetricKey(String metric, LocalDate period) {}
+
+    private static final class Totals {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+    }
+
+    /**
+     * Deltas and activity rows collected in one transaction; an inner REQUIRES_NEW transaction registers its own.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private final Map<MetricKey, Totals> deltas = new LinkedHashMap<>();
+        private final List<DashboardMetricsRepository.Activity> activities = new ArrayList<>();
+
+        void add(String metric, LocalDate period, BigDecimal amount, long count) {
+            Totals totals = deltas.computeIfAbsent(new MetricKey(metric, period), key -> new Totals());
+            totals.amount = totals.amount.add(amount);
+            totals.count += count;
+        }
+
+        void activity(String type, UUID entityId, String title, String subtitle, BigDecimal amount, String status) {
+            activities.add(new DashboardMetricsRepository.Activity(UUID.randomUUID(), type, entityId, title, subtitle,
+                    amount, status, LocalDateTime.now()));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(this);
+        }
+    }
+}
@@ -1,119 +1,121 @@
 package com.accounting.platform.dashboard.service;
 
-import com.accounting.platform.contact.entity.Contact;
-import com.accounting.platform.contact.repository.ContactRepository;
 import com.accounting.platform.dashboard.dto.ActivityItemDto;
 import com.accounting.platform.dashboard.dto.DashboardStatsDto;
-import com.accounting.platform.expense.entity.Expense;
+import com.accounting.platform.dashboard.repository.DashboardMetricsRepository;
 import com.accounting.platform.expense.entity.ExpenseStatus;
-import com.accounting.platform.expense.repository.ExpenseRepository;
-import com.accounting.platform.invoice.entity.Invoice;
 import com.accounting.platform.invoice.entity.InvoiceStatus;
-import com.accounting.platform.invoice.repository.InvoiceRepository;
-import com.accounting.platform.journal.repository.JournalEntryRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard figures are read from the precomputed dashboard_metrics and activity_feed tables
+ * maintained by {@link DashboardMetricsService}, never aggregated from documents or journal lines.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final InvoiceRepository invoiceRepository;
-    private final ExpenseRepository expenseRepository;
-    private final JournalEntryRepository journalEntryRepository;
-    private final ContactRepository contactRepository;
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+
+    private final DashboardMetricsRepository dashboardMetricsRepository;
 
     @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStats() {
-        // Calculate Totals
-        BigDecimal totalRevenue = invoiceRepository.sumTotalAmountByStatusIn(List.of(InvoiceStatus.PAID, InvoiceStatus.SENT));
-        BigDecimal outstandingInvoices = invoiceRepository.sumTotalAmountByStatusIn(List.of(InvoiceStatus.SENT));
-        BigDecimal totalExpenses = expenseRepository.sumTotalAmountByStatusIn(List.of(ExpenseStatus.APPROVED, ExpenseStatus.PAID));
-        BigDecimal netCash = journalEntryRepository.getNetCashBalance();
-
-        // Get Recent Activity
-        List<ActivityItemDto> activity = new ArrayList<>();
-
-        // Recent Invoices
-        List<Invoice> recentInvoices = invoiceRepository.findAll(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent();
-        activity.addAll(recentInvoices.stream().map(this::mapInvoiceToActivity).toList());
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        Metrics metrics = new Metrics(dashboardMetricsRepository.summarize(currentMonth, currentMonth.minusMonths(1)).stream()
+                .collect(Collectors.toMap(DashboardMetricsRepository.MetricSummary::metric, Function.identity())));
 
-        // Recent Expenses
-        List<Expense> recentExpenses = expenseRepository.findAll(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent();
-        activity.addAll(recentExpenses.stream().map(this::mapExpenseToActivity).toList());
+        String paid = DashboardMetricsService.invoiceMetric(InvoiceStatus.PAID);
+        String sent = DashboardMetricsService.invoiceMetric(InvoiceStatus.SENT);
+        String partiallyPaid = DashboardMetricsService.invoiceMetric(InvoiceStatus.PARTIALLY_PAID);
+        String approvedExpense = DashboardMetricsService.expenseMetric(ExpenseStatus.APPROVED);
+        String paidExpense = DashboardMetricsService.expenseMetric(ExpenseStatus.PAID);
 
-        // Recent Contacts (Vendors/Clients)
-        List<Contact> recentContacts = contactRepository.findAll(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent();
-        activity.addAll(recentContacts.stream().map(this::mapContactToActivity).toList());
+        BigDecimal totalRevenue = metrics.total(paid).add(metrics.total(sent)).add(metrics.total(partiallyPaid));
+        BigDecimal outstandingInvoices = metrics.total(DashboardMetricsService.INVOICE_BALANCE_DUE);
+        BigDecimal totalExpenses = metrics.total(approvedExpense).add(metrics.total(paidExpense));
+        BigDecimal netCash = metrics.total(DashboardMetricsService.CASH_NET);
 
-        // Sort by date desc and limit to 10
-        List<ActivityItemDto> sortedActivity = activity.stream()
-                .sorted(Comparator.comparing(ActivityItemDto::getDate).reversed())
-                .limit(10)
-                .collect(Collectors.toList());
+        // Month-over-month, by document date; cash compares today's balance with the balance at the start of the month
+        String revenueTrend = percentChange(
+                metrics.current(paid).add(metrics.current(sent)).add(metrics.current(partiallyPaid)),
+                metrics.previous(paid).add(metrics.previous(sent)).add(metrics.previous(partiallyPaid)));
+        String expenseTrend = percentChange(
+                metrics.current(approvedExpense).add(metrics.current(paidExpense)),
+                metrics.previous(approvedExpense).add(metrics.previous(paidExpense)));
+        String netCashTrend = percentChange(netCash, netCash.subtract(metrics.current(DashboardMetricsService.CASH_NET)));
 
         return DashboardStatsDto.builder()
-                .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
-                .outstandingInvoices(outstandingInvoices != null ? outstandingInvoices : BigDecimal.ZERO)
-                .totalExpenses(totalExpenses != null ? totalExpenses : BigDecimal.ZERO)
-                .netCash(netCash != null ? netCash : BigDecimal.ZERO)
-                .recentActivity(sortedActivity)
-                .revenueTrend("+0%") // TODO: Calculate actual trends
-                .outstandingTrend("0 unpaid")
-                .expenseTrend("-0%")
-                .netCashTrend("+0%")
+                .totalRevenue(totalRevenue)
+                .outstandingInvoices(outstandingInvoices)
+                .totalExpenses(totalExpenses)
+                .netCash(netCash)
+                .recentActivity(dashboardMetricsRepository.findRecentActivity(RECENT_ACTIVITY_LIMIT).stream()
+                        .map(this::mapActivity)
+                        .toList())
+                .revenueTrend(revenueTrend)
+                .outstandingTrend(metrics.count(DashboardMetricsService.INVOICE_BALANCE_DUE) + " unpaid")
+                .expenseTrend(expenseTrend)
+                .netCashTrend(netCashTrend)
                 .build();
     }
 
-    private ActivityItemDto mapInvoiceToActivity(Invoice invoice) {
-        return ActivityItemDto.builder()
-                .id(invoice.getId().toString())
-                .type("INVOICE")
-                .title("Invoice " + invoice.getInvoiceNumber())
-                .subtitle(invoice.getContact().getName())
-                .amount(invoice.getTotalAmount())
-                .date(java.time.LocalDateTime.ofInstant(invoice.getCreatedAt(), java.time.ZoneId.systemDefault()))
-                .status(invoice.getStatus().name())
-                .icon("receipt")
-                .colorClass("text-primary-600")
-                .build();
+    private static String percentChange(BigDecimal current, BigDecimal previous) {
+        if (previous.signum() == 0) {
+            return current.signum() == 0 ? "+0%" : (current.signum() > 0 ? "+100%" : "-100%");
+        }
+        BigDecimal change = current.subtract(previous)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(previous.abs(), 0, RoundingMode.HALF_UP);
+        return (change.signum() >= 0 ? "+" : "") + change.toPlainString() + "%";
     }
 
-    private ActivityItemDto mapExpenseToActivity(Expense expense) {
-        return ActivityItemDto.builder()
-                .id(expense.getId().toString())
-                .type("EXPENSE")
-                .title("Expense " + expense.getReferenceNumber())
-                .subtitle(expense.getVendor().getName())
-                .amount(expense.getTotalAmount())
-                .date(java.time.LocalDateTime.ofInstant(expense.getCreatedAt(), java.time.ZoneId.systemDefault()))
-                .status(expense.getStatus().name())
-                .icon("payments")
-                .colorClass("text-red-600")
-                .build();
-    }
+    private ActivityItemDto mapActivity(DashboardMetricsRepository.Activity activity) {
+        ActivityItemDto.ActivityItemDtoBuilder item = ActivityItemDto.builder()
+                .id(activity.entityId().toString())
+                .type(activity.type())
+                .title(activity.title())
+                .subtitle(activity.subtitle())
+                .amount(activity.amount() != null ? activity.amount() : BigDecimal.ZERO)
+                .date(activity.occurredAt())
+                .status(activity.status());
 
-    private ActivityItemDto mapContactToActivity(Contact contact) {
-        return ActivityItemDto.builder()
-                .id(contact.getId().toString())
-                .type("CONTACT")
-                .title("New " + (contact.getType().name().equals("CUSTOMER") ? "Client" : "Vendor"))
-                .subtitle(contact.getName())
-                .amount(BigDecimal.ZERO)
-                .date(java.time.LocalDateTime.ofInstant(contact.getCreatedAt(), java.time.ZoneId.systemDefault()))
-                .status("ACTIVE")
-                .icon("group_add")
-                .colorClass("text-purple-600")
-                .build();
+        return switch (activity.type()) {
+            case "INVOICE" -> item.icon("receipt").colorClass("text-primary-600").build();
+            case "EXPENSE" -> item.icon("payments").colorClass("text-red-600").build();
+            case "CONTACT" -> item.icon("group_add").colorClass("text-purple-600").build();
+            default -> item.icon("history").colorClass("text-slate-600").build();
+        };
     }
 
+    private record Metrics(Map<String, DashboardMetricsRepository.MetricSummary> byMetric) {
+        BigDecimal total(String metric) {
+            DashboardMetricsRepository.MetricSummary summary = byMetric.get(metric);
+            return summary != null ? summary.total() : BigDecimal.ZERO;
+        }
+
+        BigDecimal current(String metric) {
+            DashboardMetricsRepository.MetricSummary summary = byMetric.get(metric);
+            return summary != null ? summary.currentPeriod() : BigDecimal.ZERO;
+        }
+
+        BigDecimal previous(String metric) {
+            DashboardMetricsRepository.MetricSummary summary = byMetric.get(metric);
+            return summary != null ? summary.previousPeriod() : BigDecimal.ZERO;
+        }
+
+        long count(String metric) {
+            DashboardMetricsRepository.MetricSummary summary = byMetric.get(metric);
+            return summary != null ? summary.count() : 0L;
+        }
+    }
 }
@@ -1,12 +1,11 @@
 package com.accounting.platform.expense.controller;
 
 import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.expense.entity.Expense;
 import com.accounting.platform.expense.service.ExpenseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,15 +19,17 @@ public class ExpenseController {
     private final ExpenseService expenseService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Expense>>> getAllExpenses(
-            Pageable pageable,
+    public ResponseEntity<ApiResponse<CursorPage<Expense>>> getAllExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) java.util.List<com.accounting.platform.expense.entity.ExpenseStatus> status,
             @RequestParam(required = false) UUID vendorId,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate startDate,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate endDate) {
         return ResponseEntity.ok(ApiResponse.success(
-            expenseService.getAllExpenses(pageable, search, status, vendorId, startDate, endDate)));
+            expenseService.getAllExpenses(cursor, size, withTotal, search, status, vendorId, startDate, endDate)));
     }
 
     @GetMapping("/{id}")
@@ -54,8 +55,9 @@ public class ExpenseController {
     @PostMapping("/{id}/pay")
     public ResponseEntity<ApiResponse<Expense>> payExpense(
             @PathVariable UUID id,
-            @RequestBody @Valid com.accounting.platform.expense.dto.ExpensePaymentRequestDto request) {
-        return ResponseEntity.ok(ApiResponse.success(expenseService.payExpense(id, request)));
+            @RequestBody @Valid com.accounting.platform.expense.dto.ExpensePaymentRequestDto request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(ApiResponse.success(expenseService.payExpense(id, request, idempotencyKey)));
     }
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteExpense(@PathVariable UUID id) {
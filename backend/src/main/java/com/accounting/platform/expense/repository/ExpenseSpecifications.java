@@ -1,7 +1,10 @@
 package com.accounting.platform.expense.repository;
 
+import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.expense.entity.Expense;
 import com.accounting.platform.expense.entity.ExpenseStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -49,10 +52,14 @@ public class ExpenseSpecifications {
                 return cb.conjunction();
             }
             String pattern = "%" + searchTerm.toLowerCase() + "%";
+            // vendor_id IN (matching contacts) rather than a join, so each branch of the OR stays on one table
+            Subquery<UUID> contacts = query.subquery(UUID.class);
+            Root<Contact> contact = contacts.from(Contact.class);
+            contacts.select(contact.get("id")).where(cb.like(cb.lower(contact.get("name")), pattern));
             return cb.or(
                 cb.like(cb.lower(root.get("referenceNumber")), pattern),
                 cb.like(cb.lower(root.get("notes")), pattern),
-                cb.like(cb.lower(root.get("vendor").get("name")), pattern)
+                root.get("vendor").get("id").in(contacts)
             );
         };
     }
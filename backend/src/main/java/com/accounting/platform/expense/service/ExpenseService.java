@@ -1,11 +1,18 @@
 package com.accounting.platform.expense.service;
 
+import com.accounting.platform.account.dto.AccountView;
 import com.accounting.platform.account.entity.Account;
 import com.accounting.platform.account.entity.AccountSubtype;
 import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.common.idempotency.IdempotencyService;
+import com.accounting.platform.common.repository.KeysetPageRepository;
+import com.accounting.platform.common.retry.RetryOnConflict;
 import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
 import com.accounting.platform.expense.entity.Expense;
 import com.accounting.platform.expense.entity.ExpenseLine;
 import com.accounting.platform.expense.entity.ExpenseStatus;
@@ -15,6 +22,8 @@ import com.accounting.platform.journal.entity.JournalEntry;
 import com.accounting.platform.journal.entity.JournalEntryLine;
 import com.accounting.platform.journal.service.JournalEntryService;
 import com.accounting.platform.notification.service.NotificationService;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,9 +42,14 @@ public class ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final JournalEntryService journalEntryService;
     private final AccountRepository accountRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
     private final ContactRepository contactRepository;
     private final AuditService auditService;
     private final NotificationService notificationService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final DocumentSequenceService documentSequenceService;
+    private final IdempotencyService idempotencyService;
+    private final KeysetPageRepository keysetPageRepository;
 
     @Transactional(readOnly = true)
     public Page<Expense> getAllExpenses(Pageable pageable) {
@@ -44,9 +58,15 @@ public class ExpenseService {
         return expenses;
     }
 
+    /**
+     * Newest first, one keyset slice at a time; {@code withTotal} adds the table's planner estimate when
+     * no filter is applied.
+     */
     @Transactional(readOnly = true)
-    public Page<Expense> getAllExpenses(
-            Pageable pageable,
+    public CursorPage<Expense> getAllExpenses(
+            String cursor,
+            Integer size,
+            boolean withTotal,
             String search,
             Collection<ExpenseStatus> statuses,
             java.util.UUID vendorId,
@@ -54,9 +74,11 @@ public class ExpenseService {
             LocalDate endDate) {
 
         var spec = ExpenseSpecifications.buildSpec(search, statuses, vendorId, startDate, endDate);
-        Page<Expense> expenses = expenseRepository.findAll(spec, pageable);
-        expenses.forEach(expense -> expense.getLines().size()); // Initialize lazy collection
-        return expenses;
+        CursorPage<Expense> expenses = keysetPageRepository.newestFirst(Expense.class, spec, cursor, CursorPage.size(size));
+        expenses.getContent().forEach(expense -> expense.getLines().size()); // Initialize lazy collection
+        boolean unfiltered = (search == null || search.isBlank()) && (statuses == null || statuses.isEmpty())
+                && vendorId == null && startDate == null && endDate == null;
+        return withTotal && unfiltered ? expenses.withApproximateTotal(keysetPageRepository.approximateRowCount(Expense.class)) : expenses;
     }
 
     @Transactional(readOnly = true)
@@ -72,6 +94,9 @@ public class ExpenseService {
         if (expense.getStatus() == null) {
             expense.setStatus(ExpenseStatus.DRAFT);
         }
+        if (expense.getReferenceNumber() == null || expense.getReferenceNumber().isEmpty()) {
+            expense.setReferenceNumber(documentSequenceService.next(DocumentSequence.EXPENSE));
+        }
 
         // Fetch vendor from database to avoid detached entity issues
         if (expense.getVendor() != null && expense.getVendor().getId() != null) {
@@ -97,6 +122,7 @@ public class ExpenseService {
 
         Expense saved = expenseRepository.save(expense);
         auditService.logCreate("Expense", saved.getId(), saved);
+        dashboardMetricsService.recordExpenseTransition(saved, null);
         return saved;
     }
 
@@ -108,6 +134,8 @@ public class ExpenseService {
             throw new IllegalStateException("Cannot update expense that is not in DRAFT status");
         }
 
+        Object before = auditService.snapshot(expense);
+
         expense.setDate(expenseDetails.getDate());
         expense.setDueDate(expenseDetails.getDueDate());
         expense.setReferenceNumber(expenseDetails.getReferenceNumber());
@@ -128,10 +156,11 @@ public class ExpenseService {
         expense.calculateTotal();
 
         Expense updated = expenseRepository.save(expense);
-        auditService.logUpdate("Expense", updated.getId(), null, updated);
+        auditService.logUpdate("Expense", updated.getId(), before, updated);
         return updated;
     }
 
+    @RetryOnConflict
     @Transactional
     public Expense approveExpense(UUID id) {
         Expense expense = getExpenseById(id);
@@ -145,10 +174,8 @@ public class ExpenseService {
         }
 
         // 1. Find Accounts Payable Account
-        Account apAccount = accountRepository.findAll().stream()
-                .filter(a -> a.getSubtype() == AccountSubtype.ACCOUNTS_PAYABLE && a.isActive())
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No active Accounts Payable account found"));
+        Account apAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_PAYABLE, "Accounts Payable").id());
 
         // 2. Create Journal Entry
         JournalEntry entry = new JournalEntry();
@@ -179,6 +206,7 @@ public class ExpenseService {
         // 3. Update Expense Status
         expense.setStatus(ExpenseStatus.APPROVED);
         Expense saved = expenseRepository.save(expense);
+        dashboardMetricsService.recordExpenseTransition(saved, ExpenseStatus.DRAFT);
 
         auditService.logAction("APPROVE_EXPENSE", "Expense", id, "Created Journal Entry " + createdEntry.getReferenceNumber());
 
@@ -186,8 +214,15 @@ public class ExpenseService {
 
         return saved;
     }
+    @RetryOnConflict
     @Transactional
-    public Expense payExpense(UUID id, com.accounting.platform.expense.dto.ExpensePaymentRequestDto request) {
+    public Expense payExpense(UUID id, com.accounting.platform.expense.dto.ExpensePaymentRequestDto request, String idempotencyKey) {
+        return idempotencyService.execute("expense-payment", idempotencyKey,
+                id + "|" + request.getBankAccountId() + "|" + request.getPaymentDate(),
+                () -> registerPayment(id, request), Expense::getId, this::getExpenseById);
+    }
+
+    private Expense registerPayment(UUID id, com.accounting.platform.expense.dto.ExpensePaymentRequestDto request) {
         Expense expense = getExpenseById(id);
 
         if (expense.getStatus() != ExpenseStatus.APPROVED && expense.getStatus() != ExpenseStatus.PAID) {
@@ -197,18 +232,16 @@ public class ExpenseService {
             throw new IllegalStateException("Expense must be APPROVED before payment");
         }
 
-        Account bankAccount = accountRepository.findById(request.getBankAccountId())
+        AccountView bankAccount = chartOfAccountsRegistry.findById(request.getBankAccountId())
                 .orElseThrow(() -> new IllegalArgumentException("Bank Account not found"));
 
-        if (bankAccount.getSubtype() != AccountSubtype.BANK && bankAccount.getSubtype() != AccountSubtype.CASH) {
+        if (bankAccount.subtype() != AccountSubtype.BANK && bankAccount.subtype() != AccountSubtype.CASH) {
             throw new IllegalArgumentException("Selected account is not a Bank or Cash account");
         }
 
         // Find Accounts Payable Account (assume same as approval)
-        Account apAccount = accountRepository.findAll().stream()
-                .filter(a -> a.getSubtype() == AccountSubtype.ACCOUNTS_PAYABLE && a.isActive())
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No active Accounts Payable account found"));
+        Account apAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_PAYABLE, "Accounts Payable").id());
 
         // Create Journal Entry
         JournalEntry entry = new JournalEntry();
@@ -225,7 +258,7 @@ public class ExpenseService {
 
         // Credit Bank (Asset Decreases)
         JournalEntryLine creditBank = new JournalEntryLine();
-        creditBank.setAccount(bankAccount);
+        creditBank.setAccount(accountRepository.getReferenceById(bankAccount.id()));
         creditBank.setCredit(expense.getTotalAmount());
         creditBank.setDescription("Payment Sent");
         entry.addLine(creditBank);
@@ -235,8 +268,10 @@ public class ExpenseService {
         journalEntryService.postEntry(createdEntry.getId());
 
         // Update Expense
+        ExpenseStatus previousStatus = expense.getStatus();
         expense.setStatus(ExpenseStatus.PAID);
         Expense saved = expenseRepository.save(expense);
+        dashboardMetricsService.recordExpenseTransition(saved, previousStatus);
 
         auditService.logAction("PAY_EXPENSE", "Expense", id, "Registered Payment " + createdEntry.getReferenceNumber());
 
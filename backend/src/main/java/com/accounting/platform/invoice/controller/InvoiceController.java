@@ -1,12 +1,11 @@
 package com.accounting.platform.invoice.controller;
 
 import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.invoice.entity.Invoice;
 import com.accounting.platform.invoice.service.InvoiceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
@@ -23,15 +22,17 @@ public class InvoiceController {
     private final PdfService pdfService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Invoice>>> getAllInvoices(
-            Pageable pageable,
+    public ResponseEntity<ApiResponse<CursorPage<Invoice>>> getAllInvoices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) java.util.List<com.accounting.platform.invoice.entity.InvoiceStatus> status,
             @RequestParam(required = false) UUID contactId,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate startDate,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate endDate) {
         return ResponseEntity.ok(ApiResponse.success(
-            invoiceService.getAllInvoices(pageable, search, status, contactId, startDate, endDate)));
+            invoiceService.getAllInvoices(cursor, size, withTotal, search, status, contactId, startDate, endDate)));
     }
 
     @GetMapping("/{id}")
@@ -54,11 +55,18 @@ public class InvoiceController {
         return ResponseEntity.ok(ApiResponse.success(invoiceService.approveInvoice(id)));
     }
 
+    @PostMapping("/bulk-approve")
+    public ResponseEntity<ApiResponse<com.accounting.platform.invoice.dto.BulkApprovalResultDto>> approveInvoices(
+            @RequestBody @Valid com.accounting.platform.invoice.dto.BulkApprovalRequestDto request) {
+        return ResponseEntity.ok(ApiResponse.success(invoiceService.approveInvoices(request.getInvoiceIds())));
+    }
+
     @PostMapping("/{id}/pay")
     public ResponseEntity<ApiResponse<Invoice>> payInvoice(
             @PathVariable UUID id,
-            @RequestBody @Valid com.accounting.platform.invoice.dto.PaymentRequestDto request) {
-        return ResponseEntity.ok(ApiResponse.success(invoiceService.payInvoice(id, request)));
+            @RequestBody @Valid com.accounting.platform.invoice.dto.PaymentRequestDto request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(ApiResponse.success(invoiceService.payInvoice(id, request, idempotencyKey)));
     }
 
     @GetMapping("/{id}/pdf")
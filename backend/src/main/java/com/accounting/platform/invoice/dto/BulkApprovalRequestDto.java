@@ -0,0 +1,15 @@
+package com.accounting.platform.invoice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkApprovalRequestDto {
+    @NotEmpty(message = "At least one invoice ID is required")
+    @Size(max = 10000, message = "At most 10000 invoices can be approved at once")
+    private List<UUID> invoiceIds;
+}
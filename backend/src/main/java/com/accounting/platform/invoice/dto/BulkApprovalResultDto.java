@@ -0,0 +1,34 @@
+package com.accounting.platform.invoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class BulkApprovalResultDto {
+    private int requested;
+    private int approved;
+    private int failed;
+    private List<Result> results;
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private UUID invoiceId;
+        private String invoiceNumber;
+        private boolean success;
+        private String journalEntryReference;
+        private String error;
+
+        public static Result success(UUID invoiceId, String invoiceNumber, String journalEntryReference) {
+            return new Result(invoiceId, invoiceNumber, true, journalEntryReference, null);
+        }
+
+        public static Result failure(UUID invoiceId, String invoiceNumber, String error) {
+            return new Result(invoiceId, invoiceNumber, false, null, error);
+        }
+    }
+}
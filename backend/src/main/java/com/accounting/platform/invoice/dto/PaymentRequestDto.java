@@ -1,8 +1,10 @@
 package com.accounting.platform.invoice.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -13,4 +15,8 @@ public class PaymentRequestDto {
 
     @NotNull(message = "Payment Date is required")
     private LocalDate paymentDate;
+
+    // Defaults to the full amount due; anything above it is kept as a credit for the contact
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
 }
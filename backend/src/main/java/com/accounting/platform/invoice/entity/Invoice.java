@@ -74,7 +74,6 @@ public class Invoice extends BaseEntity {
     }
 
     public BigDecimal getAmountDue() {
-        // TODO: Subtract payments once Payment entity is linked or amountPaid field exists
-        return totalAmount;
+        return totalAmount.subtract(amountPaid == null ? BigDecimal.ZERO : amountPaid);
     }
 }
@@ -3,6 +3,7 @@ package com.accounting.platform.invoice.entity;
 public enum InvoiceStatus {
     DRAFT,
     SENT,
+    PARTIALLY_PAID,
     PAID,
     VOID,
     OVERDUE
@@ -22,6 +22,9 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID>, org.spr
 
     java.util.List<Invoice> findByContactId(UUID contactId);
 
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT i FROM Invoice i JOIN FETCH i.contact LEFT JOIN FETCH i.lines WHERE i.id IN :ids")
+    java.util.List<Invoice> findAllWithLinesByIdIn(@org.springframework.data.repository.query.Param("ids") java.util.Collection<UUID> ids);
+
     @org.springframework.data.jpa.repository.Query("SELECT COALESCE(SUM(i.totalAmount), 0) FROM Invoice i WHERE i.status IN :statuses")
     java.math.BigDecimal sumTotalAmountByStatusIn(@org.springframework.web.bind.annotation.RequestParam("statuses") java.util.Collection<InvoiceStatus> statuses);
 
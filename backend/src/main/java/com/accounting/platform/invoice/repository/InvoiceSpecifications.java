@@ -1,7 +1,10 @@
 package com.accounting.platform.invoice.repository;
 
+import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.invoice.entity.Invoice;
 import com.accounting.platform.invoice.entity.InvoiceStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -49,10 +52,14 @@ public class InvoiceSpecifications {
                 return cb.conjunction();
             }
             String pattern = "%" + searchTerm.toLowerCase() + "%";
+            // contact_id IN (matching contacts) rather than a join, so each branch of the OR stays on one table
+            Subquery<UUID> contacts = query.subquery(UUID.class);
+            Root<Contact> contact = contacts.from(Contact.class);
+            contacts.select(contact.get("id")).where(cb.like(cb.lower(contact.get("name")), pattern));
             return cb.or(
                 cb.like(cb.lower(root.get("invoiceNumber")), pattern),
                 cb.like(cb.lower(root.get("reference")), pattern),
-                cb.like(cb.lower(root.get("contact").get("name")), pattern)
+                root.get("contact").get("id").in(contacts)
             );
         };
     }
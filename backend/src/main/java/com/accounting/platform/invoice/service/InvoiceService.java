@@ -3,9 +3,16 @@ package com.accounting.platform.invoice.service;
 import com.accounting.platform.account.entity.Account;
 import com.accounting.platform.account.entity.AccountSubtype;
 import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.common.idempotency.IdempotencyService;
+import com.accounting.platform.common.repository.KeysetPageRepository;
+import com.accounting.platform.common.retry.RetryOnConflict;
 import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
 import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.invoice.dto.BulkApprovalResultDto;
 import com.accounting.platform.invoice.entity.Invoice;
 import com.accounting.platform.invoice.entity.InvoiceLine;
 import com.accounting.platform.invoice.entity.InvoiceStatus;
@@ -15,6 +22,11 @@ import com.accounting.platform.journal.entity.JournalEntry;
 import com.accounting.platform.journal.entity.JournalEntryLine;
 import com.accounting.platform.journal.service.JournalEntryService;
 import com.accounting.platform.notification.service.NotificationService;
+import com.accounting.platform.payment.entity.Payment;
+import com.accounting.platform.payment.service.PaymentService;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,28 +35,48 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 public class InvoiceService {
 
+    private static final int BULK_APPROVAL_CHUNK_SIZE = 500;
+
     private final InvoiceRepository invoiceRepository;
     private final JournalEntryService journalEntryService;
     private final AccountRepository accountRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
     private final com.accounting.platform.tax.repository.TaxRateRepository taxRateRepository;
     private final ContactRepository contactRepository;
     private final AuditService auditService;
     private final NotificationService notificationService;
+    private final EntityManager entityManager;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final DocumentSequenceService documentSequenceService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentService paymentService;
+    private final KeysetPageRepository keysetPageRepository;
 
     public Page<Invoice> getAllInvoices(Pageable pageable) {
         return invoiceRepository.findAll(pageable);
     }
 
-    public Page<Invoice> getAllInvoices(
-            Pageable pageable,
+    /**
+     * Newest first, one keyset slice at a time; {@code withTotal} adds the table's planner estimate when
+     * no filter is applied (a filtered total would need the COUNT this avoids).
+     */
+    public CursorPage<Invoice> getAllInvoices(
+            String cursor,
+            Integer size,
+            boolean withTotal,
             String search,
             Collection<InvoiceStatus> statuses,
             UUID contactId,
@@ -52,7 +84,10 @@ public class InvoiceService {
             LocalDate endDate) {
 
         var spec = InvoiceSpecifications.buildSpec(search, statuses, contactId, startDate, endDate);
-        return invoiceRepository.findAll(spec, pageable);
+        CursorPage<Invoice> page = keysetPageRepository.newestFirst(Invoice.class, spec, cursor, CursorPage.size(size));
+        boolean unfiltered = (search == null || search.isBlank()) && (statuses == null || statuses.isEmpty())
+                && contactId == null && startDate == null && endDate == null;
+        return withTotal && unfiltered ? page.withApproximateTotal(keysetPageRepository.approximateRowCount(Invoice.class)) : page;
     }
 
     public Invoice getInvoiceById(UUID id) {
@@ -67,10 +102,11 @@ public class InvoiceService {
         invoice.setVersion(null);
 
         if (invoice.getInvoiceNumber() == null || invoice.getInvoiceNumber().isEmpty()) {
-            invoice.setInvoiceNumber(generateInvoiceNumber());
-        }
-
-        if (invoiceRepository.existsByInvoiceNumber(invoice.getInvoiceNumber())) {
+            invoice.setInvoiceNumber(documentSequenceService.next(DocumentSequence.INVOICE));
+        } else if (documentSequenceService.matchesFormat(DocumentSequence.INVOICE, invoice.getInvoiceNumber())) {
+            // Would collide with a number the sequence hands out later
+            throw new IllegalArgumentException("Invoice number " + invoice.getInvoiceNumber() + " is reserved for automatic numbering");
+        } else if (invoiceRepository.existsByInvoiceNumber(invoice.getInvoiceNumber())) {
             throw new IllegalArgumentException("Invoice number already exists");
         }
 
@@ -98,6 +134,7 @@ public class InvoiceService {
 
         Invoice saved = invoiceRepository.save(invoice);
         auditService.logCreate("Invoice", saved.getId(), saved);
+        dashboardMetricsService.recordInvoiceTransition(saved, null);
         return saved;
     }
 
@@ -109,6 +146,8 @@ public class InvoiceService {
             throw new IllegalStateException("Cannot update invoice that is not in DRAFT status");
         }
 
+        Object before = auditService.snapshot(invoice);
+
         invoice.setIssueDate(invoiceDetails.getIssueDate());
         invoice.setDueDate(invoiceDetails.getDueDate());
         invoice.setReference(invoiceDetails.getReference());
@@ -124,7 +163,7 @@ public class InvoiceService {
         invoice.calculateTotal();
 
         Invoice updated = invoiceRepository.save(invoice);
-        auditService.logUpdate("Invoice", updated.getId(), null, updated);
+        auditService.logUpdate("Invoice", updated.getId(), before, updated);
         return updated;
     }
 
@@ -145,10 +184,108 @@ public class InvoiceService {
 
 
 
+    @RetryOnConflict
     @Transactional
     public Invoice approveInvoice(UUID id) {
         Invoice invoice = getInvoiceById(id);
+        checkApprovable(invoice);
+
+        // 1. Find Accounts Receivable Account
+        // In a real app, this should come from Organization Settings or Customer default
+        // For now, we use the first active AR account from the cached chart
+        Account arAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable").id());
+
+        // 2. Create Journal Entry
+        JournalEntry entry = buildApprovalEntry(invoice, arAccount);
+
+        JournalEntry createdEntry = journalEntryService.createEntry(entry);
+        journalEntryService.approve(createdEntry.getId());
+        journalEntryService.postEntry(createdEntry.getId());
+
+        // 3. Update Invoice Status
+        invoice.setStatus(InvoiceStatus.SENT); // Or APPROVED
+        Invoice saved = invoiceRepository.save(invoice);
+        dashboardMetricsService.recordInvoiceTransition(saved, InvoiceStatus.DRAFT);
+
+        auditService.logAction("APPROVE_INVOICE", "Invoice", id, "Created Journal Entry " + createdEntry.getReferenceNumber());
+
+        notificationService.notifyInvoiceApproved(invoice.getInvoiceNumber(), id);
+
+        return saved;
+    }
+
+    /**
+     * Approves many invoices in one transaction. Invoices are loaded and posted in chunks:
+     * journal entries go straight to POSTED through a batched insert, and each chunk is flushed
+     * and cleared so the persistence context stays small. Invoices that fail validation are
+     * reported individually and do not stop the rest of the batch.
+     */
+    @Transactional
+    public BulkApprovalResultDto approveInvoices(List<UUID> ids) {
+        UUID arAccountId = chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable").id();
+        Predicate<LocalDate> openPeriod = journalEntryService.cachedOpenPeriodCheck();
+
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<BulkApprovalResultDto.Result> results = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += BULK_APPROVAL_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + BULK_APPROVAL_CHUNK_SIZE, distinctIds.size()));
+            results.addAll(approveChunk(chunk, arAccountId, openPeriod));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        int approved = (int) results.stream().filter(BulkApprovalResultDto.Result::isSuccess).count();
+        if (approved > 0) {
+            notificationService.notifyInvoicesApproved(approved);
+        }
+
+        return new BulkApprovalResultDto(distinctIds.size(), approved, distinctIds.size() - approved, results);
+    }
+
+    private List<BulkApprovalResultDto.Result> approveChunk(List<UUID> ids, UUID arAccountId, Predicate<LocalDate> openPeriod) {
+        // Resolved per chunk: the persistence context is cleared between chunks
+        Account arAccount = accountRepository.getReferenceById(arAccountId);
+        Map<UUID, Invoice> invoices = new HashMap<>();
+        invoiceRepository.findAllWithLinesByIdIn(ids).forEach(invoice -> invoices.put(invoice.getId(), invoice));
+
+        Map<UUID, BulkApprovalResultDto.Result> outcomes = new HashMap<>();
+        List<Invoice> approvable = new ArrayList<>();
+        List<JournalEntry> entries = new ArrayList<>();
+
+        for (UUID id : ids) {
+            Invoice invoice = invoices.get(id);
+            if (invoice == null) {
+                outcomes.put(id, BulkApprovalResultDto.Result.failure(id, null, "Invoice not found"));
+                continue;
+            }
+            try {
+                checkApprovable(invoice);
+                JournalEntry entry = buildApprovalEntry(invoice, arAccount);
+                journalEntryService.validateForPosting(entry, openPeriod);
+                approvable.add(invoice);
+                entries.add(entry);
+            } catch (IllegalStateException e) {
+                outcomes.put(id, BulkApprovalResultDto.Result.failure(id, invoice.getInvoiceNumber(), e.getMessage()));
+            }
+        }
+
+        journalEntryService.createPostedEntries(entries);
+
+        for (int i = 0; i < approvable.size(); i++) {
+            Invoice invoice = approvable.get(i);
+            JournalEntry entry = entries.get(i);
+            invoice.setStatus(InvoiceStatus.SENT);
+            dashboardMetricsService.recordInvoiceTransition(invoice, InvoiceStatus.DRAFT);
+            auditService.logAction("APPROVE_INVOICE", "Invoice", invoice.getId(), "Created Journal Entry " + entry.getReferenceNumber());
+            outcomes.put(invoice.getId(), BulkApprovalResultDto.Result.success(invoice.getId(), invoice.getInvoiceNumber(), entry.getReferenceNumber()));
+        }
+
+        return ids.stream().map(outcomes::get).toList();
+    }
 
+    private void checkApprovable(Invoice invoice) {
         if (invoice.getStatus() != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Invoice is already approved or voided");
         }
@@ -156,16 +293,9 @@ public class InvoiceService {
         if (invoice.getLines().isEmpty()) {
             throw new IllegalStateException("Invoice must have at least one line item");
         }
+    }
 
-        // 1. Find Accounts Receivable Account
-        // In a real app, this should come from Organization Settings or Customer default
-        // For now, we find the first active AR account
-        Account arAccount = accountRepository.findAll().stream()
-                .filter(a -> a.getSubtype() == AccountSubtype.ACCOUNTS_RECEIVABLE && a.isActive())
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No active Accounts Receivable account found"));
-
-        // 2. Create Journal Entry
+    private JournalEntry buildApprovalEntry(Invoice invoice, Account arAccount) {
         JournalEntry entry = new JournalEntry();
         entry.setEntryDate(invoice.getIssueDate());
         entry.setDescription("Invoice #" + invoice.getInvoiceNumber() + " for " + invoice.getContact().getName());
@@ -195,10 +325,8 @@ public class InvoiceService {
 
         // Credit Sales Tax Payable
         if (totalTaxAmount.compareTo(BigDecimal.ZERO) > 0) {
-            Account taxAccount = accountRepository.findAll().stream()
-                    .filter(a -> a.getSubtype() == AccountSubtype.SALES_TAX_PAYABLE && a.isActive())
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("No active Sales Tax Payable account found"));
+            Account taxAccount = accountRepository.getReferenceById(
+                    chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.SALES_TAX_PAYABLE, "Sales Tax Payable").id());
 
             JournalEntryLine taxLine = new JournalEntryLine();
             taxLine.setAccount(taxAccount);
@@ -207,93 +335,49 @@ public class InvoiceService {
             entry.addLine(taxLine);
         }
 
-        JournalEntry createdEntry = journalEntryService.createEntry(entry);
-        journalEntryService.approve(createdEntry.getId());
-        journalEntryService.postEntry(createdEntry.getId());
-
-        // 3. Update Invoice Status
-        invoice.setStatus(InvoiceStatus.SENT); // Or APPROVED
-        Invoice saved = invoiceRepository.save(invoice);
-
-        auditService.logAction("APPROVE_INVOICE", "Invoice", id, "Created Journal Entry " + createdEntry.getReferenceNumber());
-
-        notificationService.notifyInvoiceApproved(invoice.getInvoiceNumber(), id);
-
-        return saved;
+        return entry;
     }
 
+    /**
+     * Registers a payment of an open invoice, for the full amount due unless the request names an amount.
+     * A repeated call with the same idempotency key returns the invoice as paid by the first call instead
+     * of failing; concurrent payments of one invoice queue on the invoice row lock taken by the payment.
+     */
+    @RetryOnConflict
     @Transactional
-    public Invoice payInvoice(UUID id, com.accounting.platform.invoice.dto.PaymentRequestDto request) {
-        Invoice invoice = getInvoiceById(id);
-
-        if (invoice.getStatus() != InvoiceStatus.SENT) {
-            if (invoice.getStatus() == InvoiceStatus.PAID) {
-                throw new IllegalStateException("Invoice is already paid");
-            }
-             throw new IllegalStateException("Invoice must be APPROVED/SENT before payment");
-        }
-
-        Account bankAccount = accountRepository.findById(request.getBankAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("Bank Account not found"));
-
-        if (bankAccount.getSubtype() != AccountSubtype.BANK && bankAccount.getSubtype() != AccountSubtype.CASH) {
-            throw new IllegalArgumentException("Selected account is not a Bank or Cash account");
-        }
-
-        // Find Accounts Receivable Account (Re-query or assume same as approval)
-        Account arAccount = accountRepository.findAll().stream()
-                .filter(a -> a.getSubtype() == AccountSubtype.ACCOUNTS_RECEIVABLE && a.isActive())
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No active Accounts Receivable account found"));
-
-        // Create Journal Entry
-        JournalEntry entry = new JournalEntry();
-        entry.setEntryDate(request.getPaymentDate());
-        entry.setDescription("Payment for Invoice #" + invoice.getInvoiceNumber());
-        entry.setReferenceNumber("PAY-" + invoice.getInvoiceNumber());
-
-        // Debit Bank (Asset Increases)
-        JournalEntryLine debitBank = new JournalEntryLine();
-        debitBank.setAccount(bankAccount);
-        debitBank.setDebit(invoice.getTotalAmount());
-        debitBank.setDescription("Payment Received");
-        entry.addLine(debitBank);
-
-        // Credit Accounts Receivable (Asset Decreases)
-        JournalEntryLine creditAR = new JournalEntryLine();
-        creditAR.setAccount(arAccount);
-        creditAR.setCredit(invoice.getTotalAmount());
-        creditAR.setDescription("Invoice #" + invoice.getInvoiceNumber() + " Payment");
-        entry.addLine(creditAR);
-
-        JournalEntry createdEntry = journalEntryService.createEntry(entry);
-        journalEntryService.approve(createdEntry.getId());
-        journalEntryService.postEntry(createdEntry.getId());
-
-        // Update Invoice
-        invoice.setStatus(InvoiceStatus.PAID);
-        Invoice saved = invoiceRepository.save(invoice);
+    public Invoice payInvoice(UUID id, com.accounting.platform.invoice.dto.PaymentRequestDto request, String idempotencyKey) {
+        return idempotencyService.execute("invoice-payment", idempotencyKey,
+                id + "|" + request.getBankAccountId() + "|" + request.getPaymentDate() + "|" + request.getAmount(),
+                () -> registerPayment(id, request), Invoice::getId, this::getInvoiceById);
+    }
 
-        auditService.logAction("PAY_INVOICE", "Invoice", id, "Registered Payment " + createdEntry.getReferenceNumber());
+    private Invoice registerPayment(UUID id, com.accounting.platform.invoice.dto.PaymentRequestDto request) {
+        Payment payment = paymentService.payInvoice(id, request.getBankAccountId(), request.getPaymentDate(), request.getAmount());
 
-        notificationService.notifyInvoicePaid(invoice.getInvoiceNumber(), id);
+        auditService.logAction("PAY_INVOICE", "Invoice", id, "Registered Payment " + payment.getPaymentNumber());
 
-        return saved;
+        // Amount paid and status were updated in SQL, so read the invoice after the payment
+        return getInvoiceById(id);
     }
 
+    /**
+     * Deletes a draft. A draft numbered from the gap-free invoice sequence is voided instead, so its number
+     * stays accounted for; only drafts with a user-supplied number are removed.
+     */
     @Transactional
     public void deleteInvoice(UUID id) {
         Invoice invoice = getInvoiceById(id);
         if (invoice.getStatus() != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Only DRAFT invoices can be deleted");
         }
+        if (documentSequenceService.matchesFormat(DocumentSequence.INVOICE, invoice.getInvoiceNumber())) {
+            invoice.setStatus(InvoiceStatus.VOID);
+            Invoice saved = invoiceRepository.save(invoice);
+            dashboardMetricsService.recordInvoiceTransition(saved, InvoiceStatus.DRAFT);
+            auditService.logAction("VOID_INVOICE", "Invoice", id, "Draft voided to keep number " + invoice.getInvoiceNumber());
+            return;
+        }
         invoiceRepository.delete(invoice);
         auditService.logAction("DELETE_INVOICE", "Invoice", id, null);
     }
-
-    private String generateInvoiceNumber() {
-        // Simple generation strategy: INV-{CurrentTimeMillis} to ensure uniqueness for now.
-        // in a real app, this would use a sequence or configuration.
-        return "INV-" + System.currentTimeMillis();
-    }
 }
@@ -1,12 +1,11 @@
 package com.accounting.platform.journal.controller;
 
 import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.journal.entity.JournalEntry;
 import com.accounting.platform.journal.service.JournalEntryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,14 +17,26 @@ import java.util.UUID;
 public class JournalEntryController {
 
     private final JournalEntryService journalEntryService;
+    private final com.accounting.platform.journal.service.JournalImportService journalImportService;
     private final com.accounting.platform.journal.mapper.JournalEntryMapper journalEntryMapper;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<com.accounting.platform.journal.dto.JournalEntryDto>>> getAllEntries(Pageable pageable) {
-        Page<com.accounting.platform.journal.dto.JournalEntryDto> page = journalEntryService.getAllEntryDtos(pageable);
+    public ResponseEntity<ApiResponse<CursorPage<com.accounting.platform.journal.dto.JournalEntryDto>>> getAllEntries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) com.accounting.platform.journal.entity.JournalEntryStatus status,
+            @RequestParam(defaultValue = "true") boolean lines) {
+        CursorPage<com.accounting.platform.journal.dto.JournalEntryDto> page = journalEntryService.getEntryDtos(status, cursor, size, lines);
         return ResponseEntity.ok(ApiResponse.success(page));
     }
 
+    @PostMapping(value = "/import", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<com.accounting.platform.journal.dto.JournalImportResultDto>> importEntries(
+            @RequestParam("file") org.springframework.web.multipart.MultipartFile file,
+            org.springframework.security.core.Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(journalImportService.importEntries(file, authentication.getName())));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<com.accounting.platform.journal.dto.JournalEntryDto>> getEntryById(@PathVariable UUID id) {
         return ResponseEntity.ok(ApiResponse.success(journalEntryService.getEntryDtoById(id)));
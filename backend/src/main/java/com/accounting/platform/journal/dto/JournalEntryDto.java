@@ -16,12 +16,16 @@ public class JournalEntryDto {
     private String description;
     private String referenceNumber;
     private JournalEntryStatus status;
+    // Filled on list pages from the header query; null on single entries
+    private BigDecimal totalDebit;
+    private Long lineCount;
     private List<JournalEntryLineDto> lines;
 
     @Data
     public static class JournalEntryLineDto {
         private UUID id;
         private UUID accountId;
+        private String accountCode; // Convenience field
         private String accountName; // Convenience field
         private BigDecimal debit;
         private BigDecimal credit;
@@ -0,0 +1,31 @@
+package com.accounting.platform.journal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class JournalImportResultDto {
+    private UUID importId;
+    private String fileName;
+    private long linesRead;
+    private long entriesImported;
+    private long linesImported;
+    private long entriesRejected;
+    private long errorCount;
+    // The first errors only, see errorCount for the total
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String reference;
+        private String message;
+    }
+}
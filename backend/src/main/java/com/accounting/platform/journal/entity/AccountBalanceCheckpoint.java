@@ -0,0 +1,38 @@
+package com.accounting.platform.journal.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Cumulative net (Debit - Credit) balance of one account through a checkpoint date, written when a fiscal
+ * period is closed. Balance queries start from the latest checkpoint and add only the daily totals after it.
+ * Checkpoints only exist before every open period, so no posting can change the balance they hold.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "account_balance_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_balance_checkpoint", columnNames = {"account_id", "checkpoint_date"})
+}, indexes = {
+    @Index(name = "idx_balance_checkpoint_date", columnList = "checkpoint_date")
+})
+public class AccountBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance = BigDecimal.ZERO;
+}
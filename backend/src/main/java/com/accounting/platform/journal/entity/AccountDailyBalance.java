@@ -0,0 +1,41 @@
+package com.accounting.platform.journal.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Posted debit and credit totals for one account on one day.
+ * Maintained incrementally whenever a journal entry is posted, so balance queries
+ * aggregate account-days instead of every journal line.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "account_daily_balances", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_daily_balance", columnNames = {"account_id", "balance_date"})
+}, indexes = {
+    @Index(name = "idx_daily_balance_date", columnList = "balance_date")
+})
+public class AccountDailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "debit_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(name = "credit_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+}
@@ -0,0 +1,18 @@
+package com.accounting.platform.journal.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.UUID;
+
+/**
+ * Published when journal entries are posted, carrying the distinct entry dates that moved balances
+ * and the merged debit/credit movement per account and date.
+ * Published inside the posting transaction: listeners that maintain derived totals can join it,
+ * while caches should react after commit and drop only what covers these dates.
+ */
+public record LedgerPostedEvent(NavigableSet<LocalDate> entryDates, List<Movement> movements) {
+
+    public record Movement(UUID accountId, LocalDate date, BigDecimal debit, BigDecimal credit) {}
+}
@@ -17,6 +17,8 @@ public abstract class JournalEntryMapper {
 
     @Mapping(target = "lines", source = "lines")
     @Mapping(target = "entryNumber", ignore = true)
+    @Mapping(target = "totalDebit", ignore = true)
+    @Mapping(target = "lineCount", ignore = true)
     public abstract JournalEntryDto toDto(JournalEntry entry);
 
     @Mapping(target = "version", ignore = true)
@@ -27,6 +29,7 @@ public abstract class JournalEntryMapper {
     public abstract JournalEntry toEntity(JournalEntryDto dto);
 
     @Mapping(source = "account.id", target = "accountId")
+    @Mapping(source = "account.code", target = "accountCode")
     @Mapping(source = "account.name", target = "accountName")
     public abstract JournalEntryDto.JournalEntryLineDto toLineDto(JournalEntryLine line);
 
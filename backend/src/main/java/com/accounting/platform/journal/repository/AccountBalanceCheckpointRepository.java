@@ -0,0 +1,39 @@
+package com.accounting.platform.journal.repository;
+
+import com.accounting.platform.journal.entity.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, UUID> {
+
+    /**
+     * Waits for postings still writing daily totals to commit and holds new ones off until this transaction
+     * ends, so a checkpoint sees every movement on or before its date.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE account_daily_balances IN SHARE MODE", nativeQuery = true)
+    void lockDailyBalances();
+
+    // Built from the previous checkpoint plus the daily totals after it, like any as-of balance
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_balance_checkpoints (id, account_id, checkpoint_date, balance)
+            SELECT gen_random_uuid(), balances.accountId, :date, balances.balance
+            FROM (""" + AccountDailyBalanceRepository.NET_BALANCES_AS_OF + """
+            ) balances
+            ON CONFLICT (account_id, checkpoint_date) DO UPDATE
+            SET balance = EXCLUDED.balance
+            """, nativeQuery = true)
+    int insertCheckpoint(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "DELETE FROM account_balance_checkpoints WHERE checkpoint_date >= :date", nativeQuery = true)
+    int deleteFrom(@Param("date") LocalDate date);
+}
@@ -0,0 +1,86 @@
+package com.accounting.platform.journal.repository;
+
+import com.accounting.platform.journal.entity.AccountDailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, UUID> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_daily_balances (id, account_id, balance_date, debit_total, credit_total)
+            VALUES (gen_random_uuid(), :accountId, :date, :debit, :credit)
+            ON CONFLICT (account_id, balance_date) DO UPDATE
+            SET debit_total = account_daily_balances.debit_total + EXCLUDED.debit_total,
+                credit_total = account_daily_balances.credit_total + EXCLUDED.credit_total
+            """, nativeQuery = true)
+    void addMovement(@Param("accountId") UUID accountId,
+                     @Param("date") LocalDate date,
+                     @Param("debit") BigDecimal debit,
+                     @Param("credit") BigDecimal credit);
+
+    /**
+     * Net balance per account through {@code :date}: the latest checkpoint on or before the date plus the
+     * daily totals after it, so only the days since the last period close are read.
+     */
+    String NET_BALANCES_AS_OF = """
+            SELECT account_id AS accountId, SUM(amount) AS balance
+            FROM (
+                SELECT account_id, balance AS amount
+                FROM account_balance_checkpoints
+                WHERE checkpoint_date = (SELECT MAX(checkpoint_date) FROM account_balance_checkpoints WHERE checkpoint_date <= :date)
+                UNION ALL
+                SELECT account_id, debit_total - credit_total
+                FROM account_daily_balances
+                WHERE balance_date <= :date
+                  AND balance_date > COALESCE(
+                      (SELECT MAX(checkpoint_date) FROM account_balance_checkpoints WHERE checkpoint_date <= :date),
+                      DATE '0001-01-01')
+            ) movements
+            GROUP BY account_id
+            """;
+
+    @Query(value = NET_BALANCES_AS_OF, nativeQuery = true)
+    List<AccountBalanceView> sumNetBalancesAsOf(@Param("date") LocalDate date);
+
+    @Query(value = """
+            SELECT account_id AS accountId, SUM(debit_total - credit_total) AS balance
+            FROM account_daily_balances
+            WHERE balance_date BETWEEN :start AND :end
+            GROUP BY account_id
+            """, nativeQuery = true)
+    List<AccountBalanceView> sumNetMovementsBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Same as NET_BALANCES_AS_OF for one account, strictly before the date
+    @Query(value = """
+            SELECT COALESCE(SUM(amount), 0)
+            FROM (
+                SELECT balance AS amount
+                FROM account_balance_checkpoints
+                WHERE account_id = :accountId
+                  AND checkpoint_date = (SELECT MAX(checkpoint_date) FROM account_balance_checkpoints WHERE checkpoint_date < :date)
+                UNION ALL
+                SELECT debit_total - credit_total
+                FROM account_daily_balances
+                WHERE account_id = :accountId AND balance_date < :date
+                  AND balance_date > COALESCE(
+                      (SELECT MAX(checkpoint_date) FROM account_balance_checkpoints WHERE checkpoint_date < :date),
+                      DATE '0001-01-01')
+            ) movements
+            """, nativeQuery = true)
+    BigDecimal sumNetBalanceBefore(@Param("accountId") UUID accountId, @Param("date") LocalDate date);
+
+    interface AccountBalanceView {
+        UUID getAccountId();
+        BigDecimal getBalance();
+    }
+}
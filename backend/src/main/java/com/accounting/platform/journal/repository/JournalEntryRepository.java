@@ -5,9 +5,15 @@ import com.accounting.platform.journal.entity.JournalEntryStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -19,4 +25,67 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID
     @org.springframework.data.jpa.repository.Query("SELECT COALESCE(SUM(l.debit), 0) - COALESCE(SUM(l.credit), 0) FROM JournalEntry j JOIN j.lines l JOIN l.account a WHERE a.subtype IN ('BANK', 'CASH') AND j.status = 'POSTED'")
     java.math.BigDecimal getNetCashBalance();
 
+    String ENTRY_HEADER = """
+            SELECT j.id AS id, j.createdAt AS createdAt, j.entryDate AS entryDate, j.description AS description,
+                   j.referenceNumber AS referenceNumber, j.status AS status,
+                   COALESCE(SUM(l.debit), 0) AS totalDebit, COUNT(l) AS lineCount
+            FROM JournalEntry j LEFT JOIN j.lines l
+            WHERE (:status IS NULL OR j.status = :status)
+            """;
+
+    String ENTRY_HEADER_ORDER = """
+            GROUP BY j.id, j.createdAt, j.entryDate, j.description, j.referenceNumber, j.status
+            ORDER BY j.createdAt DESC, j.id DESC
+            """;
+
+    /**
+     * Entry headers with their totals, one row per entry, newest first; no lines or accounts are loaded.
+     * The pageable only limits the rows: no count query is issued for a list result.
+     */
+    @Query(ENTRY_HEADER + ENTRY_HEADER_ORDER)
+    List<EntryHeaderView> findHeaders(@Param("status") JournalEntryStatus status, Pageable limit);
+
+    /**
+     * The headers that follow (createdAt, id) in {@link #findHeaders} order.
+     */
+    @Query(ENTRY_HEADER + """
+            AND j.createdAt <= :createdAt AND (j.createdAt < :createdAt OR j.id < :id)
+            """ + ENTRY_HEADER_ORDER)
+    List<EntryHeaderView> findHeadersBefore(@Param("status") JournalEntryStatus status,
+                                            @Param("createdAt") Instant createdAt,
+                                            @Param("id") UUID id,
+                                            Pageable limit);
+
+    /**
+     * Lines of many entries in one query, with the account code and name joined in.
+     */
+    @Query("""
+            SELECT l.journalEntry.id AS journalEntryId, l.id AS id, a.id AS accountId, a.code AS accountCode,
+                   a.name AS accountName, l.debit AS debit, l.credit AS credit, l.description AS description
+            FROM JournalEntryLine l JOIN l.account a
+            WHERE l.journalEntry.id IN :entryIds
+            """)
+    List<LineView> findLines(@Param("entryIds") Collection<UUID> entryIds);
+
+    interface EntryHeaderView {
+        UUID getId();
+        Instant getCreatedAt();
+        LocalDate getEntryDate();
+        String getDescription();
+        String getReferenceNumber();
+        JournalEntryStatus getStatus();
+        BigDecimal getTotalDebit();
+        long getLineCount();
+    }
+
+    interface LineView {
+        UUID getJournalEntryId();
+        UUID getId();
+        UUID getAccountId();
+        String getAccountCode();
+        String getAccountName();
+        BigDecimal getDebit();
+        BigDecimal getCredit();
+        String getDescription();
+    }
 }
@@ -0,0 +1,260 @@
+package com.accounting.platform.journal.repository;
+
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk journal loading. Validated lines are streamed with COPY into a temporary staging table that lives
+ * until the end of the transaction, then merged into journal_entries, journal_entry_lines and
+ * account_daily_balances with one set-based statement each.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JournalImportRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE journal_import_lines (
+                entry_no integer NOT NULL,
+                line_no integer NOT NULL,
+                reference_number text NOT NULL,
+                entry_date date NOT NULL,
+                account_id uuid NOT NULL,
+                description text,
+                debit numeric(19, 4) NOT NULL,
+                credit numeric(19, 4) NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_LINES = """
+            COPY journal_import_lines (entry_no, line_no, reference_number, entry_date, account_id, description, debit, credit)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    // Staged entries whose reference is already used in the ledger; they are dropped before the merge
+    private static final String EXISTING_REFERENCES = """
+            SELECT reference_number
+            FROM journal_import_lines s
+            WHERE line_no = 1
+              AND EXISTS (SELECT 1 FROM journal_entries e WHERE e.reference_number = s.reference_number)
+            ORDER BY entry_no
+            """;
+
+    private static final String DROP_EXISTING_REFERENCES = """
+            DELETE FROM journal_import_lines s
+            WHERE EXISTS (SELECT 1 FROM journal_entries e WHERE e.reference_number = s.reference_number)
+            """;
+
+    private static final String DROP_REFERENCES = """
+            DELETE FROM journal_import_lines
+            WHERE reference_number = ANY (?)
+            """;
+
+    // One id per staged entry; the entry's description is taken from its first line
+    private static final String CREATE_ENTRIES = """
+            CREATE TEMP TABLE journal_import_entries ON COMMIT DROP AS
+            SELECT entry_no, gen_random_uuid() AS id, reference_number, entry_date, description
+            FROM journal_import_lines
+            WHERE line_no = 1
+            """;
+
+    private static final String INSERT_ENTRIES = """
+            INSERT INTO journal_entries (id, version, created_at, created_by, entry_date, description, reference_number, status)
+            SELECT id, 0, now(), ?, entry_date, description, reference_number, 'POSTED'
+            FROM journal_import_entries
+            """;
+
+    private static final String INSERT_LINES = """
+            INSERT INTO journal_entry_lines (id, journal_entry_id, account_id, description, debit, credit)
+            SELECT gen_random_uuid(), e.id, l.account_id, l.description, l.debit, l.credit
+            FROM journal_import_lines l
+            JOIN journal_import_entries e ON e.entry_no = l.entry_no
+            """;
+
+    private static final String ADD_DAILY_BALANCES = """
+            INSERT INTO account_daily_balances (id, account_id, balance_date, debit_total, credit_total)
+            SELECT gen_random_uuid(), account_id, entry_date, SUM(debit), SUM(credit)
+            FROM journal_import_lines
+            GROUP BY account_id, entry_date
+            ON CONFLICT (account_id, balance_date) DO UPDATE
+            SET debit_total = account_daily_balances.debit_total + EXCLUDED.debit_total,
+                credit_total = account_daily_balances.credit_total + EXCLUDED.credit_total
+            """;
+
+    private static final String MOVEMENTS = """
+            SELECT account_id, entry_date, SUM(debit) AS debit, SUM(credit) AS credit
+            FROM journal_import_lines
+            GROUP BY account_id, entry_date
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcome of a merge; {@code existingReferences} are the staged entries that were not imported because
+     * the ledger already has an entry with that reference.
+     */
+    public record Merged(int entries, int lines, List<LedgerPostedEvent.Movement> movements,
+                         List<String> existingReferences) {}
+
+    /**
+     * Creates the staging table and starts a COPY into it on the transaction's connection. Nothing else
+     * may use that connection until the writer is finished or closed.
+     */
+    public StagingWriter openStaging() {
+        jdbcTemplate.execute(CREATE_STAGING);
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_LINES);
+            return new StagingWriter(dataSource, connection, copyIn);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY journal_import_lines", COPY_LINES, e);
+        }
+    }
+
+    /**
+     * Removes staged entries with the given references, e.g. ones found to be invalid after they were staged.
+     * Call it once the staging writer is finished.
+     */
+    public void unstage(Collection<String> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(DROP_REFERENCES)) {
+                statement.setArray(1, array(connection, "text", references.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Moves everything staged into the ledger as POSTED entries and returns the per-account, per-day movements.
+     * Entries whose reference already exists in journal_entries are left out and reported back.
+     */
+    public Merged merge(String username) {
+        jdbcTemplate.execute("ANALYZE journal_import_lines");
+        List<String> existingReferences = jdbcTemplate.queryForList(EXISTING_REFERENCES, String.class);
+        if (!existingReferences.isEmpty()) {
+            jdbcTemplate.update(DROP_EXISTING_REFERENCES);
+        }
+        jdbcTemplate.execute(CREATE_ENTRIES);
+        int entries = jdbcTemplate.update(INSERT_ENTRIES, username);
+        int lines = jdbcTemplate.update(INSERT_LINES);
+        jdbcTemplate.update(ADD_DAILY_BALANCES);
+        List<LedgerPostedEvent.Movement> movements = jdbcTemplate.query(MOVEMENTS, (rs, rowNum) -> new LedgerPostedEvent.Movement(
+                rs.getObject("account_id", UUID.class),
+                rs.getObject("entry_date", LocalDate.class),
+                rs.getBigDecimal("debit"),
+                rs.getBigDecimal("credit")));
+        return new Merged(entries, lines, movements, existingReferences);
+    }
+
+    /**
+     * Buffers staged lines as COPY csv rows and hands them to the server in large chunks.
+     */
+    public final class StagingWriter implements AutoCloseable {
+        private final DataSource dataSource;
+        private final Connection connection;
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+
+        private StagingWriter(DataSource dataSource, Connection connection, CopyIn copyIn) {
+            this.dataSource = dataSource;
+            this.connection = connection;
+            this.copyIn = copyIn;
+        }
+
+        public void write(int entryNo, int lineNo, String reference, LocalDate entryDate, UUID accountId,
+                          String description, BigDecimal debit, BigDecimal credit) {
+            buffer.append(entryNo).append(',')
+                    .append(lineNo).append(',');
+            quote(reference);
+            buffer.append(',').append(entryDate)
+                    .append(',').append(accountId).append(',');
+            if (description != null) {
+                quote(description);
+            }
+            buffer.append(',').append(debit.toPlainString())
+                    .append(',').append(credit.toPlainString())
+                    .append('\n');
+            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Ends the COPY and returns the number of rows the server received.
+         */
+        public long finish() {
+            flush();
+            try {
+                return copyIn.endCopy();
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY journal_import_lines", COPY_LINES, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY journal_import_lines", COPY_LINES, e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        // Quoted so commas, quotes and newlines in references and memos survive; an unquoted empty field is NULL
+        private void quote(String value) {
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY journal_import_lines", COPY_LINES, e);
+            }
+        }
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
@@ -0,0 +1,136 @@
+package com.accounting.platform.journal.service;
+
+import com.accounting.platform.journal.entity.JournalEntry;
+import com.accounting.platform.journal.entity.JournalEntryLine;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import com.accounting.platform.journal.repository.AccountBalanceCheckpointRepository;
+import com.accounting.platform.journal.repository.AccountDailyBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Maintains the per-account, per-day balance snapshot (account_daily_balances).
+ * Posting paths call {@link #applyPostedEntry} inside their own transaction, so the
+ * snapshot is always consistent with the set of POSTED journal entries. Closing a fiscal period
+ * records a cumulative checkpoint, and as-of balances only add the daily totals after it.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceService {
+
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final AccountBalanceCheckpointRepository accountBalanceCheckpointRepository;
+    private final LedgerVersionService ledgerVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyPostedEntry(JournalEntry entry) {
+        applyPostedEntries(List.of(entry));
+    }
+
+    /**
+     * Applies many posted entries at once. Movements are merged per account and day first,
+     * so a bulk run issues one upsert per (account, date) instead of one per entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyPostedEntries(Collection<JournalEntry> entries) {
+        Map<MovementKey, BigDecimal[]> movements = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            for (JournalEntryLine line : entry.getLines()) {
+                BigDecimal[] totals = movements.computeIfAbsent(
+                        new MovementKey(line.getAccount().getId(), entry.getEntryDate()),
+                        key -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                totals[0] = totals[0].add(line.getDebit());
+                totals[1] = totals[1].add(line.getCredit());
+            }
+        }
+
+        movements.forEach((key, totals) ->
+                accountDailyBalanceRepository.addMovement(key.accountId(), key.date(), totals[0], totals[1]));
+
+        List<LedgerPostedEvent.Movement> posted = new ArrayList<>(movements.size());
+        movements.forEach((key, totals) ->
+                posted.add(new LedgerPostedEvent.Movement(key.accountId(), key.date(), totals[0], totals[1])));
+        publishMovements(posted);
+    }
+
+    /**
+     * For bulk paths that have already written their movements to account_daily_balances set-based:
+     * bumps the ledger version and publishes the movements like any other posting.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishMovements(List<LedgerPostedEvent.Movement> movements) {
+        ledgerVersionService.markChanged();
+
+        NavigableSet<LocalDate> dates = new TreeSet<>();
+        movements.forEach(movement -> dates.add(movement.date()));
+        eventPublisher.publishEvent(new LedgerPostedEvent(Collections.unmodifiableNavigableSet(dates), movements));
+    }
+
+    /**
+     * Net (Debit - Credit) balance per account for everything posted up to and including the date.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> getNetBalancesAsOf(LocalDate date) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        accountDailyBalanceRepository.sumNetBalancesAsOf(date)
+                .forEach(row -> balances.put(row.getAccountId(), row.getBalance()));
+        return balances;
+    }
+
+    /**
+     * Net (Debit - Credit) movement per account for entries dated within the period (inclusive).
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> getNetMovementsForPeriod(LocalDate start, LocalDate end) {
+        Map<UUID, BigDecimal> movements = new HashMap<>();
+        accountDailyBalanceRepository.sumNetMovementsBetween(start, end)
+                .forEach(row -> movements.put(row.getAccountId(), row.getBalance()));
+        return movements;
+    }
+
+    /**
+     * Net (Debit - Credit) balance of one account for everything posted before the date.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getNetBalanceBefore(UUID accountId, LocalDate date) {
+        return accountDailyBalanceRepository.sumNetBalanceBefore(accountId, date);
+    }
+
+    /**
+     * Records every account's cumulative balance through the date. Only for dates no open period reaches
+     * back to, since postings must not change a checkpointed balance afterwards.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCheckpoint(LocalDate date) {
+        accountBalanceCheckpointRepository.lockDailyBalances();
+        accountBalanceCheckpointRepository.insertCheckpoint(date);
+    }
+
+    /**
+     * Drops the checkpoints on or after the date, once postings can reach that date again.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dropCheckpointsFrom(LocalDate date) {
+        accountBalanceCheckpointRepository.deleteFrom(date);
+    }
+
+    private record MovementKey(UUID accountId, LocalDate date) {
+    }
+}
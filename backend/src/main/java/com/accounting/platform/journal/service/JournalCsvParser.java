@@ -0,0 +1,97 @@
+package com.accounting.platform.journal.service;
+
+import com.accounting.platform.common.csv.CsvReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Journal entry lines as CSV with a header row: entry reference, date, account code, debit, credit and
+ * memo. Lines of one entry share a reference and must be contiguous. A line that cannot be read is
+ * passed on with an error instead of stopping the file, so the caller can report every bad row.
+ */
+public final class JournalCsvParser {
+
+    private static final Set<String> REFERENCE_COLUMNS = Set.of("entry ref", "entry_ref", "reference", "ref");
+    private static final Set<String> DATE_COLUMNS = Set.of("date", "entry date", "entry_date");
+    private static final Set<String> ACCOUNT_COLUMNS = Set.of("account code", "account_code", "account");
+    private static final Set<String> DEBIT_COLUMNS = Set.of("debit");
+    private static final Set<String> CREDIT_COLUMNS = Set.of("credit");
+    private static final Set<String> MEMO_COLUMNS = Set.of("memo", "description");
+
+    public record Row(long line, String reference, LocalDate date, String accountCode, BigDecimal debit,
+                      BigDecimal credit, String memo, String error) {
+
+        static Row invalid(long line, String reference, String error) {
+            return new Row(line, reference, null, null, null, null, null, error);
+        }
+    }
+
+    private JournalCsvParser() {
+    }
+
+    public static void parse(InputStream input, Consumer<Row> sink) {
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        int reference = column(header, REFERENCE_COLUMNS);
+        int date = column(header, DATE_COLUMNS);
+        int account = column(header, ACCOUNT_COLUMNS);
+        int debit = column(header, DEBIT_COLUMNS);
+        int credit = column(header, CREDIT_COLUMNS);
+        int memo = column(header, MEMO_COLUMNS);
+        if (reference < 0 || date < 0 || account < 0 || debit < 0 || credit < 0) {
+            throw new IllegalArgumentException("Journal file needs entry ref, date, account code, debit and credit columns");
+        }
+
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            long line = reader.getRecordNumber();
+            String ref = field(record, reference);
+            if (ref.isEmpty()) {
+                sink.accept(Row.invalid(line, ref, "Entry reference is required"));
+                continue;
+            }
+            try {
+                String text = field(record, memo);
+                sink.accept(new Row(line, ref,
+                        LocalDate.parse(field(record, date)),
+                        field(record, account),
+                        amount(field(record, debit)),
+                        amount(field(record, credit)),
+                        text.isEmpty() ? null : text,
+                        null));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                sink.accept(Row.invalid(line, ref, e instanceof NumberFormatException ? "Invalid amount" : e.getMessage()));
+            }
+        }
+    }
+
+    private static BigDecimal amount(String raw) {
+        return raw.isEmpty() ? BigDecimal.ZERO : new BigDecimal(raw.replace(",", ""));
+    }
+
+    private static int column(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index).trim() : "";
+    }
+}
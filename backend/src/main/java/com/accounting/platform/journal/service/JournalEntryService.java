@@ -1,22 +1,35 @@
 package com.accounting.platform.journal.service;
 
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.common.retry.RetryOnConflict;
 import com.accounting.platform.journal.entity.JournalEntry;
 import com.accounting.platform.journal.entity.JournalEntryLine;
 import com.accounting.platform.journal.entity.JournalEntryStatus;
 import com.accounting.platform.journal.repository.JournalEntryRepository;
 import com.accounting.platform.journal.dto.JournalEntryDto;
 import com.accounting.platform.journal.mapper.JournalEntryMapper;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import com.accounting.platform.settings.entity.FiscalPeriod;
 import java.time.LocalDate;
 import com.accounting.platform.settings.service.FiscalPeriodService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -26,11 +39,55 @@ public class JournalEntryService {
     private final FiscalPeriodService fiscalPeriodService;
     private final AuditService auditService;
     private final JournalEntryMapper journalEntryMapper;
-
+    private final AccountBalanceService accountBalanceService;
+    private final DocumentSequenceService documentSequenceService;
+
+    /**
+     * List slice built from projections, newest first: one query for the headers with their totals and,
+     * when {@code includeLines} is set, one more for all their lines with account code and name. The cost
+     * does not grow with the slice size, the number of distinct accounts or how deep the cursor is.
+     */
     @Transactional(readOnly = true)
-    public Page<JournalEntryDto> getAllEntryDtos(Pageable pageable) {
-        return journalEntryRepository.findAll(pageable)
-                .map(journalEntryMapper::toDto);
+    public CursorPage<JournalEntryDto> getEntryDtos(JournalEntryStatus status, String cursor, Integer size, boolean includeLines) {
+        int pageSize = CursorPage.size(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<JournalEntryRepository.EntryHeaderView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = journalEntryRepository.findHeaders(status, limit);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            Instant createdAt;
+            UUID id;
+            try {
+                createdAt = Instant.parse(key[0]);
+                id = UUID.fromString(key[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            rows = journalEntryRepository.findHeadersBefore(status, createdAt, id, limit);
+        }
+        CursorPage<JournalEntryRepository.EntryHeaderView> headers =
+                CursorPage.of(rows, pageSize, header -> new Object[]{header.getCreatedAt(), header.getId()});
+
+        Map<UUID, List<JournalEntryDto.JournalEntryLineDto>> lines = new HashMap<>();
+        if (includeLines && !headers.getContent().isEmpty()) {
+            List<UUID> ids = headers.getContent().stream().map(JournalEntryRepository.EntryHeaderView::getId).toList();
+            journalEntryRepository.findLines(ids).forEach(view ->
+                    lines.computeIfAbsent(view.getJournalEntryId(), id -> new ArrayList<>()).add(toLineDto(view)));
+        }
+
+        return headers.map(header -> {
+            JournalEntryDto dto = new JournalEntryDto();
+            dto.setId(header.getId());
+            dto.setEntryDate(header.getEntryDate());
+            dto.setDescription(header.getDescription());
+            dto.setReferenceNumber(header.getReferenceNumber());
+            dto.setStatus(header.getStatus());
+            dto.setTotalDebit(header.getTotalDebit());
+            dto.setLineCount(header.getLineCount());
+            dto.setLines(includeLines ? lines.getOrDefault(header.getId(), List.of()) : null);
+            return dto;
+        });
     }
 
     @Transactional(readOnly = true)
@@ -54,6 +111,7 @@ public class JournalEntryService {
         if (entry.getStatus() == null) {
             entry.setStatus(JournalEntryStatus.DRAFT);
         }
+        assignReferenceNumber(entry);
 
         if (entry.getLines() != null) {
             entry.getLines().forEach(line -> line.setJournalEntry(entry));
@@ -72,6 +130,8 @@ public class JournalEntryService {
             throw new IllegalStateException("Cannot update entry that is not in DRAFT status");
         }
 
+        Object before = auditService.snapshot(entry);
+
         entry.setEntryDate(entryDetails.getEntryDate());
         entry.setDescription(entryDetails.getDescription());
         entry.setReferenceNumber(entryDetails.getReferenceNumber());
@@ -82,10 +142,11 @@ public class JournalEntryService {
         }
 
         JournalEntry updated = journalEntryRepository.save(entry);
-        auditService.logUpdate("JournalEntry", updated.getId(), null, updated);
+        auditService.logUpdate("JournalEntry", updated.getId(), before, updated);
         return updated;
     }
 
+    @RetryOnConflict
     @Transactional
     public JournalEntry approve(UUID id) {
         JournalEntry entry = getEntryById(id);
@@ -97,6 +158,7 @@ public class JournalEntryService {
         return journalEntryRepository.save(entry);
     }
 
+    @RetryOnConflict
     @Transactional
     public JournalEntry postEntry(UUID id) {
         JournalEntry entry = getEntryById(id);
@@ -105,7 +167,20 @@ public class JournalEntryService {
              throw new IllegalStateException("Entry must be APPROVED before posting");
         }
 
-        if (!fiscalPeriodService.isDateInOpenPeriod(entry.getEntryDate())) {
+        validateForPosting(entry, fiscalPeriodService::isDateInOpenPeriod);
+
+        entry.setStatus(JournalEntryStatus.POSTED);
+        JournalEntry saved = journalEntryRepository.save(entry);
+        accountBalanceService.applyPostedEntry(saved);
+        auditService.logAction("POST_JOURNAL_ENTRY", "JournalEntry", id, null);
+        return saved;
+    }
+
+    /**
+     * Checks the open fiscal period and the debit/credit rules an entry must satisfy before it can be posted.
+     */
+    public void validateForPosting(JournalEntry entry, Predicate<LocalDate> openPeriod) {
+        if (!openPeriod.test(entry.getEntryDate())) {
             throw new IllegalStateException("Entry date " + entry.getEntryDate() + " is not in an open fiscal period");
         }
 
@@ -132,10 +207,37 @@ public class JournalEntryService {
         if (totalDebit.compareTo(totalCredit) != 0) {
             throw new IllegalStateException("Entry is not balanced. Debits: " + totalDebit + ", Credits: " + totalCredit);
         }
+    }
+
+    /**
+     * Open-period check for bulk paths posting many entries. The open periods are read once, when the check
+     * is created, and every date is then answered in memory, so it can also be used while the connection is
+     * busy streaming a bulk load.
+     */
+    public Predicate<LocalDate> cachedOpenPeriodCheck() {
+        List<FiscalPeriod> open = fiscalPeriodService.getOpenPeriods();
+        return date -> open.stream()
+                .anyMatch(period -> !date.isBefore(period.getStartDate()) && !date.isAfter(period.getEndDate()));
+    }
+
+    /**
+     * Writes already validated entries straight to POSTED in one batch, skipping the
+     * DRAFT and APPROVED round-trips. Callers are expected to have run {@link #validateForPosting}
+     * on every entry so that one bad entry can be rejected without failing the batch.
+     */
+    @Transactional
+    public List<JournalEntry> createPostedEntries(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        entries.forEach(entry -> {
+            entry.setStatus(JournalEntryStatus.POSTED);
+            assignReferenceNumber(entry);
+            entry.getLines().forEach(line -> line.setJournalEntry(entry));
+        });
 
-        entry.setStatus(JournalEntryStatus.POSTED);
-        JournalEntry saved = journalEntryRepository.save(entry);
-        auditService.logAction("POST_JOURNAL_ENTRY", "JournalEntry", id, null);
+        List<JournalEntry> saved = journalEntryRepository.saveAll(entries);
+        accountBalanceService.applyPostedEntries(saved);
         return saved;
     }
 
@@ -207,11 +309,13 @@ public class JournalEntryService {
         return journalEntryMapper.toDto(updateEntry(id, entry));
     }
 
+    @RetryOnConflict
     @Transactional
     public JournalEntryDto approveEntryDto(UUID id) {
         return journalEntryMapper.toDto(approve(id));
     }
 
+    @RetryOnConflict
     @Transactional
     public JournalEntryDto postEntryDto(UUID id) {
         return journalEntryMapper.toDto(postEntry(id));
@@ -226,4 +330,22 @@ public class JournalEntryService {
     public JournalEntryDto reverseEntryDto(UUID id) {
         return journalEntryMapper.toDto(reverse(id));
     }
+
+    private static JournalEntryDto.JournalEntryLineDto toLineDto(JournalEntryRepository.LineView view) {
+        JournalEntryDto.JournalEntryLineDto line = new JournalEntryDto.JournalEntryLineDto();
+        line.setId(view.getId());
+        line.setAccountId(view.getAccountId());
+        line.setAccountCode(view.getAccountCode());
+        line.setAccountName(view.getAccountName());
+        line.setDebit(view.getDebit());
+        line.setCredit(view.getCredit());
+        line.setDescription(view.getDescription());
+        return line;
+    }
+
+    private void assignReferenceNumber(JournalEntry entry) {
+        if (entry.getReferenceNumber() == null || entry.getReferenceNumber().isEmpty()) {
+            entry.setReferenceNumber(documentSequenceService.next(DocumentSequence.JOURNAL_ENTRY));
+        }
+    }
 }
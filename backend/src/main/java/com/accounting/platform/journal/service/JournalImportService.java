@@ -0,0 +1,258 @@
+package com.accounting.platform.journal.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.journal.dto.JournalImportResultDto;
+import com.accounting.platform.journal.repository.JournalImportRepository;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Imports journal history from CSV straight to POSTED. The file is read once: lines are collected per
+ * entry, each finished entry is checked (accounts, one debit or credit per line, balance, open period)
+ * against an in-memory chart of accounts and period list, and valid entries are streamed into a staging
+ * table with COPY. A single set-based merge then writes entries, lines and daily balances, leaving out
+ * entries whose reference is already in the ledger. Entries with a bad line, a taken reference, a reference
+ * in the journal entry number format or lines split across the file are skipped and reported; the rest of
+ * the file still imports.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JournalImportService {
+
+    private final JournalImportRepository journalImportRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
+    private final JournalEntryService journalEntryService;
+    private final AccountBalanceService accountBalanceService;
+    private final AuditService auditService;
+    private final DocumentSequenceService documentSequenceService;
+
+    @Value("${app.journal.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Transactional
+    public JournalImportResultDto importEntries(MultipartFile file, String username) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Journal file is empty");
+        }
+
+        Map<String, UUID> accounts = new HashMap<>();
+        chartOfAccountsRegistry.getAll().stream()
+                .filter(AccountView::active)
+                .forEach(account -> accounts.put(account.code(), account.id()));
+        // Loaded up front: the connection is busy with the COPY while the file is read
+        ImportRun run = new ImportRun(accounts, journalEntryService.cachedOpenPeriodCheck(),
+                documentSequenceService.formatMatcher(DocumentSequence.JOURNAL_ENTRY));
+
+        try (InputStream input = file.getInputStream();
+             JournalImportRepository.StagingWriter writer = journalImportRepository.openStaging()) {
+            run.writer = writer;
+            JournalCsvParser.parse(input, run::add);
+            run.finishEntry();
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        journalImportRepository.unstage(run.unstaged);
+        long entries = 0;
+        long lines = 0;
+        if (run.entriesStaged > run.unstaged.size()) {
+            JournalImportRepository.Merged merged = journalImportRepository.merge(username);
+            run.rejectExisting(merged.existingReferences());
+            accountBalanceService.publishMovements(merged.movements());
+            entries = merged.entries();
+            lines = merged.lines();
+        }
+
+        UUID importId = UUID.randomUUID();
+        auditService.logAction("IMPORT_JOURNAL_ENTRIES", "JournalImport", importId,
+                "Imported " + entries + " entries (" + lines + " lines) from " + file.getOriginalFilename()
+                        + ", rejected " + run.entriesRejected);
+        log.info("Journal import {}: {} lines read, {} entries imported, {} rejected",
+                importId, run.linesRead, entries, run.entriesRejected);
+
+        return JournalImportResultDto.builder()
+                .importId(importId)
+                .fileName(file.getOriginalFilename())
+                .linesRead(run.linesRead)
+                .entriesImported(entries)
+                .linesImported(lines)
+                .entriesRejected(run.entriesRejected)
+                .errorCount(run.errorCount)
+                .errors(run.errors)
+                .build();
+    }
+
+    /**
+     * State of one import: the entry being collected and the running totals.
+     */
+    private class ImportRun {
+        private final Map<String, UUID> accounts;
+        private final Predicate<LocalDate> openPeriod;
+        private final Predicate<String> sequenceFormat;
+        // First line of every entry seen so far, by reference
+        private final Map<String, Long> firstLines = new HashMap<>();
+        private final Set<String> stagedReferences = new HashSet<>();
+        // Staged entries whose reference turned up again further down the file
+        private final List<String> unstaged = new ArrayList<>();
+        private final List<StagedLine> pending = new ArrayList<>();
+        private final List<JournalImportResultDto.RowError> errors = new ArrayList<>();
+        private JournalImportRepository.StagingWriter writer;
+        private String reference;
+        private boolean invalid;
+        private long linesRead;
+        private int entriesStaged;
+        private long entriesRejected;
+        private long errorCount;
+
+        ImportRun(Map<String, UUID> accounts, Predicate<LocalDate> openPeriod, Predicate<String> sequenceFormat) {
+            this.accounts = accounts;
+            this.openPeriod = openPeriod;
+            this.sequenceFormat = sequenceFormat;
+        }
+
+        void add(JournalCsvParser.Row row) {
+            linesRead++;
+            if (row.reference().isEmpty()) {
+                error(row.line(), row.reference(), row.error());
+                return;
+            }
+            if (!row.reference().equals(reference)) {
+                finishEntry();
+                reference = row.reference();
+                if (firstLines.putIfAbsent(reference, row.line()) != null) {
+                    // Neither part is imported: the earlier one may have been staged already
+                    invalid = true;
+                    error(row.line(), reference, "Lines of entry " + reference + " must be contiguous");
+                    if (stagedReferences.remove(reference)) {
+                        unstaged.add(reference);
+                        entriesRejected++;
+                    }
+                } else if (sequenceFormat.test(reference)) {
+                    // Would collide with a number the sequence hands out later
+                    invalid = true;
+                    error(row.line(), reference, "Entry reference " + reference + " is reserved for automatic numbering");
+                }
+            }
+
+            UUID accountId = null;
+            String problem = row.error();
+            if (problem == null) {
+                accountId = accounts.get(row.accountCode());
+                problem = lineProblem(row, accountId);
+            }
+            if (problem != null) {
+                invalid = true;
+                error(row.line(), reference, problem);
+            }
+            pending.add(new StagedLine(row, accountId));
+        }
+
+        void finishEntry() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            JournalCsvParser.Row first = pending.get(0).row();
+            if (!invalid) {
+                String problem = entryProblem(first.date());
+                if (problem != null) {
+                    invalid = true;
+                    error(first.line(), reference, problem);
+                }
+            }
+
+            if (invalid) {
+                entriesRejected++;
+            } else {
+                int entryNo = ++entriesStaged;
+                stagedReferences.add(reference);
+                for (int i = 0; i < pending.size(); i++) {
+                    StagedLine line = pending.get(i);
+                    writer.write(entryNo, i + 1, reference, first.date(), line.accountId(), line.row().memo(),
+                            line.row().debit(), line.row().credit());
+                }
+            }
+            pending.clear();
+            invalid = false;
+        }
+
+        void rejectExisting(List<String> references) {
+            for (String existing : references) {
+                entriesRejected++;
+                error(firstLines.get(existing), existing, "Entry reference " + existing + " already exists in the journal");
+            }
+        }
+
+        private String lineProblem(JournalCsvParser.Row row, UUID accountId) {
+            if (accountId == null) {
+                return "Unknown or inactive account code " + row.accountCode();
+            }
+            if (row.debit().signum() < 0 || row.credit().signum() < 0) {
+                return "Debit and credit must not be negative";
+            }
+            boolean hasDebit = row.debit().signum() > 0;
+            boolean hasCredit = row.credit().signum() > 0;
+            if (hasDebit && hasCredit) {
+                return "Line for account " + row.accountCode() + " cannot have both debit and credit values";
+            }
+            if (!hasDebit && !hasCredit) {
+                return "Line for account " + row.accountCode() + " must have either a debit or credit value";
+            }
+            if (!pending.isEmpty() && !row.date().equals(pending.get(0).row().date())) {
+                return "All lines of entry " + reference + " must have the same date";
+            }
+            return null;
+        }
+
+        private String entryProblem(LocalDate date) {
+            if (pending.size() < 2) {
+                return "Entry " + reference + " must have at least two lines";
+            }
+            BigDecimal totalDebit = BigDecimal.ZERO;
+            BigDecimal totalCredit = BigDecimal.ZERO;
+            for (StagedLine line : pending) {
+                totalDebit = totalDebit.add(line.row().debit());
+                totalCredit = totalCredit.add(line.row().credit());
+            }
+            if (totalDebit.compareTo(totalCredit) != 0) {
+                return "Entry " + reference + " is not balanced. Debits: " + totalDebit + ", Credits: " + totalCredit;
+            }
+            if (!openPeriod.test(date)) {
+                return "Entry date " + date + " is not in an open fiscal period";
+            }
+            return null;
+        }
+
+        private void error(long line, String ref, String message) {
+            errorCount++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new JournalImportResultDto.RowError(line, ref, message));
+            }
+        }
+    }
+
+    private record StagedLine(JournalCsvParser.Row row, UUID accountId) {}
+}
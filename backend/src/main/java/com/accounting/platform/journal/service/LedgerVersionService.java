@@ -0,0 +1,50 @@
+package com.accounting.platform.journal.service;
+
+import com.accounting.platform.common.transaction.TransactionScoped;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Monotonic version of the posted ledger, backed by ledger_version_seq.
+ * The version is advanced only after the posting transaction commits, so anything computed
+ * after reading version N already sees every change that produced N.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerVersionService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT last_value FROM ledger_version_seq", Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Records that the ledger changed. Inside a transaction the version is advanced once, on commit.
+     */
+    public void markChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+            return;
+        }
+        // One pending advance per transaction, including each REQUIRES_NEW transaction on its own
+        TransactionScoped.synchronization(PendingAdvance.class, PendingAdvance::new);
+    }
+
+    private void advance() {
+        // nextval is not transactional, so this holds no lock and never blocks concurrent posters
+        jdbcTemplate.queryForObject("SELECT nextval('ledger_version_seq')", Long.class);
+    }
+
+    private final class PendingAdvance implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            advance();
+        }
+    }
+}
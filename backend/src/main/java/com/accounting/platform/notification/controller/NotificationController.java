@@ -1,13 +1,16 @@
 package com.accounting.platform.notification.controller;
 
 import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.notification.entity.Notification;
 import com.accounting.platform.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.UUID;
@@ -20,30 +23,50 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Notification>>> getAllNotifications(Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success(notificationService.getAllNotifications(pageable)));
+    public ResponseEntity<ApiResponse<CursorPage<Notification>>> getAllNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getAllNotifications(authentication.getName(), cursor, size)));
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<ApiResponse<Page<Notification>>> getUnreadNotifications(Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success(notificationService.getUnreadNotifications(pageable)));
+    public ResponseEntity<ApiResponse<CursorPage<Notification>>> getUnreadNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getUnreadNotifications(authentication.getName(), cursor, size)));
     }
 
     @GetMapping("/count")
-    public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount() {
-        long count = notificationService.getUnreadCount();
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount(Authentication authentication) {
+        long count = notificationService.getUnreadCount(authentication.getName());
         return ResponseEntity.ok(ApiResponse.success(Map.of("unreadCount", count)));
     }
 
+    /**
+     * Ticket for {@code GET /stream?ticket=...}; valid for a few seconds and for nothing but the stream.
+     */
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<ApiResponse<Map<String, String>>> issueStreamTicket(Authentication authentication) {
+        String ticket = notificationService.issueStreamTicket((UserDetails) authentication.getPrincipal());
+        return ResponseEntity.ok(ApiResponse.success(Map.of("ticket", ticket)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        return notificationService.subscribe(authentication.getName());
+    }
+
     @PostMapping("/{id}/read")
-    public ResponseEntity<ApiResponse<Void>> markAsRead(@PathVariable UUID id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<ApiResponse<Void>> markAsRead(@PathVariable UUID id, Authentication authentication) {
+        notificationService.markAsRead(authentication.getName(), id);
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
     @PostMapping("/read-all")
-    public ResponseEntity<ApiResponse<Void>> markAllAsRead() {
-        notificationService.markAllAsRead();
+    public ResponseEntity<ApiResponse<Void>> markAllAsRead(Authentication authentication) {
+        notificationService.markAllAsRead(authentication.getName());
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
@@ -4,6 +4,8 @@ import com.accounting.platform.common.entity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 @Getter
 @Setter
@@ -11,6 +13,15 @@ import lombok.Setter;
 @Table(name = "notifications")
 public class Notification extends BaseEntity {
 
+    // Assigned by the database on insert; read state is tracked against it per user
+    @Generated(event = EventType.INSERT)
+    @Column(insertable = false, updatable = false)
+    private Long seq;
+
+    // Visible to every user; otherwise only to the users listed in notification_recipients
+    @Column(nullable = false)
+    private boolean broadcast = true;
+
     @Column(nullable = false)
     private String title;
 
@@ -25,7 +36,8 @@ public class Notification extends BaseEntity {
     @Column(nullable = false)
     private NotificationCategory category = NotificationCategory.SYSTEM;
 
-    @Column(name = "is_read", nullable = false)
+    // Read state of the requesting user, filled in from NotificationReadState
+    @Transient
     private boolean read = false;
 
     @Column(name = "entity_type")
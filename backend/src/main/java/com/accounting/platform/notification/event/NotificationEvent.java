@@ -0,0 +1,20 @@
+package com.accounting.platform.notification.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A server-sent event for the notification stream. The payload is serialized once, before fan-out,
+ * so every subscriber and every relayed node receives the same JSON string.
+ * A null recipient set addresses every user.
+ */
+public record NotificationEvent(String name, String data, Set<UUID> recipients) {
+
+    public static final String NOTIFICATION = "notification";
+    public static final String NOTIFICATION_DELETED = "notification-deleted";
+    public static final String UNREAD_COUNT = "unread-count";
+
+    public boolean isFor(UUID userId) {
+        return recipients == null || recipients.contains(userId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.accounting.platform.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Notification recipients and per-user read state. A user's read state is one row: a watermark seq at or
+ * below which everything counts as read, plus the few seqs above it read individually. Marking everything
+ * read is a single-row upsert however many notifications exist.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationReadStateRepository {
+
+    private static final String INSERT_RECIPIENTS = """
+            INSERT INTO notification_recipients (user_id, notification_id)
+            SELECT u.user_id, ? FROM unnest(?::uuid[]) AS u(user_id)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String FIND = """
+            SELECT read_watermark, read_exceptions FROM notification_read_state WHERE user_id = ?
+            """;
+
+    // Only a visible notification above the watermark and not yet listed changes anything
+    private static final String MARK_READ = """
+            INSERT INTO notification_read_state (user_id, read_watermark, read_exceptions, updated_at)
+            SELECT ?, 0, ARRAY[n.seq], now()
+            FROM notifications n
+            WHERE n.id = ?
+              AND (n.broadcast OR EXISTS (SELECT 1 FROM notification_recipients r
+                                          WHERE r.notification_id = n.id AND r.user_id = ?))
+            ON CONFLICT (user_id) DO UPDATE
+            SET read_exceptions = array_append(notification_read_state.read_exceptions, EXCLUDED.read_exceptions[1]),
+                updated_at = now()
+            WHERE EXCLUDED.read_exceptions[1] > notification_read_state.read_watermark
+              AND NOT EXCLUDED.read_exceptions[1] = ANY (notification_read_state.read_exceptions)
+            """;
+
+    private static final String MARK_ALL_READ = """
+            INSERT INTO notification_read_state (user_id, read_watermark, read_exceptions, updated_at)
+            VALUES (?, (SELECT COALESCE(MAX(seq), 0) FROM notifications), '{}', now())
+            ON CONFLICT (user_id) DO UPDATE
+            SET read_watermark = GREATEST(notification_read_state.read_watermark, EXCLUDED.read_watermark),
+                read_exceptions = '{}',
+                updated_at = now()
+            """;
+
+    // Moves each long exception list's watermark up to just below the user's oldest unread notification
+    private static final String COMPACT = """
+            UPDATE notification_read_state s
+            SET read_watermark = c.watermark,
+                read_exceptions = ARRAY(SELECT e FROM unnest(s.read_exceptions) AS e WHERE e > c.watermark ORDER BY e),
+                updated_at = now()
+            FROM (SELECT t.user_id,
+                         COALESCE((SELECT MIN(n.seq) - 1 FROM notifications n
+                                   WHERE n.seq > t.read_watermark AND n.seq <> ALL (t.read_exceptions)
+                                     AND (n.broadcast OR EXISTS (SELECT 1 FROM notification_recipients r
+                                                                 WHERE r.notification_id = n.id AND r.user_id = t.user_id))),
+                                  (SELECT MAX(seq) FROM notifications), 0) AS watermark
+                  FROM notification_read_state t
+                  WHERE cardinality(t.read_exceptions) > ?) c
+            WHERE s.user_id = c.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ReadState(long watermark, long[] exceptions) {
+
+        public static final ReadState NONE = new ReadState(0, new long[0]);
+
+        public boolean isRead(long seq) {
+            return seq <= watermark || Arrays.binarySearch(exceptions, seq) >= 0;
+        }
+    }
+
+    public void insertRecipients(UUID notificationId, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_RECIPIENTS)) {
+                statement.setObject(1, notificationId);
+                statement.setArray(2, array(connection, "uuid", userIds.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    public ReadState find(UUID userId) {
+        return jdbcTemplate.query(FIND, rs -> {
+            if (!rs.next()) {
+                return ReadState.NONE;
+            }
+            Long[] exceptions = (Long[]) rs.getArray("read_exceptions").getArray();
+            long[] sorted = Arrays.stream(exceptions).mapToLong(Long::longValue).sorted().toArray();
+            return new ReadState(rs.getLong("read_watermark"), sorted);
+        }, userId);
+    }
+
+    /**
+     * @return whether the notification went from unread to read for this user
+     */
+    public boolean markRead(UUID userId, UUID notificationId) {
+        return jdbcTemplate.update(MARK_READ, userId, notificationId, userId) > 0;
+    }
+
+    public void markAllRead(UUID userId) {
+        jdbcTemplate.update(MARK_ALL_READ, userId);
+    }
+
+    public int compact(int maxExceptions) {
+        return jdbcTemplate.update(COMPACT, maxExceptions);
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
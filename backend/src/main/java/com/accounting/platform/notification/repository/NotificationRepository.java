@@ -1,29 +1,42 @@
 package com.accounting.platform.notification.repository;
 
 import com.accounting.platform.notification.entity.Notification;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
-    Page<Notification> findByReadFalseOrderByCreatedAtDesc(Pageable pageable);
-
-    Page<Notification> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
-    long countByReadFalse();
-
-    @Modifying
-    @Query("UPDATE Notification n SET n.read = true WHERE n.read = false")
-    int markAllAsRead();
-
-    @Modifying
-    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id")
-    int markAsRead(UUID id);
+    String VISIBLE_TO_USER = """
+            (n.broadcast OR EXISTS (SELECT 1 FROM notification_recipients r
+                                    WHERE r.notification_id = n.id AND r.user_id = :userId))
+            """;
+
+    // Above the user's watermark and not listed as an exception; rides the unique index on seq
+    String UNREAD_BY_USER = """
+            n.seq > COALESCE((SELECT s.read_watermark FROM notification_read_state s WHERE s.user_id = :userId), 0)
+            AND n.seq <> ALL (COALESCE((SELECT s.read_exceptions FROM notification_read_state s WHERE s.user_id = :userId), '{}'))
+            """;
+
+    // Keyset on seq, newest first: each slice starts below the last seq returned and walks the unique index
+    @Query(value = "SELECT n.* FROM notifications n WHERE n.seq < :beforeSeq AND " + VISIBLE_TO_USER
+            + " ORDER BY n.seq DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Notification> findVisibleTo(@Param("userId") UUID userId, @Param("beforeSeq") long beforeSeq,
+                                     @Param("limit") int limit);
+
+    @Query(value = "SELECT n.* FROM notifications n WHERE n.seq < :beforeSeq AND " + UNREAD_BY_USER
+            + " AND " + VISIBLE_TO_USER + " ORDER BY n.seq DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Notification> findUnreadBy(@Param("userId") UUID userId, @Param("beforeSeq") long beforeSeq,
+                                    @Param("limit") int limit);
+
+    @Query(value = "SELECT count(*) FROM notifications n WHERE " + UNREAD_BY_USER + " AND " + VISIBLE_TO_USER,
+            nativeQuery = true)
+    long countUnreadBy(@Param("userId") UUID userId);
 }
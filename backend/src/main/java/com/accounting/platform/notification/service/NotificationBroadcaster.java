@@ -0,0 +1,166 @@
+package com.accounting.platform.notification.service;
+
+import com.accounting.platform.notification.event.NotificationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of notification events to connected SSE clients.
+ * Each client has its own queue drained on a virtual thread, so a slow or stalled client delays only its
+ * own events: never the request that committed the change, and never the other clients. A client whose
+ * queue overflows, or whose current write has been blocked longer than the send timeout, is dropped and
+ * reconnects through EventSource.
+ */
+@Component
+@Slf4j
+public class NotificationBroadcaster {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${app.notifications.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.notifications.max-queued-events:100}")
+    private int maxQueuedEvents;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    void start() {
+        sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-sse-", 0).factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+    }
+
+    /**
+     * Opens a stream for the given user, starting with the current unread count.
+     * EventSource reconnects on its own once the stream times out.
+     */
+    public SseEmitter subscribe(UUID userId, NotificationEvent initial) {
+        return subscribe(new SseEmitter(streamTimeoutMs), userId, initial);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, UUID userId, NotificationEvent initial) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        Subscriber subscriber = new Subscriber(emitter, userId);
+        subscribers.put(emitter, subscriber);
+        subscriber.enqueue(SseEmitter.event().name(initial.name()).data(initial.data(), MediaType.APPLICATION_JSON));
+        log.debug("Notification stream opened for user {} ({} open)", userId, subscribers.size());
+        return emitter;
+    }
+
+    public void deliver(NotificationEvent event) {
+        subscribers.values().forEach(subscriber -> {
+            if (event.isFor(subscriber.userId)) {
+                subscriber.enqueue(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    /**
+     * Keeps idle streams open through proxies and drops clients whose current write has stalled.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(subscriber -> {
+            long since = subscriber.sendingSince;
+            if (since != IDLE && now - since > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                drop(subscriber, "send timed out");
+            } else {
+                subscriber.enqueue(SseEmitter.event().comment("keepalive"));
+            }
+        });
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber.emitter, subscriber)) {
+            log.debug("Notification stream for user {} dropped: {}", subscriber.userId, reason);
+            // Completing may wait for a stalled write to fail, so it runs on its own virtual thread
+            sender.execute(() -> subscriber.emitter.complete());
+        }
+    }
+
+    /**
+     * One client: events are written in order by at most one drain task at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started
+        private volatile long sendingSince = IDLE;
+
+        private Subscriber(SseEmitter emitter, UUID userId) {
+            this.emitter = emitter;
+            this.userId = userId;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (queued.incrementAndGet() > maxQueuedEvents) {
+                drop(this, "too many undelivered events");
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    sendingSince = System.nanoTime();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        drop(this, "closed by client");
+                        return;
+                    } finally {
+                        sendingSince = IDLE;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared still needs a drain
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.accounting.platform.notification.service;
+
+import com.accounting.platform.notification.event.NotificationEvent;
+
+/**
+ * Forwards notification events to the other application nodes, whose broadcasters deliver them
+ * to the clients connected there.
+ */
+public interface NotificationRelay {
+
+    void publish(NotificationEvent event);
+}
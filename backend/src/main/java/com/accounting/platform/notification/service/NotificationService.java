@@ -1,42 +1,114 @@
 package com.accounting.platform.notification.service;
 
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
 import com.accounting.platform.notification.entity.Notification;
 import com.accounting.platform.notification.entity.NotificationCategory;
 import com.accounting.platform.notification.entity.NotificationType;
+import com.accounting.platform.notification.event.NotificationEvent;
+import com.accounting.platform.notification.repository.NotificationReadStateRepository;
 import com.accounting.platform.notification.repository.NotificationRepository;
+import com.accounting.platform.security.entity.User;
+import com.accounting.platform.security.repository.UserRepository;
+import com.accounting.platform.security.service.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * Notifications are written once and are either broadcast to every user or addressed to a recipient list.
+ * Read state is kept per user in {@link NotificationReadStateRepository} rather than on the notification row.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NotificationService {
 
+    private static final Function<Notification, Object[]> SEQ_KEY = notification -> new Object[]{notification.getSeq()};
+
     private final NotificationRepository notificationRepository;
+    private final NotificationReadStateRepository notificationReadStateRepository;
+    private final UserRepository userRepository;
+    private final NotificationBroadcaster notificationBroadcaster;
+    private final UnreadCountCache unreadCountCache;
+    private final ObjectProvider<NotificationRelay> notificationRelay;
+    private final ObjectMapper objectMapper;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Value("${app.notifications.max-read-exceptions:100}")
+    private int maxReadExceptions;
 
     @Transactional(readOnly = true)
-    public Page<Notification> getAllNotifications(Pageable pageable) {
-        return notificationRepository.findAllByOrderByCreatedAtDesc(pageable);
+    public CursorPage<Notification> getAllNotifications(String username, String cursor, Integer size) {
+        UUID userId = userId(username);
+        int pageSize = CursorPage.size(size);
+        CursorPage<Notification> page = CursorPage.of(
+                notificationRepository.findVisibleTo(userId, beforeSeq(cursor), pageSize + 1), pageSize, SEQ_KEY);
+        NotificationReadStateRepository.ReadState readState = notificationReadStateRepository.find(userId);
+        page.getContent().forEach(notification -> notification.setRead(readState.isRead(notification.getSeq())));
+        return page;
     }
 
     @Transactional(readOnly = true)
-    public Page<Notification> getUnreadNotifications(Pageable pageable) {
-        return notificationRepository.findByReadFalseOrderByCreatedAtDesc(pageable);
+    public CursorPage<Notification> getUnreadNotifications(String username, String cursor, Integer size) {
+        int pageSize = CursorPage.size(size);
+        return CursorPage.of(notificationRepository.findUnreadBy(userId(username), beforeSeq(cursor), pageSize + 1),
+                pageSize, SEQ_KEY);
     }
 
-    @Transactional(readOnly = true)
-    public long getUnreadCount() {
-        return notificationRepository.countByReadFalse();
+    /**
+     * Served from {@link UnreadCountCache}; the table is only counted when the cache is cold.
+     */
+    public long getUnreadCount(String username) {
+        return unreadCount(userId(username));
+    }
+
+    /**
+     * Opens a server-sent event stream that receives new notifications and unread count changes.
+     */
+    public SseEmitter subscribe(String username) {
+        UUID userId = userId(username);
+        return notificationBroadcaster.subscribe(userId, unreadCountEvent(userId));
+    }
+
+    /**
+     * A ticket for opening the stream with EventSource, which cannot send an Authorization header.
+     */
+    public String issueStreamTicket(UserDetails user) {
+        return jwtTokenProvider.generateStreamTicket(user);
     }
 
     @Transactional
     public Notification createNotification(String title, String message,
             NotificationType type, NotificationCategory category,
             String entityType, String entityId, String actionUrl) {
+        return createNotification(title, message, type, category, entityType, entityId, actionUrl, null);
+    }
+
+    /**
+     * Creates a notification for the given users only, or for everyone when {@code recipientIds} is null.
+     * The notification row is written once and the recipients in one batched insert.
+     */
+    @Transactional
+    public Notification createNotification(String title, String message,
+            NotificationType type, NotificationCategory category,
+            String entityType, String entityId, String actionUrl, Collection<UUID> recipientIds) {
         Notification notification = new Notification();
         notification.setTitle(title);
         notification.setMessage(message);
@@ -45,22 +117,65 @@ public class NotificationService {
         notification.setEntityType(entityType);
         notification.setEntityId(entityId);
         notification.setActionUrl(actionUrl);
-        return notificationRepository.save(notification);
+        notification.setBroadcast(recipientIds == null);
+        Notification saved = notificationRepository.saveAndFlush(notification);
+
+        Set<UUID> recipients = recipientIds == null ? null : Set.copyOf(recipientIds);
+        if (recipients != null) {
+            notificationReadStateRepository.insertRecipients(saved.getId(), recipients);
+        }
+        afterCommit(() -> {
+            if (recipients == null) {
+                unreadCountCache.addAll(1);
+            } else {
+                recipients.forEach(userId -> unreadCountCache.add(userId, 1));
+            }
+            publish(event(NotificationEvent.NOTIFICATION, saved, recipients));
+        });
+        return saved;
     }
 
     @Transactional
-    public void markAsRead(UUID id) {
-        notificationRepository.markAsRead(id);
+    public void markAsRead(String username, UUID id) {
+        UUID userId = userId(username);
+        if (notificationReadStateRepository.markRead(userId, id)) {
+            afterCommit(() -> {
+                unreadCountCache.add(userId, -1);
+                publish(unreadCountEvent(userId));
+            });
+        }
     }
 
+    /**
+     * Moves the user's watermark to the newest notification: one row, however many were unread.
+     */
     @Transactional
-    public void markAllAsRead() {
-        notificationRepository.markAllAsRead();
+    public void markAllAsRead(String username) {
+        UUID userId = userId(username);
+        notificationReadStateRepository.markAllRead(userId);
+        afterCommit(() -> {
+            unreadCountCache.reset(userId);
+            publish(unreadCountEvent(userId));
+        });
     }
 
     @Transactional
     public void deleteNotification(UUID id) {
-        notificationRepository.deleteById(id);
+        notificationRepository.findById(id).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            afterCommit(() -> {
+                unreadCountCache.invalidateAll();
+                publish(event(NotificationEvent.NOTIFICATION_DELETED, Map.of("id", id), null));
+            });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.read-state-compact-ms:3600000}")
+    public void compactReadState() {
+        int compacted = notificationReadStateRepository.compact(maxReadExceptions);
+        if (compacted > 0) {
+            log.info("Compacted notification read state for {} users", compacted);
+        }
     }
 
     // Convenience methods for creating specific types of notifications
@@ -77,6 +192,18 @@ public class NotificationService {
         );
     }
 
+    public void notifyInvoicesApproved(int count) {
+        createNotification(
+            "Invoices Approved",
+            count + " invoices have been approved.",
+            NotificationType.SUCCESS,
+            NotificationCategory.INVOICE,
+            "Invoice",
+            null,
+            "/invoices"
+        );
+    }
+
     public void notifyInvoicePaid(String invoiceNumber, UUID invoiceId) {
         createNotification(
             "Payment Received",
@@ -89,6 +216,18 @@ public class NotificationService {
         );
     }
 
+    public void notifyPaymentsApplied(int count) {
+        createNotification(
+            "Payments Applied",
+            count + " payments have been applied from a remittance file.",
+            NotificationType.SUCCESS,
+            NotificationCategory.PAYMENT,
+            "Payment",
+            null,
+            "/invoices"
+        );
+    }
+
     public void notifyExpenseApproved(String referenceNumber, UUID expenseId) {
         createNotification(
             "Expense Approved",
@@ -136,4 +275,63 @@ public class NotificationService {
             "/workflow"
         );
     }
+
+    private UUID userId(String username) {
+        return userRepository.findByEmail(username)
+                .map(User::getId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+
+    private long unreadCount(UUID userId) {
+        return unreadCountCache.get(userId, () -> notificationRepository.countUnreadBy(userId));
+    }
+
+    // The native queries carry their own ORDER BY
+    private static long beforeSeq(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(CursorCodec.decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private NotificationEvent unreadCountEvent(UUID userId) {
+        return event(NotificationEvent.UNREAD_COUNT, Map.of("unreadCount", unreadCount(userId)), Set.of(userId));
+    }
+
+    private NotificationEvent event(String name, Object payload, Set<UUID> recipients) {
+        try {
+            return new NotificationEvent(name, objectMapper.writeValueAsString(payload), recipients);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notification event", e);
+        }
+    }
+
+    private void publish(NotificationEvent event) {
+        notificationBroadcaster.deliver(event);
+        notificationRelay.ifAvailable(relay -> relay.publish(event));
+    }
+
+    /**
+     * Counter updates and pushes wait for the commit, so clients never see a change that was rolled back.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to publish notification change: {}", e.getMessage());
+                }
+            }
+        });
+    }
 }
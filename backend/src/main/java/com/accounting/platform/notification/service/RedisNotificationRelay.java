@@ -0,0 +1,81 @@
+package com.accounting.platform.notification.service;
+
+import com.accounting.platform.notification.event.NotificationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub relay for multi-node deployments. Every node publishes its events to one channel
+ * and delivers the events it receives from other nodes to its own subscribers. A remote change also
+ * drops the affected local unread counters, since that node's deltas never reached this one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.notifications.redis-relay.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisNotificationRelay implements NotificationRelay, MessageListener {
+
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationBroadcaster notificationBroadcaster;
+    private final UnreadCountCache unreadCountCache;
+
+    @Value("${app.notifications.redis-relay.channel:notifications}")
+    private String channel;
+
+    @Bean
+    RedisMessageListenerContainer notificationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(channel));
+        return container;
+    }
+
+    @Override
+    public void publish(NotificationEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(new Envelope(NODE_ID, event)));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to relay notification event {}: {}", event.name(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (NODE_ID.equals(envelope.origin())) {
+                return;
+            }
+            NotificationEvent event = envelope.event();
+            if (event.recipients() == null) {
+                unreadCountCache.invalidateAll();
+            } else {
+                event.recipients().forEach(unreadCountCache::invalidate);
+            }
+            notificationBroadcaster.deliver(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed notification relay message: {}", e.getMessage());
+        }
+    }
+
+    record Envelope(String origin, NotificationEvent event) {}
+}
@@ -0,0 +1,51 @@
+package com.accounting.platform.notification.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-local unread notification counters, one per user. Loaded from the table on first use and then
+ * adjusted by the deltas each committed change reports, so reading a count does not touch the database.
+ * Counters are dropped periodically, and whenever another node announces a change, to bound any drift.
+ */
+@Component
+public class UnreadCountCache {
+
+    private final Map<UUID, Long> counts = new ConcurrentHashMap<>();
+
+    public long get(UUID userId, LongSupplier loader) {
+        Long current = counts.get(userId);
+        if (current != null) {
+            return current;
+        }
+        long loaded = loader.getAsLong();
+        counts.putIfAbsent(userId, loaded);
+        return loaded;
+    }
+
+    public void add(UUID userId, long delta) {
+        counts.computeIfPresent(userId, (id, current) -> Math.max(0, current + delta));
+    }
+
+    public void addAll(long delta) {
+        counts.replaceAll((id, current) -> Math.max(0, current + delta));
+    }
+
+    public void reset(UUID userId) {
+        counts.put(userId, 0L);
+    }
+
+    public void invalidate(UUID userId) {
+        counts.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-resync-ms:300000}")
+    public void invalidateAll() {
+        counts.clear();
+    }
+}
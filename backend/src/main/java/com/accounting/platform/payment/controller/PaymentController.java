@@ -0,0 +1,58 @@
+package com.accounting.platform.payment.controller;
+
+import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.payment.dto.ApplyCreditRequestDto;
+import com.accounting.platform.payment.dto.PaymentDto;
+import com.accounting.platform.payment.dto.PaymentRequestDto;
+import com.accounting.platform.payment.dto.RemittanceResultDto;
+import com.accounting.platform.payment.service.PaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+
+    private final PaymentService paymentService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<PaymentDto>> receivePayment(
+            @RequestBody @Valid PaymentRequestDto request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(ApiResponse.success(paymentService.receivePayment(request, idempotencyKey)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<PaymentDto>> getPayment(@PathVariable UUID id) {
+        return ResponseEntity.ok(ApiResponse.success(paymentService.getPayment(id)));
+    }
+
+    @PostMapping("/{id}/apply")
+    public ResponseEntity<ApiResponse<PaymentDto>> applyCredit(
+            @PathVariable UUID id,
+            @RequestBody @Valid ApplyCreditRequestDto request) {
+        return ResponseEntity.ok(ApiResponse.success(paymentService.applyCredit(id, request.getAllocations())));
+    }
+
+    @PostMapping(value = "/remittance", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<RemittanceResultDto>> applyRemittance(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam UUID bankAccountId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                paymentService.applyRemittance(paymentService.parseRemittance(file), bankAccountId)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.accounting.platform.payment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ApplyCreditRequestDto {
+    @NotEmpty(message = "At least one allocation is required")
+    @Valid
+    private List<PaymentAllocationDto> allocations;
+}
@@ -0,0 +1,24 @@
+package com.accounting.platform.payment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class PaymentDto {
+    private UUID id;
+    private String paymentNumber;
+    private UUID contactId;
+    private UUID bankAccountId;
+    private LocalDate paymentDate;
+    private BigDecimal amount;
+    private BigDecimal unappliedAmount;
+    private String reference;
+    private UUID journalEntryId;
+    private List<PaymentAllocationDto> allocations;
+}
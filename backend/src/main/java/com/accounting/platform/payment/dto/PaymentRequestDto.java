@@ -0,0 +1,37 @@
+package com.accounting.platform.payment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A payment received from a customer. Without explicit allocations the amount is applied to the
+ * customer's open invoices, oldest due date first; anything left over is kept as a credit.
+ */
+@Data
+public class PaymentRequestDto {
+    @NotNull(message = "Contact ID is required")
+    private UUID contactId;
+
+    @NotNull(message = "Bank Account ID is required")
+    private UUID bankAccountId;
+
+    @NotNull(message = "Payment Date is required")
+    private LocalDate paymentDate;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    private String reference;
+
+    @Valid
+    private List<PaymentAllocationDto> allocations = new ArrayList<>();
+}
@@ -0,0 +1,35 @@
+package com.accounting.platform.payment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RemittanceResultDto {
+    private int requested;
+    private int applied;
+    private int failed;
+    private List<Result> results;
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private String reference;
+        private String paymentNumber;
+        private boolean success;
+        private BigDecimal amount;
+        private BigDecimal unappliedAmount;
+        private String error;
+
+        public static Result success(String reference, String paymentNumber, BigDecimal amount, BigDecimal unappliedAmount) {
+            return new Result(reference, paymentNumber, true, amount, unappliedAmount, null);
+        }
+
+        public static Result failure(String reference, BigDecimal amount, String error) {
+            return new Result(reference, null, false, amount, null, error);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.accounting.platform.payment.entity;
+
+import com.accounting.platform.common.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Money received from a contact. Its allocations to invoices live in payment_allocations;
+ * whatever is not allocated stays on the payment as a credit.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "payments")
+public class Payment extends BaseEntity {
+
+    @Column(name = "payment_number", nullable = false, unique = true)
+    private String paymentNumber;
+
+    @Column(name = "contact_id", nullable = false)
+    private UUID contactId;
+
+    @Column(name = "bank_account_id", nullable = false)
+    private UUID bankAccountId;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "unapplied_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal unappliedAmount = BigDecimal.ZERO;
+
+    private String reference;
+
+    @Column(name = "journal_entry_id")
+    private UUID journalEntryId;
+}
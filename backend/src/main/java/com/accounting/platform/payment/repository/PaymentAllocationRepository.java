@@ -0,0 +1,242 @@
+package com.accounting.platform.payment.repository;
+
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based reads and writes for applying payments: invoice balances are read as plain rows, allocations
+ * are inserted with one statement per batch and invoice balances are moved with one UPDATE per batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentAllocationRepository {
+
+    private static final String SELECT_INVOICES = """
+            SELECT i.id, i.invoice_number, i.contact_id, c.name AS contact_name, i.issue_date, i.due_date,
+                   i.total_amount, COALESCE(i.amount_paid, 0) AS amount_paid, i.status
+            FROM invoices i
+            JOIN contacts c ON c.id = i.contact_id
+            """;
+
+    private static final String LOCK_IN_ID_ORDER = " ORDER BY i.id FOR UPDATE OF i";
+
+    private static final String INSERT_ALLOCATIONS = """
+            INSERT INTO payment_allocations (id, payment_id, invoice_id, amount, allocated_at)
+            SELECT gen_random_uuid(), a.payment_id, a.invoice_id, a.amount, now()
+            FROM unnest(?::uuid[], ?::uuid[], ?::numeric[]) AS a(payment_id, invoice_id, amount)
+            """;
+
+    // Balances are read under FOR UPDATE, so the guards only catch a caller that planned against
+    // stale figures; the caller compares the returned rows with what it asked for
+    private static final String APPLY_TO_INVOICES = """
+            UPDATE invoices i
+            SET amount_paid = COALESCE(i.amount_paid, 0) + a.amount,
+                status = CASE WHEN COALESCE(i.amount_paid, 0) + a.amount >= i.total_amount THEN 'PAID' ELSE 'PARTIALLY_PAID' END,
+                version = COALESCE(i.version, 0) + 1,
+                updated_at = now()
+            FROM unnest(?::uuid[], ?::numeric[]) AS a(invoice_id, amount)
+            WHERE i.id = a.invoice_id
+              AND i.status IN ('SENT', 'OVERDUE', 'PARTIALLY_PAID')
+              AND COALESCE(i.amount_paid, 0) + a.amount <= i.total_amount
+            RETURNING i.id, i.status
+            """;
+
+    private static final String FIND_BY_PAYMENT = """
+            SELECT a.invoice_id, i.invoice_number, a.amount
+            FROM payment_allocations a
+            JOIN invoices i ON i.id = a.invoice_id
+            WHERE a.payment_id = ?
+            ORDER BY a.allocated_at, i.invoice_number
+            """;
+
+    private static final String FIND_PAYMENT_REFERENCES = """
+            SELECT DISTINCT contact_id, reference
+            FROM payments
+            WHERE reference = ANY (?)
+            """;
+
+    private static final Comparator<InvoiceBalance> OLDEST_DUE_FIRST = Comparator.comparing(InvoiceBalance::dueDate)
+            .thenComparing(InvoiceBalance::issueDate)
+            .thenComparing(InvoiceBalance::invoiceNumber);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record InvoiceBalance(UUID id, String invoiceNumber, UUID contactId, String contactName, LocalDate issueDate,
+                                 LocalDate dueDate, BigDecimal totalAmount, BigDecimal amountPaid, InvoiceStatus status) {
+
+        public BigDecimal amountDue() {
+            return totalAmount.subtract(amountPaid);
+        }
+
+        public boolean isPayable() {
+            return (status == InvoiceStatus.SENT || status == InvoiceStatus.OVERDUE || status == InvoiceStatus.PARTIALLY_PAID)
+                    && amountDue().signum() > 0;
+        }
+    }
+
+    public record Allocation(UUID paymentId, UUID invoiceId, BigDecimal amount) {}
+
+    public record InvoiceChange(UUID invoiceId, InvoiceStatus status) {}
+
+    public record AllocationLine(UUID invoiceId, String invoiceNumber, BigDecimal amount) {}
+
+    public record PaymentReference(UUID contactId, String reference) {}
+
+    /**
+     * Invoice balances by id, locked until the transaction ends. Rows are locked in id order so two
+     * batches touching the same invoices queue behind each other instead of deadlocking.
+     */
+    public List<InvoiceBalance> findInvoicesByIds(Collection<UUID> ids) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_INVOICES + " WHERE i.id = ANY (?)" + LOCK_IN_ID_ORDER)) {
+                statement.setArray(1, array(connection, "uuid", ids.toArray()));
+                return read(statement);
+            }
+        });
+    }
+
+    /**
+     * Invoice balances by number, locked like {@link #findInvoicesByIds}.
+     */
+    public List<InvoiceBalance> findInvoicesByNumbers(Collection<String> invoiceNumbers) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_INVOICES + " WHERE i.invoice_number = ANY (?)" + LOCK_IN_ID_ORDER)) {
+                statement.setArray(1, array(connection, "text", invoiceNumbers.toArray()));
+                return read(statement);
+            }
+        });
+    }
+
+    /**
+     * The contact's invoices that can still take a payment, oldest due date first, locked until the
+     * transaction ends. Rows are locked in id order like {@link #findInvoicesByIds} and sorted afterwards.
+     */
+    public List<InvoiceBalance> findPayableInvoices(UUID contactId) {
+        List<InvoiceBalance> payable = new ArrayList<>(jdbcTemplate.query(SELECT_INVOICES + """
+                WHERE i.contact_id = ?
+                  AND i.status IN ('SENT', 'OVERDUE', 'PARTIALLY_PAID')
+                  AND COALESCE(i.amount_paid, 0) < i.total_amount
+                """ + LOCK_IN_ID_ORDER, BALANCE_MAPPER, contactId));
+        payable.sort(OLDEST_DUE_FIRST);
+        return payable;
+    }
+
+    /**
+     * The contacts that already have a payment with one of the references.
+     */
+    public List<PaymentReference> findPaymentReferences(Collection<String> references) {
+        if (references.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_PAYMENT_REFERENCES)) {
+                statement.setArray(1, array(connection, "text", references.toArray()));
+                List<PaymentReference> found = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(new PaymentReference(rs.getObject("contact_id", UUID.class), rs.getString("reference")));
+                    }
+                }
+                return found;
+            }
+        });
+    }
+
+    public void insertAllocations(List<Allocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ALLOCATIONS)) {
+                int size = allocations.size();
+                Object[] paymentIds = new Object[size];
+                Object[] invoiceIds = new Object[size];
+                Object[] amounts = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    Allocation allocation = allocations.get(i);
+                    paymentIds[i] = allocation.paymentId();
+                    invoiceIds[i] = allocation.invoiceId();
+                    amounts[i] = allocation.amount();
+                }
+                statement.setArray(1, array(connection, "uuid", paymentIds));
+                statement.setArray(2, array(connection, "uuid", invoiceIds));
+                statement.setArray(3, array(connection, "numeric", amounts));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Adds the given amounts to each invoice's amount paid and moves it to PARTIALLY_PAID or PAID.
+     * Returns only the invoices that were still payable and had room for the amount.
+     */
+    public List<InvoiceChange> applyToInvoices(Map<UUID, BigDecimal> amounts) {
+        if (amounts.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(APPLY_TO_INVOICES)) {
+                statement.setArray(1, array(connection, "uuid", amounts.keySet().toArray()));
+                statement.setArray(2, array(connection, "numeric", amounts.values().toArray()));
+                List<InvoiceChange> changes = new ArrayList<>(amounts.size());
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        changes.add(new InvoiceChange(
+                                rs.getObject("id", UUID.class),
+                                InvoiceStatus.valueOf(rs.getString("status"))));
+                    }
+                }
+                return changes;
+            }
+        });
+    }
+
+    public List<AllocationLine> findByPayment(UUID paymentId) {
+        return jdbcTemplate.query(FIND_BY_PAYMENT, (rs, rowNum) -> new AllocationLine(
+                rs.getObject("invoice_id", UUID.class),
+                rs.getString("invoice_number"),
+                rs.getBigDecimal("amount")), paymentId);
+    }
+
+    private static final RowMapper<InvoiceBalance> BALANCE_MAPPER = (rs, rowNum) -> new InvoiceBalance(
+            rs.getObject("id", UUID.class),
+            rs.getString("invoice_number"),
+            rs.getObject("contact_id", UUID.class),
+            rs.getString("contact_name"),
+            rs.getDate("issue_date").toLocalDate(),
+            rs.getDate("due_date").toLocalDate(),
+            rs.getBigDecimal("total_amount"),
+            rs.getBigDecimal("amount_paid"),
+            InvoiceStatus.valueOf(rs.getString("status")));
+
+    private static List<InvoiceBalance> read(PreparedStatement statement) throws SQLException {
+        List<InvoiceBalance> balances = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                balances.add(BALANCE_MAPPER.mapRow(rs, balances.size()));
+            }
+        }
+        return balances;
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
@@ -0,0 +1,11 @@
+package com.accounting.platform.payment.repository;
+
+import com.accounting.platform.payment.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, UUID> {
+}
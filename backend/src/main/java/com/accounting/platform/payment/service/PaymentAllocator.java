@@ -0,0 +1,90 @@
+package com.accounting.platform.payment.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Plans how a payment is spread over invoices. Works against a map of amounts still due per invoice,
+ * which the caller shares across every payment in a batch so two payments cannot both settle the same
+ * balance. The map is only updated when the whole plan for a payment succeeds.
+ */
+public final class PaymentAllocator {
+
+    public record Allocation(UUID invoiceId, BigDecimal amount) {}
+
+    public record Plan(List<Allocation> allocations, BigDecimal unapplied) {}
+
+    private PaymentAllocator() {
+    }
+
+    /**
+     * Applies the requested amounts. With {@code capAtAmountDue} an amount above what an invoice still owes
+     * is cut to the amount due and the difference stays unapplied; otherwise it is rejected.
+     */
+    public static Plan requested(BigDecimal amount, List<Allocation> requested, Map<UUID, BigDecimal> remaining,
+                                 boolean capAtAmountDue) {
+        BigDecimal requestedTotal = requested.stream().map(Allocation::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (requestedTotal.compareTo(amount) > 0) {
+            throw new IllegalArgumentException("Allocations of " + requestedTotal + " exceed the payment amount of " + amount);
+        }
+
+        Map<UUID, BigDecimal> planned = new LinkedHashMap<>();
+        for (Allocation allocation : requested) {
+            if (allocation.amount().signum() <= 0) {
+                throw new IllegalArgumentException("Allocation amounts must be positive");
+            }
+            BigDecimal due = remaining.get(allocation.invoiceId());
+            if (due == null) {
+                throw new IllegalStateException("Invoice " + allocation.invoiceId() + " is not open for payment");
+            }
+            BigDecimal left = due.subtract(planned.getOrDefault(allocation.invoiceId(), BigDecimal.ZERO));
+            BigDecimal applied = allocation.amount();
+            if (applied.compareTo(left) > 0) {
+                if (!capAtAmountDue) {
+                    throw new IllegalArgumentException("Allocation of " + applied + " exceeds the " + left + " still due on invoice " + allocation.invoiceId());
+                }
+                applied = left;
+            }
+            if (applied.signum() > 0) {
+                planned.merge(allocation.invoiceId(), applied, BigDecimal::add);
+            }
+        }
+        return commit(amount, planned, remaining);
+    }
+
+    /**
+     * Settles the candidate invoices in the given order until the payment runs out.
+     */
+    public static Plan oldestFirst(BigDecimal amount, List<UUID> candidates, Map<UUID, BigDecimal> remaining) {
+        Map<UUID, BigDecimal> planned = new LinkedHashMap<>();
+        BigDecimal available = amount;
+        for (UUID invoiceId : candidates) {
+            if (available.signum() <= 0) {
+                break;
+            }
+            BigDecimal due = remaining.getOrDefault(invoiceId, BigDecimal.ZERO);
+            if (due.signum() <= 0) {
+                continue;
+            }
+            BigDecimal applied = due.min(available);
+            planned.put(invoiceId, applied);
+            available = available.subtract(applied);
+        }
+        return commit(amount, planned, remaining);
+    }
+
+    private static Plan commit(BigDecimal amount, Map<UUID, BigDecimal> planned, Map<UUID, BigDecimal> remaining) {
+        List<Allocation> allocations = new ArrayList<>(planned.size());
+        BigDecimal applied = BigDecimal.ZERO;
+        for (Map.Entry<UUID, BigDecimal> entry : planned.entrySet()) {
+            allocations.add(new Allocation(entry.getKey(), entry.getValue()));
+            remaining.merge(entry.getKey(), entry.getValue().negate(), BigDecimal::add);
+            applied = applied.add(entry.getValue());
+        }
+        return new Plan(allocations, amount.subtract(applied));
+    }
+}
@@ -0,0 +1,463 @@
+package com.accounting.platform.payment.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.idempotency.IdempotencyService;
+import com.accounting.platform.common.retry.RetryOnConflict;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import com.accounting.platform.journal.entity.JournalEntry;
+import com.accounting.platform.journal.entity.JournalEntryLine;
+import com.accounting.platform.journal.service.JournalEntryService;
+import com.accounting.platform.notification.service.NotificationService;
+import com.accounting.platform.payment.dto.PaymentAllocationDto;
+import com.accounting.platform.payment.dto.PaymentDto;
+import com.accounting.platform.payment.dto.PaymentRequestDto;
+import com.accounting.platform.payment.dto.RemittanceResultDto;
+import com.accounting.platform.payment.entity.Payment;
+import com.accounting.platform.payment.repository.PaymentAllocationRepository;
+import com.accounting.platform.payment.repository.PaymentAllocationRepository.InvoiceBalance;
+import com.accounting.platform.payment.repository.PaymentRepository;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Receives customer payments and applies them to invoices. Every payment debits the bank account and
+ * credits Accounts Receivable for its full amount; the part not allocated to an invoice stays on the
+ * payment as a credit that can be applied later. Invoice balances are locked and read as plain rows,
+ * allocations are planned in memory and then written with one INSERT and one UPDATE per batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentService {
+
+    private static final int REMITTANCE_CHUNK_SIZE = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentAllocationRepository paymentAllocationRepository;
+    private final ContactRepository contactRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
+    private final AccountRepository accountRepository;
+    private final JournalEntryService journalEntryService;
+    private final DocumentSequenceService documentSequenceService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final AuditService auditService;
+    private final NotificationService notificationService;
+    private final IdempotencyService idempotencyService;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public PaymentDto getPayment(UUID id) {
+        return toDto(paymentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found")));
+    }
+
+    /**
+     * Records a payment from a contact. Explicit allocations must not exceed what each invoice still
+     * owes; without them the amount goes to the contact's open invoices, oldest due date first.
+     */
+    @RetryOnConflict
+    @Transactional
+    public PaymentDto receivePayment(PaymentRequestDto request, String idempotencyKey) {
+        return idempotencyService.execute("payment", idempotencyKey, fingerprint(request),
+                () -> toDto(receive(request)), PaymentDto::getId, this::getPayment);
+    }
+
+    // Allocations are part of the request: replaying a key with a different split is a different payment
+    private static String fingerprint(PaymentRequestDto request) {
+        String allocations = request.getAllocations().stream()
+                .map(allocation -> allocation.getInvoiceId() + ":" + allocation.getAmount().stripTrailingZeros().toPlainString())
+                .sorted()
+                .collect(Collectors.joining(","));
+        return request.getContactId() + "|" + request.getBankAccountId() + "|" + request.getPaymentDate() + "|"
+                + request.getAmount() + "|" + allocations;
+    }
+
+    private Payment receive(PaymentRequestDto request) {
+        Contact contact = contactRepository.findById(request.getContactId())
+                .orElseThrow(() -> new IllegalArgumentException("Contact not found"));
+        Account bankAccount = requireBankAccount(request.getBankAccountId());
+        Account arAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable").id());
+
+        Payment payment = newPayment(contact.getId(), bankAccount, request.getPaymentDate(), request.getAmount(), request.getReference());
+        JournalEntry entry = buildEntry(payment, "Payment from " + contact.getName(), bankAccount, arAccount);
+        journalEntryService.validateForPosting(entry, journalEntryService.cachedOpenPeriodCheck());
+
+        Map<UUID, InvoiceBalance> invoices;
+        PaymentAllocator.Plan plan;
+        if (request.getAllocations().isEmpty()) {
+            List<InvoiceBalance> payable = paymentAllocationRepository.findPayableInvoices(contact.getId());
+            invoices = index(payable);
+            plan = PaymentAllocator.oldestFirst(request.getAmount(), payable.stream().map(InvoiceBalance::id).toList(),
+                    amountsDue(payable));
+        } else {
+            invoices = lockInvoices(request.getAllocations().stream().map(PaymentAllocationDto::getInvoiceId).toList(), contact.getId());
+            plan = PaymentAllocator.requested(request.getAmount(), requested(request.getAllocations()),
+                    amountsDue(invoices.values()), false);
+        }
+
+        List<InvoiceBalance> paid = post(List.of(new Posting(payment, entry, plan)), invoices);
+        paid.forEach(invoice -> notificationService.notifyInvoicePaid(invoice.invoiceNumber(), invoice.id()));
+        return payment;
+    }
+
+    /**
+     * Applies the unapplied credit left on a payment to further invoices of the same contact.
+     */
+    @RetryOnConflict
+    @Transactional
+    public PaymentDto applyCredit(UUID paymentId, List<PaymentAllocationDto> allocations) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
+        if (payment.getUnappliedAmount().signum() <= 0) {
+            throw new IllegalStateException("Payment has no unapplied credit");
+        }
+        if (allocations.isEmpty()) {
+            throw new IllegalArgumentException("At least one allocation is required");
+        }
+
+        Map<UUID, InvoiceBalance> invoices = lockInvoices(allocations.stream().map(PaymentAllocationDto::getInvoiceId).toList(),
+                payment.getContactId());
+        PaymentAllocator.Plan plan = PaymentAllocator.requested(payment.getUnappliedAmount(), requested(allocations),
+                amountsDue(invoices.values()), false);
+
+        // The payment's version guards against two requests spending the same credit
+        payment.setUnappliedAmount(plan.unapplied());
+        Payment saved = paymentRepository.saveAndFlush(payment);
+        List<InvoiceBalance> paid = apply(allocationsOf(saved, plan), invoices);
+
+        auditService.logAction("APPLY_PAYMENT_CREDIT", "Payment", paymentId,
+                "Applied credit to " + plan.allocations().size() + " invoices, " + plan.unapplied() + " left unapplied");
+        paid.forEach(invoice -> notificationService.notifyInvoicePaid(invoice.invoiceNumber(), invoice.id()));
+        return toDto(saved);
+    }
+
+    /**
+     * Pays a single invoice, by default its full amount due. An amount above what is due is kept as a
+     * credit on the payment. Runs inside the caller's transaction.
+     */
+    @Transactional
+    public Payment payInvoice(UUID invoiceId, UUID bankAccountId, LocalDate paymentDate, BigDecimal amount) {
+        InvoiceBalance invoice = lockInvoices(List.of(invoiceId), null).get(invoiceId);
+        if (!invoice.isPayable()) {
+            if (invoice.status() == InvoiceStatus.PAID) {
+                throw new IllegalStateException("Invoice is already paid");
+            }
+            throw new IllegalStateException("Invoice must be APPROVED/SENT before payment");
+        }
+
+        Account bankAccount = requireBankAccount(bankAccountId);
+        Account arAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable").id());
+        BigDecimal paymentAmount = amount != null ? amount : invoice.amountDue();
+
+        Payment payment = newPayment(invoice.contactId(), bankAccount, paymentDate, paymentAmount, null);
+        JournalEntry entry = buildEntry(payment, "Payment for Invoice #" + invoice.invoiceNumber(), bankAccount, arAccount);
+        journalEntryService.validateForPosting(entry, journalEntryService.cachedOpenPeriodCheck());
+        PaymentAllocator.Plan plan = PaymentAllocator.requested(paymentAmount,
+                List.of(new PaymentAllocator.Allocation(invoiceId, paymentAmount)), amountsDue(List.of(invoice)), true);
+
+        List<InvoiceBalance> paid = post(List.of(new Posting(payment, entry, plan)), index(List.of(invoice)));
+        paid.forEach(p -> notificationService.notifyInvoicePaid(p.invoiceNumber(), p.id()));
+        return payment;
+    }
+
+    /**
+     * Reads a remittance file, outside any transaction so a retried batch does not read it again.
+     */
+    public List<RemittanceParser.Remittance> parseRemittance(MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return RemittanceParser.parse(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Applies a parsed remittance file in one transaction. Each payment is validated on its own and a bad
+     * one is reported without stopping the rest; an amount above what an invoice still owes becomes
+     * credit on that payment. A payment whose reference the contact already has a payment for is reported
+     * rather than applied again, so uploading the same file twice does not pay its invoices twice.
+     * Payments are posted in chunks with one batched write per chunk.
+     */
+    @RetryOnConflict
+    @Transactional
+    public RemittanceResultDto applyRemittance(List<RemittanceParser.Remittance> remittances, UUID bankAccountId) {
+        Account bankAccount = requireBankAccount(bankAccountId);
+        Account arAccount = accountRepository.getReferenceById(
+                chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable").id());
+        Predicate<LocalDate> openPeriod = journalEntryService.cachedOpenPeriodCheck();
+
+        List<RemittanceParser.Remittance> readable = remittances.stream()
+                .filter(remittance -> remittance.error() == null)
+                .toList();
+        Set<String> invoiceNumbers = readable.stream()
+                .flatMap(remittance -> remittance.lines().stream())
+                .map(RemittanceParser.Line::invoiceNumber)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<InvoiceBalance> balances = paymentAllocationRepository.findInvoicesByNumbers(invoiceNumbers);
+        // Read once the invoices are locked: a concurrent upload of the same file waits on those locks
+        // and then sees the payments the first upload committed
+        Set<PaymentAllocationRepository.PaymentReference> recorded = new HashSet<>(paymentAllocationRepository
+                .findPaymentReferences(readable.stream().map(RemittanceParser.Remittance::reference).toList()));
+        Map<String, InvoiceBalance> byNumber = balances.stream()
+                .collect(Collectors.toMap(InvoiceBalance::invoiceNumber, invoice -> invoice));
+        Map<UUID, InvoiceBalance> invoices = index(balances);
+        // Shared across the whole file so two payments cannot both settle the same balance
+        Map<UUID, BigDecimal> remaining = amountsDue(balances);
+
+        RemittanceResultDto.Result[] results = new RemittanceResultDto.Result[remittances.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Posting> postings = new ArrayList<>();
+
+        for (int i = 0; i < remittances.size(); i++) {
+            RemittanceParser.Remittance remittance = remittances.get(i);
+            try {
+                if (remittance.error() != null) {
+                    throw new IllegalArgumentException(remittance.error());
+                }
+                List<PaymentAllocator.Allocation> requested = new ArrayList<>(remittance.lines().size());
+                InvoiceBalance first = null;
+                for (RemittanceParser.Line line : remittance.lines()) {
+                    InvoiceBalance invoice = byNumber.get(line.invoiceNumber());
+                    if (invoice == null) {
+                        throw new IllegalArgumentException("Invoice " + line.invoiceNumber() + " not found");
+                    }
+                    if (first != null && !first.contactId().equals(invoice.contactId())) {
+                        throw new IllegalArgumentException("Payment covers invoices of more than one contact");
+                    }
+                    first = invoice;
+                    requested.add(new PaymentAllocator.Allocation(invoice.id(), line.amount()));
+                }
+                if (recorded.contains(new PaymentAllocationRepository.PaymentReference(first.contactId(), remittance.reference()))) {
+                    throw new IllegalArgumentException("Payment " + remittance.reference() + " from " + first.contactName()
+                            + " is already recorded");
+                }
+
+                Payment payment = newPayment(first.contactId(), bankAccount, remittance.paymentDate(), remittance.amount(),
+                        remittance.reference());
+                JournalEntry entry = buildEntry(payment, "Payment from " + first.contactName(), bankAccount, arAccount);
+                journalEntryService.validateForPosting(entry, openPeriod);
+                PaymentAllocator.Plan plan = PaymentAllocator.requested(remittance.amount(), requested, remaining, true);
+
+                positions.add(i);
+                postings.add(new Posting(payment, entry, plan));
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                results[i] = RemittanceResultDto.Result.failure(remittance.reference(), remittance.amount(), e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < postings.size(); from += REMITTANCE_CHUNK_SIZE) {
+            post(postings.subList(from, Math.min(from + REMITTANCE_CHUNK_SIZE, postings.size())), invoices);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        for (int i = 0; i < postings.size(); i++) {
+            Payment payment = postings.get(i).payment();
+            results[positions.get(i)] = RemittanceResultDto.Result.success(payment.getReference(), payment.getPaymentNumber(),
+                    payment.getAmount(), payment.getUnappliedAmount());
+        }
+        if (!postings.isEmpty()) {
+            notificationService.notifyPaymentsApplied(postings.size());
+        }
+
+        return new RemittanceResultDto(remittances.size(), postings.size(), remittances.size() - postings.size(),
+                Arrays.asList(results));
+    }
+
+    /**
+     * Numbers and posts the payments' journal entries, saves the payments and applies their allocations.
+     * Returns the invoices that ended up fully paid.
+     */
+    private List<InvoiceBalance> post(List<Posting> postings, Map<UUID, InvoiceBalance> invoices) {
+        List<JournalEntry> entries = new ArrayList<>(postings.size());
+        for (Posting posting : postings) {
+            String paymentNumber = documentSequenceService.next(DocumentSequence.PAYMENT);
+            posting.payment().setPaymentNumber(paymentNumber);
+            posting.entry().setReferenceNumber(paymentNumber);
+            entries.add(posting.entry());
+        }
+        journalEntryService.createPostedEntries(entries);
+
+        List<Payment> payments = new ArrayList<>(postings.size());
+        for (Posting posting : postings) {
+            posting.payment().setJournalEntryId(posting.entry().getId());
+            posting.payment().setUnappliedAmount(posting.plan().unapplied());
+            payments.add(posting.payment());
+        }
+        paymentRepository.saveAllAndFlush(payments);
+
+        List<PaymentAllocationRepository.Allocation> allocations = new ArrayList<>();
+        for (Posting posting : postings) {
+            allocations.addAll(allocationsOf(posting.payment(), posting.plan()));
+            auditService.logAction("RECEIVE_PAYMENT", "Payment", posting.payment().getId(),
+                    "Journal Entry " + posting.entry().getReferenceNumber() + ", applied to " + posting.plan().allocations().size() + " invoices");
+        }
+        return apply(allocations, invoices);
+    }
+
+    private List<InvoiceBalance> apply(List<PaymentAllocationRepository.Allocation> allocations, Map<UUID, InvoiceBalance> invoices) {
+        if (allocations.isEmpty()) {
+            return List.of();
+        }
+        paymentAllocationRepository.insertAllocations(allocations);
+
+        Map<UUID, BigDecimal> amounts = new LinkedHashMap<>();
+        allocations.forEach(allocation -> amounts.merge(allocation.invoiceId(), allocation.amount(), BigDecimal::add));
+        List<PaymentAllocationRepository.InvoiceChange> changes = paymentAllocationRepository.applyToInvoices(amounts);
+        if (changes.size() != amounts.size()) {
+            throw new OptimisticLockingFailureException("Invoices changed while payments were being applied");
+        }
+
+        List<InvoiceBalance> paid = new ArrayList<>();
+        for (PaymentAllocationRepository.InvoiceChange change : changes) {
+            InvoiceBalance invoice = invoices.get(change.invoiceId());
+            BigDecimal amountPaid = invoice.amountPaid().add(amounts.get(invoice.id()));
+            dashboardMetricsService.recordInvoicePayment(invoice.id(), invoice.invoiceNumber(), invoice.contactName(),
+                    invoice.issueDate(), invoice.totalAmount(), invoice.status(), change.status(), invoice.amountPaid(), amountPaid);
+            if (change.status() == InvoiceStatus.PAID) {
+                paid.add(invoice);
+            }
+            // Keep the in-memory balance in step for later chunks of the same batch
+            invoices.put(invoice.id(), new InvoiceBalance(invoice.id(), invoice.invoiceNumber(), invoice.contactId(),
+                    invoice.contactName(), invoice.issueDate(), invoice.dueDate(), invoice.totalAmount(),
+                    amountPaid, change.status()));
+        }
+        return paid;
+    }
+
+    private Map<UUID, InvoiceBalance> lockInvoices(Collection<UUID> ids, UUID contactId) {
+        Map<UUID, InvoiceBalance> invoices = index(paymentAllocationRepository.findInvoicesByIds(new LinkedHashSet<>(ids)));
+        for (UUID id : ids) {
+            InvoiceBalance invoice = invoices.get(id);
+            if (invoice == null) {
+                throw new IllegalArgumentException("Invoice not found: " + id);
+            }
+            if (contactId != null && !contactId.equals(invoice.contactId())) {
+                throw new IllegalArgumentException("Invoice " + invoice.invoiceNumber() + " belongs to another contact");
+            }
+        }
+        return invoices;
+    }
+
+    private Account requireBankAccount(UUID bankAccountId) {
+        AccountView bankAccount = chartOfAccountsRegistry.findById(bankAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Bank Account not found"));
+
+        if (bankAccount.subtype() != AccountSubtype.BANK && bankAccount.subtype() != AccountSubtype.CASH) {
+            throw new IllegalArgumentException("Selected account is not a Bank or Cash account");
+        }
+        return accountRepository.getReferenceById(bankAccount.id());
+    }
+
+    private static Payment newPayment(UUID contactId, Account bankAccount, LocalDate paymentDate, BigDecimal amount, String reference) {
+        Payment payment = new Payment();
+        payment.setContactId(contactId);
+        payment.setBankAccountId(bankAccount.getId());
+        payment.setPaymentDate(paymentDate);
+        payment.setAmount(amount);
+        payment.setUnappliedAmount(amount);
+        payment.setReference(reference);
+        return payment;
+    }
+
+    private static JournalEntry buildEntry(Payment payment, String description, Account bankAccount, Account arAccount) {
+        JournalEntry entry = new JournalEntry();
+        entry.setEntryDate(payment.getPaymentDate());
+        entry.setDescription(description);
+
+        // Debit Bank (Asset Increases)
+        JournalEntryLine debitBank = new JournalEntryLine();
+        debitBank.setAccount(bankAccount);
+        debitBank.setDebit(payment.getAmount());
+        debitBank.setDescription("Payment Received");
+        entry.addLine(debitBank);
+
+        // Credit Accounts Receivable for the whole amount; an unapplied part is the contact's credit balance
+        JournalEntryLine creditAR = new JournalEntryLine();
+        creditAR.setAccount(arAccount);
+        creditAR.setCredit(payment.getAmount());
+        creditAR.setDescription(description);
+        entry.addLine(creditAR);
+
+        return entry;
+    }
+
+    private static List<PaymentAllocator.Allocation> requested(List<PaymentAllocationDto> allocations) {
+        return allocations.stream()
+                .map(allocation -> new PaymentAllocator.Allocation(allocation.getInvoiceId(), allocation.getAmount()))
+                .toList();
+    }
+
+    private static List<PaymentAllocationRepository.Allocation> allocationsOf(Payment payment, PaymentAllocator.Plan plan) {
+        return plan.allocations().stream()
+                .map(allocation -> new PaymentAllocationRepository.Allocation(payment.getId(), allocation.invoiceId(), allocation.amount()))
+                .toList();
+    }
+
+    private static Map<UUID, InvoiceBalance> index(Collection<InvoiceBalance> invoices) {
+        Map<UUID, InvoiceBalance> indexed = new HashMap<>();
+        invoices.forEach(invoice -> indexed.put(invoice.id(), invoice));
+        return indexed;
+    }
+
+    private static Map<UUID, BigDecimal> amountsDue(Collection<InvoiceBalance> invoices) {
+        Map<UUID, BigDecimal> due = new HashMap<>();
+        invoices.stream()
+                .filter(InvoiceBalance::isPayable)
+                .forEach(invoice -> due.put(invoice.id(), invoice.amountDue()));
+        return due;
+    }
+
+    private PaymentDto toDto(Payment payment) {
+        return PaymentDto.builder()
+                .id(payment.getId())
+                .paymentNumber(payment.getPaymentNumber())
+                .contactId(payment.getContactId())
+                .bankAccountId(payment.getBankAccountId())
+                .paymentDate(payment.getPaymentDate())
+                .amount(payment.getAmount())
+                .unappliedAmount(payment.getUnappliedAmount())
+                .reference(payment.getReference())
+                .journalEntryId(payment.getJournalEntryId())
+                .allocations(paymentAllocationRepository.findByPayment(payment.getId()).stream()
+                        .map(line -> new PaymentAllocationDto(line.invoiceId(), line.invoiceNumber(), line.amount()))
+                        .toList())
+                .build();
+    }
+
+    private record Posting(Payment payment, JournalEntry entry, PaymentAllocator.Plan plan) {}
+}
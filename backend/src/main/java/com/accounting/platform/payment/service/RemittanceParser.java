@@ -0,0 +1,118 @@
+package com.accounting.platform.payment.service;
+
+import com.accounting.platform.common.csv.CsvReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remittance advice as CSV with a header row: one line per invoice paid, with the payment reference,
+ * payment date, invoice number and amount. Lines sharing a reference make up one payment.
+ * A bad line fails only its own payment, which is returned with the error; a bad line without a
+ * reference is returned as a payment of its own.
+ */
+public final class RemittanceParser {
+
+    private static final Set<String> REFERENCE_COLUMNS = Set.of("reference", "payment reference", "ref");
+    private static final Set<String> DATE_COLUMNS = Set.of("payment_date", "payment date", "date");
+    private static final Set<String> INVOICE_COLUMNS = Set.of("invoice_number", "invoice number", "invoice");
+    private static final Set<String> AMOUNT_COLUMNS = Set.of("amount", "amount paid");
+
+    public record Line(String invoiceNumber, BigDecimal amount) {}
+
+    /**
+     * One payment; {@code error} is set when one of its lines could not be read.
+     */
+    public record Remittance(String reference, LocalDate paymentDate, List<Line> lines, String error) {
+
+        public BigDecimal amount() {
+            return lines.stream().map(Line::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        Remittance failed(String message) {
+            return error != null ? this : new Remittance(reference, paymentDate, lines, message);
+        }
+    }
+
+    private RemittanceParser() {
+    }
+
+    public static List<Remittance> parse(InputStream input) {
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return List.of();
+        }
+
+        int reference = column(header, REFERENCE_COLUMNS);
+        int date = column(header, DATE_COLUMNS);
+        int invoice = column(header, INVOICE_COLUMNS);
+        int amount = column(header, AMOUNT_COLUMNS);
+        if (reference < 0 || date < 0 || invoice < 0 || amount < 0) {
+            throw new IllegalArgumentException("Remittance file needs reference, payment_date, invoice_number and amount columns");
+        }
+
+        List<Remittance> remittances = new ArrayList<>();
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            String ref = field(record, reference);
+            Integer position = positions.get(ref);
+            try {
+                if (ref.isEmpty()) {
+                    throw new IllegalArgumentException("reference is required");
+                }
+                LocalDate paymentDate = LocalDate.parse(field(record, date));
+                BigDecimal value = new BigDecimal(field(record, amount).replace(",", ""));
+                if (value.signum() <= 0) {
+                    throw new IllegalArgumentException("amount must be positive");
+                }
+
+                if (position == null) {
+                    positions.put(ref, remittances.size());
+                    remittances.add(new Remittance(ref, paymentDate, new ArrayList<>(), null));
+                    position = remittances.size() - 1;
+                }
+                Remittance remittance = remittances.get(position);
+                if (remittance.paymentDate() != null && !remittance.paymentDate().equals(paymentDate)) {
+                    throw new IllegalArgumentException("payment " + ref + " has more than one payment date");
+                }
+                remittance.lines().add(new Line(field(record, invoice), value));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                String message = "Invalid remittance line " + reader.getRecordNumber() + ": " + e.getMessage();
+                if (ref.isEmpty()) {
+                    remittances.add(new Remittance(null, null, List.of(), message));
+                } else if (position == null) {
+                    positions.put(ref, remittances.size());
+                    remittances.add(new Remittance(ref, null, new ArrayList<>(), message));
+                } else {
+                    remittances.set(position, remittances.get(position).failed(message));
+                }
+            }
+        }
+        return remittances;
+    }
+
+    private static int column(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index).trim() : "";
+    }
+}
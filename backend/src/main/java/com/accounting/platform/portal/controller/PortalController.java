@@ -49,7 +49,7 @@ public class PortalController {
         List<Invoice> invoices = invoiceRepository.findByContactId(contact.getId());
 
         List<Invoice> outstandingInvoices = invoices.stream()
-                .filter(i -> i.getStatus().name().equals("SENT") || i.getStatus().name().equals("OVERDUE"))
+                .filter(i -> i.getStatus().name().equals("SENT") || i.getStatus().name().equals("PARTIALLY_PAID") || i.getStatus().name().equals("OVERDUE"))
                 .toList();
 
         long outstandingCount = outstandingInvoices.size();
@@ -3,6 +3,8 @@ package com.accounting.platform.report.controller;
 import com.accounting.platform.common.dto.ApiResponse;
 import com.accounting.platform.report.dto.FinancialReportDto;
 import com.accounting.platform.report.dto.AgingReportDto;
+import com.accounting.platform.report.dto.GeneralLedgerPageDto;
+import com.accounting.platform.report.service.GeneralLedgerService;
 import com.accounting.platform.report.service.ReportService;
 import com.accounting.platform.report.service.ReportExportService;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +16,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -24,6 +28,7 @@ public class ReportController {
 
     private final ReportService reportService;
     private final ReportExportService exportService;
+    private final GeneralLedgerService generalLedgerService;
 
     @GetMapping("/balance-sheet")
     public ResponseEntity<ApiResponse<FinancialReportDto>> getBalanceSheet(
@@ -48,125 +53,181 @@ public class ReportController {
 
     @GetMapping("/aging/receivables")
     public ResponseEntity<ApiResponse<AgingReportDto>> getReceivablesAging(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate,
+            @RequestParam(defaultValue = "true") boolean details) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        return ResponseEntity.ok(ApiResponse.success(reportService.generateReceivablesAging(date)));
+        return ResponseEntity.ok(ApiResponse.success(reportService.generateReceivablesAging(date, details)));
     }
 
     @GetMapping("/aging/payables")
     public ResponseEntity<ApiResponse<AgingReportDto>> getPayablesAging(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate,
+            @RequestParam(defaultValue = "true") boolean details) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        return ResponseEntity.ok(ApiResponse.success(reportService.generatePayablesAging(date)));
+        return ResponseEntity.ok(ApiResponse.success(reportService.generatePayablesAging(date, details)));
+    }
+
+    @GetMapping("/general-ledger")
+    public ResponseEntity<ApiResponse<GeneralLedgerPageDto>> getGeneralLedger(
+            @RequestParam UUID accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(generalLedgerService.getLedger(accountId, startDate, endDate, cursor, size)));
     }
 
     // ==================== PDF EXPORTS ====================
 
     @GetMapping("/balance-sheet/pdf")
-    public ResponseEntity<byte[]> getBalanceSheetPdf(
+    public ResponseEntity<StreamingResponseBody> getBalanceSheetPdf(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
         FinancialReportDto report = reportService.generateBalanceSheet(date);
-        byte[] pdf = exportService.exportFinancialReportToPdf(report);
-        return createPdfResponse(pdf, "balance-sheet");
+        return createPdfResponse(out -> exportService.writeFinancialReportPdf(report, out), "balance-sheet");
     }
 
     @GetMapping("/income-statement/pdf")
-    public ResponseEntity<byte[]> getIncomeStatementPdf(
+    public ResponseEntity<StreamingResponseBody> getIncomeStatementPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         FinancialReportDto report = reportService.generateIncomeStatement(startDate, endDate);
-        byte[] pdf = exportService.exportFinancialReportToPdf(report);
-        return createPdfResponse(pdf, "income-statement");
+        return createPdfResponse(out -> exportService.writeFinancialReportPdf(report, out), "income-statement");
     }
 
     @GetMapping("/trial-balance/pdf")
-    public ResponseEntity<byte[]> getTrialBalancePdf(
+    public ResponseEntity<StreamingResponseBody> getTrialBalancePdf(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
         FinancialReportDto report = reportService.generateTrialBalance(date);
-        byte[] pdf = exportService.exportFinancialReportToPdf(report);
-        return createPdfResponse(pdf, "trial-balance");
+        return createPdfResponse(out -> exportService.writeFinancialReportPdf(report, out), "trial-balance");
     }
 
     @GetMapping("/aging/receivables/pdf")
-    public ResponseEntity<byte[]> getReceivablesAgingPdf(
+    public ResponseEntity<StreamingResponseBody> getReceivablesAgingPdf(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        AgingReportDto report = reportService.generateReceivablesAging(date);
-        byte[] pdf = exportService.exportAgingReportToPdf(report);
-        return createPdfResponse(pdf, "ar-aging");
+        AgingReportDto report = reportService.generateReceivablesAging(date, false);
+        return createPdfResponse(out -> exportService.writeAgingReportPdf(report, agingLines(report), out), "ar-aging");
     }
 
     @GetMapping("/aging/payables/pdf")
-    public ResponseEntity<byte[]> getPayablesAgingPdf(
+    public ResponseEntity<StreamingResponseBody> getPayablesAgingPdf(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        AgingReportDto report = reportService.generatePayablesAging(date);
-        byte[] pdf = exportService.exportAgingReportToPdf(report);
-        return createPdfResponse(pdf, "ap-aging");
+        AgingReportDto report = reportService.generatePayablesAging(date, false);
+        return createPdfResponse(out -> exportService.writeAgingReportPdf(report, agingLines(report), out), "ap-aging");
     }
 
     // ==================== EXCEL EXPORTS ====================
 
     @GetMapping("/balance-sheet/excel")
-    public ResponseEntity<byte[]> getBalanceSheetExcel(
+    public ResponseEntity<StreamingResponseBody> getBalanceSheetExcel(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
         FinancialReportDto report = reportService.generateBalanceSheet(date);
-        byte[] excel = exportService.exportFinancialReportToExcel(report);
-        return createExcelResponse(excel, "balance-sheet");
+        return createExcelResponse(out -> exportService.writeFinancialReportExcel(report, out), "balance-sheet");
     }
 
     @GetMapping("/income-statement/excel")
-    public ResponseEntity<byte[]> getIncomeStatementExcel(
+    public ResponseEntity<StreamingResponseBody> getIncomeStatementExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         FinancialReportDto report = reportService.generateIncomeStatement(startDate, endDate);
-        byte[] excel = exportService.exportFinancialReportToExcel(report);
-        return createExcelResponse(excel, "income-statement");
+        return createExcelResponse(out -> exportService.writeFinancialReportExcel(report, out), "income-statement");
     }
 
     @GetMapping("/trial-balance/excel")
-    public ResponseEntity<byte[]> getTrialBalanceExcel(
+    public ResponseEntity<StreamingResponseBody> getTrialBalanceExcel(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
         FinancialReportDto report = reportService.generateTrialBalance(date);
-        byte[] excel = exportService.exportFinancialReportToExcel(report);
-        return createExcelResponse(excel, "trial-balance");
+        return createExcelResponse(out -> exportService.writeFinancialReportExcel(report, out), "trial-balance");
     }
 
     @GetMapping("/aging/receivables/excel")
-    public ResponseEntity<byte[]> getReceivablesAgingExcel(
+    public ResponseEntity<StreamingResponseBody> getReceivablesAgingExcel(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        AgingReportDto report = reportService.generateReceivablesAging(date);
-        byte[] excel = exportService.exportAgingReportToExcel(report);
-        return createExcelResponse(excel, "ar-aging");
+        AgingReportDto report = reportService.generateReceivablesAging(date, false);
+        return createExcelResponse(out -> exportService.writeAgingReportExcel(report, agingLines(report), out), "ar-aging");
     }
 
     @GetMapping("/aging/payables/excel")
-    public ResponseEntity<byte[]> getPayablesAgingExcel(
+    public ResponseEntity<StreamingResponseBody> getPayablesAgingExcel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+        LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
+        AgingReportDto report = reportService.generatePayablesAging(date, false);
+        return createExcelResponse(out -> exportService.writeAgingReportExcel(report, agingLines(report), out), "ap-aging");
+    }
+
+    // ==================== CSV EXPORTS ====================
+
+    @GetMapping("/balance-sheet/csv")
+    public ResponseEntity<StreamingResponseBody> getBalanceSheetCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+        LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
+        FinancialReportDto report = reportService.generateBalanceSheet(date);
+        return createCsvResponse(out -> exportService.writeFinancialReportCsv(report, out), "balance-sheet");
+    }
+
+    @GetMapping("/income-statement/csv")
+    public ResponseEntity<StreamingResponseBody> getIncomeStatementCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        FinancialReportDto report = reportService.generateIncomeStatement(startDate, endDate);
+        return createCsvResponse(out -> exportService.writeFinancialReportCsv(report, out), "income-statement");
+    }
+
+    @GetMapping("/trial-balance/csv")
+    public ResponseEntity<StreamingResponseBody> getTrialBalanceCsv(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
         LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
-        AgingReportDto report = reportService.generatePayablesAging(date);
-        byte[] excel = exportService.exportAgingReportToExcel(report);
-        return createExcelResponse(excel, "ap-aging");
+        FinancialReportDto report = reportService.generateTrialBalance(date);
+        return createCsvResponse(out -> exportService.writeFinancialReportCsv(report, out), "trial-balance");
+    }
+
+    @GetMapping("/aging/receivables/csv")
+    public ResponseEntity<StreamingResponseBody> getReceivablesAgingCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+        LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
+        return createCsvResponse(out -> exportService.writeAgingDetailsCsv(
+                consumer -> reportService.streamAgingDetails("RECEIVABLES", date, consumer), out), "ar-aging");
+    }
+
+    @GetMapping("/aging/payables/csv")
+    public ResponseEntity<StreamingResponseBody> getPayablesAgingCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate) {
+        LocalDate date = asOfDate != null ? asOfDate : LocalDate.now();
+        return createCsvResponse(out -> exportService.writeAgingDetailsCsv(
+                consumer -> reportService.streamAgingDetails("PAYABLES", date, consumer), out), "ap-aging");
     }
 
     // ==================== HELPERS ====================
 
-    private ResponseEntity<byte[]> createPdfResponse(byte[] content, String filename) {
+    // Detail rows are read from the database while the response is written, not taken from the summary DTO
+    private ReportExportService.AgingLines agingLines(AgingReportDto report) {
+        return consumer -> reportService.streamAgingDetails(report.reportType(), report.reportDate(), consumer);
+    }
+
+    private ResponseEntity<StreamingResponseBody> createPdfResponse(StreamingResponseBody body, String filename) {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(content);
+                .body(body);
     }
 
-    private ResponseEntity<byte[]> createExcelResponse(byte[] content, String filename) {
+    private ResponseEntity<StreamingResponseBody> createExcelResponse(StreamingResponseBody body, String filename) {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename + ".xlsx")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(content);
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> createCsvResponse(StreamingResponseBody body, String filename) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename + ".csv")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(body);
     }
 }
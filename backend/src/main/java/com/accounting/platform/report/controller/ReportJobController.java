@@ -0,0 +1,51 @@
+package com.accounting.platform.report.controller;
+
+import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.report.dto.ReportJobDto;
+import com.accounting.platform.report.dto.ReportJobRequestDto;
+import com.accounting.platform.report.service.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobDto>> submit(@Valid @RequestBody ReportJobRequestDto request,
+                                                            Authentication authentication) {
+        ReportJobDto job = reportJobService.submit(request, authentication.getName());
+        return ResponseEntity.accepted().body(ApiResponse.success(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReportJobDto>> getJob(@PathVariable UUID id, Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(id, authentication.getName())));
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable UUID id, Authentication authentication) {
+        ReportJobService.Artifact artifact = reportJobService.getArtifact(id, authentication.getName());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + artifact.fileName())
+                .contentType(MediaType.parseMediaType(artifact.contentType()))
+                .body(new FileSystemResource(artifact.path()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.accounting.platform.report.dto;
+
+/**
+ * Aging buckets by days past due, in report order. Days at or below zero are current.
+ */
+public enum AgingBucket {
+    CURRENT("Current", 0, 0),
+    DAYS_1_30("1-30 Days", 1, 30),
+    DAYS_31_60("31-60 Days", 31, 60),
+    DAYS_61_90("61-90 Days", 61, 90),
+    DAYS_90_PLUS("90+ Days", 91, 999);
+
+    private final String label;
+    private final int daysStart;
+    private final int daysEnd;
+
+    AgingBucket(String label, int daysStart, int daysEnd) {
+        this.label = label;
+        this.daysStart = daysStart;
+        this.daysEnd = daysEnd;
+    }
+
+    public static AgingBucket of(int daysOverdue) {
+        for (AgingBucket bucket : values()) {
+            if (daysOverdue <= bucket.daysEnd) {
+                return bucket;
+            }
+        }
+        return DAYS_90_PLUS;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getDaysStart() {
+        return daysStart;
+    }
+
+    public int getDaysEnd() {
+        return daysEnd;
+    }
+}
@@ -8,6 +8,7 @@ public record AgingReportDto(
     String reportType, // "RECEIVABLES" or "PAYABLES"
     LocalDate reportDate,
     List<AgingBucketDto> buckets,
+    List<AgingContactDto> contacts,
     BigDecimal totalOutstanding,
     int totalCount
 ) {
@@ -30,4 +31,12 @@ public record AgingReportDto(
         BigDecimal amount,
         String currency
     ) {}
+
+    public record AgingContactDto(
+        String contactId,
+        String contactName,
+        List<BigDecimal> bucketAmounts, // one per bucket, in bucket order
+        BigDecimal total,
+        int count
+    ) {}
 }
@@ -0,0 +1,41 @@
+package com.accounting.platform.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneralLedgerPageDto {
+    private UUID accountId;
+    private String accountCode;
+    private String accountName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Net (Debit - Credit) balance before the first line on this page
+    private BigDecimal balanceForward;
+    private List<LineDto> items;
+    // Opaque; pass back as ?cursor= to get the next page, null on the last page
+    private String nextCursor;
+
+    @Data
+    @AllArgsConstructor
+    public static class LineDto {
+        private UUID lineId;
+        private UUID journalEntryId;
+        private LocalDate entryDate;
+        private String referenceNumber;
+        private String description;
+        private BigDecimal debit;
+        private BigDecimal credit;
+        private BigDecimal runningBalance;
+    }
+}
@@ -0,0 +1,22 @@
+package com.accounting.platform.report.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ReportJobDto {
+    private UUID id;
+    private ReportType reportType;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private boolean cached; // Served from an artifact produced by an earlier identical request
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String error;
+    private String downloadUrl;
+}
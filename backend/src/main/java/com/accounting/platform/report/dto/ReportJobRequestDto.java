@@ -0,0 +1,21 @@
+package com.accounting.platform.report.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequestDto {
+    @NotNull
+    private ReportType reportType;
+    @NotNull
+    private ReportFormat format;
+    private LocalDate asOfDate; // Balance sheet, trial balance and aging; defaults to today
+    private LocalDate startDate; // Income statement
+    private LocalDate endDate; // Income statement
+}
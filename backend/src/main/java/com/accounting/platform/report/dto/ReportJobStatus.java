@@ -0,0 +1,8 @@
+package com.accounting.platform.report.dto;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
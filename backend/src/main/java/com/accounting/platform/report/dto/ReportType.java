@@ -0,0 +1,19 @@
+package com.accounting.platform.report.dto;
+
+public enum ReportType {
+    BALANCE_SHEET("balance-sheet"),
+    INCOME_STATEMENT("income-statement"),
+    TRIAL_BALANCE("trial-balance"),
+    RECEIVABLES_AGING("ar-aging"),
+    PAYABLES_AGING("ap-aging");
+
+    private final String fileName;
+
+    ReportType(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
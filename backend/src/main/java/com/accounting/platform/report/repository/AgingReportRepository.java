@@ -0,0 +1,132 @@
+package com.accounting.platform.report.repository;
+
+import com.accounting.platform.report.dto.AgingBucket;
+import com.accounting.platform.report.dto.AgingReportDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set-based aging queries. Status filtering, the open amount and bucket assignment are all done
+ * in SQL, so the database returns one aggregate row per contact and bucket instead of every document.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AgingReportRepository {
+
+    private static final int DETAIL_FETCH_SIZE = 1000;
+
+    // Open documents with their due date and outstanding amount
+    private static final String RECEIVABLE_DOCUMENTS = """
+            SELECT i.contact_id, i.invoice_number AS document_number, i.issue_date AS document_date,
+                   i.due_date, i.total_amount - COALESCE(i.amount_paid, 0) AS amount, i.currency
+            FROM invoices i
+            WHERE i.status NOT IN ('DRAFT', 'PAID', 'VOID')
+              AND i.due_date <= ?
+            """;
+
+    private static final String PAYABLE_DOCUMENTS = """
+            SELECT e.vendor_id AS contact_id,
+                   COALESCE(e.reference_number, 'EXP-' || LEFT(e.id::text, 8)) AS document_number,
+                   e.date AS document_date, COALESCE(e.due_date, e.date + 30) AS due_date,
+                   e.total_amount AS amount, e.currency
+            FROM expenses e
+            WHERE e.status = 'APPROVED'
+              AND (e.due_date IS NULL OR e.due_date <= ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public enum Source {
+        RECEIVABLES, PAYABLES
+    }
+
+    public record ContactBucketTotal(UUID contactId, String contactName, AgingBucket bucket, BigDecimal amount, int count) {}
+
+    /**
+     * Outstanding amount and document count per contact and bucket.
+     */
+    public List<ContactBucketTotal> summarize(Source source, LocalDate asOfDate) {
+        String sql = """
+                SELECT t.contact_id, c.name AS contact_name, t.bucket, t.amount, t.doc_count
+                FROM (
+                    SELECT a.contact_id, %s AS bucket, SUM(a.amount) AS amount, COUNT(*) AS doc_count
+                    FROM (%s) a
+                    GROUP BY a.contact_id, bucket
+                ) t
+                JOIN contacts c ON c.id = t.contact_id
+                ORDER BY t.bucket, c.name
+                """.formatted(bucketCase(), aged(source));
+
+        AgingBucket[] buckets = AgingBucket.values();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ContactBucketTotal(
+                        rs.getObject("contact_id", UUID.class),
+                        rs.getString("contact_name"),
+                        buckets[rs.getInt("bucket")],
+                        rs.getBigDecimal("amount"),
+                        rs.getInt("doc_count")),
+                Date.valueOf(asOfDate), Date.valueOf(asOfDate.plusDays(365)));
+    }
+
+    /**
+     * Streams document rows in bucket order, oldest due date first within a bucket, to the consumer
+     * without materialising the result set. {@code perBucketLimit} caps the rows per bucket; null streams all of them.
+     * Must run inside a transaction so the driver can use a cursor for the fetch size.
+     */
+    public void streamDetails(Source source, LocalDate asOfDate, Integer perBucketLimit,
+                              Consumer<AgingReportDto.AgingLineDto> consumer) {
+        String sql = """
+                SELECT r.* FROM (
+                    SELECT a.*, c.name AS contact_name, %s AS bucket,
+                           ROW_NUMBER() OVER (PARTITION BY %s ORDER BY a.due_date, a.document_number) AS bucket_row
+                    FROM (%s) a
+                    JOIN contacts c ON c.id = a.contact_id
+                ) r
+                WHERE r.bucket_row <= ?
+                ORDER BY r.bucket, r.due_date, r.document_number
+                """.formatted(bucketCase(), bucketCase(), aged(source));
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(DETAIL_FETCH_SIZE);
+            statement.setDate(1, Date.valueOf(asOfDate));
+            statement.setDate(2, Date.valueOf(asOfDate.plusDays(365)));
+            statement.setLong(3, perBucketLimit != null ? perBucketLimit : Long.MAX_VALUE);
+            return statement;
+        }, (ResultSet rs) -> {
+            consumer.accept(new AgingReportDto.AgingLineDto(
+                    rs.getString("contact_id"),
+                    rs.getString("contact_name"),
+                    rs.getString("document_number"),
+                    rs.getObject("document_date", LocalDate.class),
+                    rs.getObject("due_date", LocalDate.class),
+                    rs.getInt("days_overdue"),
+                    rs.getBigDecimal("amount"),
+                    rs.getString("currency")));
+        });
+    }
+
+    // Open documents with days past due; parameters are the as-of date and the as-of date + 365 days
+    private static String aged(Source source) {
+        String documents = source == Source.RECEIVABLES ? RECEIVABLE_DOCUMENTS : PAYABLE_DOCUMENTS;
+        return "SELECT d.*, CAST(? AS date) - d.due_date AS days_overdue FROM (" + documents + ") d";
+    }
+
+    private static String bucketCase() {
+        StringBuilder sql = new StringBuilder("CASE");
+        AgingBucket[] buckets = AgingBucket.values();
+        for (int i = 0; i < buckets.length - 1; i++) {
+            sql.append(" WHEN a.days_overdue <= ").append(buckets[i].getDaysEnd()).append(" THEN ").append(i);
+        }
+        return sql.append(" ELSE ").append(buckets.length - 1).append(" END").toString();
+    }
+}
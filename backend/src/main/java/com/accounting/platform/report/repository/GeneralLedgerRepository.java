@@ -0,0 +1,87 @@
+package com.accounting.platform.report.repository;
+
+import com.accounting.platform.report.dto.GeneralLedgerPageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Posted journal lines of one account as flat rows, in (entry_date, entry id, line id) order.
+ * The running balance is a window sum over the page seeded with the balance before its first row,
+ * so a page never has to read the rows before it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GeneralLedgerRepository {
+
+    // Parameters: seed balance, account, start, end, then the keyset position (date, entry id) twice and the line id
+    private static final String PAGE = """
+            SELECT l.id AS line_id, e.id AS entry_id, e.entry_date, e.reference_number,
+                   COALESCE(l.description, e.description) AS description, l.debit, l.credit,
+                   ? + SUM(l.debit - l.credit) OVER (ORDER BY e.entry_date, e.id, l.id
+                                                     ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) AS running_balance
+            FROM journal_entries e
+            JOIN journal_entry_lines l ON l.journal_entry_id = e.id AND l.account_id = ?
+            WHERE e.status = 'POSTED'
+              AND e.entry_date BETWEEN ? AND ?
+              AND (e.entry_date, e.id) >= (?, ?)
+              AND ((e.entry_date, e.id) > (?, ?) OR l.id > ?)
+            ORDER BY e.entry_date, e.id, l.id
+            LIMIT ?
+            """;
+
+    // Net movement of the account on the position's date, up to and including the position's line
+    private static final String DAY_THROUGH = """
+            SELECT COALESCE(SUM(l.debit - l.credit), 0)
+            FROM journal_entries e
+            JOIN journal_entry_lines l ON l.journal_entry_id = e.id AND l.account_id = ?
+            WHERE e.status = 'POSTED'
+              AND e.entry_date = ?
+              AND (e.id < ? OR (e.id = ? AND l.id <= ?))
+            """;
+
+    // Sorts before every real id, so the first page starts at the beginning of the range
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Position(LocalDate entryDate, UUID entryId, UUID lineId) {}
+
+    /**
+     * Up to {@code limit} lines after {@code after} (null for the first page), with running balances
+     * continuing from {@code seedBalance}.
+     */
+    public List<GeneralLedgerPageDto.LineDto> findPage(UUID accountId, LocalDate startDate, LocalDate endDate,
+                                                       Position after, BigDecimal seedBalance, int limit) {
+        Position from = after != null ? after : new Position(startDate, MIN_UUID, MIN_UUID);
+        return jdbcTemplate.query(PAGE, (rs, rowNum) -> new GeneralLedgerPageDto.LineDto(
+                        rs.getObject("line_id", UUID.class),
+                        rs.getObject("entry_id", UUID.class),
+                        rs.getObject("entry_date", LocalDate.class),
+                        rs.getString("reference_number"),
+                        rs.getString("description"),
+                        rs.getBigDecimal("debit"),
+                        rs.getBigDecimal("credit"),
+                        rs.getBigDecimal("running_balance")),
+                seedBalance, accountId, Date.valueOf(startDate), Date.valueOf(endDate),
+                Date.valueOf(from.entryDate()), from.entryId(),
+                Date.valueOf(from.entryDate()), from.entryId(),
+                from.lineId(),
+                limit);
+    }
+
+    /**
+     * Net movement on {@code through}'s date up to and including that line; added to the balance before the
+     * date it gives the running balance at the line.
+     */
+    public BigDecimal sumDayThrough(UUID accountId, Position through) {
+        return jdbcTemplate.queryForObject(DAY_THROUGH, BigDecimal.class, accountId, Date.valueOf(through.entryDate()),
+                through.entryId(), through.entryId(), through.lineId());
+    }
+}
@@ -0,0 +1,88 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.journal.service.AccountBalanceService;
+import com.accounting.platform.report.dto.GeneralLedgerPageDto;
+import com.accounting.platform.report.repository.GeneralLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * General ledger detail for one account with keyset pagination on (entry_date, entry id, line id).
+ * The first page is seeded with the account's balance before the start date from the daily balances.
+ * A later page is seeded on the server from the daily balances before the cursor's date plus the lines of
+ * that one day up to the cursor, so page 500 reads no more rows than page 1 and the cursor carries no
+ * balance a client could alter.
+ */
+@Service
+@RequiredArgsConstructor
+public class GeneralLedgerService {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final GeneralLedgerRepository generalLedgerRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
+    private final AccountBalanceService accountBalanceService;
+
+    @Transactional(readOnly = true)
+    public GeneralLedgerPageDto getLedger(UUID accountId, LocalDate startDate, LocalDate endDate, String cursor, Integer size) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        AccountView account = chartOfAccountsRegistry.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        GeneralLedgerRepository.Position after = null;
+        BigDecimal balanceForward;
+        if (cursor != null && !cursor.isBlank()) {
+            after = decode(cursor);
+            if (after.entryDate().isBefore(startDate) || after.entryDate().isAfter(endDate)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            balanceForward = accountBalanceService.getNetBalanceBefore(accountId, after.entryDate())
+                    .add(generalLedgerRepository.sumDayThrough(accountId, after));
+        } else {
+            balanceForward = accountBalanceService.getNetBalanceBefore(accountId, startDate);
+        }
+
+        List<GeneralLedgerPageDto.LineDto> rows = generalLedgerRepository.findPage(accountId, startDate, endDate,
+                after, balanceForward, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            GeneralLedgerPageDto.LineDto last = rows.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getEntryDate(), last.getJournalEntryId(), last.getLineId());
+        }
+
+        return GeneralLedgerPageDto.builder()
+                .accountId(account.id())
+                .accountCode(account.code())
+                .accountName(account.name())
+                .startDate(startDate)
+                .endDate(endDate)
+                .balanceForward(balanceForward)
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static GeneralLedgerRepository.Position decode(String cursor) {
+        String[] key = CursorCodec.decode(cursor, 3);
+        try {
+            return new GeneralLedgerRepository.Position(LocalDate.parse(key[0]), UUID.fromString(key[1]), UUID.fromString(key[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.accounting.platform.report.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local report cache, for single-node setups and tests ({@code app.reports.cache.store=memory}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.reports.cache.store", havingValue = "memory")
+public class InMemoryReportCacheStore implements ReportCacheStore {
+
+    private final Map<ReportCacheKey, String> reports = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> get(ReportCacheKey key) {
+        return Optional.ofNullable(reports.get(key));
+    }
+
+    @Override
+    public void put(ReportCacheKey key, String json) {
+        reports.put(key, json);
+    }
+
+    @Override
+    public int evictCovering(NavigableSet<LocalDate> dates) {
+        int before = reports.size();
+        reports.keySet().removeIf(key -> key.covers(dates));
+        return before - reports.size();
+    }
+
+    @Override
+    public int evictAll() {
+        int before = reports.size();
+        reports.clear();
+        return before;
+    }
+}
@@ -0,0 +1,130 @@
+package com.accounting.platform.report.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Redis-backed report cache, shared by all application nodes.
+ * Each report is a string value with a TTL; a sorted set scored by the report's end date indexes them,
+ * so eviction only has to look at reports ending on or after the earliest posted date. A second sorted set
+ * scored by expiry time lets every write drop index members whose report has expired, so neither index
+ * outgrows the reports actually cached.
+ * Redis failures are logged and treated as cache misses, never as report failures.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reports.cache.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RedisReportCacheStore implements ReportCacheStore {
+
+    private static final String KEY_PREFIX = "report:";
+    private static final String INDEX_KEY = "report-index:by-end-date";
+    private static final String EXPIRY_INDEX_KEY = "report-index:by-expiry";
+    private static final int PRUNE_BATCH = 100;
+
+    // Members due to expire are dropped only once their value is really gone, in one atomic step, so a
+    // report written again in the meantime keeps its index entries
+    private static final RedisScript<Long> PRUNE_EXPIRED = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            local pruned = 0
+            for _, id in ipairs(due) do
+                if redis.call('EXISTS', ARGV[3] .. id) == 0 then
+                    redis.call('ZREM', KEYS[1], id)
+                    redis.call('ZREM', KEYS[2], id)
+                    pruned = pruned + 1
+                end
+            end
+            return pruned
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.reports.cache.ttl-hours:24}")
+    private int ttlHours;
+
+    @Override
+    public Optional<String> get(ReportCacheKey key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + key.id()));
+        } catch (DataAccessException e) {
+            log.warn("Report cache read failed for {}: {}", key.id(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(ReportCacheKey key, String json) {
+        try {
+            Duration ttl = Duration.ofHours(ttlHours);
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForValue().set(KEY_PREFIX + key.id(), json, ttl);
+            redisTemplate.opsForZSet().add(INDEX_KEY, key.id(), key.end().toEpochDay());
+            redisTemplate.opsForZSet().add(EXPIRY_INDEX_KEY, key.id(), now + ttl.toMillis());
+            redisTemplate.execute(PRUNE_EXPIRED, List.of(INDEX_KEY, EXPIRY_INDEX_KEY),
+                    String.valueOf(now), String.valueOf(PRUNE_BATCH), KEY_PREFIX);
+        } catch (DataAccessException e) {
+            log.warn("Report cache write failed for {}: {}", key.id(), e.getMessage());
+        }
+    }
+
+    @Override
+    public int evictCovering(NavigableSet<LocalDate> dates) {
+        try {
+            Set<String> candidates = redisTemplate.opsForZSet()
+                    .rangeByScore(INDEX_KEY, dates.first().toEpochDay(), Double.POSITIVE_INFINITY);
+            if (candidates == null || candidates.isEmpty()) {
+                return 0;
+            }
+
+            List<String> ids = new ArrayList<>();
+            for (String id : candidates) {
+                if (ReportCacheKey.parse(id).covers(dates)) {
+                    ids.add(id);
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            redisTemplate.delete(ids.stream().map(id -> KEY_PREFIX + id).toList());
+            redisTemplate.opsForZSet().remove(INDEX_KEY, ids.toArray());
+            redisTemplate.opsForZSet().remove(EXPIRY_INDEX_KEY, ids.toArray());
+            return ids.size();
+        } catch (DataAccessException e) {
+            // Entries left behind expire with their TTL
+            log.error("Report cache eviction failed for dates {}: {}", dates, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public int evictAll() {
+        try {
+            Set<String> ids = redisTemplate.opsForZSet().range(INDEX_KEY, 0, -1);
+            if (ids != null && !ids.isEmpty()) {
+                redisTemplate.delete(ids.stream().map(id -> KEY_PREFIX + id).toList());
+            }
+            redisTemplate.delete(List.of(INDEX_KEY, EXPIRY_INDEX_KEY));
+            return ids == null ? 0 : ids.size();
+        } catch (DataAccessException e) {
+            // Entries left behind expire with their TTL
+            log.error("Report cache eviction of all reports failed: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
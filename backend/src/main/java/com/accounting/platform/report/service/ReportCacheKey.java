@@ -0,0 +1,43 @@
+package com.accounting.platform.report.service;
+
+import java.time.LocalDate;
+import java.util.NavigableSet;
+
+/**
+ * Identifies a cached financial report by type and the range of entry dates it is computed from.
+ * Point-in-time reports (balance sheet, trial balance) cover everything up to their as-of date,
+ * so their start is null.
+ */
+public record ReportCacheKey(String reportType, LocalDate start, LocalDate end) {
+
+    private static final String OPEN = "*";
+
+    public static ReportCacheKey asOf(String reportType, LocalDate asOfDate) {
+        return new ReportCacheKey(reportType, null, asOfDate);
+    }
+
+    public static ReportCacheKey period(String reportType, LocalDate start, LocalDate end) {
+        return new ReportCacheKey(reportType, start, end);
+    }
+
+    /**
+     * True when any of the dates falls inside this report's range.
+     */
+    public boolean covers(NavigableSet<LocalDate> dates) {
+        LocalDate first = start == null ? dates.first() : dates.ceiling(start);
+        return first != null && !first.isAfter(end);
+    }
+
+    public String id() {
+        return reportType + ":" + (start == null ? OPEN : start) + ":" + end;
+    }
+
+    public static ReportCacheKey parse(String id) {
+        String[] parts = id.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid report cache key: " + id);
+        }
+        LocalDate start = OPEN.equals(parts[1]) ? null : LocalDate.parse(parts[1]);
+        return new ReportCacheKey(parts[0], start, LocalDate.parse(parts[2]));
+    }
+}
@@ -0,0 +1,78 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.account.event.ChartOfAccountsChangedEvent;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import com.accounting.platform.journal.service.LedgerVersionService;
+import com.accounting.platform.report.dto.FinancialReportDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for financial reports. Entries are evicted after a posting commits,
+ * and only when the report's date range covers one of the posted entry dates.
+ * A chart of accounts change can move balances between sections of any report, so it evicts everything.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCacheService {
+
+    private final ReportCacheStore store;
+    private final LedgerVersionService ledgerVersionService;
+    private final ObjectMapper objectMapper;
+
+    public FinancialReportDto getOrCompute(ReportCacheKey key, Supplier<FinancialReportDto> compute) {
+        Optional<FinancialReportDto> cached = store.get(key).flatMap(json -> read(key, json));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long version = ledgerVersionService.currentVersion();
+        FinancialReportDto report = compute.get();
+        // A posting that committed while we were computing may not be in the result; don't cache it
+        if (ledgerVersionService.currentVersion() == version) {
+            try {
+                store.put(key, objectMapper.writeValueAsString(report));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize report {} for caching: {}", key.id(), e.getMessage());
+            }
+        }
+        return report;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLedgerPosted(LedgerPostedEvent event) {
+        if (event.entryDates().isEmpty()) {
+            return;
+        }
+        int evicted = store.evictCovering(event.entryDates());
+        if (evicted > 0) {
+            log.debug("Evicted {} cached reports covering {}", evicted, event.entryDates());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChartOfAccountsChanged(ChartOfAccountsChangedEvent event) {
+        int evicted = store.evictAll();
+        if (evicted > 0) {
+            log.debug("Evicted {} cached reports after a chart of accounts change", evicted);
+        }
+    }
+
+    private Optional<FinancialReportDto> read(ReportCacheKey key, String json) {
+        try {
+            return Optional.of(objectMapper.readValue(json, FinancialReportDto.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached report {}: {}", key.id(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.accounting.platform.report.service;
+
+import java.time.LocalDate;
+import java.util.NavigableSet;
+import java.util.Optional;
+
+/**
+ * Storage for serialized financial reports. Implementations keep an index by date range
+ * so that a ledger posting can evict exactly the reports whose range covers the posted dates.
+ */
+public interface ReportCacheStore {
+
+    Optional<String> get(ReportCacheKey key);
+
+    void put(ReportCacheKey key, String json);
+
+    /**
+     * Removes every cached report whose range contains at least one of the dates.
+     *
+     * @return the number of reports removed
+     */
+    int evictCovering(NavigableSet<LocalDate> dates);
+
+    /**
+     * Removes every cached report.
+     *
+     * @return the number of reports removed
+     */
+    int evictAll();
+}
@@ -1,5 +1,7 @@
 package com.accounting.platform.report.service;
 
+import com.accounting.platform.common.csv.CsvWriter;
+import com.accounting.platform.report.dto.AgingBucket;
 import com.accounting.platform.report.dto.FinancialReportDto;
 import com.accounting.platform.report.dto.ReportLineDto;
 import com.accounting.platform.report.dto.AgingReportDto;
@@ -16,20 +18,34 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class ReportExportService {
 
+    /**
+     * Source of aging document rows, in bucket order, pushed to the consumer one at a time.
+     */
+    @FunctionalInterface
+    public interface AgingLines {
+        void forEach(Consumer<AgingReportDto.AgingLineDto> consumer);
+    }
+
+    private static final int EXCEL_ROW_WINDOW = 100;
+    private static final int PDF_FLUSH_ROWS = 500;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
     private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(Locale.US);
     private static final DeviceRgb HEADER_COLOR = new DeviceRgb(51, 65, 85); // slate-700
@@ -37,11 +53,10 @@ public class ReportExportService {
 
     // ==================== PDF EXPORT ====================
 
-    public byte[] exportFinancialReportToPdf(FinancialReportDto report) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-
+    public void writeFinancialReportPdf(FinancialReportDto report, OutputStream out) {
         try {
             PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
@@ -125,15 +140,17 @@ public class ReportExportService {
         } catch (Exception e) {
             throw new RuntimeException("Error generating PDF", e);
         }
-
-        return out.toByteArray();
     }
 
-    public byte[] exportAgingReportToPdf(AgingReportDto report) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-
+    /**
+     * Writes the bucket summary from {@code report} and then the document rows from {@code lines},
+     * which must arrive in bucket order. Detail tables are added in large-table mode and flushed
+     * to the stream as they fill, so the layout never holds more than one chunk of rows.
+     */
+    public void writeAgingReportPdf(AgingReportDto report, AgingLines lines, OutputStream out) {
         try {
             PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
@@ -177,53 +194,86 @@ public class ReportExportService {
             document.add(new Paragraph("\n"));
 
             // Detailed breakdown by bucket
-            for (AgingReportDto.AgingBucketDto bucket : report.buckets()) {
-                if (bucket.details().isEmpty()) continue;
+            String contactHeader = report.reportType().equals("RECEIVABLES") ? "Customer" : "Vendor";
+            PdfAgingDetails details = new PdfAgingDetails(document, contactHeader);
+            lines.forEach(details);
+            details.finish();
 
-                document.add(new Paragraph(bucket.label())
-                        .setFontSize(12)
-                        .setBold()
-                        .setBackgroundColor(SECTION_COLOR)
-                        .setPadding(8)
-                        .setMarginTop(10));
+            document.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating PDF", e);
+        }
+    }
 
-                Table detailTable = new Table(UnitValue.createPercentArray(new float[]{2, 1.5f, 1, 1, 0.5f, 1}))
-                        .useAllAvailableWidth();
+    private final class PdfAgingDetails implements Consumer<AgingReportDto.AgingLineDto> {
+        private final Document document;
+        private final String contactHeader;
+        private AgingBucket bucket;
+        private Table table;
+        private int pendingRows;
 
-                String contactHeader = report.reportType().equals("RECEIVABLES") ? "Customer" : "Vendor";
-                detailTable.addHeaderCell(createHeaderCell(contactHeader));
-                detailTable.addHeaderCell(createHeaderCell("Document"));
-                detailTable.addHeaderCell(createHeaderCell("Date"));
-                detailTable.addHeaderCell(createHeaderCell("Due Date"));
-                detailTable.addHeaderCell(createHeaderCell("Days"));
-                detailTable.addHeaderCell(createHeaderCell("Amount"));
-
-                for (AgingReportDto.AgingLineDto line : bucket.details()) {
-                    detailTable.addCell(new Cell().add(new Paragraph(line.contactName())));
-                    detailTable.addCell(new Cell().add(new Paragraph(line.documentNumber())));
-                    detailTable.addCell(new Cell().add(new Paragraph(line.documentDate().format(DATE_FORMATTER))));
-                    detailTable.addCell(new Cell().add(new Paragraph(line.dueDate().format(DATE_FORMATTER))));
-                    detailTable.addCell(new Cell().add(new Paragraph(String.valueOf(line.daysOverdue())))
-                            .setTextAlignment(TextAlignment.CENTER));
-                    detailTable.addCell(new Cell().add(new Paragraph(formatCurrency(line.amount())))
-                            .setTextAlignment(TextAlignment.RIGHT));
-                }
+        PdfAgingDetails(Document document, String contactHeader) {
+            this.document = document;
+            this.contactHeader = contactHeader;
+        }
 
-                document.add(detailTable);
+        @Override
+        public void accept(AgingReportDto.AgingLineDto line) {
+            AgingBucket lineBucket = AgingBucket.of(line.daysOverdue());
+            if (lineBucket != bucket) {
+                finish();
+                startBucket(lineBucket);
             }
 
-            document.close();
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating PDF", e);
+            table.addCell(new Cell().add(new Paragraph(line.contactName())));
+            table.addCell(new Cell().add(new Paragraph(line.documentNumber())));
+            table.addCell(new Cell().add(new Paragraph(line.documentDate().format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(line.dueDate().format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(line.daysOverdue())))
+                    .setTextAlignment(TextAlignment.CENTER));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(line.amount())))
+                    .setTextAlignment(TextAlignment.RIGHT));
+
+            if (++pendingRows == PDF_FLUSH_ROWS) {
+                table.flush();
+                pendingRows = 0;
+            }
         }
 
-        return out.toByteArray();
+        private void startBucket(AgingBucket next) {
+            bucket = next;
+            document.add(new Paragraph(next.getLabel())
+                    .setFontSize(12)
+                    .setBold()
+                    .setBackgroundColor(SECTION_COLOR)
+                    .setPadding(8)
+                    .setMarginTop(10));
+
+            table = new Table(UnitValue.createPercentArray(new float[]{2, 1.5f, 1, 1, 0.5f, 1}), true)
+                    .useAllAvailableWidth();
+            table.addHeaderCell(createHeaderCell(contactHeader));
+            table.addHeaderCell(createHeaderCell("Document"));
+            table.addHeaderCell(createHeaderCell("Date"));
+            table.addHeaderCell(createHeaderCell("Due Date"));
+            table.addHeaderCell(createHeaderCell("Days"));
+            table.addHeaderCell(createHeaderCell("Amount"));
+            document.add(table);
+        }
+
+        void finish() {
+            if (table != null) {
+                table.complete();
+                table = null;
+                pendingRows = 0;
+            }
+        }
     }
 
     // ==================== EXCEL EXPORT ====================
 
-    public byte[] exportFinancialReportToExcel(FinancialReportDto report) {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    public void writeFinancialReportExcel(FinancialReportDto report, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        try {
             Sheet sheet = workbook.createSheet(report.getReportName());
 
             // Styles
@@ -296,16 +346,21 @@ public class ReportExportService {
             sheet.setColumnWidth(1, 3000);
             sheet.setColumnWidth(2, 4000);
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
-            return out.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error generating Excel", e);
+        } finally {
+            workbook.dispose();
         }
     }
 
-    public byte[] exportAgingReportToExcel(AgingReportDto report) {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    /**
+     * Streaming workbook: only the last {@value #EXCEL_ROW_WINDOW} rows stay in memory,
+     * older ones are flushed to a temporary file that is removed once the workbook is written.
+     */
+    public void writeAgingReportExcel(AgingReportDto report, AgingLines lines, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        try {
             String sheetName = report.reportType().equals("RECEIVABLES") ? "AR Aging" : "AP Aging";
             Sheet sheet = workbook.createSheet(sheetName);
 
@@ -366,30 +421,66 @@ public class ReportExportService {
                 cell.setCellStyle(headerStyle);
             }
 
-            for (AgingReportDto.AgingBucketDto bucket : report.buckets()) {
-                for (AgingReportDto.AgingLineDto line : bucket.details()) {
-                    Row row = sheet.createRow(rowNum++);
-                    row.createCell(0).setCellValue(line.contactName());
-                    row.createCell(1).setCellValue(line.documentNumber());
-                    row.createCell(2).setCellValue(line.documentDate().toString());
-                    row.createCell(3).setCellValue(line.dueDate().toString());
-                    row.createCell(4).setCellValue(line.daysOverdue());
-                    org.apache.poi.ss.usermodel.Cell amountCell = row.createCell(5);
-                    amountCell.setCellValue(line.amount().doubleValue());
-                    amountCell.setCellStyle(currencyStyle);
-                }
-            }
+            int[] nextRow = {rowNum};
+            lines.forEach(line -> {
+                Row row = sheet.createRow(nextRow[0]++);
+                row.createCell(0).setCellValue(line.contactName());
+                row.createCell(1).setCellValue(line.documentNumber());
+                row.createCell(2).setCellValue(line.documentDate().toString());
+                row.createCell(3).setCellValue(line.dueDate().toString());
+                row.createCell(4).setCellValue(line.daysOverdue());
+                org.apache.poi.ss.usermodel.Cell amountCell = row.createCell(5);
+                amountCell.setCellValue(line.amount().doubleValue());
+                amountCell.setCellStyle(currencyStyle);
+            });
 
-            // Auto-size columns
-            for (int i = 0; i < 6; i++) {
-                sheet.autoSizeColumn(i);
-            }
+            // Fixed widths: auto-sizing would need every row kept in memory
+            sheet.setColumnWidth(0, 8000);
+            sheet.setColumnWidth(1, 5000);
+            sheet.setColumnWidth(2, 3500);
+            sheet.setColumnWidth(3, 3500);
+            sheet.setColumnWidth(4, 2000);
+            sheet.setColumnWidth(5, 4000);
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
-            return out.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error generating Excel", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    // ==================== CSV EXPORT ====================
+
+    public void writeFinancialReportCsv(FinancialReportDto report, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRecord("Section", "Account Code", "Account Name", "Balance");
+            for (Map.Entry<String, List<ReportLineDto>> section : report.getSections().entrySet()) {
+                for (ReportLineDto line : section.getValue()) {
+                    csv.writeRecord(section.getKey(), line.getAccountCode(), line.getAccountName(), line.getBalance());
+                }
+            }
+            for (Map.Entry<String, BigDecimal> entry : report.getSummary().entrySet()) {
+                csv.writeRecord("Summary", null, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * One row per open document; the bucket summary is left out so the file loads as a flat table.
+     */
+    public void writeAgingDetailsCsv(AgingLines lines, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRecord("Bucket", "Contact ID", "Contact", "Document", "Date", "Due Date", "Days Overdue", "Amount", "Currency");
+            lines.forEach(line -> {
+                try {
+                    csv.writeRecord(AgingBucket.of(line.daysOverdue()).getLabel(), line.contactId(), line.contactName(),
+                            line.documentNumber(), line.documentDate(), line.dueDate(), line.daysOverdue(),
+                            line.amount(), line.currency());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
         }
     }
 
@@ -0,0 +1,345 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.journal.service.LedgerVersionService;
+import com.accounting.platform.report.dto.AgingReportDto;
+import com.accounting.platform.report.dto.FinancialReportDto;
+import com.accounting.platform.report.dto.ReportFormat;
+import com.accounting.platform.report.dto.ReportJobDto;
+import com.accounting.platform.report.dto.ReportJobRequestDto;
+import com.accounting.platform.report.dto.ReportJobStatus;
+import com.accounting.platform.report.dto.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs report exports off the request thread.
+ * Jobs run on a bounded worker pool, with a cap on how many each user may have queued or running.
+ * Finished artifacts are kept on local disk under a key of (report type, format, parameters, ledger version),
+ * so an identical request made before the ledger changes again is answered from the existing file
+ * without running the report. Identical requests that arrive while a job is still running share that job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final ReportService reportService;
+    private final ReportExportService reportExportService;
+    private final LedgerVersionService ledgerVersionService;
+
+    @Value("${app.reports.jobs.workers:4}")
+    private int workers;
+
+    @Value("${app.reports.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.per-user-limit:3}")
+    private int perUserLimit;
+
+    @Value("${app.reports.cache-path:./report-cache}")
+    private String cachePath;
+
+    @Value("${app.reports.cache-retention-hours:24}")
+    private int retentionHours;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeByUser = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private Path cacheDirectory;
+
+    @PostConstruct
+    void start() throws IOException {
+        cacheDirectory = Files.createDirectories(Paths.get(cachePath));
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public ReportJobDto submit(ReportJobRequestDto request, String username) {
+        ReportJobRequestDto resolved = resolve(request);
+        String key = cacheKey(resolved, ledgerVersionService.currentVersion());
+        Path artifact = cacheDirectory.resolve(key + "." + resolved.getFormat().getExtension());
+
+        if (Files.exists(artifact)) {
+            Job job = new Job(resolved, key, artifact, username);
+            job.cached = true;
+            job.complete();
+            jobs.put(job.id, job);
+            return toDto(job);
+        }
+
+        synchronized (inFlight) {
+            Job running = inFlight.get(key);
+            if (running != null) {
+                running.viewers.add(username);
+                return toDto(running);
+            }
+
+            AtomicInteger active = activeByUser.computeIfAbsent(username, u -> new AtomicInteger());
+            if (active.incrementAndGet() > perUserLimit) {
+                active.decrementAndGet();
+                throw new IllegalStateException("Too many report jobs in progress, limit is " + perUserLimit);
+            }
+
+            // Registered before it can run, so a job that finishes at once still clears its in-flight entry
+            Job job = new Job(resolved, key, artifact, username);
+            jobs.put(job.id, job);
+            inFlight.put(key, job);
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.id);
+                inFlight.remove(key, job);
+                active.decrementAndGet();
+                throw new IllegalStateException("Report queue is full, try again later");
+            }
+            return toDto(job);
+        }
+    }
+
+    public ReportJobDto getJob(UUID id, String username) {
+        return toDto(requireJob(id, username));
+    }
+
+    public Artifact getArtifact(UUID id, String username) {
+        Job job = requireJob(id, username);
+        if (job.status != ReportJobStatus.COMPLETED) {
+            throw new IllegalStateException("Report job is " + job.status);
+        }
+        if (!Files.exists(job.artifact)) {
+            throw new IllegalStateException("Report artifact has expired, submit the job again");
+        }
+        ReportJobRequestDto request = job.request;
+        LocalDate date = request.getAsOfDate() != null ? request.getAsOfDate() : request.getEndDate();
+        String fileName = request.getReportType().getFileName() + "-" + date + "." + request.getFormat().getExtension();
+        return new Artifact(job.artifact, fileName, request.getFormat().getContentType());
+    }
+
+    public record Artifact(Path path, String fileName, String contentType) {}
+
+    /**
+     * Drops job records and cached artifacts older than the retention window.
+     */
+    @Scheduled(cron = "${app.reports.cache-cleanup-cron:0 15 * * * *}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            files.filter(file -> isOlderThan(file, cutoff)).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete cached report {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not list report cache {}: {}", cacheDirectory, e.getMessage());
+        }
+    }
+
+    private void run(Job job) {
+        job.status = ReportJobStatus.RUNNING;
+        Path partial = job.artifact.resolveSibling(job.artifact.getFileName() + "." + job.id + ".part");
+        String error = null;
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                render(job.request, out);
+            }
+            Files.move(partial, job.artifact, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            log.error("Report job {} ({}) failed", job.id, job.request.getReportType(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Left for the next cleanup run
+            }
+        } finally {
+            inFlight.remove(job.key, job);
+            activeByUser.get(job.username).decrementAndGet();
+        }
+        // Published only once the job has left inFlight, so a caller that sees it finished never gets it back from submit
+        if (error == null) {
+            job.complete();
+        } else {
+            job.fail(error);
+        }
+    }
+
+    private void render(ReportJobRequestDto request, OutputStream out) throws IOException {
+        ReportFormat format = request.getFormat();
+        switch (request.getReportType()) {
+            case BALANCE_SHEET -> renderFinancial(reportService.generateBalanceSheet(request.getAsOfDate()), format, out);
+            case INCOME_STATEMENT -> renderFinancial(
+                    reportService.generateIncomeStatement(request.getStartDate(), request.getEndDate()), format, out);
+            case TRIAL_BALANCE -> renderFinancial(reportService.generateTrialBalance(request.getAsOfDate()), format, out);
+            case RECEIVABLES_AGING -> renderAging(reportService.generateReceivablesAging(request.getAsOfDate(), false), format, out);
+            case PAYABLES_AGING -> renderAging(reportService.generatePayablesAging(request.getAsOfDate(), false), format, out);
+        }
+    }
+
+    private void renderFinancial(FinancialReportDto report, ReportFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case PDF -> reportExportService.writeFinancialReportPdf(report, out);
+            case EXCEL -> reportExportService.writeFinancialReportExcel(report, out);
+            case CSV -> reportExportService.writeFinancialReportCsv(report, out);
+        }
+    }
+
+    private void renderAging(AgingReportDto report, ReportFormat format, OutputStream out) throws IOException {
+        ReportExportService.AgingLines lines =
+                consumer -> reportService.streamAgingDetails(report.reportType(), report.reportDate(), consumer);
+        switch (format) {
+            case PDF -> reportExportService.writeAgingReportPdf(report, lines, out);
+            case EXCEL -> reportExportService.writeAgingReportExcel(report, lines, out);
+            case CSV -> reportExportService.writeAgingDetailsCsv(lines, out);
+        }
+    }
+
+    // Fills defaults and drops parameters the report does not use, so equivalent requests share a cache key
+    private ReportJobRequestDto resolve(ReportJobRequestDto request) {
+        if (request.getReportType() == null || request.getFormat() == null) {
+            throw new IllegalArgumentException("Report type and format are required");
+        }
+        if (request.getReportType() == ReportType.INCOME_STATEMENT) {
+            if (request.getStartDate() == null || request.getEndDate() == null) {
+                throw new IllegalArgumentException("Start date and end date are required for the income statement");
+            }
+            if (request.getStartDate().isAfter(request.getEndDate())) {
+                throw new IllegalArgumentException("Start date must not be after end date");
+            }
+            return new ReportJobRequestDto(request.getReportType(), request.getFormat(), null,
+                    request.getStartDate(), request.getEndDate());
+        }
+        LocalDate asOfDate = request.getAsOfDate() != null ? request.getAsOfDate() : LocalDate.now();
+        return new ReportJobRequestDto(request.getReportType(), request.getFormat(), asOfDate, null, null);
+    }
+
+    private static String cacheKey(ReportJobRequestDto request, long ledgerVersion) {
+        String source = String.join("|",
+                request.getReportType().name(),
+                request.getFormat().name(),
+                String.valueOf(request.getAsOfDate()),
+                String.valueOf(request.getStartDate()),
+                String.valueOf(request.getEndDate()),
+                String.valueOf(ledgerVersion));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Jobs of other users are reported as missing rather than forbidden, so job ids cannot be probed
+    private Job requireJob(UUID id, String username) {
+        Job job = jobs.get(id);
+        if (job == null || !job.viewers.contains(username)) {
+            throw new EntityNotFoundException("Report job " + id);
+        }
+        return job;
+    }
+
+    private static ReportJobDto toDto(Job job) {
+        return ReportJobDto.builder()
+                .id(job.id)
+                .reportType(job.request.getReportType())
+                .format(job.request.getFormat())
+                .status(job.status)
+                .cached(job.cached)
+                .requestedBy(job.username)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .error(job.error)
+                .downloadUrl(job.status == ReportJobStatus.COMPLETED ? "/api/v1/reports/jobs/" + job.id + "/download" : null)
+                .build();
+    }
+
+    private static final class Job {
+        private final UUID id = UUID.randomUUID();
+        private final ReportJobRequestDto request;
+        private final String key;
+        private final Path artifact;
+        private final String username;
+        // The submitter plus anyone whose identical request was attached to this job while it ran
+        private final Set<String> viewers = ConcurrentHashMap.newKeySet();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile boolean cached;
+        private volatile LocalDateTime completedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        Job(ReportJobRequestDto request, String key, Path artifact, String username) {
+            this.request = request;
+            this.key = key;
+            this.artifact = artifact;
+            this.username = username;
+            this.viewers.add(username);
+        }
+
+        void complete() {
+            completedAt = LocalDateTime.now();
+            finishedAt = Instant.now();
+            status = ReportJobStatus.COMPLETED;
+        }
+
+        void fail(String message) {
+            error = message;
+            finishedAt = Instant.now();
+            status = ReportJobStatus.FAILED;
+        }
+    }
+}
@@ -1,28 +1,23 @@
 package com.accounting.platform.report.service;
 
-import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.dto.AccountView;
 import com.accounting.platform.account.entity.AccountType;
-import com.accounting.platform.account.repository.AccountRepository;
-import com.accounting.platform.journal.entity.JournalEntryStatus;
-import com.accounting.platform.journal.repository.JournalEntryRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.journal.service.AccountBalanceService;
 import com.accounting.platform.report.dto.FinancialReportDto;
 import com.accounting.platform.report.dto.ReportLineDto;
 import com.accounting.platform.report.dto.AgingReportDto;
-import com.accounting.platform.invoice.entity.Invoice;
-import com.accounting.platform.invoice.entity.InvoiceStatus;
-import com.accounting.platform.invoice.repository.InvoiceRepository;
-import com.accounting.platform.expense.entity.Expense;
-import com.accounting.platform.expense.entity.ExpenseStatus;
-import com.accounting.platform.expense.repository.ExpenseRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.Tuple;
+import com.accounting.platform.report.dto.AgingBucket;
+import com.accounting.platform.report.repository.AgingReportRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,24 +25,46 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ReportService {
 
-    private final AccountRepository accountRepository;
-    private final JournalEntryRepository journalEntryRepository;
-    private final EntityManager entityManager;
-    private final InvoiceRepository invoiceRepository;
-    private final ExpenseRepository expenseRepository;
+    private final ChartOfAccountsRegistry chartOfAccountsRegistry;
+    private final AccountBalanceService accountBalanceService;
+    private final AgingReportRepository agingReportRepository;
+    private final ReportCacheService reportCacheService;
+
+    @Value("${app.reports.aging.detail-limit:1000}")
+    private int agingDetailLimit;
 
     public FinancialReportDto generateBalanceSheet(LocalDate asOfDate) {
-        // 1. Fetch Balances for all ASSET, LIABILITY, EQUITY accounts
+        return reportCacheService.getOrCompute(ReportCacheKey.asOf("BALANCE_SHEET", asOfDate),
+                () -> buildBalanceSheet(asOfDate));
+    }
+
+    public FinancialReportDto generateIncomeStatement(LocalDate startDate, LocalDate endDate) {
+        return reportCacheService.getOrCompute(ReportCacheKey.period("INCOME_STATEMENT", startDate, endDate),
+                () -> buildIncomeStatement(startDate, endDate));
+    }
+
+    public FinancialReportDto generateTrialBalance(LocalDate asOfDate) {
+        return reportCacheService.getOrCompute(ReportCacheKey.asOf("TRIAL_BALANCE", asOfDate),
+                () -> buildTrialBalance(asOfDate));
+    }
+
+    private FinancialReportDto buildBalanceSheet(LocalDate asOfDate) {
+        // 1. One grouped aggregate: (Debit - Credit) per account for everything posted up to asOfDate
         Map<UUID, BigDecimal> balances = getBalancesAsOf(asOfDate);
-        List<Account> accounts = accountRepository.findAll();
+        ChartIndex chart = indexChart(chartOfAccountsRegistry.getAll());
 
-        // 2. Calculate Retained Earnings (Revenue - Expense) for all time up to asOfDate
-        BigDecimal retainedEarnings = calculateNetIncome(LocalDate.of(1970, 1, 1), asOfDate);
+        // 2. Fold the same balances into per-type totals.
+        // Retained Earnings (Revenue - Expense for all time up to asOfDate) is the (Credit - Debit)
+        // total of the P&L accounts, so no second ledger aggregate is needed.
+        Map<AccountType, BigDecimal> typeTotals = totalsByType(balances, chart);
+        BigDecimal retainedEarnings = typeTotals.get(AccountType.REVENUE)
+                .add(typeTotals.get(AccountType.EXPENSE))
+                .negate();
 
         // 3. Build Tree
-        List<ReportLineDto> assets = buildSection(accounts, balances, AccountType.ASSET);
-        List<ReportLineDto> liabilities = buildSection(accounts, balances, AccountType.LIABILITY);
-        List<ReportLineDto> equity = buildSection(accounts, balances, AccountType.EQUITY);
+        List<ReportLineDto> assets = buildSection(chart.ofType(AccountType.ASSET), balances, AccountType.ASSET);
+        List<ReportLineDto> liabilities = buildSection(chart.ofType(AccountType.LIABILITY), balances, AccountType.LIABILITY);
+        List<ReportLineDto> equity = buildSection(chart.ofType(AccountType.EQUITY), balances, AccountType.EQUITY);
 
         // Add Retained Earnings to Equity
         equity.add(ReportLineDto.builder()
@@ -55,9 +72,10 @@ public class ReportService {
                 .balance(retainedEarnings)
                 .build());
 
-        BigDecimal totalAssets = sumLines(assets);
-        BigDecimal totalLiabilities = sumLines(liabilities);
-        BigDecimal totalEquity = sumLines(equity);
+        // Liabilities and Equity carry credit balances, shown as positive numbers
+        BigDecimal totalAssets = typeTotals.get(AccountType.ASSET);
+        BigDecimal totalLiabilities = typeTotals.get(AccountType.LIABILITY).negate();
+        BigDecimal totalEquity = typeTotals.get(AccountType.EQUITY).negate().add(retainedEarnings);
 
         Map<String, List<ReportLineDto>> sections = new LinkedHashMap<>();
         sections.put("Assets", assets);
@@ -78,14 +96,14 @@ public class ReportService {
                 .build();
     }
 
-    public FinancialReportDto generateIncomeStatement(LocalDate startDate, LocalDate endDate) {
+    private FinancialReportDto buildIncomeStatement(LocalDate startDate, LocalDate endDate) {
         // 1. Fetch Revenue and Expense balances for the period
         Map<UUID, BigDecimal> periodBalances = getBalancesForPeriod(startDate, endDate);
-        List<Account> accounts = accountRepository.findAll();
+        ChartIndex chart = indexChart(chartOfAccountsRegistry.getAll());
 
         // 2. Build Sections
-        List<ReportLineDto> revenue = buildSection(accounts, periodBalances, AccountType.REVENUE);
-        List<ReportLineDto> expense = buildSection(accounts, periodBalances, AccountType.EXPENSE);
+        List<ReportLineDto> revenue = buildSection(chart.ofType(AccountType.REVENUE), periodBalances, AccountType.REVENUE);
+        List<ReportLineDto> expense = buildSection(chart.ofType(AccountType.EXPENSE), periodBalances, AccountType.EXPENSE);
 
         BigDecimal totalRevenue = sumLines(revenue);
         BigDecimal totalExpense = sumLines(expense);
@@ -109,21 +127,21 @@ public class ReportService {
                 .build();
     }
 
-    public FinancialReportDto generateTrialBalance(LocalDate asOfDate) {
+    private FinancialReportDto buildTrialBalance(LocalDate asOfDate) {
         Map<UUID, BigDecimal> balances = getBalancesAsOf(asOfDate);
-        List<Account> accounts = accountRepository.findAll();
+        List<AccountView> accounts = chartOfAccountsRegistry.getAll();
 
         List<ReportLineDto> lines = new ArrayList<>();
         BigDecimal totalDebit = BigDecimal.ZERO;
         BigDecimal totalCredit = BigDecimal.ZERO;
 
-        for (Account account : accounts) {
-            BigDecimal balance = balances.getOrDefault(account.getId(), BigDecimal.ZERO);
+        for (AccountView account : accounts) {
+            BigDecimal balance = balances.getOrDefault(account.id(), BigDecimal.ZERO);
             if (balance.compareTo(BigDecimal.ZERO) == 0) continue;
 
             lines.add(ReportLineDto.builder()
-                    .accountName(account.getName())
-                    .accountCode(account.getCode())
+                    .accountName(account.name())
+                    .accountCode(account.code())
                     .balance(balance)
                     .build());
 
@@ -154,94 +172,53 @@ public class ReportService {
     }
 
     private Map<UUID, BigDecimal> getBalancesAsOf(LocalDate date) {
-        // Sum (Debit - Credit) for all lines up to date where Journal Status = POSTED
-        String sql = """
-            SELECT l.account_id, SUM(l.debit - l.credit) as balance
-            FROM journal_entry_lines l
-            JOIN journal_entries h ON l.journal_entry_id = h.id
-            WHERE h.status = 'POSTED' AND h.entry_date <= :date
-            GROUP BY l.account_id
-        """;
-
-        List<Tuple> results = entityManager.createNativeQuery(sql, Tuple.class)
-                .setParameter("date", date)
-                .getResultList();
+        // Sum (Debit - Credit) for all POSTED activity up to date, read from the daily balance snapshot
+        return accountBalanceService.getNetBalancesAsOf(date);
+    }
 
+    private Map<UUID, BigDecimal> getBalancesForPeriod(LocalDate start, LocalDate end) {
+        // Sum (Credit - Debit) for the period so that valid Revenues are positive.
+        // The snapshot stores (Debit - Credit), so flip the sign here.
         Map<UUID, BigDecimal> balances = new HashMap<>();
-        for (Tuple t : results) {
-            balances.put((UUID) t.get("account_id"), (BigDecimal) t.get("balance"));
-        }
+        accountBalanceService.getNetMovementsForPeriod(start, end)
+                .forEach((accountId, net) -> balances.put(accountId, net.negate()));
         return balances;
     }
 
-    private Map<UUID, BigDecimal> getBalancesForPeriod(LocalDate start, LocalDate end) {
-        // Sum (Credit - Debit) for Revenue/Equity/Liab (Normal Credit)
-        // BUT wait, to keep it consistent, let's just do (Debit - Credit) and flip sign based on account type later if needed.
-        // Usually Income Statement: Revenue is Credit (+), Expense is Debit (+).
-        // Let's retrieve raw (Credit - Debit) for P&L accounts so valid Revenues are positive.
-
-        String sql = """
-            SELECT l.account_id, SUM(l.credit - l.debit) as balance
-            FROM journal_entry_lines l
-            JOIN journal_entries h ON l.journal_entry_id = h.id
-            WHERE h.status = 'POSTED' AND h.entry_date BETWEEN :start AND :end
-            GROUP BY l.account_id
-        """;
-
-        List<Tuple> results = entityManager.createNativeQuery(sql, Tuple.class)
-                .setParameter("start", start)
-                .setParameter("end", end)
-                .getResultList();
-
-        Map<UUID, BigDecimal> balances = new HashMap<>();
-        for (Tuple t : results) {
-            balances.put((UUID) t.get("account_id"), (BigDecimal) t.get("balance"));
+    private record ChartIndex(Map<UUID, AccountView> byId, Map<AccountType, List<AccountView>> byType) {
+        List<AccountView> ofType(AccountType type) {
+            return byType.getOrDefault(type, List.of());
         }
-        return balances;
     }
 
-    private BigDecimal calculateNetIncome(LocalDate start, LocalDate end) {
-        // Revenue - Expenses
-        Map<UUID, BigDecimal> balances = getBalancesForPeriod(start, end);
-        List<Account> accounts = accountRepository.findAll();
-
-        BigDecimal revenue = BigDecimal.ZERO;
-        BigDecimal expense = BigDecimal.ZERO;
-
-        for (Account a : accounts) {
-            BigDecimal bal = balances.getOrDefault(a.getId(), BigDecimal.ZERO);
-            if (a.getType() == AccountType.REVENUE) {
-                revenue = revenue.add(bal);
-            } else if (a.getType() == AccountType.EXPENSE) {
-                // Initial query was Credit - Debit. Expense normal matches Debit.
-                // So Expense account which has high Debits will be NEGATIVE in (Credit - Debit).
-                // Example: Debit 100. Query result: -100.
-                // We want to subtract Expenses.
-                // Net Income = Revenue - Expense.
-                // If query returns -100 for expense. Revenue 500.
-                // Total Sum (Credit-Debit) across all P&L accounts = 500 + (-100) = 400.
-                // So actually, just summing the raw (Credit-Debit) results for all Revenue and Expense accounts gives Net Income.
-                if (a.getType() == AccountType.REVENUE || a.getType() == AccountType.EXPENSE) {
-                    // Just accumulate
-                }
-            }
+    private ChartIndex indexChart(List<AccountView> accounts) {
+        Map<UUID, AccountView> byId = new HashMap<>(accounts.size() * 2);
+        Map<AccountType, List<AccountView>> byType = new EnumMap<>(AccountType.class);
+        for (AccountView account : accounts) {
+            byId.put(account.id(), account);
+            byType.computeIfAbsent(account.type(), t -> new ArrayList<>()).add(account);
         }
+        return new ChartIndex(byId, byType);
+    }
 
-        // Simpler: Just sum all P&L account balances from that query
-        return balances.entrySet().stream()
-                .filter(e -> {
-                    Account a = getAccount(accounts, e.getKey());
-                    return a != null && (a.getType() == AccountType.REVENUE || a.getType() == AccountType.EXPENSE);
-                })
-                .map(Map.Entry::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Map<AccountType, BigDecimal> totalsByType(Map<UUID, BigDecimal> balances, ChartIndex chart) {
+        Map<AccountType, BigDecimal> totals = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            totals.put(type, BigDecimal.ZERO);
+        }
+        balances.forEach((accountId, balance) -> {
+            AccountView account = chart.byId().get(accountId);
+            if (account != null) {
+                totals.merge(account.type(), balance, BigDecimal::add);
+            }
+        });
+        return totals;
     }
 
-    private List<ReportLineDto> buildSection(List<Account> allAccounts, Map<UUID, BigDecimal> balances, AccountType type) {
-        return allAccounts.stream()
-                .filter(a -> a.getType() == type)
+    private List<ReportLineDto> buildSection(List<AccountView> accountsOfType, Map<UUID, BigDecimal> balances, AccountType type) {
+        return accountsOfType.stream()
                 .map(a -> {
-                    BigDecimal rawBal = balances.getOrDefault(a.getId(), BigDecimal.ZERO);
+                    BigDecimal rawBal = balances.getOrDefault(a.id(), BigDecimal.ZERO);
                     // Normalization
                     // Asset/Expense: want positive if Debit > Credit.
                     // Liab/Equity/Revenue: want positive if Credit > Debit.
@@ -276,8 +253,8 @@ public class ReportService {
                     if (displayBal.compareTo(BigDecimal.ZERO) == 0) return null;
 
                     return ReportLineDto.builder()
-                            .accountName(a.getName())
-                            .accountCode(a.getCode())
+                            .accountName(a.name())
+                            .accountCode(a.code())
                             .balance(displayBal)
                             .build();
                 })
@@ -285,10 +262,6 @@ public class ReportService {
                 .collect(Collectors.toList());
     }
 
-    private Account getAccount(List<Account> accounts, UUID id) {
-        return accounts.stream().filter(a -> a.getId().equals(id)).findFirst().orElse(null);
-    }
-
     private BigDecimal sumLines(List<ReportLineDto> lines) {
         return lines.stream()
                 .map(ReportLineDto::getBalance)
@@ -298,123 +271,109 @@ public class ReportService {
     // ==================== AGING REPORTS ====================
 
     public AgingReportDto generateReceivablesAging(LocalDate asOfDate) {
-        // Get all unpaid invoices (SENT, APPROVED, PARTIALLY_PAID, OVERDUE)
-        List<Invoice> unpaidInvoices = invoiceRepository.findAll().stream()
-            .filter(i -> i.getStatus() != InvoiceStatus.PAID &&
-                         i.getStatus() != InvoiceStatus.VOID &&
-                         i.getStatus() != InvoiceStatus.DRAFT)
-            .filter(i -> !i.getDueDate().isAfter(asOfDate.plusDays(365))) // reasonable filter
-            .toList();
+        return generateReceivablesAging(asOfDate, true);
+    }
 
-        return buildAgingReport("RECEIVABLES", asOfDate, unpaidInvoices.stream()
-            .map(inv -> new AgingItem(
-                inv.getContact().getId().toString(),
-                inv.getContact().getName(),
-                inv.getInvoiceNumber(),
-                inv.getIssueDate(),
-                inv.getDueDate(),
-                inv.getTotalAmount().subtract(inv.getAmountPaid() != null ? inv.getAmountPaid() : BigDecimal.ZERO),
-                inv.getCurrency()
-            ))
-            .toList());
+    public AgingReportDto generateReceivablesAging(LocalDate asOfDate, boolean includeDetails) {
+        // Open invoices (SENT, OVERDUE, ...) are filtered, netted and bucketed in the database
+        return buildAgingReport(AgingReportRepository.Source.RECEIVABLES, asOfDate, includeDetails);
     }
 
     public AgingReportDto generatePayablesAging(LocalDate asOfDate) {
-        // Get all unpaid expenses (APPROVED, not PAID, not VOID)
-        List<Expense> unpaidExpenses = expenseRepository.findAll().stream()
-            .filter(e -> e.getStatus() == ExpenseStatus.APPROVED)
-            .filter(e -> e.getDueDate() == null || !e.getDueDate().isAfter(asOfDate.plusDays(365)))
-            .toList();
+        return generatePayablesAging(asOfDate, true);
+    }
 
-        return buildAgingReport("PAYABLES", asOfDate, unpaidExpenses.stream()
-            .map(exp -> new AgingItem(
-                exp.getVendor().getId().toString(),
-                exp.getVendor().getName(),
-                exp.getReferenceNumber() != null ? exp.getReferenceNumber() : "EXP-" + exp.getId().toString().substring(0, 8),
-                exp.getDate(),
-                exp.getDueDate() != null ? exp.getDueDate() : exp.getDate().plusDays(30),
-                exp.getTotalAmount(),
-                exp.getCurrency()
-            ))
-            .toList());
+    public AgingReportDto generatePayablesAging(LocalDate asOfDate, boolean includeDetails) {
+        // Unpaid expenses (APPROVED, not PAID, not VOID)
+        return buildAgingReport(AgingReportRepository.Source.PAYABLES, asOfDate, includeDetails);
     }
 
-    private record AgingItem(
-        String contactId,
-        String contactName,
-        String documentNumber,
-        LocalDate documentDate,
-        LocalDate dueDate,
-        BigDecimal amount,
-        String currency
-    ) {}
-
-    private AgingReportDto buildAgingReport(String reportType, LocalDate asOfDate, List<AgingItem> items) {
-        // Define aging buckets
-        List<BucketDef> bucketDefs = List.of(
-            new BucketDef("Current", Integer.MIN_VALUE, 0),
-            new BucketDef("1-30 Days", 1, 30),
-            new BucketDef("31-60 Days", 31, 60),
-            new BucketDef("61-90 Days", 61, 90),
-            new BucketDef("90+ Days", 91, Integer.MAX_VALUE)
-        );
+    /**
+     * Streams every open document of an aging report, in bucket order, without holding them in memory.
+     */
+    public void streamAgingDetails(String reportType, LocalDate asOfDate, Consumer<AgingReportDto.AgingLineDto> consumer) {
+        agingReportRepository.streamDetails(AgingReportRepository.Source.valueOf(reportType), asOfDate, null, consumer);
+    }
 
-        List<AgingReportDto.AgingBucketDto> buckets = new ArrayList<>();
-        BigDecimal totalOutstanding = BigDecimal.ZERO;
-        int totalCount = 0;
+    private AgingReportDto buildAgingReport(AgingReportRepository.Source source, LocalDate asOfDate, boolean includeDetails) {
+        List<AgingReportRepository.ContactBucketTotal> totals = agingReportRepository.summarize(source, asOfDate);
+
+        int bucketCount = AgingBucket.values().length;
+        BigDecimal[] bucketAmounts = new BigDecimal[bucketCount];
+        int[] bucketCounts = new int[bucketCount];
+        Arrays.fill(bucketAmounts, BigDecimal.ZERO);
+        Map<UUID, ContactTotals> byContact = new LinkedHashMap<>();
+
+        for (AgingReportRepository.ContactBucketTotal total : totals) {
+            int bucket = total.bucket().ordinal();
+            bucketAmounts[bucket] = bucketAmounts[bucket].add(total.amount());
+            bucketCounts[bucket] += total.count();
+            byContact.computeIfAbsent(total.contactId(), id -> new ContactTotals(total.contactName(), bucketCount))
+                    .add(bucket, total.amount(), total.count());
+        }
 
-        for (BucketDef def : bucketDefs) {
-            List<AgingReportDto.AgingLineDto> details = new ArrayList<>();
-            BigDecimal bucketAmount = BigDecimal.ZERO;
-
-            for (AgingItem item : items) {
-                long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(item.dueDate(), asOfDate);
-
-                boolean inBucket;
-                if (def.start() == Integer.MIN_VALUE) {
-                    inBucket = daysOverdue <= def.end();
-                } else if (def.end() == Integer.MAX_VALUE) {
-                    inBucket = daysOverdue >= def.start();
-                } else {
-                    inBucket = daysOverdue >= def.start() && daysOverdue <= def.end();
-                }
-
-                if (inBucket) {
-                    details.add(new AgingReportDto.AgingLineDto(
-                        item.contactId(),
-                        item.contactName(),
-                        item.documentNumber(),
-                        item.documentDate(),
-                        item.dueDate(),
-                        (int) daysOverdue,
-                        item.amount(),
-                        item.currency()
-                    ));
-                    bucketAmount = bucketAmount.add(item.amount());
-                }
-            }
+        // Detail rows are capped per bucket; amounts and counts above always cover every document
+        List<List<AgingReportDto.AgingLineDto>> details = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            details.add(new ArrayList<>());
+        }
+        if (includeDetails) {
+            agingReportRepository.streamDetails(source, asOfDate, agingDetailLimit,
+                    line -> details.get(AgingBucket.of(line.daysOverdue()).ordinal()).add(line));
+        }
 
+        List<AgingReportDto.AgingBucketDto> buckets = new ArrayList<>(bucketCount);
+        BigDecimal totalOutstanding = BigDecimal.ZERO;
+        int totalCount = 0;
+        for (AgingBucket bucket : AgingBucket.values()) {
+            int i = bucket.ordinal();
             buckets.add(new AgingReportDto.AgingBucketDto(
-                def.label(),
-                def.start() == Integer.MIN_VALUE ? 0 : def.start(),
-                def.end() == Integer.MAX_VALUE ? 999 : def.end(),
-                bucketAmount,
-                details.size(),
-                details
+                bucket.getLabel(),
+                bucket.getDaysStart(),
+                bucket.getDaysEnd(),
+                bucketAmounts[i],
+                bucketCounts[i],
+                details.get(i)
             ));
-
-            totalOutstanding = totalOutstanding.add(bucketAmount);
-            totalCount += details.size();
+            totalOutstanding = totalOutstanding.add(bucketAmounts[i]);
+            totalCount += bucketCounts[i];
         }
 
+        List<AgingReportDto.AgingContactDto> contacts = byContact.entrySet().stream()
+            .map(e -> e.getValue().toDto(e.getKey()))
+            .sorted(Comparator.comparing(AgingReportDto.AgingContactDto::contactName, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+
         return new AgingReportDto(
-            reportType,
+            source.name(),
             asOfDate,
             buckets,
+            contacts,
             totalOutstanding,
             totalCount
         );
     }
 
-    private record BucketDef(String label, int start, int end) {}
+    private static final class ContactTotals {
+        private final String name;
+        private final BigDecimal[] amounts;
+        private BigDecimal total = BigDecimal.ZERO;
+        private int count;
+
+        ContactTotals(String name, int bucketCount) {
+            this.name = name;
+            this.amounts = new BigDecimal[bucketCount];
+            Arrays.fill(amounts, BigDecimal.ZERO);
+        }
+
+        void add(int bucket, BigDecimal amount, int documents) {
+            amounts[bucket] = amounts[bucket].add(amount);
+            total = total.add(amount);
+            count += documents;
+        }
+
+        AgingReportDto.AgingContactDto toDto(UUID contactId) {
+            return new AgingReportDto.AgingContactDto(contactId.toString(), name, List.of(amounts), total, count);
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.accounting.platform.search.controller;
+
+import com.accounting.platform.common.dto.ApiResponse;
+import com.accounting.platform.search.dto.SearchResultDto;
+import com.accounting.platform.search.dto.SearchResultType;
+import com.accounting.platform.search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchResultDto>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) List<SearchResultType> type,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(searchService.search(query, type, limit)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.accounting.platform.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+    private SearchResultType type;
+    private UUID id;
+    // Document number, contact name or journal reference
+    private String title;
+    private String subtitle;
+    private LocalDate date;
+    private BigDecimal amount;
+    // Higher is better; only comparable within one response
+    private double score;
+}
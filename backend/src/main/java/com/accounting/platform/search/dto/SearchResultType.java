@@ -0,0 +1,8 @@
+package com.accounting.platform.search.dto;
+
+public enum SearchResultType {
+    INVOICE,
+    EXPENSE,
+    CONTACT,
+    JOURNAL_ENTRY
+}
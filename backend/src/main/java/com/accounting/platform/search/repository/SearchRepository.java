@@ -0,0 +1,126 @@
+package com.accounting.platform.search.repository;
+
+import com.accounting.platform.search.dto.SearchResultDto;
+import com.accounting.platform.search.dto.SearchResultType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Substring search across invoices, expenses, contacts and journal entries in one round trip.
+ * Every source is its own ranked, limited branch of a UNION ALL that matches only its own columns with
+ * {@code lower(col) LIKE '%term%'}, which PostgreSQL answers from the pg_trgm GIN indexes on those
+ * expressions; no branch joins another table to match, so none of them falls back to a sequential scan.
+ * Branches are ranked with {@code word_similarity} where pg_trgm is available (PostgreSQL), and by exact
+ * versus partial match elsewhere (H2 in tests).
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    private static final List<Source> SOURCES = List.of(
+            new Source(SearchResultType.INVOICE, """
+                    i.id, i.invoice_number AS title, c.name AS subtitle, i.issue_date AS doc_date, i.total_amount AS amount
+                    FROM invoices i JOIN contacts c ON c.id = i.contact_id
+                    """, List.of("i.invoice_number", "i.reference")),
+            new Source(SearchResultType.EXPENSE, """
+                    e.id, e.reference_number AS title, c.name AS subtitle, e.date AS doc_date, e.total_amount AS amount
+                    FROM expenses e JOIN contacts c ON c.id = e.vendor_id
+                    """, List.of("e.reference_number", "e.notes")),
+            new Source(SearchResultType.CONTACT, """
+                    c.id, c.name AS title, c.email AS subtitle, CAST(NULL AS DATE) AS doc_date, CAST(NULL AS NUMERIC) AS amount
+                    FROM contacts c
+                    """, List.of("c.name", "c.email")),
+            new Source(SearchResultType.JOURNAL_ENTRY, """
+                    j.id, j.reference_number AS title, j.description AS subtitle, j.entry_date AS doc_date, CAST(NULL AS NUMERIC) AS amount
+                    FROM journal_entries j
+                    """, List.of("j.reference_number", "j.description")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean trigramAvailable;
+
+    /**
+     * Best matches for {@code term} across the given sources, at most {@code limit} in total.
+     */
+    public List<SearchResultDto> search(String term, Collection<SearchResultType> types, int limit) {
+        String lowered = term.toLowerCase(Locale.ROOT);
+        String pattern = "%" + escapeLike(lowered) + "%";
+        boolean trigram = trigramAvailable();
+
+        List<String> branches = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        for (Source source : SOURCES) {
+            if (!types.contains(source.type())) {
+                continue;
+            }
+            branches.add("(SELECT '" + source.type().name() + "' AS type, " + score(source.columns(), trigram) + " AS score, "
+                    + source.select()
+                    + " WHERE " + source.columns().stream().map(column -> "lower(" + column + ") LIKE ? ESCAPE '\\'")
+                            .collect(Collectors.joining(" OR "))
+                    + " ORDER BY score DESC LIMIT ?)");
+            source.columns().forEach(column -> params.add(lowered));
+            source.columns().forEach(column -> params.add(pattern));
+            params.add(limit);
+        }
+        if (branches.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT * FROM (" + String.join(" UNION ALL ", branches) + ") r ORDER BY score DESC, title LIMIT ?";
+        params.add(limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toDto(rs), params.toArray());
+    }
+
+    // One bound parameter per column in both forms, so the parameter list does not depend on the database
+    private static String score(List<String> columns, boolean trigram) {
+        if (trigram) {
+            return "GREATEST(" + columns.stream()
+                    .map(column -> "word_similarity(?, lower(COALESCE(" + column + ", '')))")
+                    .collect(Collectors.joining(", ")) + ")";
+        }
+        return "CASE WHEN " + columns.stream().map(column -> "lower(" + column + ") = ?").collect(Collectors.joining(" OR "))
+                + " THEN 1.0 ELSE 0.5 END";
+    }
+
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private boolean trigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            available = "PostgreSQL".equals(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+            trigramAvailable = available;
+        }
+        return available;
+    }
+
+    private static SearchResultDto toDto(ResultSet rs) throws SQLException {
+        return SearchResultDto.builder()
+                .type(SearchResultType.valueOf(rs.getString("type").trim()))
+                .id(rs.getObject("id", UUID.class))
+                .title(rs.getString("title"))
+                .subtitle(rs.getString("subtitle"))
+                .date(rs.getObject("doc_date", LocalDate.class))
+                .amount(rs.getBigDecimal("amount"))
+                .score(rs.getDouble("score"))
+                .build();
+    }
+
+    // select: the id, title, subtitle, doc_date and amount columns followed by the FROM clause
+    private record Source(SearchResultType type, String select, List<String> columns) {}
+}
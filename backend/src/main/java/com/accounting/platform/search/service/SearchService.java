@@ -0,0 +1,44 @@
+package com.accounting.platform.search.service;
+
+import com.accounting.platform.search.dto.SearchResultDto;
+import com.accounting.platform.search.dto.SearchResultType;
+import com.accounting.platform.search.repository.SearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Global search box: ranked matches across invoices, expenses, contacts and journal entries.
+ * Terms shorter than the minimum length return nothing, since they have no trigram to look up and would
+ * scan every row on each keystroke.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchRepository searchRepository;
+
+    @Value("${app.search.min-term-length:3}")
+    private int minTermLength;
+
+    @Transactional(readOnly = true)
+    public List<SearchResultDto> search(String query, Collection<SearchResultType> types, Integer limit) {
+        String term = query == null ? "" : query.strip();
+        if (term.length() < minTermLength) {
+            return List.of();
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Collection<SearchResultType> sources = types == null || types.isEmpty()
+                ? EnumSet.allOf(SearchResultType.class)
+                : EnumSet.copyOf(types);
+        return searchRepository.search(term, sources, size);
+    }
+}
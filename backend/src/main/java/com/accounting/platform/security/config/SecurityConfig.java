@@ -2,6 +2,7 @@ package com.accounting.platform.security.config;
 
 import com.accounting.platform.security.filter.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,10 +35,17 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(req -> req
+                        // Streamed responses resume on an async dispatch; the request was authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Health checks only; metrics, Prometheus scraping and info need an admin bearer token
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Portal endpoints - require CLIENT role
                         .requestMatchers("/api/v1/portal/**").hasRole("CLIENT")
+                        // Audit trail - admins and auditors only
+                        .requestMatchers("/api/v1/audit-logs/**").hasAnyRole("ADMIN", "AUDITOR")
                         // Admin endpoints - require USER or ADMIN role (staff)
                         .requestMatchers("/api/v1/**").hasAnyRole("USER", "ADMIN", "AUDITOR")
                         .anyRequest().authenticated()
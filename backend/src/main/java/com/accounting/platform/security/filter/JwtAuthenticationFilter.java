@@ -23,6 +23,9 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource cannot set headers, so the notification stream authenticates with a stream ticket in the URL
+    private static final String STREAM_PATH = "/api/v1/notifications/stream";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
 
@@ -34,14 +37,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final boolean ticket;
         final String userEmail;
-        if (authHeader == null ||!authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwt = authHeader.substring(7);
+            ticket = false;
+        } else if (STREAM_PATH.equals(request.getServletPath()) && request.getParameter("ticket") != null) {
+            jwt = request.getParameter("ticket");
+            ticket = true;
+        } else {
             filterChain.doFilter(request, response);
             return;
         }
-        jwt = authHeader.substring(7);
         try {
             userEmail = jwtTokenProvider.extractUsername(jwt);
+            // Stream tickets are accepted only in the stream URL, and only stream tickets are accepted there
+            if (jwtTokenProvider.isStreamTicket(jwt) != ticket) {
+                log.warn("{} rejected for {}", ticket ? "Access token in URL" : "Stream ticket", request.getServletPath());
+                filterChain.doFilter(request, response);
+                return;
+            }
         } catch (Exception e) {
             // Token is invalid/expired/signature mismatch
             log.warn("Invalid JWT token: {}", e.getMessage());
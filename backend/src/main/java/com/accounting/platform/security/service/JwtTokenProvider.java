@@ -17,6 +17,9 @@ import java.util.function.Function;
 @Service
 public class JwtTokenProvider {
 
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_TICKET_PURPOSE = "notification-stream";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -26,6 +29,9 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshExpiration;
 
+    @Value("${jwt.stream-ticket-expiration:30000}")
+    private long streamTicketExpiration;
+
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put("role", userDetails.getAuthorities().iterator().next().getAuthority());
@@ -38,6 +44,18 @@ public class JwtTokenProvider {
         return generateToken(extraClaims, userDetails, refreshExpiration);
     }
 
+    /**
+     * A short-lived token that only opens the notification stream. EventSource cannot send headers, so
+     * the ticket travels in the URL; it is useless as a bearer token and expires within seconds.
+     */
+    public String generateStreamTicket(UserDetails userDetails) {
+        return generateToken(Map.of(PURPOSE_CLAIM, STREAM_TICKET_PURPOSE), userDetails, streamTicketExpiration);
+    }
+
+    public boolean isStreamTicket(String token) {
+        return STREAM_TICKET_PURPOSE.equals(extractClaim(token, claims -> claims.get(PURPOSE_CLAIM, String.class)));
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
         return Jwts.builder()
                 .claims(extraClaims)
@@ -0,0 +1,11 @@
+package com.accounting.platform.sequence.entity;
+
+/**
+ * Numbered document types; each has a row of the same name in document_sequences.
+ */
+public enum DocumentSequence {
+    INVOICE,
+    EXPENSE,
+    JOURNAL_ENTRY,
+    PAYMENT
+}
@@ -0,0 +1,52 @@
+package com.accounting.platform.sequence.repository;
+
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class DocumentSequenceRepository {
+
+    // The UPDATE takes the row lock, which is held until the surrounding transaction ends
+    private static final String RESERVE = """
+            UPDATE document_sequences
+            SET next_value = next_value + ?, updated_at = now()
+            WHERE name = ?
+            RETURNING next_value - ? AS first_value, prefix, padding, gap_free
+            """;
+
+    private static final String FIND = """
+            SELECT prefix, padding, gap_free FROM document_sequences WHERE name = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Definition(String prefix, int padding, boolean gapFree) {}
+
+    public record Range(long first, long last, Definition definition) {}
+
+    public Definition find(DocumentSequence sequence) {
+        return jdbcTemplate.query(FIND, rs -> {
+            if (!rs.next()) {
+                throw new IllegalStateException("Document sequence not configured: " + sequence);
+            }
+            return new Definition(rs.getString("prefix"), rs.getInt("padding"), rs.getBoolean("gap_free"));
+        }, sequence.name());
+    }
+
+    /**
+     * Advances the sequence by {@code count} and returns the values handed out.
+     */
+    public Range reserve(DocumentSequence sequence, int count) {
+        return jdbcTemplate.query(RESERVE, rs -> {
+            if (!rs.next()) {
+                throw new IllegalStateException("Document sequence not configured: " + sequence);
+            }
+            long first = rs.getLong("first_value");
+            Definition definition = new Definition(rs.getString("prefix"), rs.getInt("padding"), rs.getBoolean("gap_free"));
+            return new Range(first, first + count - 1, definition);
+        }, count, sequence.name(), count);
+    }
+}
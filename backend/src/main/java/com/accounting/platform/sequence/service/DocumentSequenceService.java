@@ -0,0 +1,117 @@
+package com.accounting.platform.sequence.service;
+
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.repository.DocumentSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Hands out document numbers such as invoice, expense and journal entry references.
+ * <p>
+ * Most sequences are served from blocks reserved in a separate short transaction and held in memory,
+ * so a node touches the database once per block rather than once per document. Numbers left in a block
+ * when the node stops are never used, so these sequences are unique and increasing but may have gaps.
+ * <p>
+ * Sequences flagged gap-free are advanced under a row lock inside the caller's transaction instead:
+ * a rollback returns the number, at the cost of serializing concurrent creates of that document type.
+ */
+@Service
+@Slf4j
+public class DocumentSequenceService {
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+    private final TransactionTemplate requiresNew;
+    private final Map<DocumentSequence, Block> blocks = new EnumMap<>(DocumentSequence.class);
+
+    @Value("${app.sequences.block-size:50}")
+    private int blockSize;
+
+    public DocumentSequenceService(DocumentSequenceRepository documentSequenceRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.documentSequenceRepository = documentSequenceRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (DocumentSequence sequence : DocumentSequence.values()) {
+            blocks.put(sequence, new Block());
+        }
+    }
+
+    public String next(DocumentSequence sequence) {
+        Block block = blocks.get(sequence);
+        DocumentSequenceRepository.Definition definition;
+        synchronized (block) {
+            if (block.definition == null) {
+                block.definition = documentSequenceRepository.find(sequence);
+            }
+            definition = block.definition;
+            if (!definition.gapFree()) {
+                if (block.next > block.last) {
+                    DocumentSequenceRepository.Range range = requiresNew.execute(status ->
+                            documentSequenceRepository.reserve(sequence, blockSize));
+                    block.next = range.first();
+                    block.last = range.last();
+                    block.definition = range.definition();
+                    log.debug("Reserved {} numbers {}..{}", sequence, range.first(), range.last());
+                }
+                return format(block.definition, block.next++);
+            }
+        }
+        return nextGapFree(sequence);
+    }
+
+    /**
+     * Whether {@code value} has the sequence's format (its prefix followed by digits), i.e. is a number this
+     * service has handed out or may hand out later. Callers accepting user-supplied numbers reject these.
+     */
+    public boolean matchesFormat(DocumentSequence sequence, String value) {
+        return formatMatcher(sequence).test(value);
+    }
+
+    /**
+     * {@link #matchesFormat} for checking many values, e.g. every row of an import: the sequence's prefix
+     * is read once, when the matcher is created.
+     */
+    public Predicate<String> formatMatcher(DocumentSequence sequence) {
+        Block block = blocks.get(sequence);
+        String prefix;
+        synchronized (block) {
+            if (block.definition == null) {
+                block.definition = documentSequenceRepository.find(sequence);
+            }
+            prefix = block.definition.prefix();
+        }
+        return value -> value != null
+                && value.startsWith(prefix)
+                && value.length() > prefix.length()
+                && value.substring(prefix.length()).chars().allMatch(Character::isDigit);
+    }
+
+    // Not under the block monitor: the row lock is held until the caller commits, and a caller
+    // taking a second number in the same transaction must not wait on a thread queued behind that lock
+    private String nextGapFree(DocumentSequence sequence) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Gap-free sequence " + sequence + " must be used inside a transaction");
+        }
+        DocumentSequenceRepository.Range range = documentSequenceRepository.reserve(sequence, 1);
+        return format(range.definition(), range.first());
+    }
+
+    private static String format(DocumentSequenceRepository.Definition definition, long value) {
+        return definition.prefix() + String.format("%0" + definition.padding() + "d", value);
+    }
+
+    private static final class Block {
+        private DocumentSequenceRepository.Definition definition;
+        private long next = 1;
+        private long last = 0;
+    }
+}
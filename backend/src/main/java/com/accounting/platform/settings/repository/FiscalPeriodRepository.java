@@ -22,6 +22,8 @@ public interface FiscalPeriodRepository extends JpaRepository<FiscalPeriod, UUID
 
     List<FiscalPeriod> findByStatus(FiscalPeriodStatus status);
 
+    boolean existsByStatusAndStartDateLessThanEqual(FiscalPeriodStatus status, LocalDate date);
+
     @Query("SELECT COUNT(fp) > 0 FROM FiscalPeriod fp WHERE " +
            "(fp.startDate BETWEEN ?1 AND ?2) OR (fp.endDate BETWEEN ?1 AND ?2) OR " +
            "(?1 BETWEEN fp.startDate AND fp.endDate)")
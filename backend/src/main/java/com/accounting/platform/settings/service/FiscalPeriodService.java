@@ -1,6 +1,7 @@
 package com.accounting.platform.settings.service;
 
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.journal.service.AccountBalanceService;
 import com.accounting.platform.settings.entity.FiscalPeriod;
 import com.accounting.platform.settings.entity.FiscalPeriodStatus;
 import com.accounting.platform.settings.repository.FiscalPeriodRepository;
@@ -18,6 +19,7 @@ public class FiscalPeriodService {
 
     private final FiscalPeriodRepository fiscalPeriodRepository;
     private final AuditService auditService;
+    private final AccountBalanceService accountBalanceService;
 
     public List<FiscalPeriod> getAllPeriods() {
         return fiscalPeriodRepository.findAll();
@@ -39,6 +41,10 @@ public class FiscalPeriodService {
         }
 
         FiscalPeriod saved = fiscalPeriodRepository.save(period);
+        if (saved.getStatus() == FiscalPeriodStatus.OPEN) {
+            // Postings can reach these dates again, so balance checkpoints from here on are no longer final
+            accountBalanceService.dropCheckpointsFrom(saved.getStartDate());
+        }
         auditService.logCreate("FiscalPeriod", saved.getId(), saved);
         return saved;
     }
@@ -59,6 +65,10 @@ public class FiscalPeriodService {
         // period.setClosedBy(currentUser); // Handled by backend context usually
 
         FiscalPeriod saved = fiscalPeriodRepository.save(period);
+        // Balances through the period end are final unless an earlier period is still open
+        if (!fiscalPeriodRepository.existsByStatusAndStartDateLessThanEqual(FiscalPeriodStatus.OPEN, period.getEndDate())) {
+            accountBalanceService.recordCheckpoint(period.getEndDate());
+        }
         auditService.logAction("CLOSE_FISCAL_PERIOD", "FiscalPeriod", id, null);
         return saved;
     }
@@ -66,4 +76,8 @@ public class FiscalPeriodService {
     public boolean isDateInOpenPeriod(LocalDate date) {
         return fiscalPeriodRepository.findOpenPeriodForDate(date).isPresent();
     }
+
+    public List<FiscalPeriod> getOpenPeriods() {
+        return fiscalPeriodRepository.findByStatus(FiscalPeriodStatus.OPEN);
+    }
 }
@@ -40,6 +40,7 @@ public class TaxRateService {
     @Transactional
     public TaxRate updateTaxRate(UUID id, TaxRate details) {
         TaxRate existing = getTaxRateById(id);
+        Object before = auditService.snapshot(existing);
 
         existing.setName(details.getName());
         existing.setRate(details.getRate());
@@ -48,7 +49,7 @@ public class TaxRateService {
         // Code is usually immutable or requires careful checking, skipping update for simplicity
 
         TaxRate saved = taxRateRepository.save(existing);
-        auditService.logUpdate("TaxRate", saved.getId(), null, saved);
+        auditService.logUpdate("TaxRate", saved.getId(), before, saved);
         return saved;
     }
 
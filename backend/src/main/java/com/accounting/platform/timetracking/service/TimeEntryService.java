@@ -141,6 +141,8 @@ public class TimeEntryService {
             throw new IllegalStateException("Cannot edit a billed time entry");
         }
 
+        Object before = auditService.snapshot(entry);
+
         entry.setDescription(request.getDescription());
         entry.setDate(request.getDate());
         entry.setStartTime(request.getStartTime());
@@ -173,7 +175,7 @@ public class TimeEntryService {
         }
 
         TimeEntry saved = timeEntryRepository.save(entry);
-        auditService.logUpdate("TimeEntry", saved.getId(), entry, saved);
+        auditService.logUpdate("TimeEntry", saved.getId(), before, saved);
 
         return timeEntryMapper.toDto(saved);
     }
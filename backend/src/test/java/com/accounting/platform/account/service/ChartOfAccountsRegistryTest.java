@@ -0,0 +1,179 @@
+package com.accounting.platform.account.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.event.ChartOfAccountsChangedEvent;
+import com.accounting.platform.account.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChartOfAccountsRegistryTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ChartOfAccountsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(registry, "missReloadIntervalMs", 1000L);
+    }
+
+    @Test
+    void lookups_LoadChartOnce() {
+        // Arrange
+        Account cash = account("1000", AccountType.ASSET, AccountSubtype.CASH, true, null);
+        Account inactiveAr = account("1100", AccountType.ASSET, AccountSubtype.ACCOUNTS_RECEIVABLE, false, null);
+        Account ar = account("1200", AccountType.ASSET, AccountSubtype.ACCOUNTS_RECEIVABLE, true, null);
+        Account petty = account("1001", AccountType.ASSET, AccountSubtype.CASH, true, cash.getId());
+        when(accountRepository.findAll()).thenReturn(List.of(ar, petty, inactiveAr, cash));
+
+        // Act & Assert
+        assertEquals(AccountView.of(ar), registry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable"));
+        assertEquals(AccountView.of(cash), registry.findById(cash.getId()).orElseThrow());
+        assertEquals(AccountView.of(petty), registry.findByCode("1001").orElseThrow());
+        assertEquals(List.of(AccountView.of(petty)), registry.getChildren(cash.getId()));
+        assertEquals(List.of(AccountView.of(cash), AccountView.of(inactiveAr), AccountView.of(ar)), registry.getRootAccounts());
+        verify(accountRepository, times(1)).findAll();
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextLookup() {
+        // Arrange
+        Account ap = account("2000", AccountType.LIABILITY, AccountSubtype.ACCOUNTS_PAYABLE, true, null);
+        when(accountRepository.findAll()).thenReturn(List.of()).thenReturn(List.of(ap));
+        assertTrue(registry.getAll().isEmpty());
+
+        // Act
+        registry.invalidate();
+
+        // Assert
+        assertEquals(List.of(AccountView.of(ap)), registry.getAll());
+        verify(accountRepository, times(2)).findAll();
+        verify(eventPublisher).publishEvent(new ChartOfAccountsChangedEvent());
+    }
+
+    @Test
+    void findById_MissReloadsTheChartOnce() {
+        // Arrange
+        // An account created on another node since the last load
+        ReflectionTestUtils.setField(registry, "missReloadIntervalMs", 0L);
+        Account bank = account("1010", AccountType.ASSET, AccountSubtype.BANK, true, null);
+        when(accountRepository.findAll()).thenReturn(List.of()).thenReturn(List.of(bank));
+        assertTrue(registry.getAll().isEmpty());
+
+        // Act & Assert
+        assertEquals(AccountView.of(bank), registry.findById(bank.getId()).orElseThrow());
+        verify(accountRepository, times(2)).findAll();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void findByCode_RepeatedMissesOfAFreshChartDoNotReload() {
+        // Arrange
+        when(accountRepository.findAll()).thenReturn(List.of());
+
+        // Act
+        registry.findByCode("9998");
+        registry.findByCode("9999");
+
+        // Assert
+        verify(accountRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAll_ReloadsOnceTheSnapshotOutlivesItsTtl() {
+        // Arrange
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 0L);
+        when(accountRepository.findAll()).thenReturn(List.of());
+
+        // Act
+        registry.getAll();
+        registry.getAll();
+
+        // Assert
+        verify(accountRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getAll_LoadThatRacedAnInvalidationIsNotKept() {
+        // Arrange
+        // The chart changes while the first load is reading it
+        Account ap = account("2000", AccountType.LIABILITY, AccountSubtype.ACCOUNTS_PAYABLE, true, null);
+        when(accountRepository.findAll()).thenAnswer(invocation -> {
+            registry.invalidate();
+            return List.of();
+        }).thenReturn(List.of(ap));
+
+        // Act
+        List<AccountView> racing = registry.getAll();
+        List<AccountView> next = registry.getAll();
+
+        // Assert
+        assertTrue(racing.isEmpty());
+        assertEquals(List.of(AccountView.of(ap)), next);
+        assertEquals(List.of(AccountView.of(ap)), registry.getAll());
+        verify(accountRepository, times(2)).findAll();
+    }
+
+    @Test
+    void lookups_ServeCopiesNotTheLoadedEntities() {
+        // Arrange
+        Account cash = account("1000", AccountType.ASSET, AccountSubtype.CASH, true, null);
+        when(accountRepository.findAll()).thenReturn(List.of(cash));
+        registry.getAll();
+
+        // Act
+        cash.setName("Renamed in another session");
+
+        // Assert
+        assertEquals("Account 1000", registry.findById(cash.getId()).orElseThrow().name());
+    }
+
+    @Test
+    void requireActiveBySubtype_MissingAccount() {
+        // Arrange
+        when(accountRepository.findAll()).thenReturn(List.of());
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                registry.requireActiveBySubtype(AccountSubtype.SALES_TAX_PAYABLE, "Sales Tax Payable"));
+
+        assertEquals("No active Sales Tax Payable account found", exception.getMessage());
+        // Retried once from the database before giving up; a reload is not a chart change
+        verify(accountRepository, times(2)).findAll();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private Account account(String code, AccountType type, AccountSubtype subtype, boolean active, UUID parentId) {
+        Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setCode(code);
+        account.setName("Account " + code);
+        account.setType(type);
+        account.setSubtype(subtype);
+        account.setActive(active);
+        account.setParentAccountId(parentId);
+        account.setCurrency("USD");
+        return account;
+    }
+}
@@ -0,0 +1,105 @@
+package com.accounting.platform.audit.service;
+
+import com.accounting.platform.audit.dto.AuditLogDto;
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogSearchServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 15, 10, 30, 0, 123456000);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditPayloadBuilder auditPayloadBuilder;
+
+    @InjectMocks
+    private AuditLogSearchService auditLogSearchService;
+
+    @Test
+    void search_CursorFromOnePageContinuesAfterItsLastRow() {
+        // Arrange
+        AuditLogDto newest = row(NOW);
+        AuditLogDto middle = row(NOW.minusSeconds(1));
+        AuditLogDto oldest = row(NOW.minusSeconds(2));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), params.capture()))
+                .thenReturn(List.of(newest, middle, oldest))
+                .thenReturn(List.of(oldest));
+
+        // Act
+        CursorPage<AuditLogDto> first = auditLogSearchService.search("Invoice", null, null, null, null, null, null, 2);
+        CursorPage<AuditLogDto> second = auditLogSearchService.search("Invoice", null, null, null, null, null, first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of(newest, middle), first.getContent());
+        assertArrayEquals(new String[]{middle.getTimestamp().toString(), middle.getId().toString()},
+                CursorCodec.decode(first.getNextCursor(), 2));
+        assertEquals(List.of(oldest), second.getContent());
+        assertNull(second.getNextCursor());
+
+        assertFalse(sql.getAllValues().get(0).contains("(timestamp, id) <"));
+        assertArrayEquals(new Object[]{"Invoice", 3}, params.getAllValues().get(0));
+        String continued = sql.getAllValues().get(1);
+        assertTrue(continued.contains("AND entity_type = ? AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT ?"));
+        // The timestamp keeps its fractional seconds, so rows sharing the second are not skipped
+        assertArrayEquals(new Object[]{"Invoice", middle.getTimestamp(), middle.getId(), 3}, params.getAllValues().get(1));
+    }
+
+    @Test
+    void search_BindsFiltersInOrderAndClampsThePageSize() {
+        // Arrange
+        UUID entityId = UUID.randomUUID();
+        LocalDateTime from = NOW.minusDays(7);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), params.capture())).thenReturn(List.of());
+
+        // Act
+        CursorPage<AuditLogDto> page = auditLogSearchService.search("Invoice", entityId, "alice@example.com", "APPROVE",
+                from, NOW, null, 1000);
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+        assertTrue(sql.getValue().contains(
+                "AND entity_type = ? AND entity_id = ? AND username = ? AND action = ? AND timestamp >= ? AND timestamp < ?"));
+        assertArrayEquals(new Object[]{"Invoice", entityId, "alice@example.com", "APPROVE", from, NOW, 201}, params.getValue());
+    }
+
+    @Test
+    void search_RejectsACursorThatIsNotAnAuditKey() {
+        // Arrange
+        String wrongKeys = CursorCodec.encode(42L);
+        String notATimestamp = CursorCodec.encode("yesterday", UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> auditLogSearchService.search(null, null, null, null, null, null, wrongKeys, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> auditLogSearchService.search(null, null, null, null, null, null, notATimestamp, null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static AuditLogDto row(LocalDateTime timestamp) {
+        return AuditLogDto.builder().id(UUID.randomUUID()).action("APPROVE").entityType("Invoice").timestamp(timestamp).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.accounting.platform.audit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AuditPartitionService auditPartitionService;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(auditPartitionService, "monthsAhead", 2);
+        ReflectionTestUtils.setField(auditPartitionService, "retentionMonths", 24);
+        ReflectionTestUtils.setField(auditPartitionService, "archivePath", archiveDirectory.toString());
+    }
+
+    @Test
+    void ensurePartitions_CreatesTheCurrentAndUpcomingMonthsWithHalfOpenBounds() {
+        // Arrange
+        YearMonth current = YearMonth.now();
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        auditPartitionService.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).execute(statements.capture());
+        for (int i = 0; i < 3; i++) {
+            YearMonth month = current.plusMonths(i);
+            assertEquals("CREATE TABLE IF NOT EXISTS " + partition(month) + " PARTITION OF audit_logs FOR VALUES FROM ('"
+                    + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')", statements.getAllValues().get(i));
+        }
+    }
+
+    @Test
+    void ensurePartitions_AMonthThatCannotBeCreatedDoesNotStopTheRest() {
+        // Arrange
+        YearMonth current = YearMonth.now();
+        doThrow(new IllegalStateException("overlapping rows in default partition"))
+                .when(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + partition(current) + " "));
+
+        // Act
+        auditPartitionService.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + partition(current.plusMonths(1)) + " "));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + partition(current.plusMonths(2)) + " "));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveExpiredPartitions_ArchivesOnlyMonthsBeforeTheRetentionCutoff() throws Exception {
+        // Arrange
+        YearMonth cutoff = YearMonth.now().minusMonths(24);
+        String expired = partition(cutoff.minusMonths(1));
+        String olderStill = partition(cutoff.minusMonths(13));
+        String atCutoff = partition(cutoff);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of(olderStill, expired, atCutoff, partition(YearMonth.now()), "audit_logs_default"));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(7L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L);
+
+        // Act
+        int archived = auditPartitionService.archiveExpiredPartitions();
+
+        // Assert
+        assertEquals(2, archived);
+        for (String partition : List.of(olderStill, expired)) {
+            verify(jdbcTemplate).queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+            verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+            verify(jdbcTemplate).execute("DROP TABLE " + partition);
+            assertTrue(Files.exists(archiveDirectory.resolve(partition + ".csv.gz")));
+        }
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + atCutoff);
+        verify(jdbcTemplate, never()).execute("DROP TABLE audit_logs_default");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveExpiredPartitions_IncompleteExportKeepsThePartition() {
+        // Arrange
+        String expired = partition(YearMonth.now().minusMonths(30));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(expired));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(5L);
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + expired, Long.class)).thenReturn(6L);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> auditPartitionService.archiveExpiredPartitions());
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertFalse(Files.exists(archiveDirectory.resolve(expired + ".csv.gz")));
+        assertFalse(Files.exists(archiveDirectory.resolve(expired + ".csv.gz.part")));
+    }
+
+    private static String partition(YearMonth month) {
+        return "audit_logs_" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,121 @@
+package com.accounting.platform.audit.service;
+
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import com.accounting.platform.journal.entity.JournalEntry;
+import com.accounting.platform.journal.entity.JournalEntryLine;
+import com.accounting.platform.journal.entity.JournalEntryStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPayloadBuilderTest {
+
+    private JpaTestDatabase database;
+    private AuditPayloadBuilder auditPayloadBuilder;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.journal.entity", "com.accounting.platform.account.entity");
+        auditPayloadBuilder = new AuditPayloadBuilder(new ObjectMapper().findAndRegisterModules(), database.entityManager().getEntityManagerFactory(), 4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void diff_RecordsReplacedLinesOfAnEntryLoadedWithoutThem() throws Exception {
+        // Arrange
+        Account bank = new Account();
+        bank.setCode("1000");
+        bank.setName("Bank");
+        bank.setType(AccountType.ASSET);
+        bank.setSubtype(AccountSubtype.BANK);
+        bank.setCurrency("USD");
+        bank.setCreatedAt(Instant.now());
+        JournalEntry entry = new JournalEntry();
+        entry.setReferenceNumber("JE-1");
+        entry.setEntryDate(LocalDate.of(2026, 3, 1));
+        entry.setStatus(JournalEntryStatus.DRAFT);
+        entry.setCreatedAt(Instant.now());
+        entry.addLine(line(bank, "100"));
+        database.persist(bank, entry);
+        UUID oldLineId = entry.getLines().get(0).getId();
+        EntityManager entityManager = database.entityManager();
+        entityManager.getTransaction().begin();
+        JournalEntry loaded = entityManager.find(JournalEntry.class, entry.getId());
+
+        // Act
+        Map<String, Object> before = auditPayloadBuilder.snapshotBeforeUpdate(loaded);
+        loaded.getLines().clear();
+        loaded.addLine(line(entityManager.getReference(Account.class, bank.getId()), "250"));
+        entityManager.flush();
+        Map<String, Map<String, Object>> changes = auditPayloadBuilder.diff(before, auditPayloadBuilder.snapshot(loaded));
+        entityManager.getTransaction().rollback();
+
+        // Assert
+        assertFalse(auditPayloadBuilder.toJson(before).contains("NOT_LOADED"));
+        List<?> removed = (List<?>) changes.get("old").get("lines");
+        List<?> added = (List<?>) changes.get("new").get("lines");
+        assertEquals(oldLineId, ((Map<?, ?>) removed.get(0)).get("id"));
+        assertEquals(0, new BigDecimal("250").compareTo((BigDecimal) ((Map<?, ?>) added.get(0)).get("debit")));
+        assertEquals(1, removed.size());
+        assertEquals(1, added.size());
+    }
+
+    @Test
+    void snapshot_LeavesUnloadedCollectionsOutsideUpdates() throws Exception {
+        // Arrange
+        JournalEntry entry = new JournalEntry();
+        entry.setReferenceNumber("JE-2");
+        entry.setEntryDate(LocalDate.of(2026, 3, 1));
+        entry.setStatus(JournalEntryStatus.DRAFT);
+        entry.setCreatedAt(Instant.now());
+        database.persist(entry);
+        JournalEntry loaded = database.entityManager().find(JournalEntry.class, entry.getId());
+
+        // Act
+        Map<String, Object> snapshot = auditPayloadBuilder.snapshot(loaded);
+
+        // Assert
+        assertTrue(auditPayloadBuilder.toJson(snapshot).contains("\"lines\":\"NOT_LOADED\""));
+        assertFalse(Hibernate.isInitialized(loaded.getLines()));
+    }
+
+    @Test
+    void diff_ReportsAddedElementsOfLoadedCollections() {
+        // Arrange
+        Map<String, Object> before = Map.of("lines", List.of(Map.of("id", 1, "debit", 10)));
+        Map<String, Object> after = Map.of("lines", List.of(Map.of("id", 1, "debit", 10), Map.of("id", 2, "debit", 5)));
+
+        // Act
+        Map<String, Map<String, Object>> changes = auditPayloadBuilder.diff(before, after);
+
+        // Assert
+        assertEquals(List.of(), changes.get("old").get("lines"));
+        assertEquals(List.of(Map.of("id", 2, "debit", 5)), changes.get("new").get("lines"));
+    }
+
+    private static JournalEntryLine line(Account account, String debit) {
+        JournalEntryLine line = new JournalEntryLine();
+        line.setAccount(account);
+        line.setDebit(new BigDecimal(debit));
+        return line;
+    }
+}
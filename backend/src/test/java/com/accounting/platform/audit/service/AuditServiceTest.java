@@ -0,0 +1,79 @@
+package com.accounting.platform.audit.service;
+
+import com.accounting.platform.audit.entity.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+    @Mock
+    private AuditPayloadBuilder auditPayloadBuilder;
+
+    private AuditService auditService;
+    private TransactionTemplate outer;
+    private TransactionTemplate requiresNew;
+
+    @BeforeEach
+    void setUp() {
+        auditService = new AuditService(auditLogWriter, auditPayloadBuilder, new ObjectMapper());
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        outer = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void logAction_RowsFollowTheTransactionThatCapturedThem() {
+        // Arrange
+        ArgumentCaptor<List<AuditLog>> submitted = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outer.executeWithoutResult(status -> {
+            auditService.logAction("OUTER_BEFORE", "Invoice", UUID.randomUUID(), null);
+            requiresNew.executeWithoutResult(inner -> auditService.logAction("INNER", "DocumentSequence", UUID.randomUUID(), null));
+            auditService.logAction("OUTER_AFTER", "Invoice", UUID.randomUUID(), null);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        verify(auditLogWriter).submit(submitted.capture());
+        assertEquals(List.of("INNER"), submitted.getValue().stream().map(AuditLog::getAction).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void logAction_CommittedTransactionSubmitsItsRowsOnce() {
+        // Arrange
+        ArgumentCaptor<List<AuditLog>> submitted = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        outer.executeWithoutResult(status -> {
+            auditService.logAction("FIRST", "Invoice", UUID.randomUUID(), null);
+            auditService.logAction("SECOND", "Invoice", UUID.randomUUID(), null);
+        });
+
+        // Assert
+        verify(auditLogWriter).submit(submitted.capture());
+        assertEquals(List.of("FIRST", "SECOND"), submitted.getValue().stream().map(AuditLog::getAction).toList());
+    }
+}
@@ -0,0 +1,199 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.AutoReconciliationResultDto;
+import com.accounting.platform.bank.entity.BankAccount;
+import com.accounting.platform.bank.entity.BankTransaction;
+import com.accounting.platform.bank.entity.BankTransactionStatus;
+import com.accounting.platform.bank.repository.BankAccountRepository;
+import com.accounting.platform.bank.repository.BankTransactionBatchRepository;
+import com.accounting.platform.bank.repository.BankTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoReconciliationServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 15);
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private BankTransactionRepository bankTransactionRepository;
+    @Mock
+    private BankTransactionBatchRepository bankTransactionBatchRepository;
+    @Mock
+    private BankReconciliationService bankReconciliationService;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AutoReconciliationService autoReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        autoReconciliationService = new AutoReconciliationService(bankAccountRepository, bankTransactionRepository,
+                bankTransactionBatchRepository, bankReconciliationService, auditService, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(autoReconciliationService, "parallelism", 2);
+    }
+
+    @Test
+    void runAll_ProcessesAtMostParallelismAccountsAtOnce() {
+        // Arrange
+        List<BankAccount> accounts = List.of(bankAccount(), bankAccount(), bankAccount(), bankAccount(), bankAccount(), bankAccount());
+        when(bankAccountRepository.findAll()).thenReturn(accounts);
+        accounts.forEach(account -> when(bankAccountRepository.findById(account.getId())).thenReturn(Optional.of(account)));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        // The first two accounts wait for each other, so both permits are known to be in use at once
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(any(), eq(BankTransactionStatus.IMPORTED)))
+                .thenAnswer(invocation -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    bothRunning.countDown();
+                    bothRunning.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(20);
+                    active.decrementAndGet();
+                    return List.of();
+                });
+
+        // Act
+        AutoReconciliationResultDto result = autoReconciliationService.runAll();
+
+        // Assert
+        assertEquals(6, result.getBankAccounts());
+        assertEquals(0, result.getFailedBankAccounts());
+        assertEquals(2, maxActive.get());
+        verify(transactionManager, times(6)).commit(any());
+        assertEquals(6, meterRegistry.get("reconciliation.auto.account.duration").timer().count());
+    }
+
+    @Test
+    void runAll_FailedAccountIsCountedAndTheOthersStillMatch() {
+        // Arrange
+        BankAccount broken = bankAccount();
+        BankAccount checking = bankAccount();
+        BankAccount savings = bankAccount();
+        when(bankAccountRepository.findAll()).thenReturn(List.of(broken, checking, savings));
+        when(bankAccountRepository.findById(broken.getId())).thenThrow(new IllegalStateException("connection reset"));
+        when(bankAccountRepository.findById(checking.getId())).thenReturn(Optional.of(checking));
+        when(bankAccountRepository.findById(savings.getId())).thenReturn(Optional.of(savings));
+
+        // Checking: one line with a single candidate, two lines that both claim the same entry
+        UUID rentEntry = UUID.randomUUID();
+        UUID feeEntry = UUID.randomUUID();
+        BankTransaction rent = transaction("-1200.00");
+        BankTransaction fee = transaction("-2.00");
+        BankTransaction secondFee = transaction("-2.00");
+        when(bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(checking.getId(), BankTransactionStatus.IMPORTED))
+                .thenReturn(List.of(rent, fee, secondFee));
+        when(bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(savings.getId(), BankTransactionStatus.IMPORTED))
+                .thenReturn(List.of(transaction("15.00")));
+        when(bankReconciliationService.buildMatcher(checking.getGlAccount().getId(), DATE, DATE))
+                .thenReturn(matcher(candidate(rentEntry, "-1200.00"), candidate(feeEntry, "-2.00")));
+        when(bankReconciliationService.buildMatcher(savings.getGlAccount().getId(), DATE, DATE))
+                .thenReturn(matcher());
+        when(bankTransactionBatchRepository.markMatched(anyList(), anyList()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+
+        // Act
+        AutoReconciliationResultDto result = autoReconciliationService.runAll();
+
+        // Assert
+        assertEquals(3, result.getBankAccounts());
+        assertEquals(1, result.getFailedBankAccounts());
+        assertEquals(4, result.getLinesProcessed());
+        assertEquals(1, result.getLinesMatched());
+        verify(bankTransactionBatchRepository).markMatched(List.of(rent.getId()), List.of(rentEntry));
+        verify(auditService).logAction("AUTO_RECONCILE", "BankAccount", checking.getId(), "Matched 1 of 3 transactions");
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+
+        assertEquals(4.0, meterRegistry.get("reconciliation.auto.lines").counter().count());
+        assertEquals(1.0, meterRegistry.get("reconciliation.auto.matched").counter().count());
+        assertEquals(1.0, meterRegistry.get("reconciliation.auto.failed.accounts").counter().count());
+        assertEquals(0.25, meterRegistry.get("reconciliation.auto.match.rate").gauge().value());
+        assertTrue(meterRegistry.get("reconciliation.auto.lines.per.second").gauge().value() > 0);
+    }
+
+    @Test
+    void runAll_RejectsAConcurrentRun() throws Exception {
+        // Arrange
+        BankAccount account = bankAccount();
+        when(bankAccountRepository.findAll()).thenReturn(List.of(account));
+        when(bankAccountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bankTransactionRepository.findByBankAccountIdAndStatusOrderByDateAsc(account.getId(), BankTransactionStatus.IMPORTED))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+        Thread first = Thread.ofVirtual().start(autoReconciliationService::runAll);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        try {
+            assertThrows(IllegalStateException.class, autoReconciliationService::runAll);
+        } finally {
+            release.countDown();
+            first.join();
+        }
+        // The flag is cleared once the first run finishes
+        assertEquals(1, autoReconciliationService.runAll().getBankAccounts());
+    }
+
+    private static BankAccount bankAccount() {
+        Account glAccount = new Account();
+        glAccount.setId(UUID.randomUUID());
+        BankAccount bankAccount = new BankAccount();
+        bankAccount.setId(UUID.randomUUID());
+        bankAccount.setGlAccount(glAccount);
+        return bankAccount;
+    }
+
+    private static BankTransaction transaction(String amount) {
+        BankTransaction transaction = new BankTransaction();
+        transaction.setId(UUID.randomUUID());
+        transaction.setDate(DATE);
+        transaction.setAmount(new BigDecimal(amount));
+        return transaction;
+    }
+
+    private static ReconciliationMatcher.Candidate candidate(UUID journalEntryId, String amount) {
+        return new ReconciliationMatcher.Candidate(journalEntryId, UUID.randomUUID(), "JE-1", DATE, null, new BigDecimal(amount));
+    }
+
+    private static ReconciliationMatcher matcher(ReconciliationMatcher.Candidate... candidates) {
+        ReconciliationMatcher matcher = new ReconciliationMatcher(BigDecimal.ZERO, 3);
+        for (ReconciliationMatcher.Candidate candidate : candidates) {
+            matcher.add(candidate);
+        }
+        return matcher;
+    }
+}
@@ -0,0 +1,128 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.bank.dto.StatementImportProgressDto;
+import com.accounting.platform.bank.dto.StatementLine;
+import com.accounting.platform.bank.repository.BankAccountRepository;
+import com.accounting.platform.bank.repository.BankTransactionBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankStatementImportServiceTest {
+
+    private static final String STATEMENT = """
+            date,description,amount,reference
+            2026-03-15,Card payment,-4.50,
+            2026-03-15,Card payment,-4.50,
+            2026-03-16,Rent,-1200.00,TX-2
+            2026-03-17,Customer payment,450.00,TX-3
+            2026-03-18,Bank fee,-2.00,
+            """;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private BankTransactionBatchRepository bankTransactionBatchRepository;
+    @Mock
+    private AuditService auditService;
+
+    @InjectMocks
+    private BankStatementImportService bankStatementImportService;
+
+    private final UUID bankAccountId = UUID.randomUUID();
+    private final List<List<StatementLine>> batches = new ArrayList<>();
+    private final List<String> hashes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bankStatementImportService, "batchSize", 2);
+        when(bankAccountRepository.existsById(bankAccountId)).thenReturn(true);
+    }
+
+    @Test
+    void importStatement_WritesFixedSizeBatchesAndCountsSkippedDuplicates() {
+        // Arrange
+        // The second batch has one line the unique import hash index already knows
+        recordBatches(2, 1, 1);
+
+        // Act
+        StatementImportProgressDto result = bankStatementImportService.importStatement(bankAccountId, file(STATEMENT), null, null, "run-1");
+
+        // Assert
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(StatementImportProgressDto.Status.COMPLETED, result.getStatus());
+        assertEquals(5, result.getLinesRead());
+        assertEquals(4, result.getImported());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(result, bankStatementImportService.getProgress("run-1"));
+        verify(auditService).logAction(eq("IMPORT_TRANSACTIONS"), eq("BankAccount"), eq(bankAccountId), anyString());
+    }
+
+    @Test
+    void importStatement_ReimportSendsTheSameHashesAndRepeatedLinesGetTheirOwn() {
+        // Arrange
+        recordBatches(2, 2, 1, 0, 0, 0);
+
+        // Act
+        bankStatementImportService.importStatement(bankAccountId, file(STATEMENT), null, null, null);
+        List<String> first = List.copyOf(hashes);
+        hashes.clear();
+        StatementImportProgressDto second = bankStatementImportService.importStatement(bankAccountId, file(STATEMENT), null, null, null);
+
+        // Assert
+        assertEquals(first, hashes);
+        assertEquals(5, first.stream().distinct().count());
+        assertEquals(0, second.getImported());
+        assertEquals(5, second.getDuplicates());
+    }
+
+    @Test
+    void importStatement_BadLineFailsTheImportAndPublishesTheError() {
+        // Arrange
+        String statement = "date,amount\n2026-03-15,-4.50\n2026-03-16,-1.00\n2026-03-17,oops\n";
+        recordBatches(2);
+
+        // Act
+        assertThrows(IllegalArgumentException.class,
+                () -> bankStatementImportService.importStatement(bankAccountId, file(statement), null, null, "run-2"));
+
+        // Assert
+        StatementImportProgressDto progress = bankStatementImportService.getProgress("run-2");
+        assertEquals(StatementImportProgressDto.Status.FAILED, progress.getStatus());
+        assertEquals(0, progress.getImported());
+        assertTrue(progress.getError().startsWith("Invalid CSV statement line 4"));
+        verifyNoInteractions(auditService);
+    }
+
+    // The service reuses its batch lists, so each call is copied before it is cleared
+    private void recordBatches(int... inserted) {
+        when(bankTransactionBatchRepository.insertSkippingDuplicates(eq(bankAccountId), anyList(), anyList()))
+                .thenAnswer(invocation -> {
+                    batches.add(List.copyOf(invocation.<List<StatementLine>>getArgument(1)));
+                    hashes.addAll(invocation.<List<String>>getArgument(2));
+                    return inserted[batches.size() - 1];
+                });
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
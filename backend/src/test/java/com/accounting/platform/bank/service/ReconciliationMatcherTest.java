@@ -0,0 +1,58 @@
+package com.accounting.platform.bank.service;
+
+import com.accounting.platform.bank.dto.ReconciliationCandidateDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReconciliationMatcherTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 15);
+
+    @Test
+    void match_FindsCandidatesWithinToleranceAndWindow_BestFirst() {
+        // Arrange
+        ReconciliationMatcher matcher = new ReconciliationMatcher(new BigDecimal("0.05"), 3);
+        ReconciliationMatcher.Candidate exact = candidate("JE-1", DATE, "-120.00");
+        ReconciliationMatcher.Candidate nearAmount = candidate("JE-2", DATE, "-120.04");
+        ReconciliationMatcher.Candidate twoDaysLater = candidate("JE-3", DATE.plusDays(2), "-120.00");
+        matcher.add(nearAmount);
+        matcher.add(twoDaysLater);
+        matcher.add(exact);
+        matcher.add(candidate("JE-4", DATE, "-120.06"));         // outside amount tolerance
+        matcher.add(candidate("JE-5", DATE.minusDays(4), "-120.00")); // outside date window
+        matcher.add(candidate("JE-6", DATE, "120.00"));          // wrong direction
+
+        // Act
+        List<ReconciliationCandidateDto> matches = matcher.match(DATE, new BigDecimal("-120.00"), null, "Card payment", 10);
+
+        // Assert
+        assertEquals(List.of("JE-1", "JE-3", "JE-2"), matches.stream().map(ReconciliationCandidateDto::getReferenceNumber).toList());
+        assertEquals(0.8, matches.get(0).getConfidence());
+        assertTrue(matches.get(2).getConfidence() < matches.get(1).getConfidence());
+    }
+
+    @Test
+    void match_ReferenceInBankTextRaisesConfidence_AndLimitApplies() {
+        // Arrange
+        ReconciliationMatcher matcher = new ReconciliationMatcher(new BigDecimal("0.01"), 2);
+        matcher.add(candidate("INV-100", DATE.plusDays(1), "500.00"));
+        matcher.add(candidate("INV-200", DATE, "500.00"));
+
+        // Act
+        List<ReconciliationCandidateDto> matches = matcher.match(DATE, new BigDecimal("500"), "TRF inv-100", null, 1);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertEquals("INV-100", matches.get(0).getReferenceNumber());
+    }
+
+    private static ReconciliationMatcher.Candidate candidate(String reference, LocalDate date, String amount) {
+        return new ReconciliationMatcher.Candidate(UUID.randomUUID(), UUID.randomUUID(), reference, date, reference, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,61 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvStatementParserTest {
+
+    @Test
+    void parse_SignsDebitAndCreditColumnsAndCleansText() {
+        // Arrange
+        String csv = """
+                Posted Date,Details,Money Out,Money In,Ref
+                15/03/2026,"Office   rent, March","1,200.00",,TX-1
+                16/03/2026,Customer payment,,450.5,
+                """;
+
+        // Act
+        List<StatementLine> lines = parse(new CsvStatementParser("dd/MM/yyyy"), csv);
+
+        // Assert
+        assertEquals(List.of(
+                new StatementLine(LocalDate.of(2026, 3, 15), new BigDecimal("-1200.00"), "Office rent, March", "TX-1"),
+                new StatementLine(LocalDate.of(2026, 3, 16), new BigDecimal("450.5"), "Customer payment", null)), lines);
+    }
+
+    @Test
+    void parse_RejectsMissingColumnsAndNamesTheBadLine() {
+        // Arrange
+        CsvStatementParser parser = new CsvStatementParser(null);
+        String noDate = "description,amount\nRent,-10\n";
+        String badAmount = "date,amount\n2026-03-15,-10\n2026-03-16,n/a\n";
+        List<StatementLine> lines = new ArrayList<>();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(stream(noDate), lines::add));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(stream(badAmount), lines::add));
+        assertTrue(error.getMessage().startsWith("Invalid CSV statement line 3"));
+        // Lines before the bad one were already handed on
+        assertEquals(1, lines.size());
+    }
+
+    static List<StatementLine> parse(StatementParser parser, String content) {
+        List<StatementLine> lines = new ArrayList<>();
+        parser.parse(stream(content), lines::add);
+        return lines;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
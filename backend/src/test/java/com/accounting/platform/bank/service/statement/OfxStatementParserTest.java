@@ -0,0 +1,45 @@
+package com.accounting.platform.bank.service.statement;
+
+import com.accounting.platform.bank.dto.StatementLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfxStatementParserTest {
+
+    @Test
+    void parse_ReadsSgmlTransactionsWithUnclosedTags() {
+        // Arrange
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20260315120000[-5:EST]<TRNAMT>-42.10<FITID>F-1<NAME>Coffee &amp; Co</STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20260316<TRNAMT>1000<MEMO>Invoice INV-7</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        // Act
+        List<StatementLine> lines = CsvStatementParserTest.parse(new OfxStatementParser(), ofx);
+
+        // Assert
+        assertEquals(List.of(
+                new StatementLine(LocalDate.of(2026, 3, 15), new BigDecimal("-42.10"), "Coffee & Co", "F-1"),
+                new StatementLine(LocalDate.of(2026, 3, 16), new BigDecimal("1000"), "Invoice INV-7", null)), lines);
+    }
+
+    @Test
+    void parse_RejectsTransactionsWithoutDateOrAmount() {
+        // Arrange
+        String ofx = "<OFX><STMTTRN><TRNAMT>-1.00</TRNAMT><FITID>F-1</FITID></STMTTRN></OFX>";
+
+        // Act & Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> CsvStatementParserTest.parse(new OfxStatementParser(), ofx));
+        assertTrue(error.getMessage().startsWith("Invalid OFX transaction 1"));
+    }
+}
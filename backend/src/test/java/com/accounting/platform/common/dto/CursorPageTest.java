@@ -0,0 +1,32 @@
+package com.accounting.platform.common.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    @Test
+    void extraRowBecomesCursorOfLastRowKept() {
+        Instant createdAt = Instant.parse("2024-03-01T10:15:30.123456Z");
+        UUID id = UUID.randomUUID();
+
+        CursorPage<Object[]> page = CursorPage.of(
+                List.of(new Object[]{Instant.now(), UUID.randomUUID()}, new Object[]{createdAt, id}, new Object[]{createdAt, UUID.randomUUID()}),
+                2, row -> row);
+
+        assertEquals(2, page.getContent().size());
+        assertArrayEquals(new String[]{createdAt.toString(), id.toString()}, CursorCodec.decode(page.getNextCursor(), 2));
+    }
+
+    @Test
+    void lastSliceHasNoCursorAndForeignCursorsAreRejected() {
+        assertNull(CursorPage.of(List.of("a", "b"), 2, row -> new Object[]{row}).getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(CursorCodec.encode("a", "b"), 1));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("not base64!", 1));
+    }
+}
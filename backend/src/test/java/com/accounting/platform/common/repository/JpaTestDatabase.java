@@ -0,0 +1,93 @@
+package com.accounting.platform.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate over an in-memory H2 database, with the schema generated from the given entity packages,
+ * for tests that need to run the criteria queries the repositories build. Records the SQL it issues.
+ */
+public final class JpaTestDatabase implements AutoCloseable {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private final DriverManagerDataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private JpaTestDatabase(String... entityPackages) {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:jpa-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(entityPackages);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.session_factory.statement_inspector", (StatementInspector) sql -> {
+                    statements.add(sql);
+                    return sql;
+                }));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+    }
+
+    public static JpaTestDatabase start(String... entityPackages) {
+        return new JpaTestDatabase(entityPackages);
+    }
+
+    public EntityManager entityManager() {
+        return entityManagerFactory.createEntityManager();
+    }
+
+    /**
+     * A Spring Data repository backed by its own entity manager, for running the declared queries.
+     */
+    public <R> R repository(Class<R> type) {
+        return new JpaRepositoryFactory(entityManager()).getRepository(type);
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Persists the entities in one transaction.
+     */
+    public void persist(Object... entities) {
+        EntityManager entityManager = entityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (Object entity : entities) {
+                entityManager.persist(entity);
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * SQL issued since the last call.
+     */
+    public List<String> takeStatements() {
+        List<String> taken = new ArrayList<>(statements);
+        statements.clear();
+        return taken;
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+    }
+}
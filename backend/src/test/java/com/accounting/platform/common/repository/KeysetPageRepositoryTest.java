@@ -0,0 +1,98 @@
+package com.accounting.platform.common.repository;
+
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.entity.ContactType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPageRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:15:30.123456Z");
+
+    private JpaTestDatabase database;
+    private EntityManager entityManager;
+    private KeysetPageRepository keysetPageRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.contact.entity");
+        // Three rows share one created_at, so only the id breaks the tie between them
+        database.persist(contact("A", NOW), contact("B", NOW), contact("C", NOW),
+                contact("D", NOW.minusSeconds(60)), contact("E", NOW.plusSeconds(60)), contact("F", NOW.minusSeconds(120)));
+        entityManager = database.entityManager();
+        keysetPageRepository = new KeysetPageRepository(entityManager, database.jdbcTemplate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        database.close();
+    }
+
+    @Test
+    void newestFirst_WalkingTheCursorVisitsEveryRowOnceInKeyOrder() {
+        // Arrange
+        List<UUID> expected = database.jdbcTemplate().queryForList(
+                "SELECT id FROM contacts ORDER BY created_at DESC, id DESC", UUID.class);
+
+        // Act
+        List<UUID> walked = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            CursorPage<Contact> page = keysetPageRepository.newestFirst(Contact.class, null, cursor, 2);
+            page.getContent().forEach(contact -> walked.add(contact.getId()));
+            cursor = page.getNextCursor();
+            slices++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expected, walked);
+        assertEquals(3, slices);
+    }
+
+    @Test
+    void newestFirst_CursorCombinesWithTheSpecification() {
+        // Arrange
+        Specification<Contact> shared = (root, query, cb) -> cb.equal(root.get("createdAt"), NOW);
+        CursorPage<Contact> first = keysetPageRepository.newestFirst(Contact.class, shared, null, 1);
+
+        // Act
+        CursorPage<Contact> rest = keysetPageRepository.newestFirst(Contact.class, shared, first.getNextCursor(), 5);
+
+        // Assert
+        assertEquals(2, rest.getContent().size());
+        assertNull(rest.getNextCursor());
+        assertTrue(rest.getContent().stream().allMatch(contact -> NOW.equals(contact.getCreatedAt())));
+        assertTrue(rest.getContent().stream().noneMatch(contact -> contact.getId().equals(first.getContent().get(0).getId())));
+    }
+
+    @Test
+    void newestFirst_RejectsCursorsWithTheWrongKey() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPageRepository.newestFirst(Contact.class, null, CursorCodec.encode(NOW, "not-a-uuid"), 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPageRepository.newestFirst(Contact.class, null, CursorCodec.encode(42L), 2));
+    }
+
+    private static Contact contact(String name, Instant createdAt) {
+        Contact contact = new Contact();
+        contact.setName(name);
+        contact.setType(ContactType.CUSTOMER);
+        contact.setCreatedAt(createdAt);
+        return contact;
+    }
+}
@@ -0,0 +1,61 @@
+package com.accounting.platform.common.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryOnConflictAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Transitions transitions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Transitions());
+        factory.addAspect(new RetryOnConflictAspect(meterRegistry));
+        transitions = factory.getProxy();
+    }
+
+    @Test
+    void retry_SucceedsOnceConflictClears() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = transitions.conflictTimes(2, attempts);
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("state.transition.conflicts").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    void retry_GivesUpAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transitions.conflictTimes(5, attempts));
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.get("state.transition.conflicts").tag("outcome", "exhausted").counter().count());
+    }
+
+    static class Transitions {
+
+        @RetryOnConflict(backoffMs = 1)
+        public String conflictTimes(int conflicts, AtomicInteger attempts) {
+            if (attempts.incrementAndGet() <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("Invoice", "id");
+            }
+            return "done";
+        }
+    }
+}
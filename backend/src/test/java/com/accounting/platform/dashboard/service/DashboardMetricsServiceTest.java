@@ -0,0 +1,161 @@
+package com.accounting.platform.dashboard.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.dashboard.repository.DashboardMetricsRepository;
+import com.accounting.platform.dashboard.repository.DashboardMetricsRepository.MetricDelta;
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardMetricsServiceTest {
+
+    private static final LocalDate ISSUED = LocalDate.of(2026, 3, 14);
+    private static final BigDecimal TOTAL = new BigDecimal("100.00");
+
+    @Mock
+    private DashboardMetricsRepository dashboardMetricsRepository;
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+
+    @InjectMocks
+    private DashboardMetricsService dashboardMetricsService;
+
+    @Test
+    void recordInvoicePayment_PartialPaymentOnlyReducesTheBalanceDue() {
+        // Act
+        dashboardMetricsService.recordInvoicePayment(UUID.randomUUID(), "INV-000001", "Acme", ISSUED, TOTAL,
+                InvoiceStatus.PARTIALLY_PAID, InvoiceStatus.PARTIALLY_PAID, new BigDecimal("20.00"), new BigDecimal("60.00"));
+
+        // Assert
+        Map<String, MetricDelta> deltas = captureDeltas();
+        assertEquals(1, deltas.size());
+        MetricDelta balanceDue = deltas.get(DashboardMetricsService.INVOICE_BALANCE_DUE);
+        assertEquals(0, new BigDecimal("-40.00").compareTo(balanceDue.amount()));
+        assertEquals(0, balanceDue.count());
+        assertEquals(LocalDate.of(2026, 3, 1), balanceDue.period());
+        verify(dashboardMetricsRepository).insertActivities(List.of());
+    }
+
+    @Test
+    void recordInvoicePayment_SettlingPaymentClosesTheInvoice() {
+        // Act
+        dashboardMetricsService.recordInvoicePayment(UUID.randomUUID(), "INV-000001", "Acme", ISSUED, TOTAL,
+                InvoiceStatus.SENT, InvoiceStatus.PAID, BigDecimal.ZERO, TOTAL);
+
+        // Assert
+        Map<String, MetricDelta> deltas = captureDeltas();
+        assertEquals(0, TOTAL.negate().compareTo(deltas.get(DashboardMetricsService.INVOICE_BALANCE_DUE).amount()));
+        assertEquals(-1, deltas.get(DashboardMetricsService.INVOICE_BALANCE_DUE).count());
+        assertEquals(0, TOTAL.negate().compareTo(deltas.get("INVOICE_SENT").amount()));
+        assertEquals(0, TOTAL.compareTo(deltas.get("INVOICE_PAID").amount()));
+    }
+
+    @Test
+    void recordInvoicePayment_InATransactionIsMergedAndWrittenOnceBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            sendInvoice("INV-000001");
+            sendInvoice("INV-000002");
+            verifyNoInteractions(dashboardMetricsRepository);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        Map<String, MetricDelta> deltas = captureDeltas();
+        assertEquals(0, TOTAL.add(TOTAL).compareTo(deltas.get("INVOICE_SENT").amount()));
+        assertEquals(2, deltas.get("INVOICE_SENT").count());
+        assertEquals(2, deltas.get(DashboardMetricsService.INVOICE_BALANCE_DUE).count());
+        verify(dashboardMetricsRepository).insertActivities(argThat(activities -> activities.size() == 2));
+    }
+
+    @Test
+    void recordInvoicePayment_InnerTransactionWritesOnlyItsOwnDeltas() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sendInvoice("INV-000001");
+            // What a REQUIRES_NEW call does to the outer transaction's synchronizations
+            List<TransactionSynchronization> outer = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.initSynchronization();
+
+            // Act
+            sendInvoice("INV-000002");
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.initSynchronization();
+            outer.forEach(TransactionSynchronizationManager::registerSynchronization);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        Map<String, MetricDelta> deltas = captureDeltas();
+        assertEquals(1, deltas.get("INVOICE_SENT").count());
+        verify(dashboardMetricsRepository).insertActivities(argThat(activities -> activities.size() == 1
+                && activities.get(0).title().equals("Invoice INV-000002")));
+    }
+
+    @Test
+    void onLedgerPosted_CountsOnlyBankAndCashMovements() {
+        // Arrange
+        UUID bankId = UUID.randomUUID();
+        UUID revenueId = UUID.randomUUID();
+        when(chartOfAccountsRegistry.findById(bankId)).thenReturn(Optional.of(
+                new AccountView(bankId, "1000", "Bank", null, AccountType.ASSET, AccountSubtype.BANK, null, true, "USD")));
+        when(chartOfAccountsRegistry.findById(revenueId)).thenReturn(Optional.of(
+                new AccountView(revenueId, "4000", "Sales", null, AccountType.REVENUE, null, null, true, "USD")));
+        LedgerPostedEvent event = new LedgerPostedEvent(new TreeSet<>(List.of(ISSUED)), List.of(
+                new LedgerPostedEvent.Movement(bankId, ISSUED, TOTAL, BigDecimal.ZERO),
+                new LedgerPostedEvent.Movement(revenueId, ISSUED, BigDecimal.ZERO, TOTAL)));
+
+        // Act
+        dashboardMetricsService.onLedgerPosted(event);
+
+        // Assert
+        Map<String, MetricDelta> deltas = captureDeltas();
+        assertEquals(Set.of(DashboardMetricsService.CASH_NET), deltas.keySet());
+        assertEquals(0, TOTAL.compareTo(deltas.get(DashboardMetricsService.CASH_NET).amount()));
+    }
+
+    private void sendInvoice(String number) {
+        dashboardMetricsService.recordInvoicePayment(UUID.randomUUID(), number, "Acme", ISSUED, TOTAL,
+                InvoiceStatus.DRAFT, InvoiceStatus.SENT, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, MetricDelta> captureDeltas() {
+        ArgumentCaptor<List<MetricDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dashboardMetricsRepository).addDeltas(captor.capture());
+        return captor.getValue().stream().collect(Collectors.toMap(MetricDelta::metric, delta -> delta));
+    }
+}
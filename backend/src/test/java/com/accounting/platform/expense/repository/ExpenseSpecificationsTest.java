@@ -0,0 +1,91 @@
+package com.accounting.platform.expense.repository;
+
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.entity.ContactType;
+import com.accounting.platform.expense.entity.Expense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseSpecificationsTest {
+
+    private JpaTestDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.expense.entity", "com.accounting.platform.contact.entity",
+                "com.accounting.platform.account.entity");
+        Contact initech = vendor("Initech");
+        Contact hooli = vendor("Hooli");
+        database.persist(initech, hooli,
+                expense("EXP-000001", "Printer toner", initech),
+                expense("EXP-000002", "Initech rebill", hooli),
+                expense("EXP-000003", null, hooli));
+        database.takeStatements();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void searchText_MatchesOwnColumnsOrVendorNameWithoutJoiningContacts() {
+        // Act
+        List<String> references = search("initech");
+
+        // Assert
+        assertEquals(List.of("EXP-000001", "EXP-000002"), references);
+        String sql = database.takeStatements().get(0).toLowerCase(Locale.ROOT);
+        assertFalse(sql.contains(" join "), sql);
+        assertTrue(sql.contains(".vendor_id in ((select") && sql.contains("from contacts"), sql);
+    }
+
+    private List<String> search(String term) {
+        EntityManager entityManager = database.entityManager();
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<String> query = cb.createQuery(String.class);
+            Root<Expense> root = query.from(Expense.class);
+            query.select(root.get("referenceNumber"))
+                    .where(ExpenseSpecifications.searchText(term).toPredicate(root, query, cb))
+                    .orderBy(cb.asc(root.get("referenceNumber")));
+            return entityManager.createQuery(query).getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Contact vendor(String name) {
+        Contact contact = new Contact();
+        contact.setName(name);
+        contact.setType(ContactType.VENDOR);
+        contact.setCreatedAt(Instant.now());
+        return contact;
+    }
+
+    private static Expense expense(String reference, String notes, Contact vendor) {
+        Expense expense = new Expense();
+        expense.setReferenceNumber(reference);
+        expense.setNotes(notes);
+        expense.setVendor(vendor);
+        expense.setDate(LocalDate.of(2026, 3, 1));
+        expense.setCurrency("USD");
+        expense.setTotalAmount(new BigDecimal("40.00"));
+        expense.setCreatedAt(Instant.now());
+        return expense;
+    }
+}
@@ -2,12 +2,16 @@ package com.accounting.platform.expense.service;
 
 import com.accounting.platform.account.repository.AccountRepository;
 import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.idempotency.IdempotencyService;
 import com.accounting.platform.contact.entity.Contact;
 import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
 import com.accounting.platform.expense.entity.Expense;
 import com.accounting.platform.expense.entity.ExpenseStatus;
 import com.accounting.platform.expense.repository.ExpenseRepository;
 import com.accounting.platform.journal.service.JournalEntryService;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -33,6 +37,12 @@ class ExpenseServiceTest {
     private ContactRepository contactRepository;
     @Mock
     private AuditService auditService;
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+    @Mock
+    private IdempotencyService idempotencyService;
 
     @InjectMocks
     private ExpenseService expenseService;
@@ -50,6 +60,7 @@ class ExpenseServiceTest {
         expense.setTotalAmount(new java.math.BigDecimal("100.00"));
 
         when(contactRepository.findById(vendorId)).thenReturn(Optional.of(vendor));
+        when(documentSequenceService.next(DocumentSequence.EXPENSE)).thenReturn("EXP-000001");
         when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> {
             Expense e = invocation.getArgument(0);
             e.setId(UUID.randomUUID());
@@ -63,6 +74,7 @@ class ExpenseServiceTest {
         assertNotNull(result.getId());
         assertEquals(ExpenseStatus.DRAFT, result.getStatus());
         assertEquals(vendor, result.getVendor());
+        assertEquals("EXP-000001", result.getReferenceNumber());
         verify(contactRepository).findById(vendorId);
         verify(expenseRepository).save(any(Expense.class));
         verify(auditService).logCreate(eq("Expense"), any(), any());
@@ -0,0 +1,98 @@
+package com.accounting.platform.invoice.repository;
+
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.entity.ContactType;
+import com.accounting.platform.invoice.entity.Invoice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvoiceSpecificationsTest {
+
+    private JpaTestDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.invoice.entity", "com.accounting.platform.contact.entity",
+                "com.accounting.platform.account.entity", "com.accounting.platform.tax.entity");
+        Contact acme = contact("Acme Supplies");
+        Contact globex = contact("Globex");
+        database.persist(acme, globex,
+                invoice("INV-000001", "PO-7", acme),
+                invoice("INV-000002", null, globex),
+                invoice("ACME-REBILL", null, globex));
+        database.takeStatements();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void searchText_MatchesOwnColumnsOrContactNameWithoutJoiningContacts() {
+        // Act
+        List<String> numbers = search("acme");
+
+        // Assert
+        assertEquals(List.of("ACME-REBILL", "INV-000001"), numbers);
+        String sql = database.takeStatements().get(0).toLowerCase(Locale.ROOT);
+        assertFalse(sql.contains(" join "), sql);
+        assertTrue(sql.contains(".contact_id in ((select") && sql.contains("from contacts"), sql);
+    }
+
+    @Test
+    void searchText_BlankTermMatchesEverything() {
+        // Act & Assert
+        assertEquals(3, search(" ").size());
+    }
+
+    private List<String> search(String term) {
+        EntityManager entityManager = database.entityManager();
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<String> query = cb.createQuery(String.class);
+            Root<Invoice> root = query.from(Invoice.class);
+            query.select(root.get("invoiceNumber"))
+                    .where(InvoiceSpecifications.searchText(term).toPredicate(root, query, cb))
+                    .orderBy(cb.asc(root.get("invoiceNumber")));
+            return entityManager.createQuery(query).getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Contact contact(String name) {
+        Contact contact = new Contact();
+        contact.setName(name);
+        contact.setType(ContactType.CUSTOMER);
+        contact.setCreatedAt(Instant.now());
+        return contact;
+    }
+
+    private static Invoice invoice(String number, String reference, Contact contact) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(number);
+        invoice.setReference(reference);
+        invoice.setContact(contact);
+        invoice.setIssueDate(LocalDate.of(2026, 3, 1));
+        invoice.setDueDate(LocalDate.of(2026, 3, 31));
+        invoice.setCurrency("USD");
+        invoice.setTotalAmount(new BigDecimal("100.00"));
+        invoice.setCreatedAt(Instant.now());
+        return invoice;
+    }
+}
@@ -0,0 +1,231 @@
+package com.accounting.platform.invoice.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.idempotency.IdempotencyService;
+import com.accounting.platform.common.repository.KeysetPageRepository;
+import com.accounting.platform.contact.entity.Contact;
+import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
+import com.accounting.platform.invoice.dto.BulkApprovalResultDto;
+import com.accounting.platform.invoice.entity.Invoice;
+import com.accounting.platform.invoice.entity.InvoiceLine;
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import com.accounting.platform.invoice.repository.InvoiceRepository;
+import com.accounting.platform.journal.entity.JournalEntry;
+import com.accounting.platform.journal.service.JournalEntryService;
+import com.accounting.platform.notification.service.NotificationService;
+import com.accounting.platform.payment.service.PaymentService;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import com.accounting.platform.tax.repository.TaxRateRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceServiceTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+    @Mock
+    private JournalEntryService journalEntryService;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+    @Mock
+    private TaxRateRepository taxRateRepository;
+    @Mock
+    private ContactRepository contactRepository;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private KeysetPageRepository keysetPageRepository;
+
+    @InjectMocks
+    private InvoiceService invoiceService;
+
+    @Test
+    void createInvoice_RejectsUserNumbersInTheSequenceFormat() {
+        // Arrange
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber("INV-000900");
+        when(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-000900")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> invoiceService.createInvoice(invoice));
+        verify(invoiceRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteInvoice_VoidsDraftsNumberedFromTheSequence() {
+        // Arrange
+        Invoice invoice = draft("INV-000017");
+        when(invoiceRepository.findById(invoice.getId())).thenReturn(Optional.of(invoice));
+        when(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-000017")).thenReturn(true);
+        when(invoiceRepository.save(invoice)).thenReturn(invoice);
+
+        // Act
+        invoiceService.deleteInvoice(invoice.getId());
+
+        // Assert
+        assertEquals(InvoiceStatus.VOID, invoice.getStatus());
+        verify(invoiceRepository, never()).delete(any(Invoice.class));
+        verify(dashboardMetricsService).recordInvoiceTransition(invoice, InvoiceStatus.DRAFT);
+        verify(auditService).logAction(eq("VOID_INVOICE"), eq("Invoice"), eq(invoice.getId()), any());
+    }
+
+    @Test
+    void deleteInvoice_RemovesDraftsWithUserSuppliedNumbers() {
+        // Arrange
+        Invoice invoice = draft("ACME-2026-7");
+        when(invoiceRepository.findById(invoice.getId())).thenReturn(Optional.of(invoice));
+        when(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "ACME-2026-7")).thenReturn(false);
+
+        // Act
+        invoiceService.deleteInvoice(invoice.getId());
+
+        // Assert
+        verify(invoiceRepository).delete(invoice);
+        verify(auditService).logAction("DELETE_INVOICE", "Invoice", invoice.getId(), null);
+    }
+
+    @Test
+    void approveInvoices_ReportsEachFailureAndApprovesTheRest() {
+        // Arrange
+        Invoice valid = approvable("INV-000001");
+        Invoice sent = approvable("INV-000002");
+        sent.setStatus(InvoiceStatus.SENT);
+        Invoice empty = draft("INV-000003");
+        Invoice closedPeriod = approvable("INV-000004");
+        UUID missing = UUID.randomUUID();
+        stubBulkApproval();
+        when(invoiceRepository.findAllWithLinesByIdIn(any())).thenReturn(List.of(valid, sent, empty, closedPeriod));
+        doAnswer(invocation -> {
+            if (invocation.<JournalEntry>getArgument(0).getReferenceNumber().equals("INV-000004")) {
+                throw new IllegalStateException("Entry date is not in an open fiscal period");
+            }
+            return null;
+        }).when(journalEntryService).validateForPosting(any(), any());
+
+        // Act
+        BulkApprovalResultDto result = invoiceService.approveInvoices(List.of(
+                valid.getId(), sent.getId(), empty.getId(), missing, closedPeriod.getId(), valid.getId()));
+
+        // Assert
+        assertEquals(5, result.getRequested());
+        assertEquals(1, result.getApproved());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(valid.getId(), sent.getId(), empty.getId(), missing, closedPeriod.getId()),
+                result.getResults().stream().map(BulkApprovalResultDto.Result::getInvoiceId).toList());
+        assertEquals("INV-000001", result.getResults().get(0).getJournalEntryReference());
+        assertEquals("Invoice is already approved or voided", result.getResults().get(1).getError());
+        assertEquals("Invoice must have at least one line item", result.getResults().get(2).getError());
+        assertEquals("Invoice not found", result.getResults().get(3).getError());
+        assertEquals("Entry date is not in an open fiscal period", result.getResults().get(4).getError());
+
+        assertEquals(InvoiceStatus.SENT, valid.getStatus());
+        assertEquals(InvoiceStatus.DRAFT, closedPeriod.getStatus());
+        verify(journalEntryService).createPostedEntries(argThat(entries -> entries.size() == 1
+                && entries.get(0).getReferenceNumber().equals("INV-000001")));
+        verify(dashboardMetricsService).recordInvoiceTransition(valid, InvoiceStatus.DRAFT);
+        verify(notificationService).notifyInvoicesApproved(1);
+    }
+
+    @Test
+    void approveInvoices_PostsEachChunkInOneBatchAndClearsBetweenChunks() {
+        // Arrange
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 1; i <= 501; i++) {
+            invoices.add(approvable("INV-%06d".formatted(i)));
+        }
+        Map<UUID, Invoice> byId = invoices.stream().collect(Collectors.toMap(Invoice::getId, invoice -> invoice));
+        stubBulkApproval();
+        when(invoiceRepository.findAllWithLinesByIdIn(any())).thenAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream().map(byId::get).toList());
+        List<Integer> postedBatches = new ArrayList<>();
+        when(journalEntryService.createPostedEntries(any())).thenAnswer(invocation -> {
+            postedBatches.add(invocation.<List<JournalEntry>>getArgument(0).size());
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        BulkApprovalResultDto result = invoiceService.approveInvoices(invoices.stream().map(Invoice::getId).toList());
+
+        // Assert
+        assertEquals(501, result.getApproved());
+        assertEquals(List.of(500, 1), postedBatches);
+        verify(invoiceRepository, times(2)).findAllWithLinesByIdIn(any());
+        verify(journalEntryService, never()).createEntry(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(notificationService).notifyInvoicesApproved(501);
+    }
+
+    private void stubBulkApproval() {
+        AccountView receivables = new AccountView(UUID.randomUUID(), "1100", "Accounts Receivable", null,
+                AccountType.ASSET, AccountSubtype.ACCOUNTS_RECEIVABLE, null, true, "USD");
+        when(chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable"))
+                .thenReturn(receivables);
+        when(journalEntryService.cachedOpenPeriodCheck()).thenReturn(date -> true);
+    }
+
+    private static Invoice approvable(String number) {
+        InvoiceLine line = new InvoiceLine();
+        line.setDescription("Consulting");
+        line.setAmount(new BigDecimal("100.00"));
+        line.setRevenueAccount(new Account());
+        Invoice invoice = draft(number);
+        invoice.setIssueDate(LocalDate.of(2026, 3, 15));
+        invoice.addLine(line);
+        return invoice;
+    }
+
+    private static Invoice draft(String number) {
+        Contact contact = new Contact();
+        contact.setName("Acme");
+        Invoice invoice = new Invoice();
+        invoice.setId(UUID.randomUUID());
+        invoice.setInvoiceNumber(number);
+        invoice.setContact(contact);
+        invoice.setStatus(InvoiceStatus.DRAFT);
+        return invoice;
+    }
+}
@@ -0,0 +1,108 @@
+package com.accounting.platform.journal.repository;
+
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountDailyBalanceRepositoryTest {
+
+    private static final LocalDate JANUARY_END = LocalDate.of(2026, 1, 31);
+
+    private JpaTestDatabase database;
+    private AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    private final UUID bank = UUID.randomUUID();
+    private final UUID revenue = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.journal.entity", "com.accounting.platform.account.entity");
+        accountDailyBalanceRepository = database.repository(AccountDailyBalanceRepository.class);
+        day(bank, LocalDate.of(2026, 1, 10), "100", "0");
+        day(revenue, LocalDate.of(2026, 1, 10), "0", "100");
+        day(bank, LocalDate.of(2026, 1, 31), "50", "0");
+        day(revenue, LocalDate.of(2026, 1, 31), "0", "50");
+        day(bank, LocalDate.of(2026, 2, 5), "0", "30");
+        day(revenue, LocalDate.of(2026, 2, 5), "30", "0");
+        day(bank, LocalDate.of(2026, 2, 20), "200", "0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void sumNetBalancesAsOf_MatchesTheDailyTotalsWithAndWithoutACheckpoint() {
+        // Arrange
+        LocalDate[] dates = {LocalDate.of(2026, 1, 15), JANUARY_END, LocalDate.of(2026, 2, 10), LocalDate.of(2026, 3, 1)};
+        Map<LocalDate, Map<UUID, BigDecimal>> withoutCheckpoint = new HashMap<>();
+        for (LocalDate date : dates) {
+            withoutCheckpoint.put(date, balancesAsOf(date));
+        }
+
+        // Act
+        // The checkpoint holds the true January totals; the January days are changed so reading them would show
+        checkpoint(bank, JANUARY_END, "150");
+        checkpoint(revenue, JANUARY_END, "-150");
+        database.jdbcTemplate().update("UPDATE account_daily_balances SET debit_total = debit_total + 1000 WHERE balance_date <= ?",
+                JANUARY_END);
+
+        // Assert
+        assertEquals(Map.of(bank, new BigDecimal("150.0000"), revenue, new BigDecimal("-150.0000")), withoutCheckpoint.get(JANUARY_END));
+        assertEquals(withoutCheckpoint.get(JANUARY_END), balancesAsOf(JANUARY_END));
+        assertEquals(withoutCheckpoint.get(LocalDate.of(2026, 2, 10)), balancesAsOf(LocalDate.of(2026, 2, 10)));
+        assertEquals(withoutCheckpoint.get(LocalDate.of(2026, 3, 1)), balancesAsOf(LocalDate.of(2026, 3, 1)));
+        // Dates before the checkpoint still read the daily totals
+        assertNotEquals(withoutCheckpoint.get(LocalDate.of(2026, 1, 15)), balancesAsOf(LocalDate.of(2026, 1, 15)));
+    }
+
+    @Test
+    void sumNetBalanceBefore_StartsFromTheCheckpointBeforeTheDate() {
+        // Arrange
+        checkpoint(bank, JANUARY_END, "150");
+        checkpoint(revenue, JANUARY_END, "-150");
+        database.jdbcTemplate().update("UPDATE account_daily_balances SET debit_total = debit_total + 1000 WHERE balance_date <= ?",
+                JANUARY_END);
+
+        // Act & Assert
+        assertEquals(0, new BigDecimal("150").compareTo(accountDailyBalanceRepository.sumNetBalanceBefore(bank, LocalDate.of(2026, 2, 1))));
+        assertEquals(0, new BigDecimal("120").compareTo(accountDailyBalanceRepository.sumNetBalanceBefore(bank, LocalDate.of(2026, 2, 20))));
+        assertEquals(0, new BigDecimal("-120").compareTo(accountDailyBalanceRepository.sumNetBalanceBefore(revenue, LocalDate.of(2026, 3, 1))));
+        // The checkpoint is not used for dates it does not precede
+        assertEquals(0, new BigDecimal("1100").compareTo(accountDailyBalanceRepository.sumNetBalanceBefore(bank, JANUARY_END)));
+    }
+
+    // Runs the repository's SQL over JDBC: H2 hands native uuid columns to projections as byte[]
+    private Map<UUID, BigDecimal> balancesAsOf(LocalDate date) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        new NamedParameterJdbcTemplate(database.jdbcTemplate()).query(AccountDailyBalanceRepository.NET_BALANCES_AS_OF,
+                Map.of("date", date),
+                rs -> {
+                    balances.put(rs.getObject("accountId", UUID.class), rs.getBigDecimal("balance"));
+                });
+        return balances;
+    }
+
+    private void day(UUID accountId, LocalDate date, String debit, String credit) {
+        database.jdbcTemplate().update(
+                "INSERT INTO account_daily_balances (id, account_id, balance_date, debit_total, credit_total) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), accountId, date, new BigDecimal(debit), new BigDecimal(credit));
+    }
+
+    private void checkpoint(UUID accountId, LocalDate date, String balance) {
+        database.jdbcTemplate().update(
+                "INSERT INTO account_balance_checkpoints (id, account_id, checkpoint_date, balance) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), accountId, date, new BigDecimal(balance));
+    }
+}
@@ -0,0 +1,70 @@
+package com.accounting.platform.journal.repository;
+
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import com.accounting.platform.journal.entity.JournalEntry;
+import com.accounting.platform.journal.entity.JournalEntryStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEntryRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:15:30Z");
+
+    private JpaTestDatabase database;
+    private JournalEntryRepository journalEntryRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.journal.entity", "com.accounting.platform.account.entity");
+        database.persist(entry("JE-1", NOW, JournalEntryStatus.POSTED), entry("JE-2", NOW, JournalEntryStatus.POSTED),
+                entry("JE-3", NOW.minusSeconds(60), JournalEntryStatus.DRAFT), entry("JE-4", NOW.plusSeconds(60), JournalEntryStatus.POSTED),
+                entry("JE-5", NOW.minusSeconds(120), JournalEntryStatus.POSTED));
+        journalEntryRepository = database.repository(JournalEntryRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void findHeadersBefore_ContinuesBelowTheLastHeaderReturned() {
+        // Arrange
+        List<UUID> expected = database.jdbcTemplate().queryForList(
+                "SELECT id FROM journal_entries WHERE status = 'POSTED' ORDER BY created_at DESC, id DESC", UUID.class);
+
+        // Act
+        List<UUID> walked = new ArrayList<>();
+        List<JournalEntryRepository.EntryHeaderView> slice =
+                journalEntryRepository.findHeaders(JournalEntryStatus.POSTED, PageRequest.ofSize(2));
+        while (!slice.isEmpty()) {
+            slice.forEach(header -> walked.add(header.getId()));
+            JournalEntryRepository.EntryHeaderView last = slice.get(slice.size() - 1);
+            slice = journalEntryRepository.findHeadersBefore(JournalEntryStatus.POSTED, last.getCreatedAt(), last.getId(),
+                    PageRequest.ofSize(2));
+        }
+
+        // Assert
+        assertEquals(4, walked.size());
+        assertEquals(expected, walked);
+    }
+
+    private static JournalEntry entry(String reference, Instant createdAt, JournalEntryStatus status) {
+        JournalEntry entry = new JournalEntry();
+        entry.setReferenceNumber(reference);
+        entry.setEntryDate(LocalDate.of(2026, 3, 1));
+        entry.setStatus(status);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+}
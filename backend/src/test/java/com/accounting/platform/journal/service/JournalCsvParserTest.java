@@ -0,0 +1,77 @@
+package com.accounting.platform.journal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalCsvParserTest {
+
+    @Test
+    void parse_ReadsColumnsByHeaderNameInAnyOrder() {
+        // Arrange
+        String csv = """
+                Memo,Credit,Debit,Account Code,Date,Entry Ref
+                "Rent, March",,"1,200.50",6100,2026-03-01,JE-1
+                ,1200.50,,1000,2026-03-01,JE-1
+                """;
+
+        // Act
+        List<JournalCsvParser.Row> rows = parse(csv);
+
+        // Assert
+        assertEquals(2, rows.size());
+        JournalCsvParser.Row first = rows.get(0);
+        assertEquals(2, first.line());
+        assertEquals("JE-1", first.reference());
+        assertEquals(LocalDate.of(2026, 3, 1), first.date());
+        assertEquals("6100", first.accountCode());
+        assertEquals(new BigDecimal("1200.50"), first.debit());
+        assertEquals(BigDecimal.ZERO, first.credit());
+        assertEquals("Rent, March", first.memo());
+        assertNull(first.error());
+        assertNull(rows.get(1).memo());
+    }
+
+    @Test
+    void parse_PassesBadRowsOnWithAnErrorAndKeepsReading() {
+        // Arrange
+        String csv = """
+                ref,date,account,debit,credit
+                ,2026-03-01,1000,10,
+                JE-1,01/03/2026,1000,10,
+                JE-1,2026-03-01,1000,ten,
+                JE-2,2026-03-02,1000,10,
+                """;
+
+        // Act
+        List<JournalCsvParser.Row> rows = parse(csv);
+
+        // Assert
+        assertEquals(4, rows.size());
+        assertEquals("Entry reference is required", rows.get(0).error());
+        assertNotNull(rows.get(1).error());
+        assertEquals("Invalid amount", rows.get(2).error());
+        assertEquals(4, rows.get(2).line());
+        assertNull(rows.get(3).error());
+    }
+
+    @Test
+    void parse_RejectsAFileWithoutTheRequiredColumns() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parse("ref,date,account,debit\nJE-1,2026-03-01,1000,10\n"));
+        assertTrue(parse("").isEmpty());
+    }
+
+    private static List<JournalCsvParser.Row> parse(String csv) {
+        List<JournalCsvParser.Row> rows = new ArrayList<>();
+        JournalCsvParser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,240 @@
+package com.accounting.platform.journal.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.journal.dto.JournalImportResultDto;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import com.accounting.platform.journal.repository.JournalImportRepository;
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalImportServiceTest {
+
+    private static final String HEADER = "ref,date,account,debit,credit,memo\n";
+    private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private JournalImportRepository journalImportRepository;
+    @Mock
+    private JournalImportRepository.StagingWriter writer;
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+    @Mock
+    private JournalEntryService journalEntryService;
+    @Mock
+    private AccountBalanceService accountBalanceService;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+
+    @InjectMocks
+    private JournalImportService journalImportService;
+
+    private final UUID bankId = UUID.randomUUID();
+    private final UUID rentId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(journalImportService, "maxReportedErrors", 100);
+        when(chartOfAccountsRegistry.getAll()).thenReturn(List.of(
+                account("1000", bankId, true), account("6100", rentId, true), account("9999", UUID.randomUUID(), false)));
+        when(journalEntryService.cachedOpenPeriodCheck()).thenReturn(date -> !date.isBefore(MARCH_1));
+        when(journalImportRepository.openStaging()).thenReturn(writer);
+        when(documentSequenceService.formatMatcher(DocumentSequence.JOURNAL_ENTRY)).thenReturn(ref -> ref.matches("JE-\\d+"));
+    }
+
+    @Test
+    void importEntries_StagesValidEntriesAndReportsEveryBadLine() {
+        // Arrange
+        String csv = HEADER
+                + "GL-1,2026-03-01,6100,100,,Rent\n"
+                + "GL-1,2026-03-01,1000,,100,\n"
+                // one line with both sides, one with neither, one with an unknown and one with an inactive account
+                + "GL-2,2026-03-01,6100,50,50,\n"
+                + "GL-2,2026-03-01,1000,,,\n"
+                + "GL-2,2026-03-01,4000,10,,\n"
+                + "GL-2,2026-03-01,9999,10,,\n"
+                // lines of one entry on different dates
+                + "GL-3,2026-03-01,6100,10,,\n"
+                + "GL-3,2026-03-02,1000,,10,\n";
+        when(journalImportRepository.merge("alice")).thenReturn(new JournalImportRepository.Merged(1, 2, List.of(), List.of()));
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(8, result.getLinesRead());
+        assertEquals(1, result.getEntriesImported());
+        assertEquals(2, result.getEntriesRejected());
+        assertEquals(List.of(
+                "Line for account 6100 cannot have both debit and credit values",
+                "Line for account 1000 must have either a debit or credit value",
+                "Unknown or inactive account code 4000",
+                "Unknown or inactive account code 9999",
+                "All lines of entry GL-3 must have the same date"), messages(result));
+        assertEquals(9, result.getErrors().get(4).getLine());
+        verify(writer).write(1, 1, "GL-1", MARCH_1, rentId, "Rent", new BigDecimal("100"), BigDecimal.ZERO);
+        verify(writer).write(1, 2, "GL-1", MARCH_1, bankId, null, BigDecimal.ZERO, new BigDecimal("100"));
+        verify(writer, times(2)).write(anyInt(), anyInt(), any(), any(), any(), any(), any(), any());
+        verify(writer).finish();
+    }
+
+    @Test
+    void importEntries_RejectsEntriesThatAreShortUnbalancedOrInAClosedPeriod() {
+        // Arrange
+        String csv = HEADER
+                + "GL-1,2026-03-01,6100,100,,\n"
+                + "GL-2,2026-03-01,6100,100,,\n"
+                + "GL-2,2026-03-01,1000,,90,\n"
+                + "GL-3,2026-02-28,6100,100,,\n"
+                + "GL-3,2026-02-28,1000,,100,\n"
+                + "GL-4,2026-03-01,6100,100,,\n"
+                + "GL-5,2026-03-01,1000,,100,\n"
+                + "GL-4,2026-03-01,1000,,100,\n";
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(0, result.getEntriesImported());
+        assertEquals(6, result.getEntriesRejected());
+        assertEquals(List.of(
+                "Entry GL-1 must have at least two lines",
+                "Entry GL-2 is not balanced. Debits: 100, Credits: 90",
+                "Entry date 2026-02-28 is not in an open fiscal period",
+                "Entry GL-4 must have at least two lines",
+                "Entry GL-5 must have at least two lines",
+                "Lines of entry GL-4 must be contiguous"), messages(result));
+        verify(writer, never()).write(anyInt(), anyInt(), any(), any(), any(), any(), any(), any());
+        verify(journalImportRepository, never()).merge(anyString());
+    }
+
+    @Test
+    void importEntries_RejectsReferencesInTheJournalEntryNumberFormat() {
+        // Arrange
+        String csv = HEADER
+                + "JE-000900,2026-03-01,6100,100,,\n"
+                + "JE-000900,2026-03-01,1000,,100,\n"
+                + "JE-2026-A,2026-03-01,6100,40,,\n"
+                + "JE-2026-A,2026-03-01,1000,,40,\n";
+        when(journalImportRepository.merge("alice")).thenReturn(new JournalImportRepository.Merged(1, 2, List.of(), List.of()));
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(1, result.getEntriesRejected());
+        assertEquals(List.of("Entry reference JE-000900 is reserved for automatic numbering"), messages(result));
+        verify(writer, never()).write(anyInt(), anyInt(), eq("JE-000900"), any(), any(), any(), any(), any());
+        verify(writer, times(2)).write(eq(1), anyInt(), eq("JE-2026-A"), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void importEntries_SplitEntryIsRejectedWholeEvenOnceItsFirstPartWasStaged() {
+        // Arrange
+        String csv = HEADER
+                + "GL-1,2026-03-01,6100,100,,\n"
+                + "GL-1,2026-03-01,1000,,100,\n"
+                + "GL-2,2026-03-01,6100,40,,\n"
+                + "GL-2,2026-03-01,1000,,40,\n"
+                + "GL-1,2026-03-01,6100,5,,\n"
+                + "GL-1,2026-03-01,1000,,5,\n";
+        when(journalImportRepository.merge("alice")).thenReturn(new JournalImportRepository.Merged(1, 2, List.of(), List.of()));
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(1, result.getEntriesImported());
+        assertEquals(2, result.getEntriesRejected());
+        assertEquals(List.of("Lines of entry GL-1 must be contiguous"), messages(result));
+        assertEquals(6, result.getErrors().get(0).getLine());
+        InOrder order = inOrder(writer, journalImportRepository);
+        order.verify(writer).finish();
+        order.verify(journalImportRepository).unstage(List.of("GL-1"));
+        order.verify(journalImportRepository).merge("alice");
+    }
+
+    @Test
+    void importEntries_SkipsTheMergeWhenEveryStagedEntryWasUnstaged() {
+        // Arrange
+        String csv = HEADER
+                + "GL-1,2026-03-01,6100,100,,\n"
+                + "GL-1,2026-03-01,1000,,100,\n"
+                + "GL-2,2026-03-01,6100,40,,\n"
+                + "GL-1,2026-03-01,1000,,5,\n";
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(0, result.getEntriesImported());
+        assertEquals(3, result.getEntriesRejected());
+        verify(journalImportRepository).unstage(List.of("GL-1"));
+        verify(journalImportRepository, never()).merge(anyString());
+    }
+
+    @Test
+    void importEntries_ReportsReferencesAlreadyInTheLedger() {
+        // Arrange
+        String csv = HEADER
+                + "GL-1,2026-03-01,6100,100,,\n"
+                + "GL-1,2026-03-01,1000,,100,\n"
+                + "GL-2,2026-03-01,6100,40,,\n"
+                + "GL-2,2026-03-01,1000,,40,\n";
+        List<LedgerPostedEvent.Movement> movements = List.of(
+                new LedgerPostedEvent.Movement(rentId, MARCH_1, new BigDecimal("40"), BigDecimal.ZERO));
+        when(journalImportRepository.merge("alice"))
+                .thenReturn(new JournalImportRepository.Merged(1, 2, movements, List.of("GL-1")));
+
+        // Act
+        JournalImportResultDto result = journalImportService.importEntries(file(csv), "alice");
+
+        // Assert
+        assertEquals(1, result.getEntriesImported());
+        assertEquals(1, result.getEntriesRejected());
+        assertEquals(List.of("Entry reference GL-1 already exists in the journal"), messages(result));
+        assertEquals(2, result.getErrors().get(0).getLine());
+        verify(accountBalanceService).publishMovements(movements);
+        verify(auditService).logAction(eq("IMPORT_JOURNAL_ENTRIES"), eq("JournalImport"), any(), contains("rejected 1"));
+    }
+
+    private static MockMultipartFile file(String csv) {
+        return new MockMultipartFile("file", "journal.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> messages(JournalImportResultDto result) {
+        return result.getErrors().stream().map(JournalImportResultDto.RowError::getMessage).toList();
+    }
+
+    private static AccountView account(String code, UUID id, boolean active) {
+        return new AccountView(id, code, code, null, AccountType.ASSET, AccountSubtype.CURRENT_ASSET, null, active, "USD");
+    }
+}
@@ -0,0 +1,64 @@
+package com.accounting.platform.journal.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerVersionServiceTest {
+
+    private static final String ADVANCE = "SELECT nextval('ledger_version_seq')";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LedgerVersionService ledgerVersionService;
+    private TransactionTemplate outer;
+    private TransactionTemplate requiresNew;
+
+    @BeforeEach
+    void setUp() {
+        ledgerVersionService = new LedgerVersionService(jdbcTemplate);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:ledger-version-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        outer = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void markChanged_AdvancesOncePerCommittedTransaction() {
+        // Act
+        outer.executeWithoutResult(status -> {
+            ledgerVersionService.markChanged();
+            ledgerVersionService.markChanged();
+        });
+
+        // Assert
+        verify(jdbcTemplate, times(1)).queryForObject(ADVANCE, Long.class);
+    }
+
+    @Test
+    void markChanged_InnerTransactionAdvancesOnItsOwnCommit() {
+        // Act
+        outer.executeWithoutResult(status -> {
+            ledgerVersionService.markChanged();
+            requiresNew.executeWithoutResult(inner -> ledgerVersionService.markChanged());
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        verify(jdbcTemplate, times(1)).queryForObject(ADVANCE, Long.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.accounting.platform.notification.repository;
+
+import com.accounting.platform.common.repository.JpaTestDatabase;
+import com.accounting.platform.notification.entity.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRepositoryTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    private JpaTestDatabase database;
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = JpaTestDatabase.start("com.accounting.platform.notification.entity");
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        jdbcTemplate.execute("CREATE TABLE notification_recipients (notification_id UUID, user_id UUID)");
+        insert(jdbcTemplate, 1, true, null);
+        insert(jdbcTemplate, 2, false, bob);
+        insert(jdbcTemplate, 3, false, alice);
+        insert(jdbcTemplate, 4, true, null);
+        insert(jdbcTemplate, 5, true, null);
+        notificationRepository = database.repository(NotificationRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void findVisibleTo_PagesBelowTheCursorSeqAndSkipsOtherUsersNotifications() {
+        // Act
+        List<Long> first = seqs(notificationRepository.findVisibleTo(alice, Long.MAX_VALUE, 2));
+        List<Long> second = seqs(notificationRepository.findVisibleTo(alice, first.get(first.size() - 1), 2));
+        List<Long> last = seqs(notificationRepository.findVisibleTo(alice, second.get(second.size() - 1), 2));
+
+        // Assert
+        assertEquals(List.of(5L, 4L), first);
+        assertEquals(List.of(3L, 1L), second);
+        assertEquals(List.of(), last);
+    }
+
+    private static List<Long> seqs(List<Notification> notifications) {
+        return notifications.stream().map(Notification::getSeq).toList();
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, long seq, boolean broadcast, UUID recipient) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO notifications (id, created_at, seq, broadcast, title, type, category)
+                VALUES (?, ?, ?, ?, ?, 'INFO', 'SYSTEM')
+                """, id, Timestamp.from(Instant.now()), seq, broadcast, "Notification " + seq);
+        if (recipient != null) {
+            jdbcTemplate.update("INSERT INTO notification_recipients VALUES (?, ?)", id, recipient);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.accounting.platform.notification.service;
+
+import com.accounting.platform.notification.event.NotificationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationBroadcasterTest {
+
+    private static final NotificationEvent INITIAL = new NotificationEvent(NotificationEvent.UNREAD_COUNT, "{\"unreadCount\":0}", null);
+    private static final NotificationEvent BROADCAST = new NotificationEvent(NotificationEvent.NOTIFICATION, "{}", null);
+
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private NotificationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new NotificationBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "sendTimeoutMs", 50L);
+        ReflectionTestUtils.setField(broadcaster, "maxQueuedEvents", 10);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        broadcaster.stop();
+    }
+
+    @Test
+    void deliver_StalledClientDoesNotHoldUpTheOthers() throws Exception {
+        // Arrange
+        SseEmitter slow = stallingEmitter();
+        SseEmitter fast = mock(SseEmitter.class);
+        CountDownLatch delivered = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            delivered.countDown();
+            return null;
+        }).when(fast).send(any(SseEmitter.SseEventBuilder.class));
+        broadcaster.subscribe(slow, UUID.randomUUID(), INITIAL);
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        broadcaster.subscribe(fast, UUID.randomUUID(), INITIAL);
+
+        // Act
+        broadcaster.deliver(BROADCAST);
+
+        // Assert
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void heartbeat_DropsAClientWhoseWriteHasStalled() throws Exception {
+        // Arrange
+        SseEmitter slow = stallingEmitter();
+        broadcaster.subscribe(slow, UUID.randomUUID(), INITIAL);
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // Act
+        broadcaster.heartbeat();
+
+        // Assert
+        assertEquals(0, broadcaster.subscriberCount());
+        release.countDown();
+        verify(slow, timeout(5000)).complete();
+    }
+
+    @Test
+    void deliver_DropsAClientThatFallsTooFarBehind() throws Exception {
+        // Arrange
+        SseEmitter slow = stallingEmitter();
+        broadcaster.subscribe(slow, UUID.randomUUID(), INITIAL);
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 0; i <= 10; i++) {
+            broadcaster.deliver(BROADCAST);
+        }
+
+        // Assert
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    private SseEmitter stallingEmitter() throws IOException {
+        SseEmitter emitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            stalled.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new IOException("Broken pipe");
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        return emitter;
+    }
+}
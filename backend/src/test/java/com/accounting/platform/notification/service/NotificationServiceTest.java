@@ -0,0 +1,151 @@
+package com.accounting.platform.notification.service;
+
+import com.accounting.platform.common.dto.CursorPage;
+import com.accounting.platform.notification.entity.Notification;
+import com.accounting.platform.notification.entity.NotificationCategory;
+import com.accounting.platform.notification.entity.NotificationType;
+import com.accounting.platform.notification.event.NotificationEvent;
+import com.accounting.platform.notification.repository.NotificationReadStateRepository;
+import com.accounting.platform.notification.repository.NotificationRepository;
+import com.accounting.platform.security.entity.User;
+import com.accounting.platform.security.repository.UserRepository;
+import com.accounting.platform.security.service.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final String USERNAME = "alice@example.com";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationReadStateRepository notificationReadStateRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationBroadcaster notificationBroadcaster;
+    @Mock
+    private UnreadCountCache unreadCountCache;
+    @Mock
+    private ObjectProvider<NotificationRelay> notificationRelay;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(userId);
+        lenient().when(userRepository.findByEmail(USERNAME)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void getAllNotifications_ReadFlagComesFromTheUsersWatermarkAndExceptions() {
+        // Arrange
+        List<Notification> visible = List.of(notification(9), notification(8), notification(7), notification(5));
+        when(notificationRepository.findVisibleTo(userId, Long.MAX_VALUE, 21)).thenReturn(visible);
+        when(notificationReadStateRepository.find(userId))
+                .thenReturn(new NotificationReadStateRepository.ReadState(5, new long[]{8}));
+
+        // Act
+        CursorPage<Notification> page = notificationService.getAllNotifications(USERNAME, null, 20);
+
+        // Assert
+        assertEquals(List.of(false, true, false, true), page.getContent().stream().map(Notification::isRead).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void markAsRead_OnlyAnActualChangeLowersTheUnreadCount() {
+        // Arrange
+        UUID unread = UUID.randomUUID();
+        UUID alreadyRead = UUID.randomUUID();
+        when(notificationReadStateRepository.markRead(userId, unread)).thenReturn(true);
+        when(notificationReadStateRepository.markRead(userId, alreadyRead)).thenReturn(false);
+        when(unreadCountCache.get(eq(userId), any())).thenReturn(2L);
+
+        // Act
+        notificationService.markAsRead(USERNAME, unread);
+        notificationService.markAsRead(USERNAME, alreadyRead);
+
+        // Assert
+        verify(unreadCountCache, times(1)).add(userId, -1);
+        verify(notificationBroadcaster, times(1)).deliver(argThat(event -> event.name().equals(NotificationEvent.UNREAD_COUNT)
+                && event.data().equals("{\"unreadCount\":2}") && event.recipients().equals(Set.of(userId))));
+    }
+
+    @Test
+    void markAllAsRead_MovesTheWatermarkAndResetsOnlyThatUsersCount() {
+        // Arrange
+        when(unreadCountCache.get(eq(userId), any())).thenReturn(0L);
+
+        // Act
+        notificationService.markAllAsRead(USERNAME);
+
+        // Assert
+        verify(notificationReadStateRepository).markAllRead(userId);
+        verify(unreadCountCache).reset(userId);
+        verify(unreadCountCache, never()).invalidateAll();
+    }
+
+    @Test
+    void createNotification_AddressedNotificationIsWrittenOnceAndCountedOnlyForItsRecipients() {
+        // Arrange
+        UUID bob = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+        when(notificationRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            Notification saved = invocation.getArgument(0);
+            saved.setId(id);
+            return saved;
+        });
+
+        // Act
+        Notification saved = notificationService.createNotification("Invoice Approved", "INV-1 approved", NotificationType.SUCCESS,
+                NotificationCategory.INVOICE, "Invoice", null, "/invoices", List.of(userId, bob, userId));
+
+        // Assert
+        assertFalse(saved.isBroadcast());
+        verify(notificationRepository, times(1)).saveAndFlush(any());
+        verify(notificationReadStateRepository).insertRecipients(id, Set.of(userId, bob));
+        verify(unreadCountCache).add(userId, 1);
+        verify(unreadCountCache).add(bob, 1);
+        verify(unreadCountCache, never()).addAll(anyLong());
+        verify(notificationBroadcaster).deliver(argThat(event -> event.name().equals(NotificationEvent.NOTIFICATION)
+                && event.recipients().equals(Set.of(userId, bob))));
+    }
+
+    private static Notification notification(long seq) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setSeq(seq);
+        notification.setBroadcast(true);
+        return notification;
+    }
+}
@@ -0,0 +1,55 @@
+package com.accounting.platform.payment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentAllocatorTest {
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @Test
+    void oldestFirstSettlesInOrderAndKeepsOverpaymentAsCredit() {
+        Map<UUID, BigDecimal> remaining = new HashMap<>(Map.of(first, new BigDecimal("100"), second, new BigDecimal("50")));
+
+        PaymentAllocator.Plan plan = PaymentAllocator.oldestFirst(new BigDecimal("170"), List.of(first, second), remaining);
+
+        assertEquals(List.of(
+                new PaymentAllocator.Allocation(first, new BigDecimal("100")),
+                new PaymentAllocator.Allocation(second, new BigDecimal("50"))), plan.allocations());
+        assertEquals(0, new BigDecimal("20").compareTo(plan.unapplied()));
+        assertEquals(0, remaining.get(second).signum());
+    }
+
+    @Test
+    void partialPaymentLeavesBalanceForTheNextPayment() {
+        Map<UUID, BigDecimal> remaining = new HashMap<>(Map.of(first, new BigDecimal("100")));
+
+        PaymentAllocator.requested(new BigDecimal("60"),
+                List.of(new PaymentAllocator.Allocation(first, new BigDecimal("60"))), remaining, false);
+        PaymentAllocator.Plan second = PaymentAllocator.requested(new BigDecimal("60"),
+                List.of(new PaymentAllocator.Allocation(first, new BigDecimal("60"))), remaining, true);
+
+        assertEquals(0, new BigDecimal("40").compareTo(second.allocations().get(0).amount()));
+        assertEquals(0, new BigDecimal("20").compareTo(second.unapplied()));
+    }
+
+    @Test
+    void rejectedPlanLeavesBalancesUntouched() {
+        Map<UUID, BigDecimal> remaining = new HashMap<>(Map.of(first, new BigDecimal("100"), second, new BigDecimal("50")));
+
+        assertThrows(IllegalArgumentException.class, () -> PaymentAllocator.requested(new BigDecimal("200"), List.of(
+                new PaymentAllocator.Allocation(first, new BigDecimal("100")),
+                new PaymentAllocator.Allocation(second, new BigDecimal("80"))), remaining, false));
+
+        assertEquals(0, new BigDecimal("100").compareTo(remaining.get(first)));
+        assertEquals(0, new BigDecimal("50").compareTo(remaining.get(second)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.accounting.platform.payment.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.Account;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.repository.AccountRepository;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.common.idempotency.IdempotencyService;
+import com.accounting.platform.contact.repository.ContactRepository;
+import com.accounting.platform.dashboard.service.DashboardMetricsService;
+import com.accounting.platform.invoice.entity.InvoiceStatus;
+import com.accounting.platform.journal.service.JournalEntryService;
+import com.accounting.platform.notification.service.NotificationService;
+import com.accounting.platform.payment.dto.PaymentAllocationDto;
+import com.accounting.platform.payment.dto.PaymentRequestDto;
+import com.accounting.platform.payment.dto.RemittanceResultDto;
+import com.accounting.platform.payment.repository.PaymentAllocationRepository;
+import com.accounting.platform.payment.repository.PaymentRepository;
+import com.accounting.platform.sequence.service.DocumentSequenceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PaymentAllocationRepository paymentAllocationRepository;
+    @Mock
+    private ContactRepository contactRepository;
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private JournalEntryService journalEntryService;
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PaymentService paymentService;
+
+    private final UUID contactId = UUID.randomUUID();
+    private final UUID bankAccountId = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @Test
+    void receivePayment_FingerprintCoversTheAllocations() {
+        // Arrange
+        PaymentRequestDto split = request(new PaymentAllocationDto(first, null, new BigDecimal("60")),
+                new PaymentAllocationDto(second, null, new BigDecimal("40")));
+        PaymentRequestDto reordered = request(new PaymentAllocationDto(second, null, new BigDecimal("40.00")),
+                new PaymentAllocationDto(first, null, new BigDecimal("60.00")));
+        PaymentRequestDto otherSplit = request(new PaymentAllocationDto(first, null, new BigDecimal("100")));
+        PaymentRequestDto unallocated = request();
+
+        // Act
+        paymentService.receivePayment(split, "key");
+        paymentService.receivePayment(reordered, "key");
+        paymentService.receivePayment(otherSplit, "key");
+        paymentService.receivePayment(unallocated, "key");
+
+        // Assert
+        ArgumentCaptor<String> fingerprints = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyService, times(4)).execute(eq("payment"), eq("key"), fingerprints.capture(), any(), any(), any());
+        List<String> values = fingerprints.getAllValues();
+        assertEquals(values.get(0), values.get(1));
+        assertNotEquals(values.get(0), values.get(2));
+        assertNotEquals(values.get(0), values.get(3));
+        assertNotEquals(values.get(2), values.get(3));
+    }
+
+    @Test
+    void applyRemittance_ReportsUnreadableAndAlreadyRecordedPaymentsWithoutPostingThem() {
+        // Arrange
+        // The file was uploaded before: PAY-1 is already recorded for this contact
+        AccountView bank = new AccountView(bankAccountId, "1010", "Bank", null, AccountType.ASSET, AccountSubtype.BANK, null, true, "USD");
+        AccountView receivables = new AccountView(UUID.randomUUID(), "1100", "Accounts Receivable", null, AccountType.ASSET,
+                AccountSubtype.ACCOUNTS_RECEIVABLE, null, true, "USD");
+        when(chartOfAccountsRegistry.findById(bankAccountId)).thenReturn(Optional.of(bank));
+        when(chartOfAccountsRegistry.requireActiveBySubtype(AccountSubtype.ACCOUNTS_RECEIVABLE, "Accounts Receivable")).thenReturn(receivables);
+        when(accountRepository.getReferenceById(any())).thenReturn(new Account());
+        PaymentAllocationRepository.InvoiceBalance invoice = new PaymentAllocationRepository.InvoiceBalance(first, "INV-1", contactId,
+                "Acme", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), new BigDecimal("100"), BigDecimal.ZERO, InvoiceStatus.SENT);
+        when(paymentAllocationRepository.findInvoicesByNumbers(Set.of("INV-1"))).thenReturn(List.of(invoice));
+        when(paymentAllocationRepository.findPaymentReferences(List.of("PAY-1")))
+                .thenReturn(List.of(new PaymentAllocationRepository.PaymentReference(contactId, "PAY-1")));
+        List<RemittanceParser.Remittance> remittances = List.of(
+                new RemittanceParser.Remittance("PAY-1", LocalDate.of(2026, 3, 31),
+                        List.of(new RemittanceParser.Line("INV-1", new BigDecimal("100"))), null),
+                new RemittanceParser.Remittance("PAY-2", null, List.of(), "Invalid remittance line 3: amount must be positive"));
+
+        // Act
+        RemittanceResultDto result = paymentService.applyRemittance(remittances, bankAccountId);
+
+        // Assert
+        assertEquals(0, result.getApplied());
+        assertEquals(2, result.getFailed());
+        assertEquals("Payment PAY-1 from Acme is already recorded", result.getResults().get(0).getError());
+        assertEquals("Invalid remittance line 3: amount must be positive", result.getResults().get(1).getError());
+        verify(journalEntryService, never()).createPostedEntries(any());
+        verify(paymentRepository, never()).saveAllAndFlush(any());
+    }
+
+    private PaymentRequestDto request(PaymentAllocationDto... allocations) {
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setContactId(contactId);
+        request.setBankAccountId(bankAccountId);
+        request.setPaymentDate(LocalDate.of(2026, 3, 31));
+        request.setAmount(new BigDecimal("100.00"));
+        request.setAllocations(List.of(allocations));
+        return request;
+    }
+}
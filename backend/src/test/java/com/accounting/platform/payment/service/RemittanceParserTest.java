@@ -0,0 +1,72 @@
+package com.accounting.platform.payment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemittanceParserTest {
+
+    @Test
+    void parse_GroupsLinesByReference() {
+        // Arrange
+        String csv = """
+                Payment Reference,Payment Date,Invoice Number,Amount Paid
+                PAY-1,2026-03-31,INV-1,"1,000.00"
+                PAY-2,2026-03-31,INV-3,50
+                PAY-1,2026-03-31,INV-2,250
+                """;
+
+        // Act
+        List<RemittanceParser.Remittance> remittances = RemittanceParser.parse(stream(csv));
+
+        // Assert
+        assertEquals(List.of(
+                new RemittanceParser.Remittance("PAY-1", LocalDate.of(2026, 3, 31), List.of(
+                        new RemittanceParser.Line("INV-1", new BigDecimal("1000.00")),
+                        new RemittanceParser.Line("INV-2", new BigDecimal("250"))), null),
+                new RemittanceParser.Remittance("PAY-2", LocalDate.of(2026, 3, 31), List.of(
+                        new RemittanceParser.Line("INV-3", new BigDecimal("50"))), null)), remittances);
+    }
+
+    @Test
+    void parse_BadLineFailsOnlyItsOwnPayment() {
+        // Arrange
+        String csv = """
+                reference,payment_date,invoice_number,amount
+                PAY-1,2026-03-31,INV-1,100
+                PAY-1,2026-03-31,INV-2,n/a
+                PAY-2,2026-03-31,INV-3,50
+                ,2026-03-31,INV-4,10
+                PAY-3,31/03/2026,INV-5,10
+                PAY-2,2026-04-01,INV-6,10
+                """;
+
+        // Act
+        List<RemittanceParser.Remittance> remittances = RemittanceParser.parse(stream(csv));
+
+        // Assert
+        assertEquals(Arrays.asList("PAY-1", "PAY-2", null, "PAY-3"),
+                remittances.stream().map(RemittanceParser.Remittance::reference).toList());
+        assertTrue(remittances.get(0).error().startsWith("Invalid remittance line 3: "));
+        assertEquals("Invalid remittance line 7: payment PAY-2 has more than one payment date", remittances.get(1).error());
+        assertEquals("Invalid remittance line 5: reference is required", remittances.get(2).error());
+        assertTrue(remittances.get(3).error().startsWith("Invalid remittance line 6: "));
+    }
+
+    @Test
+    void parse_RejectsAFileWithoutTheRequiredColumns() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RemittanceParser.parse(stream("reference,amount\nPAY-1,10\n")));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
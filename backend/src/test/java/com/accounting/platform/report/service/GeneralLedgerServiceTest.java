@@ -0,0 +1,106 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountSubtype;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.common.dto.CursorCodec;
+import com.accounting.platform.journal.service.AccountBalanceService;
+import com.accounting.platform.report.dto.GeneralLedgerPageDto;
+import com.accounting.platform.report.repository.GeneralLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeneralLedgerServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    @Mock
+    private GeneralLedgerRepository generalLedgerRepository;
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+    @Mock
+    private AccountBalanceService accountBalanceService;
+
+    @InjectMocks
+    private GeneralLedgerService generalLedgerService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        AccountView account = new AccountView(accountId, "1000", "Bank", null, AccountType.ASSET, AccountSubtype.BANK, null, true, "USD");
+        when(chartOfAccountsRegistry.findById(accountId)).thenReturn(Optional.of(account));
+    }
+
+    @Test
+    void getLedger_CursorHoldsOnlyTheKeyOfTheLastLine() {
+        // Arrange
+        GeneralLedgerPageDto.LineDto first = line(LocalDate.of(2026, 1, 5), "150");
+        GeneralLedgerPageDto.LineDto second = line(LocalDate.of(2026, 1, 6), "120");
+        when(accountBalanceService.getNetBalanceBefore(accountId, START)).thenReturn(new BigDecimal("100"));
+        when(generalLedgerRepository.findPage(eq(accountId), eq(START), eq(END), isNull(), eq(new BigDecimal("100")), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        GeneralLedgerPageDto page = generalLedgerService.getLedger(accountId, START, END, null, 1);
+
+        // Assert
+        assertEquals(List.of(first), page.getItems());
+        assertArrayEquals(new String[]{"2026-01-05", first.getJournalEntryId().toString(), first.getLineId().toString()},
+                CursorCodec.decode(page.getNextCursor(), 3));
+    }
+
+    @Test
+    void getLedger_LaterPageIsSeededOnTheServer() {
+        // Arrange
+        GeneralLedgerRepository.Position position =
+                new GeneralLedgerRepository.Position(LocalDate.of(2026, 1, 5), UUID.randomUUID(), UUID.randomUUID());
+        String cursor = CursorCodec.encode(position.entryDate(), position.entryId(), position.lineId());
+        when(accountBalanceService.getNetBalanceBefore(accountId, position.entryDate())).thenReturn(new BigDecimal("100"));
+        when(generalLedgerRepository.sumDayThrough(accountId, position)).thenReturn(new BigDecimal("50"));
+        when(generalLedgerRepository.findPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        GeneralLedgerPageDto page = generalLedgerService.getLedger(accountId, START, END, cursor, 10);
+
+        // Assert
+        assertEquals(new BigDecimal("150"), page.getBalanceForward());
+        verify(generalLedgerRepository).findPage(accountId, START, END, position, new BigDecimal("150"), 11);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getLedger_RejectsCursorsCarryingABalanceOrOutsideTheRange() {
+        // Arrange
+        String withBalance = CursorCodec.encode(LocalDate.of(2026, 1, 5), UUID.randomUUID(), UUID.randomUUID(), "999999");
+        String outside = CursorCodec.encode(LocalDate.of(2025, 12, 31), UUID.randomUUID(), UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> generalLedgerService.getLedger(accountId, START, END, withBalance, 10));
+        assertThrows(IllegalArgumentException.class, () -> generalLedgerService.getLedger(accountId, START, END, outside, 10));
+        verifyNoInteractions(generalLedgerRepository);
+    }
+
+    private static GeneralLedgerPageDto.LineDto line(LocalDate date, String runningBalance) {
+        return new GeneralLedgerPageDto.LineDto(UUID.randomUUID(), UUID.randomUUID(), date, "JE-1", "Line",
+                new BigDecimal(runningBalance), BigDecimal.ZERO, new BigDecimal(runningBalance));
+    }
+}
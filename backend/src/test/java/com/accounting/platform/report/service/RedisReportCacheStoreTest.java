@@ -0,0 +1,96 @@
+package com.accounting.platform.report.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisReportCacheStoreTest {
+
+    private static final ReportCacheKey KEY = ReportCacheKey.asOf("BALANCE_SHEET", LocalDate.of(2026, 1, 31));
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @InjectMocks
+    private RedisReportCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "ttlHours", 24);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void put_IndexesTheReportAndPrunesExpiredMembers() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        long before = System.currentTimeMillis();
+
+        // Act
+        store.put(KEY, "{}");
+
+        // Assert
+        verify(valueOperations).set("report:" + KEY.id(), "{}", Duration.ofHours(24));
+        verify(zSetOperations).add("report-index:by-end-date", KEY.id(), KEY.end().toEpochDay());
+        verify(zSetOperations).add(eq("report-index:by-expiry"), eq(KEY.id()),
+                doubleThat(expiry -> expiry >= before + Duration.ofHours(24).toMillis()));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("report-index:by-end-date", "report-index:by-expiry")),
+                anyString(), eq("100"), eq("report:"));
+    }
+
+    @Test
+    void evictCovering_RemovesReportsFromBothIndexes() {
+        // Arrange
+        when(zSetOperations.rangeByScore(eq("report-index:by-end-date"), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(KEY.id()));
+
+        // Act
+        int evicted = store.evictCovering(new TreeSet<>(Set.of(LocalDate.of(2026, 1, 10))));
+
+        // Assert
+        assertEquals(1, evicted);
+        verify(redisTemplate).delete(List.of("report:" + KEY.id()));
+        verify(zSetOperations).remove("report-index:by-end-date", KEY.id());
+        verify(zSetOperations).remove("report-index:by-expiry", KEY.id());
+    }
+
+    @Test
+    void evictAll_RemovesIndexedReportsAndBothIndexes() {
+        // Arrange
+        when(zSetOperations.range("report-index:by-end-date", 0, -1)).thenReturn(Set.of(KEY.id()));
+
+        // Act
+        int evicted = store.evictAll();
+
+        // Assert
+        assertEquals(1, evicted);
+        verify(redisTemplate).delete(List.of("report:" + KEY.id()));
+        verify(redisTemplate).delete(List.of("report-index:by-end-date", "report-index:by-expiry"));
+    }
+}
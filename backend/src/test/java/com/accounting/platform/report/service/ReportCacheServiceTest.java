@@ -0,0 +1,128 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.account.event.ChartOfAccountsChangedEvent;
+import com.accounting.platform.journal.event.LedgerPostedEvent;
+import com.accounting.platform.journal.service.LedgerVersionService;
+import com.accounting.platform.report.dto.FinancialReportDto;
+import com.accounting.platform.report.dto.ReportLineDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCacheServiceTest {
+
+    @Mock
+    private LedgerVersionService ledgerVersionService;
+
+    private InMemoryReportCacheStore store;
+    private ReportCacheService reportCacheService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryReportCacheStore();
+        reportCacheService = new ReportCacheService(store, ledgerVersionService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void getOrCompute_ServesRepeatedRequestsFromCache() {
+        // Arrange
+        when(ledgerVersionService.currentVersion()).thenReturn(7L);
+        AtomicInteger computed = new AtomicInteger();
+        ReportCacheKey key = ReportCacheKey.asOf("BALANCE_SHEET", LocalDate.of(2026, 1, 31));
+
+        // Act
+        FinancialReportDto first = reportCacheService.getOrCompute(key, () -> {
+            computed.incrementAndGet();
+            return report("Balance Sheet");
+        });
+        FinancialReportDto second = reportCacheService.getOrCompute(key, () -> {
+            computed.incrementAndGet();
+            return report("Balance Sheet");
+        });
+
+        // Assert
+        assertEquals(1, computed.get());
+        assertEquals(first, second);
+        assertEquals(new BigDecimal("1500.00"), second.getSections().get("Assets").get(0).getBalance());
+    }
+
+    @Test
+    void onLedgerPosted_EvictsOnlyReportsCoveringPostedDates() {
+        // Arrange
+        when(ledgerVersionService.currentVersion()).thenReturn(1L);
+        ReportCacheKey januaryBalanceSheet = ReportCacheKey.asOf("BALANCE_SHEET", LocalDate.of(2026, 1, 31));
+        ReportCacheKey februaryBalanceSheet = ReportCacheKey.asOf("BALANCE_SHEET", LocalDate.of(2026, 2, 28));
+        ReportCacheKey januaryIncome = ReportCacheKey.period("INCOME_STATEMENT", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+        ReportCacheKey februaryIncome = ReportCacheKey.period("INCOME_STATEMENT", LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+        List.of(januaryBalanceSheet, februaryBalanceSheet, januaryIncome, februaryIncome)
+                .forEach(key -> reportCacheService.getOrCompute(key, () -> report(key.reportType())));
+
+        // Act
+        reportCacheService.onLedgerPosted(new LedgerPostedEvent(new TreeSet<>(List.of(LocalDate.of(2026, 2, 10))), List.of()));
+
+        // Assert
+        assertTrue(store.get(januaryBalanceSheet).isPresent());
+        assertTrue(store.get(januaryIncome).isPresent());
+        assertTrue(store.get(februaryBalanceSheet).isEmpty());
+        assertTrue(store.get(februaryIncome).isEmpty());
+    }
+
+    @Test
+    void onChartOfAccountsChanged_EvictsEveryReport() {
+        // Arrange
+        when(ledgerVersionService.currentVersion()).thenReturn(1L);
+        ReportCacheKey balanceSheet = ReportCacheKey.asOf("BALANCE_SHEET", LocalDate.of(2026, 1, 31));
+        ReportCacheKey income = ReportCacheKey.period("INCOME_STATEMENT", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        List.of(balanceSheet, income).forEach(key -> reportCacheService.getOrCompute(key, () -> report(key.reportType())));
+
+        // Act
+        reportCacheService.onChartOfAccountsChanged(new ChartOfAccountsChangedEvent());
+
+        // Assert
+        assertTrue(store.get(balanceSheet).isEmpty());
+        assertTrue(store.get(income).isEmpty());
+    }
+
+    @Test
+    void getOrCompute_SkipsCachingWhenLedgerChangedDuringComputation() {
+        // Arrange
+        when(ledgerVersionService.currentVersion()).thenReturn(3L, 4L);
+        ReportCacheKey key = ReportCacheKey.asOf("TRIAL_BALANCE", LocalDate.of(2026, 3, 31));
+
+        // Act
+        reportCacheService.getOrCompute(key, () -> report("Trial Balance"));
+
+        // Assert
+        assertTrue(store.get(key).isEmpty());
+    }
+
+    private FinancialReportDto report(String name) {
+        Map<String, List<ReportLineDto>> sections = new LinkedHashMap<>();
+        sections.put("Assets", List.of(ReportLineDto.builder()
+                .accountName("Cash")
+                .accountCode("1000")
+                .balance(new BigDecimal("1500.00"))
+                .build()));
+        return FinancialReportDto.builder()
+                .reportName(name)
+                .endDate(LocalDate.of(2026, 1, 31))
+                .sections(sections)
+                .summary(Map.of("Total Assets", new BigDecimal("1500.00")))
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.report.dto.AgingBucket;
+import com.accounting.platform.report.dto.AgingReportDto;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportExportServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 3, 31);
+    private static final UUID CONTACT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final ReportExportService reportExportService = new ReportExportService();
+
+    @Test
+    void writeAgingDetailsCsv_WritesOneRowPerDocumentWithItsBucket() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportExportService.AgingLines lines = consumer -> {
+            consumer.accept(line("Acme, Inc.", "INV-1", 0));
+            consumer.accept(line("Say \"Hi\" Ltd", "INV-2", 45));
+        };
+
+        // Act
+        reportExportService.writeAgingDetailsCsv(lines, out);
+
+        // Assert
+        assertEquals("""
+                Bucket,Contact ID,Contact,Document,Date,Due Date,Days Overdue,Amount,Currency\r
+                Current,00000000-0000-0000-0000-000000000001,"Acme, Inc.",INV-1,2026-03-01,2026-03-31,0,100.00,USD\r
+                31-60 Days,00000000-0000-0000-0000-000000000001,"Say ""Hi"" Ltd",INV-2,2026-01-15,2026-02-14,45,100.00,USD\r
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeAgingReportExcel_KeepsRowsFlushedOutOfTheWindow() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        reportExportService.writeAgingReportExcel(report(), lines(1000), out);
+
+        // Assert
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("AR Aging");
+            // Title, date, blank, summary header, five buckets, total, two blanks and the detail header come first
+            int firstDetail = 13;
+            assertEquals(firstDetail + 999, sheet.getLastRowNum());
+            assertEquals("INV-0", sheet.getRow(firstDetail).getCell(1).getStringCellValue());
+            assertEquals("INV-999", sheet.getRow(sheet.getLastRowNum()).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void writeAgingReportPdf_WritesRowsPastTheFlushSizeAndLeavesTheStreamOpen() throws Exception {
+        // Arrange
+        ClosingAwareOutputStream out = new ClosingAwareOutputStream();
+
+        // Act
+        reportExportService.writeAgingReportPdf(report(), lines(1200), out);
+
+        // Assert
+        assertFalse(out.closed);
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            assertTrue(pdf.getNumberOfPages() > 1);
+            String lastPage = PdfTextExtractor.getTextFromPage(pdf.getLastPage());
+            assertTrue(lastPage.contains("INV-1199"));
+        }
+    }
+
+    // Detail lines in bucket order: the first half current, the rest 45 days overdue
+    private static ReportExportService.AgingLines lines(int count) {
+        return consumer -> {
+            for (int i = 0; i < count; i++) {
+                consumer.accept(line("Acme", "INV-" + i, i < count / 2 ? 0 : 45));
+            }
+        };
+    }
+
+    private static AgingReportDto.AgingLineDto line(String contact, String number, int daysOverdue) {
+        LocalDate due = AS_OF.minusDays(daysOverdue);
+        return new AgingReportDto.AgingLineDto(CONTACT_ID.toString(), contact, number, due.minusDays(30), due,
+                daysOverdue, new BigDecimal("100.00"), "USD");
+    }
+
+    private static AgingReportDto report() {
+        List<AgingReportDto.AgingBucketDto> buckets = Arrays.stream(AgingBucket.values())
+                .map(bucket -> new AgingReportDto.AgingBucketDto(bucket.getLabel(), bucket.getDaysStart(), bucket.getDaysEnd(),
+                        BigDecimal.ZERO, 0, List.of()))
+                .toList();
+        return new AgingReportDto("RECEIVABLES", AS_OF, buckets, List.of(), BigDecimal.ZERO, 0);
+    }
+
+    private static final class ClosingAwareOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
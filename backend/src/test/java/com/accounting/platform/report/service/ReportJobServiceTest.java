@@ -0,0 +1,137 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.journal.service.LedgerVersionService;
+import com.accounting.platform.report.dto.FinancialReportDto;
+import com.accounting.platform.report.dto.ReportFormat;
+import com.accounting.platform.report.dto.ReportJobDto;
+import com.accounting.platform.report.dto.ReportJobRequestDto;
+import com.accounting.platform.report.dto.ReportJobStatus;
+import com.accounting.platform.report.dto.ReportType;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private ReportService reportService;
+    @Mock
+    private ReportExportService reportExportService;
+    @Mock
+    private LedgerVersionService ledgerVersionService;
+
+    @TempDir
+    Path cacheDirectory;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportJobService = new ReportJobService(reportService, reportExportService, ledgerVersionService);
+        ReflectionTestUtils.setField(reportJobService, "workers", 2);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(reportJobService, "perUserLimit", 1);
+        ReflectionTestUtils.setField(reportJobService, "cachePath", cacheDirectory.toString());
+        reportJobService.start();
+        when(ledgerVersionService.currentVersion()).thenReturn(1L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        reportJobService.stop();
+        // Let interrupted workers finish their cleanup before the temporary directory is removed
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(reportJobService, "executor");
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_IdenticalRequestsShareTheRunningJob() throws Exception {
+        // Arrange
+        when(reportService.generateBalanceSheet(AS_OF)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new FinancialReportDto();
+        });
+
+        // Act
+        ReportJobDto first = reportJobService.submit(request(AS_OF), "alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ReportJobDto second = reportJobService.submit(request(AS_OF), "bob");
+
+        // Assert
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getId(), reportJobService.getJob(first.getId(), "bob").getId());
+        assertThrows(EntityNotFoundException.class, () -> reportJobService.getJob(first.getId(), "mallory"));
+    }
+
+    @Test
+    void submit_EnforcesThePerUserLimit() throws Exception {
+        // Arrange
+        when(reportService.generateBalanceSheet(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new FinancialReportDto();
+        });
+        reportJobService.submit(request(AS_OF), "alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> reportJobService.submit(request(AS_OF.minusDays(1)), "alice"));
+        assertDoesNotThrow(() -> reportJobService.submit(request(AS_OF.minusDays(1)), "bob"));
+    }
+
+    @Test
+    void submit_FailedJobIsReportedAndNotReusedForTheNextRequest() throws Exception {
+        // Arrange
+        when(reportService.generateBalanceSheet(AS_OF)).thenThrow(new IllegalStateException("Ledger unavailable"));
+
+        // Act
+        ReportJobDto failed = reportJobService.submit(request(AS_OF), "alice");
+        ReportJobDto status = awaitFinished(failed.getId());
+        ReportJobDto retried = reportJobService.submit(request(AS_OF), "alice");
+
+        // Assert
+        assertEquals(ReportJobStatus.FAILED, status.getStatus());
+        assertEquals("Ledger unavailable", status.getError());
+        assertNull(status.getDownloadUrl());
+        assertNotEquals(failed.getId(), retried.getId());
+        assertThrows(IllegalStateException.class, () -> reportJobService.getArtifact(failed.getId(), "alice"));
+    }
+
+    private ReportJobDto awaitFinished(java.util.UUID id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ReportJobDto job = reportJobService.getJob(id, "alice");
+            if (job.getStatus() == ReportJobStatus.COMPLETED || job.getStatus() == ReportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Report job did not finish");
+    }
+
+    private static ReportJobRequestDto request(LocalDate asOfDate) {
+        return new ReportJobRequestDto(ReportType.BALANCE_SHEET, ReportFormat.CSV, asOfDate, null, null);
+    }
+}
@@ -0,0 +1,196 @@
+package com.accounting.platform.report.service;
+
+import com.accounting.platform.account.dto.AccountView;
+import com.accounting.platform.account.entity.AccountType;
+import com.accounting.platform.account.service.ChartOfAccountsRegistry;
+import com.accounting.platform.journal.service.AccountBalanceService;
+import com.accounting.platform.report.dto.AgingBucket;
+import com.accounting.platform.report.dto.AgingReportDto;
+import com.accounting.platform.report.dto.FinancialReportDto;
+import com.accounting.platform.report.dto.ReportLineDto;
+import com.accounting.platform.report.repository.AgingReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private ChartOfAccountsRegistry chartOfAccountsRegistry;
+    @Mock
+    private AccountBalanceService accountBalanceService;
+    @Mock
+    private AgingReportRepository agingReportRepository;
+    @Mock
+    private ReportCacheService reportCacheService;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private final AccountView bank = account("1000", "Bank", AccountType.ASSET);
+    private final AccountView receivables = account("1100", "Receivables", AccountType.ASSET);
+    private final AccountView idle = account("1200", "Petty Cash", AccountType.ASSET);
+    private final AccountView payables = account("2000", "Payables", AccountType.LIABILITY);
+    private final AccountView capital = account("3000", "Capital", AccountType.EQUITY);
+    private final AccountView sales = account("4000", "Sales", AccountType.REVENUE);
+    private final AccountView rent = account("6000", "Rent", AccountType.EXPENSE);
+
+    // (Debit - Credit) per account up to AS_OF; the ledger balances to zero
+    private final Map<UUID, BigDecimal> balances = new HashMap<>(Map.of(
+            bank.id(), new BigDecimal("5000"),
+            receivables.id(), new BigDecimal("1200"),
+            payables.id(), new BigDecimal("-800"),
+            capital.id(), new BigDecimal("-3000"),
+            sales.id(), new BigDecimal("-4000"),
+            rent.id(), new BigDecimal("1600")));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reportService, "agingDetailLimit", 2);
+    }
+
+    private void givenChart() {
+        when(reportCacheService.getOrCompute(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<FinancialReportDto>>getArgument(1).get());
+        when(chartOfAccountsRegistry.getAll()).thenReturn(List.of(bank, receivables, idle, payables, capital, sales, rent));
+    }
+
+    @Test
+    void generateBalanceSheet_SingleAggregateMatchesThePerTypeSections() {
+        // Arrange
+        // A balance for an account the chart no longer has is left out, as the per-type lookups did
+        givenChart();
+        balances.put(UUID.randomUUID(), new BigDecimal("999"));
+        when(accountBalanceService.getNetBalancesAsOf(AS_OF)).thenReturn(balances);
+
+        // Act
+        FinancialReportDto report = reportService.generateBalanceSheet(AS_OF);
+
+        // Assert
+        assertEquals(List.of(line(bank, "5000"), line(receivables, "1200")), report.getSections().get("Assets"));
+        assertEquals(List.of(line(payables, "800")), report.getSections().get("Liabilities"));
+        assertEquals(List.of(line(capital, "3000"), ReportLineDto.builder().accountName("Retained Earnings").balance(new BigDecimal("2400")).build()),
+                report.getSections().get("Equity"));
+
+        Map<String, BigDecimal> summary = report.getSummary();
+        assertEquals(new BigDecimal("6200"), summary.get("Total Assets"));
+        assertEquals(new BigDecimal("800"), summary.get("Total Liabilities"));
+        assertEquals(new BigDecimal("5400"), summary.get("Total Equity"));
+        assertEquals(new BigDecimal("6200"), summary.get("Total Liabilities and Equity"));
+        // Folded totals equal the sum of each section's lines
+        assertEquals(sum(report, "Assets"), summary.get("Total Assets"));
+        assertEquals(sum(report, "Liabilities"), summary.get("Total Liabilities"));
+        assertEquals(sum(report, "Equity"), summary.get("Total Equity"));
+        verify(accountBalanceService).getNetBalancesAsOf(AS_OF);
+        verifyNoMoreInteractions(accountBalanceService);
+    }
+
+    @Test
+    void generateBalanceSheet_EmptyLedgerHasZeroTotalsAndRetainedEarnings() {
+        // Arrange
+        givenChart();
+        when(accountBalanceService.getNetBalancesAsOf(AS_OF)).thenReturn(Map.of());
+
+        // Act
+        FinancialReportDto report = reportService.generateBalanceSheet(AS_OF);
+
+        // Assert
+        assertTrue(report.getSections().get("Assets").isEmpty());
+        assertTrue(report.getSections().get("Liabilities").isEmpty());
+        assertEquals(List.of(ReportLineDto.builder().accountName("Retained Earnings").balance(BigDecimal.ZERO).build()),
+                report.getSections().get("Equity"));
+        report.getSummary().values().forEach(total -> assertEquals(BigDecimal.ZERO, total));
+    }
+
+    @Test
+    void generateReceivablesAging_FoldsContactBucketTotalsAndFilesDetailsByBucket() {
+        // Arrange
+        UUID acme = UUID.randomUUID();
+        UUID globex = UUID.randomUUID();
+        when(agingReportRepository.summarize(AgingReportRepository.Source.RECEIVABLES, AS_OF)).thenReturn(List.of(
+                new AgingReportRepository.ContactBucketTotal(acme, "Acme", AgingBucket.CURRENT, new BigDecimal("100"), 1),
+                new AgingReportRepository.ContactBucketTotal(globex, "Globex", AgingBucket.CURRENT, new BigDecimal("50"), 2),
+                new AgingReportRepository.ContactBucketTotal(acme, "Acme", AgingBucket.DAYS_31_60, new BigDecimal("300"), 3)));
+        AgingReportDto.AgingLineDto current = agingLine(acme, "INV-1", 0);
+        AgingReportDto.AgingLineDto late = agingLine(acme, "INV-2", 45);
+        doAnswer(invocation -> {
+            Consumer<AgingReportDto.AgingLineDto> consumer = invocation.getArgument(3);
+            consumer.accept(current);
+            consumer.accept(late);
+            return null;
+        }).when(agingReportRepository).streamDetails(eq(AgingReportRepository.Source.RECEIVABLES), eq(AS_OF), eq(2), any());
+
+        // Act
+        AgingReportDto report = reportService.generateReceivablesAging(AS_OF);
+
+        // Assert
+        assertEquals(List.of(new BigDecimal("150"), BigDecimal.ZERO, new BigDecimal("300"), BigDecimal.ZERO, BigDecimal.ZERO),
+                report.buckets().stream().map(AgingReportDto.AgingBucketDto::amount).toList());
+        assertEquals(List.of(3, 0, 3, 0, 0), report.buckets().stream().map(AgingReportDto.AgingBucketDto::count).toList());
+        assertEquals(List.of(current), report.buckets().get(AgingBucket.CURRENT.ordinal()).details());
+        assertEquals(List.of(late), report.buckets().get(AgingBucket.DAYS_31_60.ordinal()).details());
+        assertEquals(new BigDecimal("450"), report.totalOutstanding());
+        assertEquals(6, report.totalCount());
+
+        assertEquals(List.of("Acme", "Globex"), report.contacts().stream().map(AgingReportDto.AgingContactDto::contactName).toList());
+        AgingReportDto.AgingContactDto acmeTotals = report.contacts().get(0);
+        assertEquals(List.of(new BigDecimal("100"), BigDecimal.ZERO, new BigDecimal("300"), BigDecimal.ZERO, BigDecimal.ZERO),
+                acmeTotals.bucketAmounts());
+        assertEquals(new BigDecimal("400"), acmeTotals.total());
+        assertEquals(4, acmeTotals.count());
+    }
+
+    @Test
+    void generatePayablesAging_WithoutDetailsReadsOnlyTheAggregate() {
+        // Arrange
+        when(agingReportRepository.summarize(AgingReportRepository.Source.PAYABLES, AS_OF)).thenReturn(List.of(
+                new AgingReportRepository.ContactBucketTotal(UUID.randomUUID(), "Initech", AgingBucket.DAYS_90_PLUS, new BigDecimal("75"), 1)));
+
+        // Act
+        AgingReportDto report = reportService.generatePayablesAging(AS_OF, false);
+
+        // Assert
+        assertEquals("PAYABLES", report.reportType());
+        assertEquals(new BigDecimal("75"), report.buckets().get(AgingBucket.DAYS_90_PLUS.ordinal()).amount());
+        assertTrue(report.buckets().stream().allMatch(bucket -> bucket.details().isEmpty()));
+        verify(agingReportRepository, never()).streamDetails(any(), any(), any(), any());
+    }
+
+    private static BigDecimal sum(FinancialReportDto report, String section) {
+        return report.getSections().get(section).stream().map(ReportLineDto::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static ReportLineDto line(AccountView account, String balance) {
+        return ReportLineDto.builder().accountName(account.name()).accountCode(account.code()).balance(new BigDecimal(balance)).build();
+    }
+
+    private static AgingReportDto.AgingLineDto agingLine(UUID contactId, String number, int daysOverdue) {
+        return new AgingReportDto.AgingLineDto(contactId.toString(), "Acme", number, AS_OF.minusDays(daysOverdue + 30),
+                AS_OF.minusDays(daysOverdue), daysOverdue, new BigDecimal("100"), "USD");
+    }
+
+    private static AccountView account(String code, String name, AccountType type) {
+        return new AccountView(UUID.randomUUID(), code, name, null, type, null, null, true, "USD");
+    }
+}
@@ -0,0 +1,65 @@
+package com.accounting.platform.search.repository;
+
+import com.accounting.platform.search.dto.SearchResultDto;
+import com.accounting.platform.search.dto.SearchResultType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRepositoryTest {
+
+    private final UUID acme = UUID.randomUUID();
+    private final UUID exactInvoice = UUID.randomUUID();
+
+    private SearchRepository searchRepository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:search-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE contacts (id UUID PRIMARY KEY, name VARCHAR(255), email VARCHAR(255))");
+        jdbcTemplate.execute("""
+                CREATE TABLE invoices (id UUID PRIMARY KEY, contact_id UUID, invoice_number VARCHAR(50), reference VARCHAR(255),
+                                       issue_date DATE, total_amount NUMERIC(19, 2))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE expenses (id UUID PRIMARY KEY, vendor_id UUID, reference_number VARCHAR(50), notes VARCHAR(1000),
+                                       date DATE, total_amount NUMERIC(19, 2))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE journal_entries (id UUID PRIMARY KEY, reference_number VARCHAR(50), description VARCHAR(500),
+                                              entry_date DATE)
+                """);
+        jdbcTemplate.update("INSERT INTO contacts VALUES (?, 'Acme 100% Supplies', 'ap@acme.test')", acme);
+        jdbcTemplate.update("INSERT INTO invoices VALUES (?, ?, 'INV-000100', 'PO-7', DATE '2024-03-01', 250.00)", exactInvoice, acme);
+        jdbcTemplate.update("INSERT INTO invoices VALUES (?, ?, 'INV-001000', NULL, DATE '2024-03-02', 80.00)", UUID.randomUUID(), acme);
+        jdbcTemplate.update("INSERT INTO expenses VALUES (?, ?, 'EXP-000100', 'Inv-000100 rebill', DATE '2024-03-03', 40.00)", UUID.randomUUID(), acme);
+        jdbcTemplate.update("INSERT INTO journal_entries VALUES (?, 'INV-000100', 'Invoice INV-000100', DATE '2024-03-01')", UUID.randomUUID());
+        searchRepository = new SearchRepository(jdbcTemplate);
+    }
+
+    @Test
+    void exactMatchesRankFirstAcrossSources() {
+        List<SearchResultDto> results = searchRepository.search("inv-000100", EnumSet.allOf(SearchResultType.class), 10);
+
+        assertEquals(3, results.size());
+        assertEquals(exactInvoice, results.get(0).getId());
+        assertEquals(SearchResultType.INVOICE, results.get(0).getType());
+        assertEquals(EnumSet.of(SearchResultType.INVOICE, SearchResultType.EXPENSE, SearchResultType.JOURNAL_ENTRY),
+                EnumSet.copyOf(results.stream().map(SearchResultDto::getType).toList()));
+    }
+
+    @Test
+    void wildcardsInTheTermAreMatchedLiterally() {
+        assertEquals(List.of(acme), searchRepository.search("100%", EnumSet.allOf(SearchResultType.class), 10)
+                .stream().map(SearchResultDto::getId).toList());
+        assertTrue(searchRepository.search("inv_", EnumSet.of(SearchResultType.INVOICE), 10).isEmpty());
+    }
+}
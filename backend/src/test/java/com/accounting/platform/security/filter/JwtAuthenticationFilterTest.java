@@ -0,0 +1,95 @@
+package com.accounting.platform.security.filter;
+
+import com.accounting.platform.security.service.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String STREAM = "/api/v1/notifications/stream";
+    private static final UserDetails ALICE = User.withUsername("alice@example.com").password("x").roles("USER").build();
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "streamTicketExpiration", 30_000L);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_StreamTicketOpensTheStream() throws Exception {
+        // Arrange
+        when(userDetailsService.loadUserByUsername(ALICE.getUsername())).thenReturn(ALICE);
+        MockHttpServletRequest request = request(STREAM);
+        request.setParameter("ticket", jwtTokenProvider.generateStreamTicket(ALICE));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(ALICE.getUsername(), SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void doFilter_AccessTokenIsNotAcceptedInTheStreamUrl() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request(STREAM);
+        request.setParameter("ticket", jwtTokenProvider.generateToken(ALICE));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_StreamTicketIsNotABearerToken() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/api/v1/invoices");
+        request.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateStreamTicket(ALICE));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,84 @@
+package com.accounting.platform.sequence.service;
+
+import com.accounting.platform.sequence.entity.DocumentSequence;
+import com.accounting.platform.sequence.repository.DocumentSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentSequenceServiceTest {
+
+    private static final DocumentSequenceRepository.Definition EXPENSE = new DocumentSequenceRepository.Definition("EXP-", 6, false);
+    private static final DocumentSequenceRepository.Definition INVOICE = new DocumentSequenceRepository.Definition("INV-", 6, true);
+
+    @Mock
+    private DocumentSequenceRepository documentSequenceRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentSequenceService documentSequenceService;
+
+    @BeforeEach
+    void setUp() {
+        documentSequenceService = new DocumentSequenceService(documentSequenceRepository, transactionManager);
+        ReflectionTestUtils.setField(documentSequenceService, "blockSize", 3);
+    }
+
+    @Test
+    void next_ServesNumbersFromReservedBlocks() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(documentSequenceRepository.find(DocumentSequence.EXPENSE)).thenReturn(EXPENSE);
+        when(documentSequenceRepository.reserve(DocumentSequence.EXPENSE, 3))
+                .thenReturn(new DocumentSequenceRepository.Range(1, 3, EXPENSE))
+                .thenReturn(new DocumentSequenceRepository.Range(4, 6, EXPENSE));
+
+        // Act
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            numbers.add(documentSequenceService.next(DocumentSequence.EXPENSE));
+        }
+
+        // Assert
+        assertEquals(List.of("EXP-000001", "EXP-000002", "EXP-000003", "EXP-000004", "EXP-000005"), numbers);
+        verify(documentSequenceRepository, times(2)).reserve(DocumentSequence.EXPENSE, 3);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void next_GapFreeSequenceRequiresTransaction() {
+        // Arrange
+        when(documentSequenceRepository.find(DocumentSequence.INVOICE)).thenReturn(INVOICE);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> documentSequenceService.next(DocumentSequence.INVOICE));
+        verify(documentSequenceRepository, never()).reserve(any(), anyInt());
+    }
+
+    @Test
+    void matchesFormat_RecognisesNumbersTheSequenceCanAllocate() {
+        // Arrange
+        when(documentSequenceRepository.find(DocumentSequence.INVOICE)).thenReturn(INVOICE);
+
+        // Act & Assert
+        assertTrue(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-000042"));
+        assertTrue(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-1234567"));
+        assertFalse(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-2026-A"));
+        assertFalse(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "INV-"));
+        assertFalse(documentSequenceService.matchesFormat(DocumentSequence.INVOICE, "ACME-000042"));
+        verify(documentSequenceRepository, times(1)).find(DocumentSequence.INVOICE);
+    }
+}
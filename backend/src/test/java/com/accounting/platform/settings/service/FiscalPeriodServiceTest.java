@@ -0,0 +1,85 @@
+package com.accounting.platform.settings.service;
+
+import com.accounting.platform.audit.service.AuditService;
+import com.accounting.platform.journal.service.AccountBalanceService;
+import com.accounting.platform.settings.entity.FiscalPeriod;
+import com.accounting.platform.settings.entity.FiscalPeriodStatus;
+import com.accounting.platform.settings.repository.FiscalPeriodRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiscalPeriodServiceTest {
+
+    private static final LocalDate JANUARY_START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate JANUARY_END = LocalDate.of(2026, 1, 31);
+
+    @Mock
+    private FiscalPeriodRepository fiscalPeriodRepository;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private AccountBalanceService accountBalanceService;
+
+    @InjectMocks
+    private FiscalPeriodService fiscalPeriodService;
+
+    @Test
+    void closePeriod_CheckpointsBalancesOnlyWhenNoEarlierPeriodIsOpen() {
+        // Arrange
+        UUID january = UUID.randomUUID();
+        UUID february = UUID.randomUUID();
+        when(fiscalPeriodRepository.findById(january)).thenReturn(Optional.of(period(JANUARY_START, JANUARY_END)));
+        when(fiscalPeriodRepository.findById(february))
+                .thenReturn(Optional.of(period(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28))));
+        when(fiscalPeriodRepository.save(any(FiscalPeriod.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fiscalPeriodRepository.existsByStatusAndStartDateLessThanEqual(FiscalPeriodStatus.OPEN, JANUARY_END)).thenReturn(false);
+        when(fiscalPeriodRepository.existsByStatusAndStartDateLessThanEqual(FiscalPeriodStatus.OPEN, LocalDate.of(2026, 2, 28)))
+                .thenReturn(true);
+
+        // Act
+        fiscalPeriodService.closePeriod(january);
+        fiscalPeriodService.closePeriod(february);
+
+        // Assert
+        verify(accountBalanceService).recordCheckpoint(JANUARY_END);
+        verifyNoMoreInteractions(accountBalanceService);
+    }
+
+    @Test
+    void createPeriod_OpenPeriodDropsLaterCheckpoints() {
+        // Arrange
+        FiscalPeriod period = period(JANUARY_START, JANUARY_END);
+        period.setStatus(null);
+        when(fiscalPeriodRepository.existsOverlappingPeriod(JANUARY_START, JANUARY_END)).thenReturn(false);
+        when(fiscalPeriodRepository.save(period)).thenReturn(period);
+
+        // Act
+        FiscalPeriod created = fiscalPeriodService.createPeriod(period);
+
+        // Assert
+        assertEquals(FiscalPeriodStatus.OPEN, created.getStatus());
+        verify(accountBalanceService).dropCheckpointsFrom(JANUARY_START);
+    }
+
+    private static FiscalPeriod period(LocalDate start, LocalDate end) {
+        FiscalPeriod period = new FiscalPeriod();
+        period.setId(UUID.randomUUID());
+        period.setName(start.getMonth().toString());
+        period.setStartDate(start);
+        period.setEndDate(end);
+        period.setStatus(FiscalPeriodStatus.OPEN);
+        return period;
+    }
+}
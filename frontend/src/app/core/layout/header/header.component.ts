@@ -344,7 +344,7 @@ export class HeaderComponent implements OnInit, OnDestroy {
   loadNotifications(): void {
     this.loadingNotifications = true;
     // Load unread notifications first, or recent ones
-    this.notificationService.getAllNotifications(0, 10).subscribe({
+    this.notificationService.getAllNotifications(10).subscribe({
       next: (res) => {
         this.notifications = res.data.content;
         this.loadingNotifications = false;
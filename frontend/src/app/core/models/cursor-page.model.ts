@@ -0,0 +1,6 @@
+// One slice of a keyset-paginated list; pass nextCursor back to fetch the following slice
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor?: string;
+  approximateTotal?: number;
+}
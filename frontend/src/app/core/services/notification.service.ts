@@ -1,7 +1,8 @@
 import { Injectable, signal } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable, tap } from 'rxjs';
 import { Notification } from '../models/notification.model';
+import { CursorPage } from '../models/cursor-page.model';
 
 @Injectable({
   providedIn: 'root'
@@ -17,16 +18,12 @@ export class NotificationService {
     this.refreshUnreadCount();
   }
 
-  getAllNotifications(page: number = 0, size: number = 20): Observable<{data: {content: Notification[], totalElements: number}}> {
-    return this.http.get<{data: {content: Notification[], totalElements: number}}>(
-      `${this.apiUrl}?page=${page}&size=${size}`
-    );
+  getAllNotifications(size: number = 20, cursor?: string): Observable<{data: CursorPage<Notification>}> {
+    return this.http.get<{data: CursorPage<Notification>}>(this.apiUrl, { params: this.pageParams(size, cursor) });
   }
 
-  getUnreadNotifications(page: number = 0, size: number = 20): Observable<{data: {content: Notification[], totalElements: number}}> {
-    return this.http.get<{data: {content: Notification[], totalElements: number}}>(
-      `${this.apiUrl}/unread?page=${page}&size=${size}`
-    );
+  getUnreadNotifications(size: number = 20, cursor?: string): Observable<{data: CursorPage<Notification>}> {
+    return this.http.get<{data: CursorPage<Notification>}>(`${this.apiUrl}/unread`, { params: this.pageParams(size, cursor) });
   }
 
   refreshUnreadCount() {
@@ -59,4 +56,12 @@ export class NotificationService {
       })
     );
   }
+
+  private pageParams(size: number, cursor?: string): HttpParams {
+    let params = new HttpParams().set('size', size);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return params;
+  }
 }
@@ -105,7 +105,7 @@ export class NotificationListComponent implements OnInit {
 
   loadNotifications() {
       this.loading = true;
-      this.notificationService.getAllNotifications(0, 50).subscribe({
+      this.notificationService.getAllNotifications(50).subscribe({
           next: (res) => {
               this.notifications = res.data.content;
               this.loading = false;